@@ -0,0 +1,176 @@
+package com.jipple.benchmark;
+
+import com.jipple.collection.Option;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.BoundReference;
+import com.jipple.sql.catalyst.expressions.Cast;
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.Literal;
+import com.jipple.sql.catalyst.expressions.arithmetic.Add;
+import com.jipple.sql.catalyst.expressions.arithmetic.Multiply;
+import com.jipple.sql.catalyst.expressions.condition.CaseWhen;
+import com.jipple.sql.catalyst.expressions.datetime.DateFormatClass;
+import com.jipple.sql.catalyst.expressions.datetime.GetTimestamp;
+import com.jipple.sql.catalyst.expressions.datetime.TruncTimestamp;
+import com.jipple.sql.catalyst.expressions.predicate.EqualTo;
+import com.jipple.sql.catalyst.expressions.predicate.GreaterThan;
+import com.jipple.sql.catalyst.expressions.predicate.In;
+import com.jipple.sql.catalyst.expressions.predicate.InSet;
+import com.jipple.sql.catalyst.expressions.regexp.Like;
+import com.jipple.sql.catalyst.expressions.regexp.RLike;
+import com.jipple.sql.catalyst.expressions.regexp.RegExpReplace;
+import com.jipple.sql.catalyst.expressions.regexp.StringSplit;
+import com.jipple.sql.catalyst.expressions.string.ConcatWs;
+import com.jipple.sql.catalyst.expressions.string.Contains;
+import com.jipple.sql.catalyst.expressions.string.ContainsIgnoreCase;
+import com.jipple.sql.catalyst.expressions.string.Lower;
+import com.jipple.sql.catalyst.expressions.string.StringReplace;
+import com.jipple.sql.catalyst.expressions.string.Substring;
+import com.jipple.sql.catalyst.expressions.string.Upper;
+import com.jipple.sql.types.Decimal;
+import com.jipple.sql.types.DecimalType;
+import com.jipple.tuple.Tuple2;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.jipple.sql.types.DataTypes.*;
+
+/**
+ * Input rows and expressions shared by the benchmarks. Rows follow an order-like schema:
+ *
+ *   0 id: bigint, 1 name: string, 2 email: string, 3 amount: decimal(12, 2),
+ *   4 amount_str: string, 5 ts_str: string, 6 ts: timestamp, 7 category: int
+ */
+final class BenchmarkData {
+    static final DecimalType AMOUNT_TYPE = new DecimalType(12, 2);
+    static final Option<String> UTC = Option.some("UTC");
+    static final Option<String> LOS_ANGELES = Option.some("America/Los_Angeles");
+
+    static final BoundReference ID = new BoundReference(0, LONG, false);
+    static final BoundReference NAME = new BoundReference(1, STRING, true);
+    static final BoundReference EMAIL = new BoundReference(2, STRING, true);
+    static final BoundReference AMOUNT = new BoundReference(3, AMOUNT_TYPE, true);
+    static final BoundReference AMOUNT_STR = new BoundReference(4, STRING, true);
+    static final BoundReference TS_STR = new BoundReference(5, STRING, true);
+    static final BoundReference TS = new BoundReference(6, TIMESTAMP, true);
+    static final BoundReference CATEGORY = new BoundReference(7, INTEGER, true);
+
+    private static final String[] FIRST_NAMES = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi"};
+    private static final String[] DOMAINS = {"example.com", "mail.test", "corp.example.org"};
+    private static final DateTimeFormatter TS_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns `numRows` deterministic rows, about 5% of the nullable fields are null.
+     */
+    static InternalRow[] rows(int numRows) {
+        Random random = new Random(42);
+        InternalRow[] rows = new InternalRow[numRows];
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < numRows; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "_" + random.nextInt(10000);
+            String email = name + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            LocalDateTime ts = start.plusSeconds(random.nextInt(365 * 24 * 3600));
+            long micros = ts.toEpochSecond(ZoneOffset.UTC) * 1_000_000L;
+            rows[i] = InternalRow.of(
+                    (long) i,
+                    nullable(random, UTF8String.fromString(name)),
+                    nullable(random, UTF8String.fromString(email)),
+                    nullable(random, new Decimal().set(amount, AMOUNT_TYPE.precision, AMOUNT_TYPE.scale)),
+                    nullable(random, UTF8String.fromString(amount.toPlainString())),
+                    nullable(random, UTF8String.fromString(ts.format(TS_FORMAT))),
+                    nullable(random, micros),
+                    nullable(random, random.nextInt(20)));
+        }
+        return rows;
+    }
+
+    private static Object nullable(Random random, Object value) {
+        return random.nextInt(20) == 0 ? null : value;
+    }
+
+    /**
+     * Expressions benchmarked one at a time, by name.
+     */
+    static final Map<String, Supplier<Expression>> EXPRESSIONS = Map.ofEntries(
+            // string functions
+            Map.entry("substring", () -> new Substring(NAME, Literal.of(1), Literal.of(5))),
+            Map.entry("upper", () -> new Upper(NAME)),
+            Map.entry("contains", () -> new Contains(EMAIL, Literal.of("example"))),
+            Map.entry("contains_long", () -> new Contains(EMAIL, Literal.of("corp.example.org"))),
+            Map.entry("lower_contains", () -> new Contains(new Lower(EMAIL), Literal.of("example"))),
+            Map.entry("contains_ignore_case", () -> new ContainsIgnoreCase(EMAIL, UTF8String.fromString("example"), false)),
+            Map.entry("concat_ws", () -> new ConcatWs(List.of(Literal.of(","), NAME, EMAIL, AMOUNT_STR))),
+            Map.entry("replace", () -> new StringReplace(EMAIL, Literal.of("@"), Literal.of(" at "))),
+            // regex
+            Map.entry("like", () -> new Like(EMAIL, Literal.of("%@example.%"))),
+            Map.entry("rlike", () -> new RLike(EMAIL, Literal.of("^[a-z]+_[0-9]+@.*\\.com$"))),
+            Map.entry("regexp_replace", () -> new RegExpReplace(NAME, Literal.of("[0-9]+"), Literal.of("#"))),
+            Map.entry("split", () -> new StringSplit(EMAIL, Literal.of("\\."), Literal.of(-1))),
+            // datetime parsing and formatting
+            Map.entry("to_timestamp", () -> new GetTimestamp(TS_STR, Literal.of("yyyy-MM-dd HH:mm:ss"), TIMESTAMP, UTC)),
+            Map.entry("date_format", () -> new DateFormatClass(TS, Literal.of("yyyy/MM/dd HH:mm"), UTC)),
+            Map.entry("date_format_iso", () -> new DateFormatClass(TS, Literal.of("yyyy-MM-dd'T'HH:mm:ssXXX"), UTC)),
+            Map.entry("trunc_timestamp_hour", () -> new TruncTimestamp(Literal.of("HOUR"), TS, LOS_ANGELES)),
+            Map.entry("cast_timestamp_to_date", () -> new Cast(TS, DATE, LOS_ANGELES)),
+            // decimals
+            Map.entry("cast_string_to_decimal", () -> new Cast(AMOUNT_STR, AMOUNT_TYPE, UTC)),
+            Map.entry("cast_decimal_widen", () -> new Cast(AMOUNT, new DecimalType(20, 4), UTC)),
+            Map.entry("cast_decimal_to_string", () -> new Cast(AMOUNT, STRING, UTC)),
+            Map.entry("decimal_add", () -> new Add(AMOUNT, AMOUNT)),
+            Map.entry("decimal_multiply", () -> new Multiply(AMOUNT, AMOUNT)),
+            // numbers
+            Map.entry("cast_string_to_long", () -> new Cast(AMOUNT_STR, LONG, UTC)),
+            Map.entry("cast_string_to_double", () -> new Cast(AMOUNT_STR, DOUBLE, UTC)),
+            // In / InSet
+            Map.entry("in", () -> new In(CATEGORY, IntStream.range(0, 8).map(i -> i * 3)
+                    .mapToObj(Literal::of).collect(Collectors.toList()))),
+            Map.entry("inset", () -> {
+                Set<Object> set = new HashSet<>();
+                IntStream.range(0, 8).forEach(i -> set.add(i * 3));
+                return new InSet(CATEGORY, set);
+            }),
+            // CaseWhen
+            Map.entry("case_when", BenchmarkData::caseWhen)
+    );
+
+    static Expression caseWhen() {
+        List<Tuple2<Expression, Expression>> branches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            branches.add(Tuple2.of(new EqualTo(CATEGORY, Literal.of(i)), Literal.of("category_" + i)));
+        }
+        branches.add(Tuple2.of(new GreaterThan(CATEGORY, Literal.of(15)), Literal.of("high")));
+        return new CaseWhen(branches, Option.some(Literal.of("other")));
+    }
+
+    /**
+     * A projection mixing the expressions above, as a typical select list would.
+     */
+    static List<Expression> projection() {
+        return List.of(
+                ID,
+                EXPRESSIONS.get("upper").get(),
+                EXPRESSIONS.get("substring").get(),
+                EXPRESSIONS.get("contains").get(),
+                EXPRESSIONS.get("cast_string_to_decimal").get(),
+                EXPRESSIONS.get("date_format").get(),
+                EXPRESSIONS.get("inset").get(),
+                caseWhen());
+    }
+}
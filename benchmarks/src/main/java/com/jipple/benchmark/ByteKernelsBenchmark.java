@@ -0,0 +1,94 @@
+package com.jipple.benchmark;
+
+import com.jipple.unsafe.array.ByteKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.jipple.unsafe.Platform.BYTE_ARRAY_OFFSET;
+
+/**
+ * Compares the scalar and the Vector API implementations of each [[ByteKernels]] kernel on log
+ * line sized ASCII strings. One operation is one call of the kernel over the whole string.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ByteKernelsBenchmark {
+
+    @Param({"scalar", "vectorized"})
+    public String impl;
+
+    @Param({"4096", "16384"})
+    public int size;
+
+    private ByteKernels kernels;
+    private byte[] line;
+    private byte[] copy;
+    private byte[] target;
+    private byte[] spaces;
+    private byte first;
+    private byte last;
+    private int distance;
+
+    @Setup
+    public void setup() {
+        kernels = impl.equals("scalar") ? ByteKernels.scalar() : ByteKernels.vectorized();
+        if (kernels == null) {
+            throw new IllegalStateException("the Vector API is not available");
+        }
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < size) {
+            sb.append("2024-05-01 12:00:00 INFO request id=").append(random.nextInt(1_000_000))
+                    .append(" path=/api/v1/items status=200 ");
+        }
+        line = sb.substring(0, size).getBytes(StandardCharsets.UTF_8);
+        copy = line.clone();
+        target = new byte[size];
+        spaces = " ".repeat(size - 1).concat("x").getBytes(StandardCharsets.UTF_8);
+        // a needle whose first byte occurs often but which never matches
+        byte[] needle = "status=500".getBytes(StandardCharsets.UTF_8);
+        first = needle[0];
+        last = needle[needle.length - 1];
+        distance = needle.length - 1;
+    }
+
+    @Benchmark
+    public int firstNonAscii() {
+        return kernels.firstNonAscii(line, BYTE_ARRAY_OFFSET, 0, size);
+    }
+
+    @Benchmark
+    public int indexOfPair() {
+        int i = 0;
+        int count = 0;
+        int end = size - distance;
+        while ((i = kernels.indexOfPair(line, BYTE_ARRAY_OFFSET, i, end, first, last, distance)) >= 0) {
+            i++;
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int skip() {
+        return kernels.skip(spaces, BYTE_ARRAY_OFFSET, 0, size, (byte) ' ');
+    }
+
+    @Benchmark
+    public byte[] toUpperCaseAscii() {
+        kernels.toUpperCaseAscii(line, BYTE_ARRAY_OFFSET, target, size);
+        return target;
+    }
+
+    @Benchmark
+    public boolean equals() {
+        return kernels.equals(line, BYTE_ARRAY_OFFSET, copy, BYTE_ARRAY_OFFSET, size);
+    }
+}
@@ -0,0 +1,60 @@
+package com.jipple.benchmark;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.CodegenObjectFactoryMode;
+import com.jipple.sql.catalyst.expressions.Eval;
+import com.jipple.sql.catalyst.expressions.EvalGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates a single expression over a batch of rows with [[EvalGenerator]], comparing generated
+ * code with interpreted evaluation. One operation is one batch of rows.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionEvalBenchmark {
+    static final int NUM_ROWS = 1024;
+
+    @Param({"CODEGEN_ONLY", "NO_CODEGEN"})
+    public CodegenObjectFactoryMode mode;
+
+    @Param({
+            "substring", "upper", "contains", "contains_long", "lower_contains", "contains_ignore_case",
+            "concat_ws", "replace",
+            "like", "rlike", "regexp_replace", "split",
+            "to_timestamp", "date_format", "date_format_iso", "trunc_timestamp_hour", "cast_timestamp_to_date",
+            "cast_string_to_decimal", "cast_decimal_widen", "cast_decimal_to_string", "decimal_add", "decimal_multiply",
+            "cast_string_to_long", "cast_string_to_double",
+            "in", "inset", "case_when"})
+    public String expression;
+
+    private InternalRow[] rows;
+    private Eval eval;
+
+    @Setup
+    public void setup() throws Exception {
+        rows = BenchmarkData.rows(NUM_ROWS);
+        eval = EvalGenerator.get().createObject(BenchmarkData.EXPRESSIONS.get(expression).get(), mode);
+        eval.open(1, 0);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        eval.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_ROWS)
+    public void eval(Blackhole bh) {
+        for (InternalRow row : rows) {
+            bh.consume(eval.eval(row));
+        }
+    }
+}
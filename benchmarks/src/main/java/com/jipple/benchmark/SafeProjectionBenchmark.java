@@ -0,0 +1,50 @@
+package com.jipple.benchmark;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.CodegenObjectFactoryMode;
+import com.jipple.sql.catalyst.expressions.Projection;
+import com.jipple.sql.catalyst.expressions.SafeProjectionGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projects a select list mixing string, decimal, datetime, InSet and CaseWhen expressions with
+ * [[SafeProjectionGenerator]], comparing generated code with interpreted evaluation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SafeProjectionBenchmark {
+    static final int NUM_ROWS = 1024;
+
+    @Param({"CODEGEN_ONLY", "NO_CODEGEN"})
+    public CodegenObjectFactoryMode mode;
+
+    private InternalRow[] rows;
+    private Projection projection;
+
+    @Setup
+    public void setup() throws Exception {
+        rows = BenchmarkData.rows(NUM_ROWS);
+        projection = SafeProjectionGenerator.get().createObject(BenchmarkData.projection(), mode);
+        projection.open(1, 0);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        projection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_ROWS)
+    public void project(Blackhole bh) {
+        for (InternalRow row : rows) {
+            bh.consume(projection.apply(row));
+        }
+    }
+}
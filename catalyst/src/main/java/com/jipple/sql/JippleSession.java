@@ -27,6 +27,7 @@ public class JippleSession {
     private final CatalystSqlParser sqlParser;
     private final SimpleFunctionRegistry functionRegistry;
     private final Map<String, LogicalPlan> lookupTables;
+    private final PlanCache planCache;
 
     private JippleSession(SQLConf sqlConf) {
         this.sqlConf = sqlConf;
@@ -34,6 +35,7 @@ public class JippleSession {
         SQLConf.setSQLConfGetter(() -> sqlConf);
         this.functionRegistry = FunctionRegistry.builtin.clone();
         this.lookupTables = getLookupTables();
+        this.planCache = new PlanCache(sqlConf.planCacheMaxEntries(), sqlConf.planCacheMaxWeight());
     }
 
     public static JippleSession get() {
@@ -52,7 +54,9 @@ public class JippleSession {
     }
 
     public LogicalPlan sqlPlan(String sqlText, StructType schema) {
-        return sqlPlan(sqlText, Map.of("tbl", new RelationPlaceholder(schema.toAttributes(), "tbl")));
+        QueryPlanningTracker tracker = tracker();
+        return planCache.get(new PlanCache.Key(PlanCache.Kind.SQL_PLAN, sqlText, schema, SQLConf.get()), tracker, () ->
+                sqlPlan(sqlText, Map.of("tbl", new RelationPlaceholder(schema.toAttributes(), "tbl")), tracker));
     }
 
     public LogicalPlan sqlPlan(String sqlText, LogicalPlan child) {
@@ -60,16 +64,22 @@ public class JippleSession {
     }
 
     public LogicalPlan sqlPlan(String sqlText, List<Map.Entry<String, StructType>> schemas) {
-        Map<String, LogicalPlan> tempViews = schemas.stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> new RelationPlaceholder(entry.getValue().toAttributes(), entry.getKey())
-                ));
-        return sqlPlan(sqlText, tempViews);
+        QueryPlanningTracker tracker = tracker();
+        return planCache.get(new PlanCache.Key(PlanCache.Kind.SQL_PLAN, sqlText, schemas, SQLConf.get()), tracker, () -> {
+            Map<String, LogicalPlan> tempViews = schemas.stream()
+                    .collect(Collectors.toMap(
+                            Map.Entry::getKey,
+                            entry -> new RelationPlaceholder(entry.getValue().toAttributes(), entry.getKey())
+                    ));
+            return sqlPlan(sqlText, tempViews, tracker);
+        });
     }
 
     public LogicalPlan sqlPlan(String sqlText, Map<String, LogicalPlan> tempViews) {
-        QueryPlanningTracker tracker = new QueryPlanningTracker();
+        return sqlPlan(sqlText, tempViews, tracker());
+    }
+
+    private LogicalPlan sqlPlan(String sqlText, Map<String, LogicalPlan> tempViews, QueryPlanningTracker tracker) {
         LogicalPlan plan = tracker.measurePhase(QueryPlanningTracker.PARSING, () ->
                 sqlParser.parsePlan(sqlText)
         );
@@ -84,40 +94,49 @@ public class JippleSession {
     }
 
     public Project selectExprs(List<String> exprs, StructType schema) {
-        QueryPlanningTracker tracker = new QueryPlanningTracker();
-        List<Expression> expressions = tracker.measurePhase(QueryPlanningTracker.PARSING, () -> {
-            return exprs.stream().map(expr -> {
-                Expression e = sqlParser.parseExpression(expr);
-                if (e instanceof NamedExpression) {
-                    return e;
-                } else {
-                    throw new IllegalArgumentException(e + " is not a named expression");
-                }
-            }).collect(Collectors.toList());
+        QueryPlanningTracker tracker = tracker();
+        return (Project) planCache.get(PlanCache.Key.of(PlanCache.Kind.SELECT_EXPRS, exprs, schema, SQLConf.get()), tracker, () -> {
+            List<Expression> expressions = tracker.measurePhase(QueryPlanningTracker.PARSING, () -> {
+                return exprs.stream().map(expr -> {
+                    Expression e = sqlParser.parseExpression(expr);
+                    if (e instanceof NamedExpression) {
+                        return e;
+                    } else {
+                        throw new IllegalArgumentException(e + " is not a named expression");
+                    }
+                }).collect(Collectors.toList());
+            });
+            LogicalPlan plan = new Project(expressions, new RelationPlaceholder(schema.toAttributes(), "tbl"));
+            QueryExecution logicalPlan = new QueryExecution(Collections.emptyMap(), functionRegistry, plan, tracker);
+            logicalPlan.assertAnalyzed();
+            return logicalPlan.optimizedPlan();
         });
-        LogicalPlan plan = new Project(expressions, new RelationPlaceholder(schema.toAttributes(), "tbl"));
-        QueryExecution logicalPlan = new QueryExecution(Collections.emptyMap(), functionRegistry, plan, tracker);
-        logicalPlan.assertAnalyzed();
-        return (Project) logicalPlan.optimizedPlan();
     }
 
     public Project selectExprs(String exprs, StructType schema) {
-        QueryPlanningTracker tracker = new QueryPlanningTracker();
-        List<Expression> expressions = tracker.measurePhase(QueryPlanningTracker.PARSING, () ->
-                sqlParser.parseExpressions(exprs)
-        );
-        LogicalPlan plan = new Project(expressions, new RelationPlaceholder(schema.toAttributes(), "tbl"));
-        QueryExecution logicalPlan = new QueryExecution(Collections.emptyMap(), functionRegistry, plan, tracker);
-        logicalPlan.assertAnalyzed();
-        return (Project) logicalPlan.optimizedPlan();
+        QueryPlanningTracker tracker = tracker();
+        return (Project) planCache.get(new PlanCache.Key(PlanCache.Kind.SELECT_EXPRS, exprs, schema, SQLConf.get()), tracker, () -> {
+            List<Expression> expressions = tracker.measurePhase(QueryPlanningTracker.PARSING, () ->
+                    sqlParser.parseExpressions(exprs)
+            );
+            LogicalPlan plan = new Project(expressions, new RelationPlaceholder(schema.toAttributes(), "tbl"));
+            QueryExecution logicalPlan = new QueryExecution(Collections.emptyMap(), functionRegistry, plan, tracker);
+            logicalPlan.assertAnalyzed();
+            return logicalPlan.optimizedPlan();
+        });
     }
 
     public Filter parseFilter(String condition, StructType schema) {
-        return parseFilter(condition, new RelationPlaceholder(schema.toAttributes(), "tbl"));
+        QueryPlanningTracker tracker = tracker();
+        return (Filter) planCache.get(new PlanCache.Key(PlanCache.Kind.FILTER, condition, schema, SQLConf.get()), tracker, () ->
+                parseFilter(condition, new RelationPlaceholder(schema.toAttributes(), "tbl"), tracker));
     }
 
     public Filter parseFilter(String condition, LogicalPlan child) {
-        QueryPlanningTracker tracker = new QueryPlanningTracker();
+        return parseFilter(condition, child, tracker());
+    }
+
+    private Filter parseFilter(String condition, LogicalPlan child, QueryPlanningTracker tracker) {
         Expression expression = tracker.measurePhase(QueryPlanningTracker.PARSING, () ->
                 sqlParser.parseExpression(condition)
         );
@@ -128,25 +147,26 @@ public class JippleSession {
     }
 
     public Filter parseCombinedFilter(String condition, List<Map.Entry<String, StructType>> schemas) {
-        QueryPlanningTracker tracker = new QueryPlanningTracker();
-        Expression expression = tracker.measurePhase(QueryPlanningTracker.PARSING, () ->
-                sqlParser.parseExpression(condition)
-        );
-        List<com.jipple.tuple.Tuple2<String, List<com.jipple.sql.catalyst.expressions.named.Attribute>>> outputs = schemas.stream()
-                .map(entry -> com.jipple.tuple.Tuple2.of(entry.getKey(), entry.getValue().toAttributes()))
-                .collect(Collectors.toList());
-        LogicalPlan plan = new Filter(expression, RelationPlaceholder.fromTableAttrs(outputs, "tbl"));
-        QueryExecution logicalPlan = new QueryExecution(Collections.emptyMap(), functionRegistry, plan, tracker);
-        logicalPlan.assertAnalyzed();
-        return (Filter) logicalPlan.optimizedPlan();
+        QueryPlanningTracker tracker = tracker();
+        return (Filter) planCache.get(new PlanCache.Key(PlanCache.Kind.FILTER, condition, schemas, SQLConf.get()), tracker, () -> {
+            List<com.jipple.tuple.Tuple2<String, List<com.jipple.sql.catalyst.expressions.named.Attribute>>> outputs = schemas.stream()
+                    .map(entry -> com.jipple.tuple.Tuple2.of(entry.getKey(), entry.getValue().toAttributes()))
+                    .collect(Collectors.toList());
+            return parseFilter(condition, RelationPlaceholder.fromTableAttrs(outputs, "tbl"), tracker);
+        });
     }
 
     public Expr parseExpr(String sql, StructType schema) {
-        return parseExpr(sql, DataTypeUtils.toAttributes(schema));
+        QueryPlanningTracker tracker = tracker();
+        return (Expr) planCache.get(new PlanCache.Key(PlanCache.Kind.EXPR, sql, schema, SQLConf.get()), tracker, () ->
+                parseExpr(sql, DataTypeUtils.toAttributes(schema), tracker));
     }
 
     public Expr parseExpr(String sql, List<Attribute> schema) {
-        QueryPlanningTracker tracker = new QueryPlanningTracker();
+        return parseExpr(sql, schema, tracker());
+    }
+
+    private Expr parseExpr(String sql, List<Attribute> schema, QueryPlanningTracker tracker) {
         Expression expression = tracker.measurePhase(QueryPlanningTracker.PARSING, () ->
                 sqlParser.parseExpression(sql)
         );
@@ -162,6 +182,21 @@ public class JippleSession {
         return (Expr) logicalPlan.optimizedPlan();
     }
 
+    /**
+     * Returns the plan cache of this session. Only the methods taking [[StructType]]s are cached,
+     * plans built on top of caller provided plans or attributes depend on their expression ids.
+     */
+    public PlanCache planCache() {
+        return planCache;
+    }
+
+    /**
+     * Returns the tracker set by the caller with [[QueryPlanningTracker#withTracker]], or a new one.
+     */
+    private static QueryPlanningTracker tracker() {
+        return QueryPlanningTracker.get().getOrElseGet(QueryPlanningTracker::new);
+    }
+
     private Map<String, LogicalPlan> getLookupTables() {
         return Collections.emptyMap();
     }
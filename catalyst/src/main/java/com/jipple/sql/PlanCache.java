@@ -0,0 +1,206 @@
+package com.jipple.sql;
+
+import com.jipple.sql.catalyst.QueryPlanningTracker;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A bounded LRU cache of the optimized plans built by [[JippleSession]], so planning the same
+ * statement against the same schema again skips parsing, analysis and optimization.
+ *
+ * Entries are bounded both by count and by weight, the weight of an entry being the length of its
+ * SQL text. Guava caches can't enforce both limits at once, so this is a plain access-ordered map.
+ * Plans are computed outside the lock, concurrent misses on the same key may plan twice.
+ *
+ * Every call returns a fresh copy of the cached plan, see [[QueryPlan#freshCopy]], so that callers
+ * evaluating the plan never share the transient state of its expressions.
+ */
+public class PlanCache {
+    /**
+     * The session method that produced a plan, the same text means a different plan for each.
+     */
+    public enum Kind {
+        SQL_PLAN, SELECT_EXPRS, FILTER, EXPR
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<Key, LogicalPlan> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0L;
+    private long hitCount = 0L;
+    private long missCount = 0L;
+    private long evictionCount = 0L;
+
+    /**
+     * @param maxEntries the maximum number of cached plans, 0 disables the cache.
+     * @param maxWeight the maximum total length of the cached SQL texts, 0 means unlimited.
+     */
+    public PlanCache(int maxEntries, long maxWeight) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    public boolean enabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Returns a copy of the cached plan for the key, or plans it with `f` and caches the result.
+     * The lookup is recorded in the tracker. Planning failures are not cached.
+     */
+    public LogicalPlan get(Key key, QueryPlanningTracker tracker, Supplier<LogicalPlan> f) {
+        if (!enabled()) {
+            return f.get();
+        }
+        synchronized (this) {
+            LogicalPlan plan = entries.get(key);
+            if (plan != null) {
+                hitCount++;
+                tracker.recordPlanCacheLookup(true);
+                return plan.freshCopy();
+            }
+            missCount++;
+        }
+        tracker.recordPlanCacheLookup(false);
+        LogicalPlan plan = f.get();
+        synchronized (this) {
+            if (entries.put(key, plan) == null) {
+                weight += key.weight();
+            }
+            evict();
+        }
+        return plan.freshCopy();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, LogicalPlan>> it = entries.entrySet().iterator();
+        while (it.hasNext() && (entries.size() > maxEntries || (maxWeight > 0 && weight > maxWeight))) {
+            Key eldest = it.next().getKey();
+            it.remove();
+            weight -= eldest.weight();
+            evictionCount++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0L;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Collapses whitespace outside of quoted literals and identifiers, and trims the text.
+     */
+    static String normalize(String sqlText) {
+        StringBuilder sb = new StringBuilder(sqlText.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < sqlText.length(); i++) {
+            char c = sqlText.charAt(i);
+            if (quote != 0) {
+                sb.append(c);
+                if (c == '\\' && quote != '`' && i + 1 < sqlText.length()) {
+                    sb.append(sqlText.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The cache key of a plan: the normalized SQL text, the input schemas and all the conf values
+     * set in the session. Any of them may change the result of analysis and optimization, e.g. the
+     * time zone or the optimizer thresholds, so a plan is only reused under the same settings.
+     */
+    public static final class Key {
+        private final Kind kind;
+        private final String sqlText;
+        private final Object schema;
+        private final Map<String, String> settings;
+        private final int hashCode;
+
+        /**
+         * @param schema a [[com.jipple.sql.types.StructType]], or a list of named ones.
+         */
+        public Key(Kind kind, String sqlText, Object schema, SQLConf conf) {
+            this.kind = kind;
+            this.sqlText = normalize(sqlText);
+            this.schema = schema;
+            this.settings = Map.copyOf(conf.toMap());
+            this.hashCode = Objects.hash(kind, this.sqlText, schema, settings);
+        }
+
+        public static Key of(Kind kind, List<String> sqlTexts, Object schema, SQLConf conf) {
+            // A list of expressions is keyed by its texts joined with a separator that can't
+            // appear outside of a literal.
+            return new Key(kind, String.join("\u0000", sqlTexts), schema, conf);
+        }
+
+        long weight() {
+            return sqlText.length();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return hashCode == other.hashCode
+                    && kind == other.kind
+                    && sqlText.equals(other.sqlText)
+                    && settings.equals(other.settings)
+                    && Objects.equals(schema, other.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "PlanCache.Key(" + kind + ", " + sqlText + ")";
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.jipple.configuration.Options;
 import com.jipple.configuration.util.ConfigUtil;
 import com.jipple.sql.catalyst.expressions.CodegenObjectFactoryMode;
 import com.jipple.sql.catalyst.expressions.Resolver;
+import com.jipple.sql.catalyst.util.regex.RegexEngine;
 import com.jipple.sql.internal.SqlApiConfHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,12 +78,42 @@ public class SQLConf implements Serializable {
                     .defaultValue(CodegenObjectFactoryMode.FALLBACK)
                     .withDescription("");
 
+    public static final Option<Integer> CODEGEN_TIERED_THREADS =
+            Options.key("jipple.sql.codegen.tiered.threads")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription("The number of background threads compiling generated code when " +
+                            CODEGEN_FACTORY_MODE.key() + " is TIERED.");
+
+    public static final Option<Integer> CODEGEN_TIERED_QUEUE_SIZE =
+            Options.key("jipple.sql.codegen.tiered.queueSize")
+                    .intType()
+                    .defaultValue(128)
+                    .withDescription("The maximum number of pending background compilations when " +
+                            CODEGEN_FACTORY_MODE.key() + " is TIERED. Objects whose compilation is rejected " +
+                            "stay interpreted.");
+
+    public static final Option<String> CODEGEN_PERSISTENT_CACHE_DIR =
+            Options.key("jipple.sql.codegen.persistentCache.dir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription("A local directory where the classes compiled by codegen are cached across " +
+                            "restarts. The persistent cache is disabled when this is not set.");
+
     public static final Option<Integer> OPTIMIZER_INSET_CONVERSION_THRESHOLD =
             Options.key("jipple.sql.optimizer.inSetConversionThreshold")
                     .intType()
                     .defaultValue(10)
                     .withDescription("The threshold of set size for InSet conversion.");
 
+    public static final Option<Integer> OPTIMIZER_MULTI_STRING_MATCH_THRESHOLD =
+            Options.key("jipple.sql.optimizer.multiStringMatchThreshold")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription("The minimum number of contains, startswith, endswith and equality " +
+                            "predicates with literal patterns on the same string in a disjunction for the " +
+                            "optimizer to evaluate them all in a single pass over the string.");
+
     public static final Option<Integer> ANALYZER_MAX_ITERATIONS =
             Options.key("jipple.sql.analyzer.maxIterations")
                     .intType()
@@ -107,6 +138,35 @@ public class SQLConf implements Serializable {
                     .defaultValue(1024)
                     .withDescription("The threshold of source-code splitting in the codegen.");
 
+    public static final Option<Boolean> SUBEXPRESSION_ELIMINATION_ENABLED =
+            Options.key("jipple.sql.subexpressionElimination.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription("When true, common subexpressions will be eliminated.");
+
+    public static final Option<Integer> PLAN_CACHE_MAX_ENTRIES =
+            Options.key("jipple.sql.planCache.maxEntries")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription("The maximum number of optimized plans JippleSession caches by SQL text, " +
+                            "input schema and session configuration. 0 disables the cache.");
+
+    public static final Option<Long> PLAN_CACHE_MAX_WEIGHT =
+            Options.key("jipple.sql.planCache.maxWeight")
+                    .longType()
+                    .defaultValue(1024L * 1024L)
+                    .withDescription("The maximum total length, in characters, of the SQL texts of the plans " +
+                            "JippleSession caches. 0 means no limit besides " + PLAN_CACHE_MAX_ENTRIES.key() + ".");
+
+    public static final Option<RegexEngine> REGEX_ENGINE =
+            Options.key("jipple.sql.regex.engine")
+                    .objectType(RegexEngine.class)
+                    .defaultValue(RegexEngine.JAVA)
+                    .withDescription("The engine of RLIKE and the regexp_* functions. JAVA uses java.util.regex. " +
+                            "LINEAR matches in time linear to the input length, which protects against " +
+                            "catastrophic backtracking, and falls back to java.util.regex for the patterns it " +
+                            "does not support, such as backreferences and lookaround.");
+
     private final Map<String, String> settings = new HashMap<>();
 
     /**
@@ -117,6 +177,14 @@ public class SQLConf implements Serializable {
         CONF_GETTER.set(getter);
     }
 
+    /**
+     * Returns the getter of the active config object, e.g. to restore it after
+     * {@link #setSQLConfGetter}.
+     */
+    public static Supplier<SQLConf> getSQLConfGetter() {
+        return CONF_GETTER.get();
+    }
+
     public static SQLConf get() {
         return CONF_GETTER.get().get();
     }
@@ -185,6 +253,10 @@ public class SQLConf implements Serializable {
         return getConf(OPTIMIZER_INSET_CONVERSION_THRESHOLD);
     }
 
+    public int optimizerMultiStringMatchThreshold() {
+        return getConf(OPTIMIZER_MULTI_STRING_MATCH_THRESHOLD);
+    }
+
     public boolean legacyNegativeIndexInArrayInsert() {
         return getConf(LEGACY_NEGATIVE_INDEX_IN_ARRAY_INSERT);
     }
@@ -193,6 +265,26 @@ public class SQLConf implements Serializable {
         return getConf(CODEGEN_METHOD_SPLIT_THRESHOLD);
     }
 
+    public boolean subexpressionEliminationEnabled() {
+        return getConf(SUBEXPRESSION_ELIMINATION_ENABLED);
+    }
+
+    public String codegenPersistentCacheDir() {
+        return getConf(CODEGEN_PERSISTENT_CACHE_DIR);
+    }
+
+    public int planCacheMaxEntries() {
+        return getConf(PLAN_CACHE_MAX_ENTRIES);
+    }
+
+    public long planCacheMaxWeight() {
+        return getConf(PLAN_CACHE_MAX_WEIGHT);
+    }
+
+    public RegexEngine regexEngine() {
+        return getConf(REGEX_ENGINE);
+    }
+
     /**
      * Returns the {@link Resolver} for the current configuration, which can be used to determine
      * if two identifiers are equal.
@@ -215,6 +307,10 @@ public class SQLConf implements Serializable {
         settings.put(key.key(), value.toString());
     }
 
+    public <T> void unsetConf(Option<T> key) {
+        settings.remove(key.key());
+    }
+
     public <T> T getConf(Option<T> option) {
         return getOptional(option).orElse(option.defaultValue());
     }
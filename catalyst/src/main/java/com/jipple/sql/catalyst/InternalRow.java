@@ -158,7 +158,10 @@ public abstract class InternalRow implements SpecializedGetters, Serializable {
         } else if (physicalType instanceof PhysicalCalendarIntervalType) {
             getValueNullSafe = (input, ordinal) -> input.getInterval(ordinal);
         } else if (physicalType instanceof PhysicalDecimalType decimalType) {
-            getValueNullSafe = (input, ordinal) -> input.getDecimal(ordinal, decimalType.precision, decimalType.scale);
+            // capture the fields, the physical type is not serializable
+            int precision = decimalType.precision;
+            int scale = decimalType.scale;
+            getValueNullSafe = (input, ordinal) -> input.getDecimal(ordinal, precision, scale);
         } else if (physicalType instanceof PhysicalStructType structType) {
             getValueNullSafe = (input, ordinal) -> input.getStruct(ordinal, structType.fields.length);
         } else if (physicalType instanceof PhysicalArrayType) {
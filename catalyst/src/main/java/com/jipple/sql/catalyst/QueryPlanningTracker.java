@@ -140,6 +140,9 @@ public class QueryPlanningTracker {
 
     private boolean readyForExecution = false;
 
+    private long numPlanCacheHits = 0L;
+    private long numPlanCacheMisses = 0L;
+
     public QueryPlanningTracker() {
         this(Option.none());
     }
@@ -209,8 +212,29 @@ public class QueryPlanningTracker {
         s.numEffectiveInvocations += (effective ? 1 : 0);
     }
 
+    /**
+     * Record a lookup in the plan cache of the session.
+     *
+     * @param hit whether the plan was found in the cache
+     */
+    public void recordPlanCacheLookup(boolean hit) {
+        if (hit) {
+            numPlanCacheHits += 1;
+        } else {
+            numPlanCacheMisses += 1;
+        }
+    }
+
     // ------------ reporting functions below ------------
 
+    public long numPlanCacheHits() {
+        return numPlanCacheHits;
+    }
+
+    public long numPlanCacheMisses() {
+        return numPlanCacheMisses;
+    }
+
     public Map<String, RuleSummary> rules() {
         return new HashMap<>(rulesMap);
     }
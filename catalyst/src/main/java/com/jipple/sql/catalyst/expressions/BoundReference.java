@@ -89,7 +89,7 @@ public class BoundReference extends LeafExpression {
                                 )
                         ),
                         FalseLiteral.INSTANCE,
-                        null
+                        ev.value
                 );
             }
         }
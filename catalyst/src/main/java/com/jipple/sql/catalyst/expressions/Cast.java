@@ -339,13 +339,11 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
         if (from instanceof StringType) {
             return x -> {
                 UTF8String s = (UTF8String) x;
-                String doubleStr = s.toString();
-                try {
-                    return Double.parseDouble(doubleStr);
-                } catch (NumberFormatException e) {
-                    Object special = processFloatingPointSpecialLiterals(doubleStr, false);
-                    return special != null ? special : null;
+                UTF8String.DoubleWrapper result = new UTF8String.DoubleWrapper();
+                if (s.toDouble(result)) {
+                    return result.value;
                 }
+                return processFloatingPointSpecialLiterals(s.toString(), false);
             };
         } else if (from instanceof BooleanType) {
             return x -> ((Boolean) x) ? 1.0 : 0.0;
@@ -474,13 +472,11 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
         if (from instanceof StringType) {
             return x -> {
                 UTF8String s = (UTF8String) x;
-                String floatStr = s.toString();
-                try {
-                    return Float.parseFloat(floatStr);
-                } catch (NumberFormatException e) {
-                    Object special = processFloatingPointSpecialLiterals(floatStr, true);
-                    return special != null ? special : null;
+                UTF8String.FloatWrapper result = new UTF8String.FloatWrapper();
+                if (s.toFloat(result)) {
+                    return result.value;
                 }
+                return processFloatingPointSpecialLiterals(s.toString(), true);
             };
         } else if (from instanceof BooleanType) {
             return x -> ((Boolean) x) ? 1.0f : 0.0f;
@@ -539,9 +535,9 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
         } else if (from instanceof DateType) {
             return x -> UTF8String.fromString(dateFormatter.format((Integer) x));
         } else if (from instanceof TimestampType) {
-            return x -> UTF8String.fromString(timestampFormatter.format((Long) x));
+            return x -> timestampFormatter.formatUTF8((Long) x);
         } else if (from instanceof TimestampNTZType) {
-            return x -> UTF8String.fromString(timestampNTZFormatter.format((Long) x));
+            return x -> timestampNTZFormatter.formatUTF8((Long) x);
         } else if (from instanceof ArrayType arrayType) {
             final Function<Object, Object> toUTF8String = castToString(arrayType.elementType);
             return x -> {
@@ -764,11 +760,11 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
     public Function<Object, Object> cast() {
         if (_cast == null) {
             _cast = castInternal(child.dataType(), dataType);
-            dateFormatter = DateFormatter.getFormatter();
+            dateFormatter = FormatterCache.getDateFormatter();
             if (needsTimeZone()) {
-                timestampFormatter = TimestampFormatter.getFormatter(zoneId());
+                timestampFormatter = FormatterCache.getTimestampFormatter(zoneId());
             }
-            timestampNTZFormatter = TimestampFormatter.getFormatter(ZoneOffset.UTC);
+            timestampNTZFormatter = FormatterCache.getTimestampFormatter(ZoneOffset.UTC);
         }
         return _cast;
     }
@@ -921,7 +917,7 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
         }
         if (from instanceof DateType) {
             String formatter = ctx.addReferenceObj("dateFormatter",
-                    DateFormatter.getFormatter(),
+                    FormatterCache.getDateFormatter(),
                     DateFormatter.class.getName());
             return (c, evPrim) -> Block.block(
                     "${value} = ${utf8String}.fromString(${formatter}.format((Integer) ${input}));",
@@ -937,13 +933,12 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
             ZoneId zid = zoneId();
             String formatter = ctx.addReferenceObj(
                     "timestampFormatter",
-                    TimestampFormatter.getFormatter(zid),
+                    FormatterCache.getTimestampFormatter(zid),
                     TimestampFormatter.class.getName());
             return (c, evPrim) -> Block.block(
-                    "${value} = ${utf8String}.fromString(${formatter}.format((Long) ${input}));",
+                    "${value} = ${formatter}.formatUTF8((Long) ${input});",
                     Map.ofEntries(
                             Map.entry("value", evPrim),
-                            Map.entry("utf8String", utf8StringClass),
                             Map.entry("formatter", formatter),
                             Map.entry("input", c)
                     )
@@ -952,13 +947,12 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
         if (from instanceof TimestampNTZType) {
             String formatter = ctx.addReferenceObj(
                     "timestampNTZFormatter",
-                    TimestampFormatter.getFormatter(ZoneOffset.UTC),
+                    FormatterCache.getTimestampFormatter(ZoneOffset.UTC),
                     TimestampFormatter.class.getName());
             return (c, evPrim) -> Block.block(
-                    "${value} = ${utf8String}.fromString(${formatter}.format((Long) ${input}));",
+                    "${value} = ${formatter}.formatUTF8((Long) ${input});",
                     Map.ofEntries(
                             Map.entry("value", evPrim),
-                            Map.entry("utf8String", utf8StringClass),
                             Map.entry("formatter", formatter),
                             Map.entry("input", c)
                     )
@@ -1706,14 +1700,15 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
             String inputExpr = c.toString();
             String castClass = Cast.class.getName();
             if (from instanceof StringType) {
-                String floatStr = ctx.freshName("floatStr");
+                String floatWrapper = ctx.freshName("floatWrapper");
                 return Block.block(
                         """
-                                String ${floatStr} = ((UTF8String) ${input}).toString();
-                                try {
-                                  ${value} = Float.parseFloat(${floatStr});
-                                } catch (NumberFormatException e) {
-                                  Object special = ${castClass}.processFloatingPointSpecialLiterals(${floatStr}, true);
+                                UTF8String.FloatWrapper ${floatWrapper} = new UTF8String.FloatWrapper();
+                                if (((UTF8String) ${input}).toFloat(${floatWrapper})) {
+                                  ${value} = ${floatWrapper}.value;
+                                } else {
+                                  Object special = ${castClass}.processFloatingPointSpecialLiterals(
+                                    ((UTF8String) ${input}).toString(), true);
                                   if (special != null) {
                                     ${value} = (Float) special;
                                   } else {
@@ -1722,7 +1717,7 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
                                 }
                                 """,
                         Map.ofEntries(
-                                Map.entry("floatStr", floatStr),
+                                Map.entry("floatWrapper", floatWrapper),
                                 Map.entry("input", inputExpr),
                                 Map.entry("value", evPrim),
                                 Map.entry("castClass", castClass),
@@ -1785,14 +1780,15 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
             String inputExpr = c.toString();
             String castClass = Cast.class.getName();
             if (from instanceof StringType) {
-                String doubleStr = ctx.freshName("doubleStr");
+                String doubleWrapper = ctx.freshName("doubleWrapper");
                 return Block.block(
                         """
-                                String ${doubleStr} = ((UTF8String) ${input}).toString();
-                                try {
-                                  ${value} = Double.parseDouble(${doubleStr});
-                                } catch (NumberFormatException e) {
-                                  Object special = ${castClass}.processFloatingPointSpecialLiterals(${doubleStr}, false);
+                                UTF8String.DoubleWrapper ${doubleWrapper} = new UTF8String.DoubleWrapper();
+                                if (((UTF8String) ${input}).toDouble(${doubleWrapper})) {
+                                  ${value} = ${doubleWrapper}.value;
+                                } else {
+                                  Object special = ${castClass}.processFloatingPointSpecialLiterals(
+                                    ((UTF8String) ${input}).toString(), false);
                                   if (special != null) {
                                     ${value} = (Double) special;
                                   } else {
@@ -1801,7 +1797,7 @@ public class Cast extends UnaryExpression implements TimeZoneAwareExpression {
                                 }
                                 """,
                         Map.ofEntries(
-                                Map.entry("doubleStr", doubleStr),
+                                Map.entry("doubleWrapper", doubleWrapper),
                                 Map.entry("input", inputExpr),
                                 Map.entry("value", evPrim),
                                 Map.entry("castClass", castClass),
@@ -4,6 +4,8 @@ import com.jipple.sql.SQLConf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Supplier;
+
 /**
  * A codegen object generator which creates objects with codegen path first. Once any compile
  * error happens, it can fallback to interpreted implementation. In tests, we can use a SQL config
@@ -23,6 +25,8 @@ public abstract class CodeGeneratorWithInterpretedFallback<IN, OUT> {
                 return createCodeGeneratedObject(in);
             case NO_CODEGEN:
                 return createInterpretedObject(in);
+            case TIERED:
+                return createTieredObject(in);
             default:
                 try {
                     return createCodeGeneratedObject(in);
@@ -36,4 +40,53 @@ public abstract class CodeGeneratorWithInterpretedFallback<IN, OUT> {
     protected abstract OUT createCodeGeneratedObject(IN in);
 
     protected abstract OUT createInterpretedObject(IN in);
-}
\ No newline at end of file
+
+    /**
+     * Returns a copy of the input whose expressions share no transient state with it, see
+     * [[Expression#freshCopy]]. Interpreted objects evaluate the expressions they are created
+     * from, so each object handed out by a supplier gets its own copy.
+     */
+    protected abstract IN freshCopy(IN in);
+
+    /**
+     * Creates an object that starts interpreted and switches to the code generated object once it
+     * has been compiled in the background, see [[TieredCompilation]]. Generators that cannot wrap
+     * their objects compile synchronously with interpreted fallback.
+     */
+    protected OUT createTieredObject(IN in) {
+        return createObject(in, CodegenObjectFactoryMode.FALLBACK);
+    }
+
+    /**
+     * Returns a supplier of new objects for the input, compiling the generated code at most once.
+     * This is used by [[EvaluatorFactory]] to hand out one object per thread, interpreted objects
+     * are created from fresh copies of the input so that they can be used concurrently. TIERED mode
+     * is treated as FALLBACK, the supplier is created once and amortizes the compilation anyway.
+     */
+    public Supplier<OUT> createSupplier(IN in, CodegenObjectFactoryMode fallbackMode) {
+        switch (fallbackMode) {
+            case CODEGEN_ONLY:
+                return createCodeGeneratedSupplier(in);
+            case NO_CODEGEN:
+                return () -> createInterpretedObject(freshCopy(in));
+            default:
+                try {
+                    return createCodeGeneratedSupplier(in);
+                } catch (Exception e) {
+                    LOG.warn("Code generation failed, falling back to interpreted mode", e);
+                    return () -> createInterpretedObject(freshCopy(in));
+                }
+        }
+    }
+
+    /**
+     * Returns a supplier of code generated objects. The default implementation goes through the
+     * compile cache for every object, generators override it to instantiate the compiled class
+     * directly.
+     */
+    protected Supplier<OUT> createCodeGeneratedSupplier(IN in) {
+        // Compile eagerly so that failures surface here and can fall back.
+        createCodeGeneratedObject(in);
+        return () -> createCodeGeneratedObject(in);
+    }
+}
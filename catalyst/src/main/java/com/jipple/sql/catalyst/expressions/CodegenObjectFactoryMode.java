@@ -1,8 +1,12 @@
 package com.jipple.sql.catalyst.expressions;
 
 /**
- * Defines values for `SQLConf` config of fallback mode. Use for test only.
+ * Defines values for `SQLConf` config of fallback mode. FALLBACK, CODEGEN_ONLY and NO_CODEGEN are
+ * used for test only.
+ *
+ * TIERED returns an interpreted object immediately and replaces it with the code generated one
+ * once it has been compiled in the background, see [[TieredCompilation]].
  */
 public enum CodegenObjectFactoryMode {
-    FALLBACK, CODEGEN_ONLY, NO_CODEGEN;
+    FALLBACK, CODEGEN_ONLY, NO_CODEGEN, TIERED;
 }
@@ -1,5 +1,7 @@
 package com.jipple.sql.catalyst.expressions;
 
+import java.util.List;
+
 /**
  * An expression that contains conditional expression branches, so not all branches will be hit.
  * All optimization should be careful with the evaluation order.
@@ -8,4 +10,15 @@ public interface ConditionalExpression {
     static boolean conditionalFoldable(Expression self) {
         return self.children().stream().allMatch(Expression::foldable);
     }
+
+    /**
+     * Return the children expressions which can always be hit at runtime.
+     */
+    List<Expression> alwaysEvaluatedInputs();
+
+    /**
+     * Return groups of branches. For each group, at least one branch will be hit at runtime,
+     * so that we can eagerly evaluate the common expressions of a group.
+     */
+    List<List<Expression>> branchGroups();
 }
@@ -157,15 +157,11 @@ public class EquivalentExpressions {
         if (expr instanceof CodegenFallback) {
             return Collections.emptyList();
         }
-        // TODO: ConditionalExpression interface not implemented yet, comment out for now
-        /*
-        else if (expr instanceof ConditionalExpression) {
-            ConditionalExpression c = (ConditionalExpression) expr;
+        else if (expr instanceof ConditionalExpression c) {
             return c.alwaysEvaluatedInputs().stream()
                     .map(this::skipForShortcut)
                     .collect(Collectors.toList());
         }
-        */
         else {
             return skipForShortcut(expr).children().stream()
                     .map(this::skipForShortcut)
@@ -179,13 +175,9 @@ public class EquivalentExpressions {
         if (expr instanceof CodegenFallback) {
             return Collections.emptyList();
         }
-        // TODO: ConditionalExpression interface not implemented yet, comment out for now
-        /*
-        else if (expr instanceof ConditionalExpression) {
-            ConditionalExpression c = (ConditionalExpression) expr;
+        else if (expr instanceof ConditionalExpression c) {
             return c.branchGroups();
         }
-        */
         else {
             return Collections.emptyList();
         }
@@ -2,6 +2,52 @@ package com.jipple.sql.catalyst.expressions;
 
 import com.jipple.sql.catalyst.InternalRow;
 
+/**
+ * Evaluates a single expression on an input row.
+ *
+ * Besides the generic {@link #eval(InternalRow)}, which boxes primitive results, there are
+ * primitive-specialized entry points for callers that know the `dataType()` of the expression:
+ * `evalBoolean` (BooleanType), `evalInt` (IntegerType, DateType), `evalLong` (LongType, timestamps)
+ * and `evalDouble` (DoubleType). For a null result they return the placeholder generated code
+ * uses, `false` or -1, call {@link #wasNull()} to tell it apart. The generated version implements
+ * the entry point matching its data type without boxing, the others fall back to
+ * {@link #eval(InternalRow)}.
+ */
 public abstract class Eval extends ExpressionsEvaluator {
+    /** Whether the result of the last primitive eval call was null. */
+    protected boolean wasNull;
+
     public abstract Object eval(InternalRow r);
+
+    /**
+     * Returns whether the result of the last call of `evalBoolean`, `evalInt`, `evalLong` or
+     * `evalDouble` was null.
+     */
+    public final boolean wasNull() {
+        return wasNull;
+    }
+
+    public boolean evalBoolean(InternalRow r) {
+        Object value = eval(r);
+        wasNull = value == null;
+        return wasNull ? false : (Boolean) value;
+    }
+
+    public int evalInt(InternalRow r) {
+        Object value = eval(r);
+        wasNull = value == null;
+        return wasNull ? -1 : (Integer) value;
+    }
+
+    public long evalLong(InternalRow r) {
+        Object value = eval(r);
+        wasNull = value == null;
+        return wasNull ? -1L : (Long) value;
+    }
+
+    public double evalDouble(InternalRow r) {
+        Object value = eval(r);
+        wasNull = value == null;
+        return wasNull ? -1.0 : (Double) value;
+    }
 }
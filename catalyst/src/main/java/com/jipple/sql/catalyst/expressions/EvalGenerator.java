@@ -1,9 +1,12 @@
 package com.jipple.sql.catalyst.expressions;
 
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.InternalRow;
 import com.jipple.sql.catalyst.expressions.codegen.GenerateEval;
 import com.jipple.sql.catalyst.expressions.named.Attribute;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 public class EvalGenerator extends CodeGeneratorWithInterpretedFallback<Expression, Eval> {
     public static final EvalGenerator INSTANCE = new EvalGenerator();
@@ -16,7 +19,12 @@ public class EvalGenerator extends CodeGeneratorWithInterpretedFallback<Expressi
 
     @Override
     protected Eval createCodeGeneratedObject(Expression expression) {
-        return GenerateEval.get().generate(expression, false /*SQLConf.get.subexpressionEliminationEnabled*/);
+        return GenerateEval.get().generate(expression, SQLConf.get().subexpressionEliminationEnabled());
+    }
+
+    @Override
+    protected Supplier<Eval> createCodeGeneratedSupplier(Expression expression) {
+        return GenerateEval.get().generateFactory(expression, SQLConf.get().subexpressionEliminationEnabled());
     }
 
     @Override
@@ -24,6 +32,17 @@ public class EvalGenerator extends CodeGeneratorWithInterpretedFallback<Expressi
         return new InterpretedEval(expression);
     }
 
+    @Override
+    protected Expression freshCopy(Expression expression) {
+        return expression.freshCopy();
+    }
+
+    @Override
+    protected Eval createTieredObject(Expression expression) {
+        return new TieredEval(TieredCompilation.create(
+                createInterpretedObject(expression), () -> createCodeGeneratedObject(expression)));
+    }
+
     /**
      * Returns a BaseEval for an Expression, which will be bound to `inputSchema`.
      */
@@ -37,4 +56,59 @@ public class EvalGenerator extends CodeGeneratorWithInterpretedFallback<Expressi
     public Eval create(Expression expression) {
         return createObject(expression);
     }
+
+    private static class TieredEval extends Eval {
+        private final TieredEvaluator<Eval> tiered;
+
+        TieredEval(TieredEvaluator<Eval> tiered) {
+            this.tiered = tiered;
+        }
+
+        @Override
+        public void open(int partitions, int partitionIndex) throws Exception {
+            tiered.open(partitions, partitionIndex);
+        }
+
+        @Override
+        public Object eval(InternalRow r) {
+            return tiered.current().eval(r);
+        }
+
+        @Override
+        public boolean evalBoolean(InternalRow r) {
+            Eval eval = tiered.current();
+            boolean value = eval.evalBoolean(r);
+            wasNull = eval.wasNull();
+            return value;
+        }
+
+        @Override
+        public int evalInt(InternalRow r) {
+            Eval eval = tiered.current();
+            int value = eval.evalInt(r);
+            wasNull = eval.wasNull();
+            return value;
+        }
+
+        @Override
+        public long evalLong(InternalRow r) {
+            Eval eval = tiered.current();
+            long value = eval.evalLong(r);
+            wasNull = eval.wasNull();
+            return value;
+        }
+
+        @Override
+        public double evalDouble(InternalRow r) {
+            Eval eval = tiered.current();
+            double value = eval.evalDouble(r);
+            wasNull = eval.wasNull();
+            return value;
+        }
+
+        @Override
+        public void close() throws Exception {
+            tiered.close();
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.SQLConf;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe factory of evaluators for one set of expressions. The generated code is compiled
+ * once when the factory is created, each task then takes its own evaluator with
+ * [[#acquire]] and gives it back with [[#release]]. Evaluators themselves are not thread safe, and
+ * interpreted ones evaluate their own fresh copy of the expressions, see
+ * [[CodeGeneratorWithInterpretedFallback#createSupplier]].
+ *
+ * Released evaluators are pooled rather than kept in thread locals, so the factory also works
+ * when tasks run on short-lived virtual threads. At most `maxIdle` evaluators are kept.
+ */
+public final class EvaluatorFactory<T extends ExpressionsEvaluator> {
+    private final Supplier<T> supplier;
+    private final int maxIdle;
+    private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger numIdle = new AtomicInteger();
+    private final AtomicLong numCreated = new AtomicLong();
+
+    public EvaluatorFactory(Supplier<T> supplier) {
+        this(supplier, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param supplier creates new, unopened evaluators. It must be thread safe.
+     * @param maxIdle the maximum number of released evaluators kept for reuse.
+     */
+    public EvaluatorFactory(Supplier<T> supplier, int maxIdle) {
+        this.supplier = supplier;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns a factory of the objects created by the generator for the input, using the codegen
+     * factory mode of the active SQLConf.
+     */
+    public static <IN, T extends ExpressionsEvaluator> EvaluatorFactory<T> create(
+            CodeGeneratorWithInterpretedFallback<IN, T> generator, IN in) {
+        return create(generator, in, SQLConf.get().codegenFactoryMode());
+    }
+
+    public static <IN, T extends ExpressionsEvaluator> EvaluatorFactory<T> create(
+            CodeGeneratorWithInterpretedFallback<IN, T> generator, IN in, CodegenObjectFactoryMode fallbackMode) {
+        return new EvaluatorFactory<>(generator.createSupplier(in, fallbackMode));
+    }
+
+    /**
+     * Returns an evaluator opened for the given partition, reusing a released one if possible.
+     */
+    public T acquire(int partitions, int partitionIndex) throws Exception {
+        T evaluator = idle.poll();
+        if (evaluator != null) {
+            numIdle.decrementAndGet();
+        } else {
+            evaluator = supplier.get();
+            numCreated.incrementAndGet();
+        }
+        evaluator.open(partitions, partitionIndex);
+        return evaluator;
+    }
+
+    /**
+     * Closes an evaluator returned by [[#acquire]] and makes it available for reuse. The caller must
+     * not use the evaluator afterwards. Evaluators failing to close are dropped.
+     */
+    public void release(T evaluator) throws Exception {
+        evaluator.close();
+        if (numIdle.incrementAndGet() <= maxIdle) {
+            idle.offer(evaluator);
+        } else {
+            numIdle.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a new evaluator that is not pooled. The caller is responsible for its lifecycle.
+     */
+    public T newInstance() {
+        numCreated.incrementAndGet();
+        return supplier.get();
+    }
+
+    // Visible for testing
+    public long numCreated() {
+        return numCreated.get();
+    }
+
+    // Visible for testing
+    public int numIdle() {
+        return numIdle.get();
+    }
+}
@@ -96,6 +96,27 @@ public abstract class Expression extends TreeNode<Expression> {
         }
     }
 
+    /**
+     * Returns a copy of this expression where every node with children, and every stateful leaf,
+     * is a new instance, so that evaluating the copy shares none of the transient state of this
+     * expression, e.g. cached matchers or formatters. Used to give every interpreted evaluator of
+     * a shared expression tree its own instances.
+     */
+    public Expression freshCopy() {
+        List<Expression> children = children();
+        if (children.isEmpty() && !stateful()) {
+            return this;
+        }
+        List<Expression> newChildren = children.stream()
+                .map(Expression::freshCopy)
+                .collect(Collectors.toList());
+        return CurrentOrigin.withOrigin(origin(), () -> {
+            Expression res = withNewChildrenInternal(newChildren);
+            res.copyTagsFrom(this);
+            return res;
+        });
+    }
+
 
     /** Returns the result of evaluating this expression on a given input Row */
     public abstract Object eval(InternalRow input);
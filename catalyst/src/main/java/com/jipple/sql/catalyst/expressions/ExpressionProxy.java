@@ -0,0 +1,61 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
+import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.errors.QueryExecutionErrors;
+import com.jipple.sql.types.DataType;
+
+/**
+ * A proxy for an catalyst `Expression`. Given a runtime object `SubExprEvaluationRuntime`,
+ * when this is asked to evaluate, it will load from the evaluation cache in the runtime first.
+ */
+public class ExpressionProxy extends UnaryExpression {
+    public final int id;
+    public final SubExprEvaluationRuntime runtime;
+
+    // The cached result and the runtime generation it was computed for, see SubExprEvaluationRuntime.
+    long cachedGeneration = -1;
+    Object cachedResult;
+
+    public ExpressionProxy(Expression child, int id, SubExprEvaluationRuntime runtime) {
+        super(child);
+        this.id = id;
+        this.runtime = runtime;
+    }
+
+    @Override
+    public Object[] args() {
+        return new Object[] { child, id, runtime };
+    }
+
+    @Override
+    public DataType dataType() {
+        return child.dataType();
+    }
+
+    @Override
+    public boolean nullable() {
+        return child.nullable();
+    }
+
+    // `ExpressionProxy` is for interpreted expression evaluation only. So cannot `doGenCode`.
+    @Override
+    protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+        throw QueryExecutionErrors.cannotGenerateCodeForExpressionError(this);
+    }
+
+    public Object proxyEval(InternalRow input) {
+        return child.eval(input);
+    }
+
+    @Override
+    public Object eval(InternalRow input) {
+        return runtime.getEval(this);
+    }
+
+    @Override
+    public Expression withNewChildInternal(Expression newChild) {
+        return new ExpressionProxy(newChild, id, runtime);
+    }
+}
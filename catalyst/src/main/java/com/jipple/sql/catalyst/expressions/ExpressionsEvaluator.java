@@ -1,6 +1,7 @@
 package com.jipple.sql.catalyst.expressions;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 public abstract class ExpressionsEvaluator {
     public void open(int partitions, int partitionIndex) throws Exception {}
@@ -35,14 +36,24 @@ public abstract class ExpressionsEvaluator {
         }
     }
 
-    // 不需要，都是sql生成Expression
-    /*protected List<Expression> prepareExpressions(List<Expression> expressions, boolean subExprEliminationEnabled) {
+    private SubExprEvaluationRuntime runtime;
+
+    /**
+     * The runtime caching the results of common subexpressions, created on first use.
+     */
+    protected final SubExprEvaluationRuntime runtime() {
+        if (runtime == null) {
+            runtime = new SubExprEvaluationRuntime();
+        }
+        return runtime;
+    }
+
+    protected final List<Expression> prepareExpressions(List<Expression> expressions, boolean subExprEliminationEnabled) {
         List<Expression> cleanedExpressions = expressions.stream().map(e -> e.freshCopyIfContainsStatefulExpression()).collect(Collectors.toList());
         if (subExprEliminationEnabled) {
-            //return runtime.proxyExpressions(cleanedExpressions);
-            return cleanedExpressions;
+            return runtime().proxyExpressions(cleanedExpressions);
         } else {
             return cleanedExpressions;
         }
-    }*/
+    }
 }
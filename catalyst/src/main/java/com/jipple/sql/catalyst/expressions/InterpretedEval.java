@@ -1,14 +1,16 @@
 package com.jipple.sql.catalyst.expressions;
 
+import com.jipple.sql.SQLConf;
 import com.jipple.sql.catalyst.InternalRow;
 
 import java.util.List;
 
 public class InterpretedEval extends Eval {
+    private final boolean subExprEliminationEnabled = SQLConf.get().subexpressionEliminationEnabled();
     private final Expression expression;
 
     public InterpretedEval(Expression expression) {
-        this.expression = expression;
+        this.expression = prepareExpressions(List.of(expression), subExprEliminationEnabled).get(0);
     }
 
     @Override
@@ -18,6 +20,9 @@ public class InterpretedEval extends Eval {
 
     @Override
     public Object eval(InternalRow r) {
+        if (subExprEliminationEnabled) {
+            runtime().setInput(r);
+        }
         return expression.eval(r);
     }
 
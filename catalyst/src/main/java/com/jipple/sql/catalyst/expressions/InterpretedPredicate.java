@@ -0,0 +1,34 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.InternalRow;
+
+import java.util.List;
+
+public class InterpretedPredicate extends Predicate {
+    private final boolean subExprEliminationEnabled = SQLConf.get().subexpressionEliminationEnabled();
+    private final Expression expression;
+
+    public InterpretedPredicate(Expression expression) {
+        this.expression = prepareExpressions(List.of(expression), subExprEliminationEnabled).get(0);
+    }
+
+    @Override
+    public void open(int partitions, int partitionIndex) throws Exception {
+        openExprs(List.of(expression), partitions, partitionIndex);
+    }
+
+    @Override
+    public boolean eval(InternalRow r) {
+        if (subExprEliminationEnabled) {
+            runtime().setInput(r);
+        }
+        Object result = expression.eval(r);
+        return result != null && (Boolean) result;
+    }
+
+    @Override
+    public void close() throws Exception {
+        closeExprs(List.of(expression));
+    }
+}
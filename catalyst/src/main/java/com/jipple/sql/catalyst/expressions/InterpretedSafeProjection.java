@@ -1,5 +1,6 @@
 package com.jipple.sql.catalyst.expressions;
 
+import com.jipple.sql.SQLConf;
 import com.jipple.sql.catalyst.InternalRow;
 import com.jipple.sql.catalyst.InternalRowWriter;
 import com.jipple.tuple.Tuple2;
@@ -12,6 +13,7 @@ import java.util.stream.IntStream;
  * An interpreted version of a safe projection.
  */
 public class InterpretedSafeProjection extends Projection {
+    private final boolean subExprEliminationEnabled = SQLConf.get().subexpressionEliminationEnabled();
     private final List<Expression> exprs;
     private final SpecificInternalRow mutableRow;
     private final List<Tuple2<Expression, InternalRowWriter>> exprsWithWriters;
@@ -20,7 +22,7 @@ public class InterpretedSafeProjection extends Projection {
      *                    to a schema.
      */
     public InterpretedSafeProjection(List<Expression> expressions) {
-        this.exprs = expressions;
+        this.exprs = prepareExpressions(expressions, subExprEliminationEnabled);
         this.mutableRow = new SpecificInternalRow(this.exprs.stream().map(Expression::dataType).collect(Collectors.toList()));
         this.exprsWithWriters = IntStream.range(0, expressions.size()).filter(i -> !(exprs.get(i) instanceof NoOp)).mapToObj(i -> {
             Expression e = exprs.get(i);
@@ -48,6 +50,10 @@ public class InterpretedSafeProjection extends Projection {
 
     @Override
     public InternalRow apply(InternalRow row) {
+        if (subExprEliminationEnabled) {
+            runtime().setInput(row);
+        }
+
         Tuple2<Expression, InternalRowWriter> exprWithWriter;
         Object v;
         for (int i = 0; i < exprsWithWriters.size(); i++) {
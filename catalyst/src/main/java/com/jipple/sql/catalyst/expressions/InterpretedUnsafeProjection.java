@@ -0,0 +1,256 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.codegen.UnsafeArrayWriter;
+import com.jipple.sql.catalyst.expressions.codegen.UnsafeRowWriter;
+import com.jipple.sql.catalyst.expressions.codegen.UnsafeWriter;
+import com.jipple.sql.catalyst.util.ArrayData;
+import com.jipple.sql.catalyst.util.MapData;
+import com.jipple.sql.types.*;
+import com.jipple.unsafe.Platform;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An interpreted unsafe projection. This class reuses the [[UnsafeRow]] it produces, a consumer
+ * should copy the row if it is being buffered. This class is not thread safe.
+ */
+public class InterpretedUnsafeProjection extends UnsafeProjection {
+    private final boolean subExprEliminationEnabled = SQLConf.get().subexpressionEliminationEnabled();
+    private final List<Expression> exprs;
+
+    /** Number of (top level) fields in the resulting row. */
+    private final int numFields;
+
+    /** Array that expression results. */
+    private final Object[] values;
+
+    /** The row representing the expression results. */
+    private final GenericInternalRow intermediate;
+
+    /* The row writer for UnsafeRow result */
+    private final UnsafeRowWriter rowWriter;
+
+    /** The writer that writes the intermediate result to the result row. */
+    private final Consumer<InternalRow> writer;
+
+    /**
+     * @param expressions that produces the resulting fields. These expressions must be bound
+     *                    to a schema.
+     */
+    public InterpretedUnsafeProjection(List<Expression> expressions) {
+        this.exprs = prepareExpressions(expressions, subExprEliminationEnabled);
+        this.numFields = exprs.size();
+        this.values = new Object[numFields];
+        this.intermediate = new GenericInternalRow(values);
+        this.rowWriter = new UnsafeRowWriter(numFields, numFields * 32);
+
+        StructField[] fields = exprs.stream()
+                .map(e -> new StructField("", e.dataType(), e.nullable()))
+                .toArray(StructField[]::new);
+        Consumer<InternalRow> baseWriter = generateStructWriter(rowWriter, fields);
+        if (exprs.stream().noneMatch(Expression::nullable)) {
+            // No nullable fields. The top-level null bit mask will always be zeroed out.
+            this.writer = baseWriter;
+        } else {
+            // Zero out the null bit mask before we write the row.
+            this.writer = row -> {
+                rowWriter.zeroOutNullBytes();
+                baseWriter.accept(row);
+            };
+        }
+    }
+
+    @Override
+    public void open(int partitions, int partitionIndex) throws Exception {
+        openExprs(exprs, partitions, partitionIndex);
+    }
+
+    @Override
+    public UnsafeRow apply(InternalRow row) {
+        if (subExprEliminationEnabled) {
+            runtime().setInput(row);
+        }
+
+        // Put the expression results in the intermediate row.
+        for (int i = 0; i < numFields; i++) {
+            values[i] = exprs.get(i).eval(row);
+        }
+
+        // Write the intermediate row.
+        rowWriter.reset();
+        writer.accept(intermediate);
+        return rowWriter.getRow();
+    }
+
+    @Override
+    public void close() throws Exception {
+        closeExprs(exprs);
+    }
+
+    /**
+     * Writes the value at ordinal `i` of a row or an array into an {@link UnsafeWriter}.
+     */
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(SpecializedGetters v, int i);
+    }
+
+    private static Consumer<InternalRow> generateStructWriter(UnsafeRowWriter rowWriter, StructField[] fields) {
+        int numFields = fields.length;
+
+        // Create field writers.
+        FieldWriter[] fieldWriters = new FieldWriter[numFields];
+        for (int i = 0; i < numFields; i++) {
+            fieldWriters[i] = generateFieldWriter(rowWriter, fields[i].dataType, fields[i].nullable);
+        }
+        // Create basic writer.
+        return row -> {
+            for (int i = 0; i < numFields; i++) {
+                fieldWriters[i].write(row, i);
+            }
+        };
+    }
+
+    private static FieldWriter generateFieldWriter(UnsafeWriter writer, DataType dt, boolean nullable) {
+        // Create the basic writer.
+        FieldWriter unsafeWriter;
+        if (dt instanceof BooleanType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getBoolean(i));
+        } else if (dt instanceof IntegerType || dt instanceof DateType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getInt(i));
+        } else if (dt instanceof LongType || dt instanceof TimestampType || dt instanceof TimestampNTZType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getLong(i));
+        } else if (dt instanceof FloatType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getFloat(i));
+        } else if (dt instanceof DoubleType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getDouble(i));
+        } else if (dt instanceof DecimalType t) {
+            int precision = t.precision;
+            int scale = t.scale;
+            unsafeWriter = (v, i) -> writer.write(i, v.getDecimal(i, precision, scale), precision, scale);
+        } else if (dt instanceof CalendarIntervalType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getInterval(i));
+        } else if (dt instanceof BinaryType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getBinary(i));
+        } else if (dt instanceof StringType) {
+            unsafeWriter = (v, i) -> writer.write(i, v.getUTF8String(i));
+        } else if (dt instanceof StructType t) {
+            StructField[] fields = t.fields;
+            UnsafeRowWriter rowWriter = new UnsafeRowWriter(writer, fields.length);
+            Consumer<InternalRow> structWriter = generateStructWriter(rowWriter, fields);
+            unsafeWriter = (v, i) -> {
+                InternalRow row = v.getStruct(i, fields.length);
+                if (row instanceof UnsafeRow unsafeRow) {
+                    writer.write(i, unsafeRow);
+                } else {
+                    int previousCursor = writer.cursor();
+                    // Nested struct. We don't know where this will start because a row can be
+                    // variable length, so we need to update the offsets and zero out the bit mask.
+                    rowWriter.resetRowWriter();
+                    structWriter.accept(row);
+                    writer.setOffsetAndSizeFromPreviousCursor(i, previousCursor);
+                }
+            };
+        } else if (dt instanceof ArrayType t) {
+            UnsafeArrayWriter arrayWriter = new UnsafeArrayWriter(writer, getElementSize(t.elementType));
+            FieldWriter elementWriter = generateFieldWriter(arrayWriter, t.elementType, t.containsNull);
+            unsafeWriter = (v, i) -> {
+                int previousCursor = writer.cursor();
+                writeArray(arrayWriter, elementWriter, v.getArray(i));
+                writer.setOffsetAndSizeFromPreviousCursor(i, previousCursor);
+            };
+        } else if (dt instanceof MapType t) {
+            UnsafeArrayWriter keyArrayWriter = new UnsafeArrayWriter(writer, getElementSize(t.keyType));
+            FieldWriter keyWriter = generateFieldWriter(keyArrayWriter, t.keyType, false);
+            UnsafeArrayWriter valueArrayWriter = new UnsafeArrayWriter(writer, getElementSize(t.valueType));
+            FieldWriter valueWriter = generateFieldWriter(valueArrayWriter, t.valueType, t.valueContainsNull);
+            unsafeWriter = (v, i) -> {
+                MapData map = v.getMap(i);
+                if (map instanceof UnsafeMapData unsafeMap) {
+                    writer.write(i, unsafeMap);
+                } else {
+                    int previousCursor = writer.cursor();
+
+                    // preserve 8 bytes to write the key array numBytes later.
+                    valueArrayWriter.grow(8);
+                    valueArrayWriter.increaseCursor(8);
+
+                    // Write the keys and write the numBytes of key array into the first 8 bytes.
+                    writeArray(keyArrayWriter, keyWriter, map.keyArray());
+                    Platform.putLong(
+                            valueArrayWriter.getBuffer(),
+                            previousCursor,
+                            valueArrayWriter.cursor() - previousCursor - 8);
+
+                    // Write the values.
+                    writeArray(valueArrayWriter, valueWriter, map.valueArray());
+                    writer.setOffsetAndSizeFromPreviousCursor(i, previousCursor);
+                }
+            };
+        } else if (dt instanceof NullType) {
+            unsafeWriter = (v, i) -> {};
+        } else {
+            throw new IllegalStateException("The data type '" + dt.typeName() + "' is not supported in " +
+                    "generating a writer function for a struct field, array element, map key or map value.");
+        }
+
+        // Always wrap the writer with a null safe version.
+        if (dt instanceof DecimalType t && t.precision > Decimal.MAX_LONG_DIGITS) {
+            // We can't call setNullAt() for DecimalType with precision larger than 18, we call write
+            // directly. We can use the unwrapped writer directly.
+            return unsafeWriter;
+        } else if (dt instanceof CalendarIntervalType) {
+            // We can't call setNullAt() for CalendarIntervalType, we call write directly.
+            return unsafeWriter;
+        } else if (dt instanceof BooleanType) {
+            return (v, i) -> {
+                if (!v.isNullAt(i)) {
+                    unsafeWriter.write(v, i);
+                } else {
+                    writer.setNull1Bytes(i);
+                }
+            };
+        } else if (dt instanceof IntegerType || dt instanceof DateType || dt instanceof FloatType) {
+            return (v, i) -> {
+                if (!v.isNullAt(i)) {
+                    unsafeWriter.write(v, i);
+                } else {
+                    writer.setNull4Bytes(i);
+                }
+            };
+        } else {
+            return (v, i) -> {
+                if (!v.isNullAt(i)) {
+                    unsafeWriter.write(v, i);
+                } else {
+                    writer.setNull8Bytes(i);
+                }
+            };
+        }
+    }
+
+    private static int getElementSize(DataType dataType) {
+        if (dataType instanceof NullType || dataType instanceof StringType || dataType instanceof BinaryType
+                || dataType instanceof CalendarIntervalType || dataType instanceof DecimalType || dataType instanceof ArrayType
+                || dataType instanceof StructType || dataType instanceof MapType) {
+            return 8;
+        } else {
+            return dataType.defaultSize();
+        }
+    }
+
+    private static void writeArray(UnsafeArrayWriter arrayWriter, FieldWriter elementWriter, ArrayData array) {
+        if (array instanceof UnsafeArrayData unsafe) {
+            arrayWriter.write(unsafe);
+        } else {
+            int numElements = array.numElements();
+            arrayWriter.initialize(numElements);
+            for (int i = 0; i < numElements; i++) {
+                elementWriter.write(array, i);
+            }
+        }
+    }
+}
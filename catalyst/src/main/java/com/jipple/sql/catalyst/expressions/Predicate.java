@@ -0,0 +1,11 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+
+/**
+ * An evaluator for boolean conditions, e.g. the condition of a Filter. A null result is
+ * treated as false, so callers never have to unbox or null-check the result.
+ */
+public abstract class Predicate extends ExpressionsEvaluator {
+    public abstract boolean eval(InternalRow r);
+}
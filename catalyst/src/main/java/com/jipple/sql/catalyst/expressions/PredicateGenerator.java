@@ -0,0 +1,82 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.codegen.GeneratePredicate;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public class PredicateGenerator extends CodeGeneratorWithInterpretedFallback<Expression, Predicate> {
+    public static final PredicateGenerator INSTANCE = new PredicateGenerator();
+    private PredicateGenerator() {
+    }
+
+    public static PredicateGenerator get() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected Predicate createCodeGeneratedObject(Expression expression) {
+        return GeneratePredicate.get().generate(expression, SQLConf.get().subexpressionEliminationEnabled());
+    }
+
+    @Override
+    protected Supplier<Predicate> createCodeGeneratedSupplier(Expression expression) {
+        return GeneratePredicate.get().generateFactory(expression, SQLConf.get().subexpressionEliminationEnabled());
+    }
+
+    @Override
+    protected Predicate createInterpretedObject(Expression expression) {
+        return new InterpretedPredicate(expression);
+    }
+
+    @Override
+    protected Expression freshCopy(Expression expression) {
+        return expression.freshCopy();
+    }
+
+    @Override
+    protected Predicate createTieredObject(Expression expression) {
+        return new TieredPredicate(TieredCompilation.create(
+                createInterpretedObject(expression), () -> createCodeGeneratedObject(expression)));
+    }
+
+    /**
+     * Returns a Predicate for an Expression, which will be bound to `inputSchema`.
+     */
+    public Predicate create(Expression expression, List<Attribute> inputSchema) {
+        return createObject(BindReferences.bindReference(expression, new AttributeSeq(inputSchema)));
+    }
+
+    /**
+     * Returns a Predicate for a given bound Expression.
+     */
+    public Predicate create(Expression expression) {
+        return createObject(expression);
+    }
+
+    private static class TieredPredicate extends Predicate {
+        private final TieredEvaluator<Predicate> tiered;
+
+        TieredPredicate(TieredEvaluator<Predicate> tiered) {
+            this.tiered = tiered;
+        }
+
+        @Override
+        public void open(int partitions, int partitionIndex) throws Exception {
+            tiered.open(partitions, partitionIndex);
+        }
+
+        @Override
+        public boolean eval(InternalRow r) {
+            return tiered.current().eval(r);
+        }
+
+        @Override
+        public void close() throws Exception {
+            tiered.close();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.jipple.sql.catalyst.expressions;
 
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.InternalRow;
 import com.jipple.sql.catalyst.expressions.codegen.GenerateSafeProjection;
 import com.jipple.sql.catalyst.expressions.named.Attribute;
 import com.jipple.sql.types.DataType;
@@ -8,6 +10,8 @@ import com.jipple.sql.types.StructType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class SafeProjectionGenerator extends CodeGeneratorWithInterpretedFallback<List<Expression>, Projection> {
     public static final SafeProjectionGenerator INSTANCE = new SafeProjectionGenerator();
@@ -18,7 +22,12 @@ public class SafeProjectionGenerator extends CodeGeneratorWithInterpretedFallbac
 
     @Override
     protected Projection createCodeGeneratedObject(List<Expression> expressions) {
-        return GenerateSafeProjection.get().generate(expressions);
+        return GenerateSafeProjection.get().generate(expressions, SQLConf.get().subexpressionEliminationEnabled());
+    }
+
+    @Override
+    protected Supplier<Projection> createCodeGeneratedSupplier(List<Expression> expressions) {
+        return GenerateSafeProjection.get().generateFactory(expressions, SQLConf.get().subexpressionEliminationEnabled());
     }
 
     @Override
@@ -26,6 +35,17 @@ public class SafeProjectionGenerator extends CodeGeneratorWithInterpretedFallbac
         return new InterpretedSafeProjection(expressions);
     }
 
+    @Override
+    protected List<Expression> freshCopy(List<Expression> expressions) {
+        return expressions.stream().map(Expression::freshCopy).collect(Collectors.toList());
+    }
+
+    @Override
+    protected Projection createTieredObject(List<Expression> expressions) {
+        return new TieredSafeProjection(TieredCompilation.create(
+                createInterpretedObject(expressions), () -> createCodeGeneratedObject(expressions)));
+    }
+
     /**
      * Returns a SafeProjection for given StructType.
      */
@@ -59,4 +79,26 @@ public class SafeProjectionGenerator extends CodeGeneratorWithInterpretedFallbac
         return createObject(BindReferences.bindReferences(expressions, new AttributeSeq(inputSchema)));
     }
 
+    private static class TieredSafeProjection extends Projection {
+        private final TieredEvaluator<Projection> tiered;
+
+        TieredSafeProjection(TieredEvaluator<Projection> tiered) {
+            this.tiered = tiered;
+        }
+
+        @Override
+        public void open(int partitions, int partitionIndex) throws Exception {
+            tiered.open(partitions, partitionIndex);
+        }
+
+        @Override
+        public InternalRow apply(InternalRow row) {
+            return tiered.current().apply(row);
+        }
+
+        @Override
+        public void close() throws Exception {
+            tiered.close();
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This class helps subexpression elimination for interpreted evaluation
+ * such as `InterpretedUnsafeProjection`. It maintains an evaluation cache.
+ * This class wraps `ExpressionProxy` around given expressions. The `ExpressionProxy`
+ * intercepts expression evaluation and loads from the cache first.
+ *
+ * The cache holds at most one result per common subexpression, valid for the current input row
+ * only. [[setInput]] must be called for every new input row, which invalidates all the cached
+ * results in O(1).
+ */
+public class SubExprEvaluationRuntime {
+    private InternalRow currentInput = null;
+    // Incremented for every input row, a proxy result is only valid for the current generation.
+    private long generation = 0;
+    private int proxyExpressionCurrentId = 0;
+
+    /**
+     * Returns the result of evaluating the child of the given proxy on the current input row,
+     * evaluating it if it has not been evaluated for this row yet.
+     */
+    Object getEval(ExpressionProxy proxy) {
+        if (proxy.cachedGeneration != generation) {
+            proxy.cachedResult = proxy.proxyEval(currentInput);
+            proxy.cachedGeneration = generation;
+        }
+        return proxy.cachedResult;
+    }
+
+    /**
+     * Sets given input row as current row for evaluating expressions. This cleans up the cache
+     * too as new input comes.
+     */
+    public void setInput(InternalRow input) {
+        currentInput = input;
+        generation++;
+    }
+
+    /**
+     * Recursively replaces expression with its proxy expression in `proxyMap`.
+     */
+    private Expression replaceWithProxy(
+            Expression expr,
+            EquivalentExpressions equivalentExpressions,
+            Map<ExpressionStats, ExpressionProxy> proxyMap) {
+        ExpressionProxy proxy = equivalentExpressions.getExprState(expr).map(proxyMap::get).getOrElse((ExpressionProxy) null);
+        if (proxy != null) {
+            return proxy;
+        } else {
+            return expr.mapChildren(e -> replaceWithProxy(e, equivalentExpressions, proxyMap));
+        }
+    }
+
+    /**
+     * Finds subexpressions and wraps them with `ExpressionProxy`.
+     */
+    public List<Expression> proxyExpressions(List<Expression> expressions) {
+        EquivalentExpressions equivalentExpressions = new EquivalentExpressions();
+
+        for (Expression e : expressions) {
+            equivalentExpressions.addExprTree(e);
+        }
+
+        // We leverage `IdentityHashMap` so we compare `ExpressionStats` by reference.
+        Map<ExpressionStats, ExpressionProxy> proxyMap = new IdentityHashMap<>();
+
+        List<Expression> commonExprs = equivalentExpressions.getCommonSubexpressions();
+        for (Expression expr : commonExprs) {
+            ExpressionProxy proxy = new ExpressionProxy(expr, proxyExpressionCurrentId, this);
+            proxyExpressionCurrentId += 1;
+            proxyMap.put(equivalentExpressions.getExprState(expr).get(), proxy);
+        }
+
+        if (proxyMap.isEmpty()) {
+            return expressions;
+        }
+        return expressions.stream()
+                .map(e -> replaceWithProxy(e, equivalentExpressions, proxyMap))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,127 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.SQLConf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Compiles code generated objects on a bounded background executor for the TIERED
+ * [[CodegenObjectFactoryMode]]. The caller gets a [[TieredEvaluator]] backed by the interpreted
+ * object right away, so a slow Janino compile never stalls the thread evaluating rows.
+ *
+ * The executor is created on first use with `SQLConf.CODEGEN_TIERED_THREADS` daemon threads and a
+ * queue of `SQLConf.CODEGEN_TIERED_QUEUE_SIZE` tasks. When the queue is full the compilation is
+ * rejected and the interpreted object is used for good.
+ */
+public final class TieredCompilation {
+    private static final Logger LOG = LoggerFactory.getLogger(TieredCompilation.class);
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private static final AtomicLong numSubmitted = new AtomicLong();
+    private static final AtomicLong numRejected = new AtomicLong();
+    private static final AtomicLong numFailed = new AtomicLong();
+    private static final AtomicLong numSwapped = new AtomicLong();
+    private static final AtomicLong compileTime = new AtomicLong();
+    private static final AtomicLong maxCompileTime = new AtomicLong();
+    private static final AtomicLong swapLatency = new AtomicLong();
+    private static final AtomicLong maxSwapLatency = new AtomicLong();
+
+    private TieredCompilation() {
+    }
+
+    private static ThreadPoolExecutor executor() {
+        if (executor == null) {
+            synchronized (TieredCompilation.class) {
+                if (executor == null) {
+                    SQLConf conf = SQLConf.get();
+                    int threads = conf.getConf(SQLConf.CODEGEN_TIERED_THREADS);
+                    int queueSize = conf.getConf(SQLConf.CODEGEN_TIERED_QUEUE_SIZE);
+                    AtomicInteger threadId = new AtomicInteger();
+                    ThreadPoolExecutor e = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(queueSize), r -> {
+                                Thread t = new Thread(r, "codegen-tiered-compile-" + threadId.getAndIncrement());
+                                t.setDaemon(true);
+                                return t;
+                            });
+                    e.allowCoreThreadTimeOut(true);
+                    executor = e;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Returns a [[TieredEvaluator]] starting with `interpreted` and compiles the object returned by
+     * `codeGenerated` in the background.
+     */
+    public static <T extends ExpressionsEvaluator> TieredEvaluator<T> create(T interpreted, Supplier<T> codeGenerated) {
+        TieredEvaluator<T> tiered = new TieredEvaluator<>(interpreted);
+        try {
+            Future<?> future = executor().submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    T generated = codeGenerated.get();
+                    recordCompileTime(System.nanoTime() - start);
+                    tiered.compiled(generated);
+                } catch (Throwable e) {
+                    numFailed.incrementAndGet();
+                    LOG.warn("Code generation failed, keep using interpreted mode", e);
+                }
+            });
+            tiered.setFuture(future);
+            numSubmitted.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            numRejected.incrementAndGet();
+            LOG.warn("Too many pending code generations, keep using interpreted mode");
+        }
+        return tiered;
+    }
+
+    private static void recordCompileTime(long nanos) {
+        compileTime.addAndGet(nanos);
+        maxCompileTime.accumulateAndGet(nanos, Math::max);
+    }
+
+    static void recordSwap(long latencyNanos) {
+        numSwapped.incrementAndGet();
+        swapLatency.addAndGet(latencyNanos);
+        maxSwapLatency.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    static void recordFailure() {
+        numFailed.incrementAndGet();
+    }
+
+    /**
+     * Gets the current tiered compilation metrics.
+     */
+    public static TieredCompilationMetrics getMetrics() {
+        return new TieredCompilationMetrics(numSubmitted.get(), numRejected.get(), numFailed.get(), numSwapped.get(),
+                compileTime.get(), maxCompileTime.get(), swapLatency.get(), maxSwapLatency.get());
+    }
+
+    /**
+     * Resets the tiered compilation metrics.
+     */
+    public static void resetMetrics() {
+        numSubmitted.set(0);
+        numRejected.set(0);
+        numFailed.set(0);
+        numSwapped.set(0);
+        compileTime.set(0);
+        maxCompileTime.set(0);
+        swapLatency.set(0);
+        maxSwapLatency.set(0);
+    }
+}
@@ -0,0 +1,40 @@
+package com.jipple.sql.catalyst.expressions;
+
+/**
+ * Metrics about tiered compilation, see [[TieredCompilation]]. All times are in nanoseconds.
+ */
+public class TieredCompilationMetrics {
+    /** Number of compilations submitted to the background executor. */
+    public final long numSubmitted;
+    /** Number of compilations rejected because the executor queue was full. */
+    public final long numRejected;
+    /** Number of compilations that failed, the interpreted object is kept. */
+    public final long numFailed;
+    /** Number of code generated objects swapped in. */
+    public final long numSwapped;
+    /** Total and max time spent generating and compiling code in the background. */
+    public final long compileTime;
+    public final long maxCompileTime;
+    /** Total and max time from creating the interpreted object to swapping in the generated one. */
+    public final long swapLatency;
+    public final long maxSwapLatency;
+
+    public TieredCompilationMetrics(long numSubmitted, long numRejected, long numFailed, long numSwapped,
+                                    long compileTime, long maxCompileTime, long swapLatency, long maxSwapLatency) {
+        this.numSubmitted = numSubmitted;
+        this.numRejected = numRejected;
+        this.numFailed = numFailed;
+        this.numSwapped = numSwapped;
+        this.compileTime = compileTime;
+        this.maxCompileTime = maxCompileTime;
+        this.swapLatency = swapLatency;
+        this.maxSwapLatency = maxSwapLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TieredCompilationMetrics(numSubmitted=%d, numRejected=%d, numFailed=%d, numSwapped=%d, " +
+                        "compileTime=%d, maxCompileTime=%d, swapLatency=%d, maxSwapLatency=%d)",
+                numSubmitted, numRejected, numFailed, numSwapped, compileTime, maxCompileTime, swapLatency, maxSwapLatency);
+    }
+}
@@ -0,0 +1,103 @@
+package com.jipple.sql.catalyst.expressions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Future;
+
+/**
+ * Holds the object an evaluator of the TIERED [[CodegenObjectFactoryMode]] delegates to: the
+ * interpreted object until the code generated one has been compiled in the background.
+ *
+ * The background thread only publishes the compiled object; the swap itself happens in
+ * [[current]] on the thread using the evaluator, which opens the new object with the same
+ * partition information, closes the old one and switches over before evaluating the next row.
+ * Like the evaluators, this class is not thread safe apart from that hand-off.
+ */
+public final class TieredEvaluator<T extends ExpressionsEvaluator> {
+    private static final Logger LOG = LoggerFactory.getLogger(TieredEvaluator.class);
+
+    private final long createTime = System.nanoTime();
+    private T current;
+    // Published by the background thread, consumed by the next call of `current()`.
+    private volatile T compiled;
+    private Future<?> future;
+    private boolean swapped = false;
+    private boolean opened = false;
+    private boolean closed = false;
+    private int partitions;
+    private int partitionIndex;
+
+    TieredEvaluator(T interpreted) {
+        this.current = interpreted;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void compiled(T generated) {
+        this.compiled = generated;
+    }
+
+    /**
+     * Returns true if the code generated object is in use.
+     */
+    public boolean isCompiled() {
+        return swapped;
+    }
+
+    /**
+     * Returns the object to evaluate the next row with, swapping in the code generated object if
+     * it is ready.
+     */
+    public T current() {
+        if (compiled != null) {
+            swap();
+        }
+        return current;
+    }
+
+    private void swap() {
+        T generated = compiled;
+        compiled = null;
+        if (closed) {
+            return;
+        }
+        try {
+            if (opened) {
+                generated.open(partitions, partitionIndex);
+            }
+        } catch (Exception e) {
+            TieredCompilation.recordFailure();
+            LOG.warn("Failed to open code generated object, keep using interpreted mode", e);
+            return;
+        }
+        T old = current;
+        current = generated;
+        swapped = true;
+        TieredCompilation.recordSwap(System.nanoTime() - createTime);
+        if (opened) {
+            try {
+                old.close();
+            } catch (Exception e) {
+                LOG.warn("Failed to close interpreted object", e);
+            }
+        }
+    }
+
+    public void open(int partitions, int partitionIndex) throws Exception {
+        this.partitions = partitions;
+        this.partitionIndex = partitionIndex;
+        this.opened = true;
+        current().open(partitions, partitionIndex);
+    }
+
+    public void close() throws Exception {
+        closed = true;
+        if (future != null) {
+            future.cancel(false);
+        }
+        current.close();
+    }
+}
@@ -0,0 +1,13 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+
+/**
+ * A projection that returns UnsafeRow.
+ *
+ * CAUTION: the returned projection object should *not* be assumed to be thread-safe.
+ */
+public abstract class UnsafeProjection extends Projection {
+    @Override
+    public abstract UnsafeRow apply(InternalRow row);
+}
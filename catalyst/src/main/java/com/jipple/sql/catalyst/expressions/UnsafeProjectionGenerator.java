@@ -0,0 +1,111 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.codegen.GenerateUnsafeProjection;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.types.DataType;
+import com.jipple.sql.types.StructType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class UnsafeProjectionGenerator extends CodeGeneratorWithInterpretedFallback<List<Expression>, UnsafeProjection> {
+    public static final UnsafeProjectionGenerator INSTANCE = new UnsafeProjectionGenerator();
+    private UnsafeProjectionGenerator() {}
+    public static UnsafeProjectionGenerator get() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected UnsafeProjection createCodeGeneratedObject(List<Expression> expressions) {
+        return GenerateUnsafeProjection.get().generate(expressions, SQLConf.get().subexpressionEliminationEnabled());
+    }
+
+    @Override
+    protected Supplier<UnsafeProjection> createCodeGeneratedSupplier(List<Expression> expressions) {
+        return GenerateUnsafeProjection.get().generateFactory(expressions, SQLConf.get().subexpressionEliminationEnabled());
+    }
+
+    @Override
+    protected UnsafeProjection createInterpretedObject(List<Expression> expressions) {
+        return new InterpretedUnsafeProjection(expressions);
+    }
+
+    @Override
+    protected List<Expression> freshCopy(List<Expression> expressions) {
+        return expressions.stream().map(Expression::freshCopy).collect(Collectors.toList());
+    }
+
+    @Override
+    protected UnsafeProjection createTieredObject(List<Expression> expressions) {
+        return new TieredUnsafeProjection(TieredCompilation.create(
+                createInterpretedObject(expressions), () -> createCodeGeneratedObject(expressions)));
+    }
+
+    /**
+     * Returns an UnsafeProjection for given StructType.
+     */
+    public UnsafeProjection create(StructType schema) {
+        return create(Arrays.stream(schema.fields).map(field -> field.dataType).toArray(DataType[]::new));
+    }
+
+    /**
+     * Returns an UnsafeProjection for given Array of DataTypes.
+     */
+    public UnsafeProjection create(DataType[] fields) {
+        List<Expression> exprs = new ArrayList<>(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            exprs.add(new BoundReference(i, fields[i], true));
+        }
+        return createObject(exprs);
+    }
+
+    /**
+     * Returns an UnsafeProjection for given Expression (bounded).
+     */
+    public UnsafeProjection create(Expression expression) {
+        return createObject(List.of(expression));
+    }
+
+    /**
+     * Returns an UnsafeProjection for given sequence of Expressions (bounded).
+     */
+    public UnsafeProjection create(List<Expression> expressions) {
+        return createObject(expressions);
+    }
+
+    /**
+     * Returns an UnsafeProjection for given sequence of Expressions, which will be bound to
+     * `inputSchema`.
+     */
+    public UnsafeProjection create(List<Expression> expressions, List<Attribute> inputSchema) {
+        return createObject(BindReferences.bindReferences(expressions, new AttributeSeq(inputSchema)));
+    }
+
+    private static class TieredUnsafeProjection extends UnsafeProjection {
+        private final TieredEvaluator<UnsafeProjection> tiered;
+
+        TieredUnsafeProjection(TieredEvaluator<UnsafeProjection> tiered) {
+            this.tiered = tiered;
+        }
+
+        @Override
+        public void open(int partitions, int partitionIndex) throws Exception {
+            tiered.open(partitions, partitionIndex);
+        }
+
+        @Override
+        public UnsafeRow apply(InternalRow row) {
+            return tiered.current().apply(row);
+        }
+
+        @Override
+        public void close() throws Exception {
+            tiered.close();
+        }
+    }
+}
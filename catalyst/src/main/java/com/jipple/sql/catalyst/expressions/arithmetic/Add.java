@@ -28,6 +28,11 @@ public class Add extends BinaryArithmetic {
         return "plus";
     }
 
+    @Override
+    protected String compactDecimalMethod() {
+        return "add";
+    }
+
     @Override
     protected Object nullSafeEval(Object input1, Object input2) {
         if (plus == null) {
@@ -38,6 +43,8 @@ public class Add extends BinaryArithmetic {
                 plus = (x, y) -> (Long) x + (Long) y;
             } else if (dataType instanceof DoubleType) {
                 plus = (x, y) -> (Double) x + (Double) y;
+            } else if (dataType instanceof DecimalType dt) {
+                plus = decimalOperation(dt, CompactDecimal::add, Decimal::plus);
             } else {
                 throw new RuntimeException();
             }
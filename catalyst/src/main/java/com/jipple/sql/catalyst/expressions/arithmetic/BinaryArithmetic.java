@@ -5,8 +5,12 @@ import com.jipple.sql.catalyst.expressions.Expression;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.trees.SQLQueryContext;
 import com.jipple.sql.errors.QueryExecutionErrors;
+import com.jipple.sql.types.CompactDecimal;
 import com.jipple.sql.types.DataType;
+import com.jipple.sql.types.Decimal;
+import com.jipple.sql.types.DecimalType;
 import com.jipple.sql.types.DoubleType;
 import com.jipple.sql.types.FloatType;
 import com.jipple.sql.types.IntegerType;
@@ -14,6 +18,7 @@ import com.jipple.sql.types.LongType;
 
 import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public abstract class BinaryArithmetic extends BinaryOperator {
     public BinaryArithmetic(Expression left, Expression right) {
@@ -29,6 +34,12 @@ public abstract class BinaryArithmetic extends BinaryOperator {
         return false;
     }
 
+    @Override
+    public boolean nullable() {
+        // decimal results are null on overflow
+        return super.nullable() || (dataType() instanceof DecimalType && !failOnError());
+    }
+
 
     /** Name of the function for this expression on a [[Decimal]] type. */
     protected String decimalMethod() {
@@ -36,10 +47,116 @@ public abstract class BinaryArithmetic extends BinaryOperator {
                 "decimalMethod", "genCode");
     }
 
+    /** Name of the function for this expression on the unscaled values of [[CompactDecimal]]s. */
+    protected String compactDecimalMethod() {
+        throw QueryExecutionErrors.notOverrideExpectedMethodsError("BinaryArithmetics",
+                "compactDecimalMethod", "genCode");
+    }
+
+    /**
+     * Returns the evaluation of this expression on two decimals of the given type, rounded half up
+     * to the type. Compact decimals are computed on their unscaled longs, and only fall back to the
+     * [[Decimal]] function on overflow, which returns null or fails like [[Decimal#toPrecision]].
+     */
+    protected BiFunction<Object, Object, Object> decimalOperation(
+            DecimalType dt,
+            CompactDecimal.Operation compactOperation,
+            BiFunction<Decimal, Decimal, Decimal> operation) {
+        boolean nullOnOverflow = !failOnError();
+        SQLQueryContext errorContext = null; // getContextOrNull()
+        BiFunction<Object, Object, Object> decimalOperation = (x, y) -> operation.apply((Decimal) x, (Decimal) y)
+                .toPrecision(dt.precision, dt.scale, Decimal.ROUND_HALF_UP, nullOnOverflow, errorContext);
+        if (!CompactDecimal.isCompact(dt)) {
+            return decimalOperation;
+        }
+        return (x, y) -> {
+            Decimal d1 = (Decimal) x;
+            Decimal d2 = (Decimal) y;
+            long unscaled = compactOperation.apply(d1.toUnscaledLong(), d1.scale(),
+                    d2.toUnscaledLong(), d2.scale(), dt.precision, dt.scale);
+            return unscaled != CompactDecimal.OVERFLOW
+                    ? Decimal.createUnsafe(unscaled, dt.precision, dt.scale)
+                    : decimalOperation.apply(x, y);
+        };
+    }
+
+    /**
+     * Generates the code of [[#decimalOperation]], assigning `toDataType` of the decimal result to
+     * the value of `ev`. `errorContextCode` is the code of the query context of overflow errors.
+     */
+    protected String decimalCodeGen(
+            CodegenContext ctx,
+            ExprCode ev,
+            String eval1,
+            String eval2,
+            DecimalType dt,
+            String errorContextCode,
+            Function<String, String> toDataType) {
+        String decimalValue = ctx.freshName("decimalValue");
+        String decimalCode = CodeGeneratorUtils.template(
+                """
+                        Decimal ${decimalValue} = ${eval1}.${decimalMethod}(${eval2}).toPrecision(
+                          ${precision}, ${scale}, Decimal.ROUND_HALF_UP, ${nullOnOverflow}, ${errorContextCode});
+                        if (${decimalValue} != null) {
+                          ${value} = ${decimalToDataType};
+                        } else {
+                          ${isNull} = true;
+                        }
+                        """,
+                Map.ofEntries(
+                        Map.entry("decimalValue", decimalValue),
+                        Map.entry("eval1", eval1),
+                        Map.entry("decimalMethod", decimalMethod()),
+                        Map.entry("eval2", eval2),
+                        Map.entry("precision", dt.precision),
+                        Map.entry("scale", dt.scale),
+                        Map.entry("nullOnOverflow", !failOnError()),
+                        Map.entry("errorContextCode", errorContextCode),
+                        Map.entry("value", ev.value.toString()),
+                        Map.entry("decimalToDataType", toDataType.apply(decimalValue)),
+                        Map.entry("isNull", ev.isNull.toString())
+                )
+        );
+        if (!CompactDecimal.isCompact(dt)) {
+            return decimalCode;
+        }
+        String unscaled = ctx.freshName("unscaled");
+        String compactValue = "Decimal.createUnsafe(" + unscaled + ", " + dt.precision + ", " + dt.scale + ")";
+        return CodeGeneratorUtils.template(
+                """
+                        long ${unscaled} = ${compactDecimal}.${compactDecimalMethod}(
+                          ${eval1}.toUnscaledLong(), ${eval1}.scale(), ${eval2}.toUnscaledLong(), ${eval2}.scale(),
+                          ${precision}, ${scale});
+                        if (${unscaled} != ${compactDecimal}.OVERFLOW) {
+                          ${value} = ${compactToDataType};
+                        } else {
+                          ${decimalCode}
+                        }
+                        """,
+                Map.ofEntries(
+                        Map.entry("unscaled", unscaled),
+                        Map.entry("compactDecimal", CompactDecimal.class.getName()),
+                        Map.entry("compactDecimalMethod", compactDecimalMethod()),
+                        Map.entry("eval1", eval1),
+                        Map.entry("eval2", eval2),
+                        Map.entry("precision", dt.precision),
+                        Map.entry("scale", dt.scale),
+                        Map.entry("value", ev.value.toString()),
+                        Map.entry("compactToDataType", toDataType.apply(compactValue)),
+                        Map.entry("decimalCode", decimalCode)
+                )
+        );
+    }
+
 
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
         DataType dt = dataType();
+        if (dt instanceof DecimalType decimalType) {
+            String errorContextCode = "null"; // getContextOrNullCode(ctx, failOnError)
+            return nullSafeCodeGen(ctx, ev, (eval1, eval2) ->
+                    decimalCodeGen(ctx, ev, eval1, eval2, decimalType, errorContextCode, Function.identity()));
+        }
         if (dt instanceof IntegerType
                 || dt instanceof LongType
                 || dt instanceof DoubleType
@@ -7,6 +7,7 @@ import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
 import com.jipple.sql.types.DataType;
+import com.jipple.sql.types.Decimal;
 import com.jipple.sql.types.DecimalType;
 
 import java.util.Map;
@@ -35,7 +36,7 @@ public abstract class DivModLike extends BinaryArithmetic  {
     public final Object eval(InternalRow input) {
         // evaluate right first as we have a chance to skip left if right is 0
         Object input2 = right.eval(input);
-        if (input2 == null || ((Number)input2).intValue() == 0) {
+        if (input2 == null || isZero(input2)) {
             return null;
         }  else {
             Object input1 = left.eval(input);
@@ -64,31 +65,8 @@ public abstract class DivModLike extends BinaryArithmetic  {
         DataType superDataType = super.dataType();
         String operation;
         if (superDataType instanceof DecimalType decimalType) {
-            String decimalValue = ctx.freshName("decimalValue");
-            operation = CodeGeneratorUtils.template(
-                    """
-                            Decimal ${decimalValue} = ${eval1}.${decimalMethod}(${eval2}).toPrecision(
-                              ${precision}, ${scale}, Decimal.ROUND_HALF_UP, ${nullOnOverflow}, ${errorContextCode});
-                            if (${decimalValue} != null) {
-                              ${value} = ${decimalToDataType};
-                            } else {
-                              ${isNull} = true;
-                            }
-                            """,
-                    Map.ofEntries(
-                            Map.entry("decimalValue", decimalValue),
-                            Map.entry("eval1", eval1.value.toString()),
-                            Map.entry("decimalMethod", decimalMethod()),
-                            Map.entry("eval2", eval2.value.toString()),
-                            Map.entry("precision", decimalType.precision),
-                            Map.entry("scale", decimalType.scale),
-                            Map.entry("nullOnOverflow", !failOnError()),
-                            Map.entry("errorContextCode", errorContextCode),
-                            Map.entry("value", ev.value.toString()),
-                            Map.entry("decimalToDataType", decimalToDataTypeCodeGen(decimalValue)),
-                            Map.entry("isNull", ev.isNull.toString())
-                    )
-            );
+            operation = decimalCodeGen(ctx, ev, eval1.value.toString(), eval2.value.toString(), decimalType,
+                    errorContextCode, this::decimalToDataTypeCodeGen);
         } else {
             operation = CodeGeneratorUtils.template(
                     "${value} = (${javaType})(${eval1} ${symbol} ${eval2});",
@@ -189,5 +167,9 @@ public abstract class DivModLike extends BinaryArithmetic  {
         }
     }
 
+    private static boolean isZero(Object input) {
+        return input instanceof Decimal decimal ? decimal.isZero() : ((Number) input).intValue() == 0;
+    }
+
     public abstract Object evalOperation(Object left, Object right);
 }
@@ -5,6 +5,7 @@ import com.jipple.sql.types.*;
 
 import java.util.function.BiFunction;
 
+import static com.jipple.sql.types.DataTypes.DECIMAL;
 import static com.jipple.sql.types.DataTypes.DOUBLE;
 
 public class Divide extends DivModLike {
@@ -16,7 +17,7 @@ public class Divide extends DivModLike {
 
     @Override
     public AbstractDataType inputType() {
-        return DOUBLE;
+        return TypeCollection.of(DOUBLE, DECIMAL);
     }
 
     @Override
@@ -29,12 +30,19 @@ public class Divide extends DivModLike {
         return "div";
     }
 
+    @Override
+    protected String compactDecimalMethod() {
+        return "divide";
+    }
+
     @Override
     public Object evalOperation(Object left, Object right) {
         if (div == null) {
             DataType dataType = dataType();
             if (dataType instanceof DoubleType) {
                 div = (x, y) -> (Double) x / (Double) y;
+            } else if (dataType instanceof DecimalType dt) {
+                div = decimalOperation(dt, CompactDecimal::divide, Decimal::div);
             } else {
                 throw new RuntimeException();
             }
@@ -29,6 +29,11 @@ public class Multiply extends BinaryArithmetic {
         return "times";
     }
 
+    @Override
+    protected String compactDecimalMethod() {
+        return "multiply";
+    }
+
     @Override
     protected Object nullSafeEval(Object input1, Object input2) {
         if (multiply == null) {
@@ -39,6 +44,8 @@ public class Multiply extends BinaryArithmetic {
                 multiply = (x, y) -> (Long) x * (Long) y;
             } else if (dataType instanceof DoubleType) {
                 multiply = (x, y) -> (Double) x * (Double) y;
+            } else if (dataType instanceof DecimalType dt) {
+                multiply = decimalOperation(dt, CompactDecimal::multiply, Decimal::times);
             } else {
                 throw new RuntimeException();
             }
@@ -29,6 +29,11 @@ public class Remainder extends DivModLike {
         return "remainder";
     }
 
+    @Override
+    protected String compactDecimalMethod() {
+        return "remainder";
+    }
+
     @Override
     public Object evalOperation(Object left, Object right) {
         if (mod == null) {
@@ -39,6 +44,8 @@ public class Remainder extends DivModLike {
                 mod = (x, y) -> (Long) x % (Long) y;
             } else if (dataType instanceof DoubleType) {
                 mod = (x, y) -> (Double) x % (Double) y;
+            } else if (dataType instanceof DecimalType dt) {
+                mod = decimalOperation(dt, CompactDecimal::remainder, Decimal::remainder);
             } else {
                 throw new RuntimeException();
             }
@@ -30,6 +30,11 @@ public class Subtract extends BinaryArithmetic {
         return "minus";
     }
 
+    @Override
+    protected String compactDecimalMethod() {
+        return "subtract";
+    }
+
     @Override
     protected Object nullSafeEval(Object input1, Object input2) {
         if (minus == null) {
@@ -40,6 +45,8 @@ public class Subtract extends BinaryArithmetic {
                 minus = (x, y) -> (Long) x - (Long) y;
             } else if (dataType instanceof DoubleType) {
                 minus = (x, y) -> (Double) x - (Double) y;
+            } else if (dataType instanceof DecimalType dt) {
+                minus = decimalOperation(dt, CompactDecimal::subtract, Decimal::minus);
             } else {
                 throw new RuntimeException();
             }
@@ -178,6 +178,14 @@ public final class CodeGeneratorUtils {
      * Compile the Java source code into a Java class, using Janino.
      */
     private static Tuple2<GeneratedClass, ByteCodeStats> doCompile(CodeAndComment code) {
+        PersistentClassCache persistentCache = PersistentClassCache.get();
+        if (persistentCache != null) {
+            Tuple2<GeneratedClass, ByteCodeStats> cached = persistentCache.load(code);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
 
         // A special classloader used to wrap the actual parent classloader of
@@ -218,6 +226,9 @@ public final class CodeGeneratorUtils {
         try {
             evaluator.cook("generated.java", code.body);
             codeStats = updateAndGetCompilationStats(evaluator);
+            if (persistentCache != null) {
+                persistentCache.store(code, evaluator.getBytecodes(), codeStats);
+            }
         } catch (InternalCompilerException e) {
             // TODO: Implement QueryExecutionErrors methods
             String msg = "Failed to compile code: " + e.getMessage();
@@ -146,6 +146,13 @@ public class CodegenContext {
      */
     private final Map<String, String> placeHolderToComments = new HashMap<>();
 
+    /**
+     * The expressions whose results are copied out, e.g. by an `UnsafeRowWriter`, before their
+     * code runs again. Their generated code may return values backed by buffers that it reuses
+     * for the next row.
+     */
+    private final Set<Expression> copiedResults = Collections.newSetFromMap(new IdentityHashMap<>());
+
     public CodegenContext() {
         classes.add(Tuple2.of(outerClassName, null));
         classSize.put(outerClassName, 0);
@@ -978,6 +985,22 @@ public class CodegenContext {
         return splitExpressions(subexprFunctions, "subexprFunc_split", args);
     }
 
+    /**
+     * Marks the results of the given expressions as copied out before their code runs again, see
+     * [[#isResultCopied]].
+     */
+    public void markResultsCopied(List<Expression> expressions) {
+        copiedResults.addAll(expressions);
+    }
+
+    /**
+     * Returns whether the result of the expression is copied out before its code runs again, so
+     * that the code may reuse a buffer for the result across rows instead of allocating one.
+     */
+    public boolean isResultCopied(Expression expression) {
+        return copiedResults.contains(expression);
+    }
+
     /**
      * Generates code for expressions. If doSubexpressionElimination is true, subexpression
      * elimination will be performed. Subexpression elimination assumes that the code for each
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Generates bytecode that evaluates an Expression on a given input InternalRow.
@@ -38,20 +39,82 @@ public class GenerateEval extends CodeGenerator<Expression, Eval> {
         return BindReferences.bindReference(in, new AttributeSeq(inputSchema));
     }
 
+    // Java types with a primitive-specialized entry point in `Eval`.
+    private static final Set<String> PRIMITIVE_EVAL_TYPES = Set.of(
+            CodeGeneratorUtils.JAVA_BOOLEAN,
+            CodeGeneratorUtils.JAVA_INT,
+            CodeGeneratorUtils.JAVA_LONG,
+            CodeGeneratorUtils.JAVA_DOUBLE);
+
     public Eval generate(Expression expression, boolean useSubexprElimination) {
         return create(canonicalize(expression), useSubexprElimination);
     }
 
+    /**
+     * Compiles the given bound expression once, returns a factory of its evaluators.
+     */
+    public GeneratedClassFactory<Eval> generateFactory(Expression expression, boolean useSubexprElimination) {
+        return createFactory(canonicalize(expression), useSubexprElimination);
+    }
+
     @Override
     protected Eval create(Expression expression) {
         return create(expression, false);
     }
 
     protected Eval create(Expression expression, boolean useSubexprElimination) {
+        return createFactory(expression, useSubexprElimination).get();
+    }
+
+    private GeneratedClassFactory<Eval> createFactory(Expression expression, boolean useSubexprElimination) {
         CodegenContext ctx = newCodeGenContext();
         ExprCode eval = ctx.generateExpressions(List.of(expression), useSubexprElimination).get(0);
         String evalSubexpr = ctx.subexprFunctionsCode();
 
+        String javaType = CodeGeneratorUtils.javaType(expression.dataType());
+        String evalFunctions;
+        if (PRIMITIVE_EVAL_TYPES.contains(javaType)) {
+            // Implement the primitive entry point without boxing, and box only in `eval`.
+            evalFunctions = CodeGeneratorUtils.template(
+                    """
+                            public ${javaType} eval${primitiveName}(InternalRow ${inputRow}) {
+                              ${evalSubexpr}
+                              ${evalCode}
+                              wasNull = ${isNull};
+                              return ${value};
+                            }
+
+                            public Object eval(InternalRow ${inputRow}) {
+                              ${javaType} result = eval${primitiveName}(${inputRow});
+                              return wasNull ? null : (Object) ${boxedType}.valueOf(result);
+                            }
+                            """,
+                    Map.of(
+                            "javaType", javaType,
+                            "primitiveName", CodeGeneratorUtils.primitiveTypeName(javaType),
+                            "boxedType", CodeGeneratorUtils.boxedType(javaType),
+                            "inputRow", ctx.INPUT_ROW,
+                            "evalSubexpr", evalSubexpr,
+                            "evalCode", eval.code.toString(),
+                            "isNull", eval.isNull.toString(),
+                            "value", eval.value.toString()));
+        } else {
+            evalFunctions = CodeGeneratorUtils.template(
+                    """
+                            public Object eval(InternalRow ${inputRow}) {
+                              ${evalSubexpr}
+                              ${evalCode}
+                              return ${isNull} ? null : ${value};
+                            }
+                            """,
+                    Map.of(
+                            "inputRow", ctx.INPUT_ROW,
+                            "evalSubexpr", evalSubexpr,
+                            "evalCode", eval.code.toString(),
+                            "isNull", eval.isNull.toString(),
+                            "value", eval.value.toString()));
+        }
+
         String codeBody = CodeGeneratorUtils.template(
                 """
                         public SpecificEval generate(Object[] references) {
@@ -71,11 +134,7 @@ public class GenerateEval extends CodeGenerator<Expression, Eval> {
                             ${initPartition}
                           }
 
-                          public Object eval(InternalRow ${inputRow}) {
-                            ${evalSubexpr}
-                            ${evalCode}
-                            return ${isNull} ? null : ${value};
-                          }
+                          ${evalFunctions}
 
                           public void close() throws Exception {
                             ${closePartition}
@@ -89,11 +148,7 @@ public class GenerateEval extends CodeGenerator<Expression, Eval> {
                         Map.entry("mutableStates", ctx.declareMutableStates()),
                         Map.entry("initMutableStates", ctx.initMutableStates()),
                         Map.entry("initPartition", ctx.initPartition()),
-                        Map.entry("inputRow", ctx.INPUT_ROW),
-                        Map.entry("evalSubexpr", evalSubexpr),
-                        Map.entry("evalCode", eval.code.toString()),
-                        Map.entry("isNull", eval.isNull.toString()),
-                        Map.entry("value", eval.value.toString()),
+                        Map.entry("evalFunctions", evalFunctions),
                         Map.entry("closePartition", ctx.closePartition()),
                         Map.entry("addedFunctions", ctx.declareAddedFunctions())
                 )
@@ -106,6 +161,6 @@ public class GenerateEval extends CodeGenerator<Expression, Eval> {
         }
 
         Tuple2<GeneratedClass, ByteCodeStats> compiled = CodeGeneratorUtils.compile(code);
-        return (Eval) compiled._1.generate(ctx.referencesArray());
+        return new GeneratedClassFactory<>(compiled._1, ctx.referencesArray());
     }
 }
@@ -0,0 +1,123 @@
+package com.jipple.sql.catalyst.expressions.codegen;
+
+import com.jipple.sql.catalyst.expressions.BindReferences;
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.ExpressionCanonicalizer;
+import com.jipple.sql.catalyst.expressions.AttributeSeq;
+import com.jipple.sql.catalyst.expressions.Predicate;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.tuple.Tuple2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates bytecode that evaluates a boolean Expression on a given input InternalRow.
+ * A null result is treated as false.
+ */
+public class GeneratePredicate extends CodeGenerator<Expression, Predicate> {
+    private static final Logger logger = LoggerFactory.getLogger(GeneratePredicate.class);
+
+    public static final GeneratePredicate INSTANCE = new GeneratePredicate();
+
+    private GeneratePredicate() {
+    }
+
+    public static GeneratePredicate get() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected Expression canonicalize(Expression in) {
+        return ExpressionCanonicalizer.canonicalize(in);
+    }
+
+    @Override
+    protected Expression bind(Expression in, List<Attribute> inputSchema) {
+        return BindReferences.bindReference(in, new AttributeSeq(inputSchema));
+    }
+
+    public Predicate generate(Expression expression, boolean useSubexprElimination) {
+        return create(canonicalize(expression), useSubexprElimination);
+    }
+
+    /**
+     * Compiles the given bound expression once, returns a factory of its evaluators.
+     */
+    public GeneratedClassFactory<Predicate> generateFactory(Expression expression, boolean useSubexprElimination) {
+        return createFactory(canonicalize(expression), useSubexprElimination);
+    }
+
+    @Override
+    protected Predicate create(Expression expression) {
+        return create(expression, false);
+    }
+
+    protected Predicate create(Expression expression, boolean useSubexprElimination) {
+        return createFactory(expression, useSubexprElimination).get();
+    }
+
+    private GeneratedClassFactory<Predicate> createFactory(Expression expression, boolean useSubexprElimination) {
+        CodegenContext ctx = newCodeGenContext();
+        ExprCode eval = ctx.generateExpressions(List.of(expression), useSubexprElimination).get(0);
+        String evalSubexpr = ctx.subexprFunctionsCode();
+
+        String codeBody = CodeGeneratorUtils.template(
+                """
+                        public SpecificPredicate generate(Object[] references) {
+                          return new SpecificPredicate(references);
+                        }
+
+                        class SpecificPredicate extends ${predicateClassName} {
+                          private final Object[] references;
+                          ${mutableStates}
+
+                          public SpecificPredicate(Object[] references) {
+                            this.references = references;
+                            ${initMutableStates}
+                          }
+
+                          public void open(int partitions, int partitionIndex) throws Exception {
+                            ${initPartition}
+                          }
+
+                          public boolean eval(InternalRow ${inputRow}) {
+                            ${evalSubexpr}
+                            ${evalCode}
+                            return !${isNull} && ${value};
+                          }
+
+                          public void close() throws Exception {
+                            ${closePartition}
+                          }
+
+                          ${addedFunctions}
+                        }
+                        """,
+                Map.ofEntries(
+                        Map.entry("predicateClassName", Predicate.class.getName()),
+                        Map.entry("mutableStates", ctx.declareMutableStates()),
+                        Map.entry("initMutableStates", ctx.initMutableStates()),
+                        Map.entry("initPartition", ctx.initPartition()),
+                        Map.entry("inputRow", ctx.INPUT_ROW),
+                        Map.entry("evalSubexpr", evalSubexpr),
+                        Map.entry("evalCode", eval.code.toString()),
+                        Map.entry("isNull", eval.isNull.toString()),
+                        Map.entry("value", eval.value.toString()),
+                        Map.entry("closePartition", ctx.closePartition()),
+                        Map.entry("addedFunctions", ctx.declareAddedFunctions())
+                )
+        );
+
+        CodeAndComment code = CodeFormatter.stripOverlappingComments(
+                new CodeAndComment(codeBody, ctx.getPlaceHolderToComments()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Generated predicate '{}':\n{}", expression, CodeFormatter.format(code, -1));
+        }
+
+        Tuple2<GeneratedClass, ByteCodeStats> compiled = CodeGeneratorUtils.compile(code);
+        return new GeneratedClassFactory<>(compiled._1, ctx.referencesArray());
+    }
+}
@@ -1,13 +1,13 @@
 package com.jipple.sql.catalyst.expressions.codegen;
 
-import com.jipple.sql.catalyst.InternalRow;
 import com.jipple.sql.catalyst.expressions.*;
 import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.types.DataType;
 import com.jipple.tuple.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,16 +34,41 @@ public class GenerateSafeProjection  extends CodeGenerator<List<Expression>, Pro
         return BindReferences.bindReferences(in, new AttributeSeq(inputSchema));
     }
 
+    public Projection generate(List<Expression> expressions, boolean useSubexprElimination) {
+        return create(canonicalize(expressions), useSubexprElimination);
+    }
+
+    /**
+     * Compiles the given bound expressions once, returns a factory of their evaluators.
+     */
+    public GeneratedClassFactory<Projection> generateFactory(List<Expression> expressions, boolean useSubexprElimination) {
+        return createFactory(canonicalize(expressions), useSubexprElimination);
+    }
+
     @Override
     protected Projection create(List<Expression> expressions) {
+        return create(expressions, false);
+    }
+
+    private Projection create(List<Expression> expressions, boolean useSubexprElimination) {
+        return createFactory(expressions, useSubexprElimination).get();
+    }
+
+    private GeneratedClassFactory<Projection> createFactory(List<Expression> expressions, boolean useSubexprElimination) {
         CodegenContext ctx = newCodeGenContext();
-        ;
+        // NoOp columns are left untouched, so only the other expressions are generated.
+        List<Expression> nonNoOpExprs = expressions.stream().filter(e -> !(e instanceof NoOp)).collect(Collectors.toList());
+        List<ExprCode> nonNoOpEvals = ctx.generateExpressions(nonNoOpExprs, useSubexprElimination);
+        // Evaluate all the subexpressions.
+        String evalSubexpr = ctx.subexprFunctionsCode();
+
+        int[] evalIndex = {0};
         List<String> expressionCodes = IntStream.range(0, expressions.size()).mapToObj(i -> {
             Expression e = expressions.get(i);
             if (e instanceof NoOp) {
                 return "";
             } else {
-                ExprCode evaluationCode = e.genCode(ctx);
+                ExprCode evaluationCode = nonNoOpEvals.get(evalIndex[0]++);
                 return evaluationCode.code +
                     CodeGeneratorUtils.template("\n" + """
                       if (${evaluationCodeIsNull}) {
@@ -84,6 +109,7 @@ public class GenerateSafeProjection  extends CodeGenerator<List<Expression>, Pro
             }
 
             public InternalRow apply(InternalRow ${inputRow}) {
+              ${evalSubexpr}
               ${allExpressions}
               return mutableRow;
             }
@@ -100,6 +126,7 @@ public class GenerateSafeProjection  extends CodeGenerator<List<Expression>, Pro
             Map.entry("initMutableStates", ctx.initMutableStates()),
             Map.entry("initPartition", ctx.initPartition()),
             Map.entry("inputRow", ctx.INPUT_ROW),
+            Map.entry("evalSubexpr", evalSubexpr),
             Map.entry("allExpressions", allExpressions),
             Map.entry("closePartition", ctx.closePartition()),
             Map.entry("addedFunctions", ctx.declareAddedFunctions())
@@ -112,10 +139,14 @@ public class GenerateSafeProjection  extends CodeGenerator<List<Expression>, Pro
         }
 
         Tuple2<GeneratedClass, ByteCodeStats> compiled = CodeGeneratorUtils.compile(code);
-        InternalRow resultRow = new SpecificInternalRow(expressions.stream().map(Expression::dataType).collect(Collectors.toList()));
-        List refs = new ArrayList<>(ctx.references);
-        refs.add(resultRow);
-        return (Projection) compiled._1.generate(refs.toArray());
+        List<DataType> resultTypes = expressions.stream().map(Expression::dataType).collect(Collectors.toList());
+        Object[] references = ctx.referencesArray();
+        // Every instance writes into its own result row.
+        return new GeneratedClassFactory<>(compiled._1, () -> {
+            Object[] refs = Arrays.copyOf(references, references.length + 1);
+            refs[references.length] = new SpecificInternalRow(resultTypes);
+            return refs;
+        });
     }
 
 }
\ No newline at end of file
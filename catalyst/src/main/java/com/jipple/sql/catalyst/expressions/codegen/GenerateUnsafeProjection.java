@@ -0,0 +1,504 @@
+package com.jipple.sql.catalyst.expressions.codegen;
+
+import com.jipple.sql.catalyst.expressions.AttributeSeq;
+import com.jipple.sql.catalyst.expressions.BindReferences;
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.ExpressionCanonicalizer;
+import com.jipple.sql.catalyst.expressions.UnsafeProjection;
+import com.jipple.sql.catalyst.expressions.UnsafeRow;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.types.*;
+import com.jipple.tuple.Tuple2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a [[Projection]] that returns an [[UnsafeRow]].
+ *
+ * It generates the code for all the expressions, computes the total length for all the columns
+ * (can be accessed via variables), and then copies the data into a scratch buffer space in the
+ * form of UnsafeRow (the scratch buffer will grow as needed).
+ *
+ * @note The returned UnsafeRow will be pointed to a scratch buffer inside the projection.
+ */
+public class GenerateUnsafeProjection extends CodeGenerator<List<Expression>, UnsafeProjection> {
+    private static final Logger logger = LoggerFactory.getLogger(GenerateUnsafeProjection.class);
+
+    public static final GenerateUnsafeProjection INSTANCE = new GenerateUnsafeProjection();
+
+    private GenerateUnsafeProjection() {
+    }
+
+    public static GenerateUnsafeProjection get() {
+        return INSTANCE;
+    }
+
+    private static final class Schema {
+        final DataType dataType;
+        final boolean nullable;
+
+        Schema(DataType dataType, boolean nullable) {
+            this.dataType = dataType;
+            this.nullable = nullable;
+        }
+    }
+
+    /** Returns true iff we support this data type. */
+    public static boolean canSupport(DataType dataType) {
+        if (dataType instanceof NullType || dataType instanceof AtomicType || dataType instanceof CalendarIntervalType) {
+            return true;
+        } else if (dataType instanceof StructType t) {
+            return Arrays.stream(t.fields).allMatch(field -> canSupport(field.dataType));
+        } else if (dataType instanceof ArrayType t) {
+            return canSupport(t.elementType);
+        } else if (dataType instanceof MapType t) {
+            return canSupport(t.keyType) && canSupport(t.valueType);
+        } else {
+            return false;
+        }
+    }
+
+    // Fields of non-nullable schemas are written without checking the input for null.
+    private static String writeStructToBuffer(
+            CodegenContext ctx,
+            String input,
+            String index,
+            List<Schema> schemas,
+            String rowWriter) {
+        // Puts `input` in a local variable to avoid to re-evaluate it if it's a statement.
+        String tmpInput = ctx.freshName("tmpInput");
+        List<ExprCode> fieldEvals = new ArrayList<>(schemas.size());
+        for (int i = 0; i < schemas.size(); i++) {
+            Schema schema = schemas.get(i);
+            ExprValue isNull = schema.nullable
+                    ? JavaCode.isNullExpression(tmpInput + ".isNullAt(" + i + ")")
+                    : FalseLiteral.INSTANCE;
+            fieldEvals.add(ExprCode.of(isNull, JavaCode.expression(
+                    CodeGeneratorUtils.getValue(tmpInput, schema.dataType, String.valueOf(i)), schema.dataType)));
+        }
+
+        String rowWriterClass = UnsafeRowWriter.class.getName();
+        String structRowWriter = ctx.addMutableState(rowWriterClass, "rowWriter",
+                v -> v + " = new " + rowWriterClass + "(" + rowWriter + ", " + fieldEvals.size() + ");");
+        String previousCursor = ctx.freshName("previousCursor");
+        return CodeGeneratorUtils.template(
+                """
+                        final InternalRow ${tmpInput} = ${input};
+                        if (${tmpInput} instanceof UnsafeRow) {
+                          ${rowWriter}.write(${index}, (UnsafeRow) ${tmpInput});
+                        } else {
+                          // Remember the current cursor so that we can calculate how many bytes are
+                          // written later.
+                          final int ${previousCursor} = ${rowWriter}.cursor();
+                          ${writeFields}
+                          ${rowWriter}.setOffsetAndSizeFromPreviousCursor(${index}, ${previousCursor});
+                        }
+                        """,
+                Map.of(
+                        "tmpInput", tmpInput,
+                        "input", input,
+                        "rowWriter", rowWriter,
+                        "index", index,
+                        "previousCursor", previousCursor,
+                        "writeFields", writeExpressionsToBuffer(ctx, tmpInput, fieldEvals, schemas, structRowWriter, false)
+                )
+        );
+    }
+
+    private static String writeExpressionsToBuffer(
+            CodegenContext ctx,
+            String row,
+            List<ExprCode> inputs,
+            List<Schema> schemas,
+            String rowWriter,
+            boolean isTopLevel) {
+        String resetWriter;
+        if (isTopLevel) {
+            // For top level row writer, it always writes to the beginning of the global buffer holder,
+            // which means its fixed-size region always in the same position, so we don't need to call
+            // `reset` to set up its fixed-size region every time.
+            if (inputs.stream().allMatch(input -> input.isNull == FalseLiteral.INSTANCE)) {
+                // If all fields are not nullable, which means the null bits never changes, then we don't
+                // need to clear it out every time.
+                resetWriter = "";
+            } else {
+                resetWriter = rowWriter + ".zeroOutNullBytes();";
+            }
+        } else {
+            resetWriter = rowWriter + ".resetRowWriter();";
+        }
+
+        List<String> writeFields = new ArrayList<>(inputs.size());
+        for (int index = 0; index < inputs.size(); index++) {
+            ExprCode input = inputs.get(index);
+            Schema schema = schemas.get(index);
+            DataType dt = schema.dataType;
+
+            String setNull;
+            if (dt instanceof DecimalType t && t.precision > Decimal.MAX_LONG_DIGITS) {
+                // Can't call setNullAt() for DecimalType with precision larger than 18.
+                setNull = rowWriter + ".write(" + index + ", (Decimal) null, " + t.precision + ", " + t.scale + ");";
+            } else if (dt instanceof CalendarIntervalType) {
+                setNull = rowWriter + ".write(" + index + ", (CalendarInterval) null);";
+            } else {
+                setNull = rowWriter + ".setNullAt(" + index + ");";
+            }
+
+            String writeField = writeElement(ctx, input.value.toString(), String.valueOf(index), dt, rowWriter);
+            if (!schema.nullable) {
+                writeFields.add(CodeGeneratorUtils.template(
+                        """
+                                ${code}
+                                ${writeField}
+                                """,
+                        Map.of("code", input.code.toString(), "writeField", writeField.trim())
+                ));
+            } else {
+                writeFields.add(CodeGeneratorUtils.template(
+                        """
+                                ${code}
+                                if (${isNull}) {
+                                  ${setNull}
+                                } else {
+                                  ${writeField}
+                                }
+                                """,
+                        Map.of(
+                                "code", input.code.toString(),
+                                "isNull", input.isNull.toString(),
+                                "setNull", setNull,
+                                "writeField", writeField.trim()
+                        )
+                ));
+            }
+        }
+
+        String writeFieldsCode;
+        if (isTopLevel && (row == null || ctx.currentVars != null)) {
+            // The inputs are in local variables rather than a row, so the writes cannot be split
+            // into methods taking the row.
+            writeFieldsCode = String.join("\n", writeFields);
+        } else {
+            assert row != null : "the input row name cannot be null when generating code to write it.";
+            writeFieldsCode = ctx.splitExpressions(
+                    writeFields,
+                    "writeFields",
+                    List.of(Tuple2.of("InternalRow", row)));
+        }
+        return resetWriter + "\n" + writeFieldsCode;
+    }
+
+    private static String writeArrayToBuffer(
+            CodegenContext ctx,
+            String input,
+            DataType elementType,
+            boolean containsNull,
+            String rowWriter) {
+        // Puts `input` in a local variable to avoid to re-evaluate it if it's a statement.
+        String tmpInput = ctx.freshName("tmpInput");
+        String numElements = ctx.freshName("numElements");
+        String index = ctx.freshName("index");
+
+        String jt = CodeGeneratorUtils.javaType(elementType);
+
+        int elementOrOffsetSize;
+        if (elementType instanceof DecimalType t && t.precision <= Decimal.MAX_LONG_DIGITS) {
+            elementOrOffsetSize = 8;
+        } else if (CodeGeneratorUtils.isPrimitiveType(jt)) {
+            elementOrOffsetSize = elementType.defaultSize();
+        } else {
+            // we need 8 bytes to store offset and length
+            elementOrOffsetSize = 8;
+        }
+
+        String arrayWriterClass = UnsafeArrayWriter.class.getName();
+        String arrayWriter = ctx.addMutableState(arrayWriterClass, "arrayWriter",
+                v -> v + " = new " + arrayWriterClass + "(" + rowWriter + ", " + elementOrOffsetSize + ");");
+
+        String element = CodeGeneratorUtils.getValue(tmpInput, elementType, index);
+
+        String elementAssignment;
+        if (containsNull) {
+            elementAssignment = CodeGeneratorUtils.template(
+                    """
+                            if (${tmpInput}.isNullAt(${index})) {
+                              ${arrayWriter}.setNull${size}Bytes(${index});
+                            } else {
+                              ${writeElement}
+                            }
+                            """,
+                    Map.of(
+                            "tmpInput", tmpInput,
+                            "index", index,
+                            "arrayWriter", arrayWriter,
+                            "size", elementOrOffsetSize,
+                            "writeElement", writeElement(ctx, element, index, elementType, arrayWriter)
+                    )
+            );
+        } else {
+            elementAssignment = writeElement(ctx, element, index, elementType, arrayWriter);
+        }
+
+        return CodeGeneratorUtils.template(
+                """
+                        final ArrayData ${tmpInput} = ${input};
+                        if (${tmpInput} instanceof UnsafeArrayData) {
+                          ${rowWriter}.write((UnsafeArrayData) ${tmpInput});
+                        } else {
+                          final int ${numElements} = ${tmpInput}.numElements();
+                          ${arrayWriter}.initialize(${numElements});
+
+                          for (int ${index} = 0; ${index} < ${numElements}; ${index}++) {
+                            ${elementAssignment}
+                          }
+                        }
+                        """,
+                Map.of(
+                        "tmpInput", tmpInput,
+                        "input", input,
+                        "rowWriter", rowWriter,
+                        "numElements", numElements,
+                        "arrayWriter", arrayWriter,
+                        "index", index,
+                        "elementAssignment", elementAssignment
+                )
+        );
+    }
+
+    private static String writeMapToBuffer(
+            CodegenContext ctx,
+            String input,
+            String index,
+            MapType mapType,
+            String rowWriter) {
+        // Puts `input` in a local variable to avoid to re-evaluate it if it's a statement.
+        String tmpInput = ctx.freshName("tmpInput");
+        String tmpCursor = ctx.freshName("tmpCursor");
+        String previousCursor = ctx.freshName("previousCursor");
+
+        // Writes out unsafe map according to the format described in `UnsafeMapData`.
+        String keyArray = writeArrayToBuffer(
+                ctx, tmpInput + ".keyArray()", mapType.keyType, false, rowWriter);
+        String valueArray = writeArrayToBuffer(
+                ctx, tmpInput + ".valueArray()", mapType.valueType, mapType.valueContainsNull, rowWriter);
+
+        return CodeGeneratorUtils.template(
+                """
+                        final MapData ${tmpInput} = ${input};
+                        if (${tmpInput} instanceof UnsafeMapData) {
+                          ${rowWriter}.write(${index}, (UnsafeMapData) ${tmpInput});
+                        } else {
+                          // Remember the current cursor so that we can calculate how many bytes are
+                          // written later.
+                          final int ${previousCursor} = ${rowWriter}.cursor();
+
+                          // preserve 8 bytes to write the key array numBytes later.
+                          ${rowWriter}.grow(8);
+                          ${rowWriter}.increaseCursor(8);
+
+                          // Remember the current cursor so that we can write numBytes of key array later.
+                          final int ${tmpCursor} = ${rowWriter}.cursor();
+
+                          ${keyArray}
+
+                          // Write the numBytes of key array into the first 8 bytes.
+                          Platform.putLong(
+                            ${rowWriter}.getBuffer(),
+                            ${tmpCursor} - 8,
+                            ${rowWriter}.cursor() - ${tmpCursor});
+
+                          ${valueArray}
+                          ${rowWriter}.setOffsetAndSizeFromPreviousCursor(${index}, ${previousCursor});
+                        }
+                        """,
+                Map.of(
+                        "tmpInput", tmpInput,
+                        "input", input,
+                        "rowWriter", rowWriter,
+                        "index", index,
+                        "previousCursor", previousCursor,
+                        "tmpCursor", tmpCursor,
+                        "keyArray", keyArray,
+                        "valueArray", valueArray
+                )
+        );
+    }
+
+    private static String writeElement(
+            CodegenContext ctx,
+            String input,
+            String index,
+            DataType dt,
+            String writer) {
+        if (dt instanceof StructType t) {
+            List<Schema> schemas = Arrays.stream(t.fields)
+                    .map(f -> new Schema(f.dataType, f.nullable))
+                    .collect(Collectors.toList());
+            return writeStructToBuffer(ctx, input, index, schemas, writer);
+        } else if (dt instanceof ArrayType t) {
+            String previousCursor = ctx.freshName("previousCursor");
+            return CodeGeneratorUtils.template(
+                    """
+                            // Remember the current cursor so that we can calculate how many bytes are
+                            // written later.
+                            final int ${previousCursor} = ${writer}.cursor();
+                            ${writeArray}
+                            ${writer}.setOffsetAndSizeFromPreviousCursor(${index}, ${previousCursor});
+                            """,
+                    Map.of(
+                            "previousCursor", previousCursor,
+                            "writer", writer,
+                            "writeArray", writeArrayToBuffer(ctx, input, t.elementType, t.containsNull, writer),
+                            "index", index
+                    )
+            );
+        } else if (dt instanceof MapType t) {
+            return writeMapToBuffer(ctx, input, index, t, writer);
+        } else if (dt instanceof DecimalType t) {
+            return writer + ".write(" + index + ", " + input + ", " + t.precision + ", " + t.scale + ");";
+        } else if (dt instanceof NullType) {
+            return "";
+        } else {
+            return writer + ".write(" + index + ", " + input + ");";
+        }
+    }
+
+    public static ExprCode createCode(
+            CodegenContext ctx,
+            List<Expression> expressions,
+            boolean useSubexprElimination) {
+        // the row writer copies every field into its buffer right away
+        ctx.markResultsCopied(expressions);
+        List<ExprCode> exprEvals = ctx.generateExpressions(expressions, useSubexprElimination);
+        List<Schema> exprSchemas = expressions.stream()
+                .map(e -> new Schema(e.dataType(), e.nullable()))
+                .collect(Collectors.toList());
+
+        // Reserves 32 bytes per variable-length field; the writer grows its buffer when needed.
+        long numVarLenFields = exprSchemas.stream().filter(s -> !UnsafeRow.isFixedLength(s.dataType)).count();
+
+        String rowWriterClass = UnsafeRowWriter.class.getName();
+        String rowWriter = ctx.addMutableState(rowWriterClass, "rowWriter",
+                v -> v + " = new " + rowWriterClass + "(" + expressions.size() + ", " + numVarLenFields * 32 + ");");
+
+        // Evaluate all the subexpression.
+        String evalSubexpr = ctx.subexprFunctionsCode();
+
+        String writeExpressions = writeExpressionsToBuffer(
+                ctx, ctx.INPUT_ROW, exprEvals, exprSchemas, rowWriter, true);
+
+        Block code = Block.block(
+                """
+                        ${rowWriter}.reset();
+                        ${evalSubexpr}
+                        ${writeExpressions}
+                        """,
+                Map.of(
+                        "rowWriter", rowWriter,
+                        "evalSubexpr", evalSubexpr,
+                        "writeExpressions", writeExpressions
+                )
+        );
+        // `rowWriter` is declared as a class field, so we can access it directly in methods.
+        return new ExprCode(code, FalseLiteral.INSTANCE, JavaCode.expression(rowWriter + ".getRow()", UnsafeRow.class));
+    }
+
+    public static ExprCode createCode(CodegenContext ctx, List<Expression> expressions) {
+        return createCode(ctx, expressions, false);
+    }
+
+    @Override
+    protected List<Expression> canonicalize(List<Expression> in) {
+        return in.stream().map(ExpressionCanonicalizer::canonicalize).collect(Collectors.toList());
+    }
+
+    @Override
+    protected List<Expression> bind(List<Expression> in, List<Attribute> inputSchema) {
+        return BindReferences.bindReferences(in, new AttributeSeq(inputSchema));
+    }
+
+    public UnsafeProjection generate(List<Expression> expressions, boolean subexpressionEliminationEnabled) {
+        return create(canonicalize(expressions), subexpressionEliminationEnabled);
+    }
+
+    /**
+     * Compiles the given bound expressions once, returns a factory of their evaluators.
+     */
+    public GeneratedClassFactory<UnsafeProjection> generateFactory(List<Expression> expressions, boolean subexpressionEliminationEnabled) {
+        return createFactory(canonicalize(expressions), subexpressionEliminationEnabled);
+    }
+
+    @Override
+    protected UnsafeProjection create(List<Expression> expressions) {
+        return create(expressions, false);
+    }
+
+    private UnsafeProjection create(List<Expression> expressions, boolean subexpressionEliminationEnabled) {
+        return createFactory(expressions, subexpressionEliminationEnabled).get();
+    }
+
+    private GeneratedClassFactory<UnsafeProjection> createFactory(List<Expression> expressions, boolean subexpressionEliminationEnabled) {
+        CodegenContext ctx = newCodeGenContext();
+        ExprCode eval = createCode(ctx, expressions, subexpressionEliminationEnabled);
+
+        String codeBody = CodeGeneratorUtils.template(
+                """
+                        public java.lang.Object generate(Object[] references) {
+                          return new SpecificUnsafeProjection(references);
+                        }
+
+                        class SpecificUnsafeProjection extends ${projectionClassName} {
+
+                          private Object[] references;
+                          ${mutableStates}
+
+                          public SpecificUnsafeProjection(Object[] references) {
+                            this.references = references;
+                            ${initMutableStates}
+                          }
+
+                          public void open(int partitions, int partitionIndex) throws Exception {
+                            ${initPartition}
+                          }
+
+                          public UnsafeRow apply(InternalRow ${inputRow}) {
+                            ${evalCode}
+                            return ${value};
+                          }
+
+                          public void close() throws Exception {
+                            ${closePartition}
+                          }
+
+                          ${addedFunctions}
+                        }
+                        """,
+                Map.ofEntries(
+                        Map.entry("projectionClassName", UnsafeProjection.class.getName()),
+                        Map.entry("mutableStates", ctx.declareMutableStates()),
+                        Map.entry("initMutableStates", ctx.initMutableStates()),
+                        Map.entry("initPartition", ctx.initPartition()),
+                        Map.entry("inputRow", ctx.INPUT_ROW),
+                        Map.entry("evalCode", eval.code.toString()),
+                        Map.entry("value", eval.value.toString()),
+                        Map.entry("closePartition", ctx.closePartition()),
+                        Map.entry("addedFunctions", ctx.declareAddedFunctions())
+                )
+        );
+
+        CodeAndComment code = CodeFormatter.stripOverlappingComments(
+                new CodeAndComment(codeBody, ctx.getPlaceHolderToComments()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("code for {}:\n{}", expressions.stream().map(Expression::toString).collect(Collectors.joining(",")), CodeFormatter.format(code));
+        }
+
+        Tuple2<GeneratedClass, ByteCodeStats> compiled = CodeGeneratorUtils.compile(code);
+        return new GeneratedClassFactory<>(compiled._1, ctx.referencesArray());
+    }
+}
@@ -0,0 +1,33 @@
+package com.jipple.sql.catalyst.expressions.codegen;
+
+import java.util.function.Supplier;
+
+/**
+ * A compiled [[GeneratedClass]] with the references of its code, creating new evaluator instances
+ * without going through code generation and the compile cache again.
+ *
+ * References are shared between the instances, so they must not be mutated by the generated code.
+ * Mutable objects, like the result row of a safe projection, are created for every instance.
+ */
+public final class GeneratedClassFactory<T> implements Supplier<T> {
+    private final GeneratedClass generatedClass;
+    private final Supplier<Object[]> references;
+
+    GeneratedClassFactory(GeneratedClass generatedClass, Object[] references) {
+        this(generatedClass, () -> references);
+    }
+
+    GeneratedClassFactory(GeneratedClass generatedClass, Supplier<Object[]> references) {
+        this.generatedClass = generatedClass;
+        this.references = references;
+    }
+
+    /**
+     * Returns a new instance of the generated evaluator.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        return (T) generatedClass.generate(references.get());
+    }
+}
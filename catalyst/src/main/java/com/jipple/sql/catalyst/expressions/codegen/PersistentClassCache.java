@@ -0,0 +1,244 @@
+package com.jipple.sql.catalyst.expressions.codegen;
+
+import com.jipple.sql.SQLConf;
+import com.jipple.tuple.Tuple2;
+import com.jipple.unsafe.Platform;
+import com.jipple.util.ParentClassLoader;
+import com.jipple.util.Utils;
+import org.codehaus.janino.ClassBodyEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An optional on-disk cache of the classes compiled by Janino, enabled by setting
+ * `SQLConf.CODEGEN_PERSISTENT_CACHE_DIR`. It sits behind the in-memory cache of
+ * [[CodeGeneratorUtils]] so a restarted process can skip compiling code it has seen before.
+ *
+ * Each entry is a file named after the SHA-256 of the jipple build, the Janino and Java versions
+ * and the generated source, holding the bytecode of all the generated classes and their
+ * [[ByteCodeStats]]. On a hit the classes are defined by a dedicated class loader, the same way
+ * Janino would have done after compiling them.
+ *
+ * The build is identified by the contents of the catalyst and common jars the generated code links
+ * against, or by the names, sizes and modification times of their classes when running from class
+ * directories, so any rebuild of jipple invalidates the entries written before it.
+ */
+public final class PersistentClassCache {
+    private static final Logger logger = LoggerFactory.getLogger(PersistentClassCache.class);
+
+    private static final int MAGIC = 0x4A434743; // "JCGC"
+    private static final String GENERATED_CLASS_NAME = "com.jipple.sql.catalyst.expressions.GeneratedClass";
+    private static final String FILE_SUFFIX = ".bin";
+
+    // Computed on first use, only when the cache is enabled.
+    private static final class Version {
+        static final String VALUE = String.join("/",
+                buildOf(PersistentClassCache.class),
+                buildOf(Platform.class),
+                versionOf(ClassBodyEvaluator.class),
+                System.getProperty("java.specification.version"));
+    }
+
+    private static final AtomicLong numHits = new AtomicLong();
+    private static final AtomicLong numMisses = new AtomicLong();
+
+    private static volatile PersistentClassCache instance;
+
+    private final Path dir;
+
+    private PersistentClassCache(Path dir) {
+        this.dir = dir;
+    }
+
+    private static String versionOf(Class<?> cls) {
+        String version = cls.getPackage() != null ? cls.getPackage().getImplementationVersion() : null;
+        return version != null ? version : "dev";
+    }
+
+    /**
+     * Returns a hash of the jar or class directory the class was loaded from. If it cannot be read,
+     * returns a value unique to this process so that no entry of another process is ever used.
+     */
+    private static String buildOf(Class<?> cls) {
+        try {
+            CodeSource source = cls.getProtectionDomain().getCodeSource();
+            Path location = Paths.get(source.getLocation().toURI());
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (Files.isRegularFile(location)) {
+                try (InputStream in = Files.newInputStream(location)) {
+                    byte[] buffer = new byte[64 * 1024];
+                    for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                        digest.update(buffer, 0, n);
+                    }
+                }
+            } else {
+                List<Path> classFiles;
+                try (Stream<Path> files = Files.walk(location)) {
+                    classFiles = files.filter(p -> p.toString().endsWith(".class"))
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+                for (Path file : classFiles) {
+                    digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Long.toString(Files.size(file)).getBytes(StandardCharsets.UTF_8));
+                    digest.update(Long.toString(Files.getLastModifiedTime(file).toMillis())
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            logger.warn("Cannot identify the build of {}, compiled classes will not be reused across processes",
+                    cls.getName(), e);
+            return "unknown-" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Returns the cache for the directory configured in the active SQLConf, or null if the
+     * persistent cache is disabled.
+     */
+    static PersistentClassCache get() {
+        String dir = SQLConf.get().codegenPersistentCacheDir();
+        if (dir == null || dir.isEmpty()) {
+            return null;
+        }
+        PersistentClassCache cache = instance;
+        if (cache == null || !cache.dir.equals(Paths.get(dir))) {
+            cache = new PersistentClassCache(Paths.get(dir));
+            instance = cache;
+        }
+        return cache;
+    }
+
+    // Visible for testing
+    public static long numHits() {
+        return numHits.get();
+    }
+
+    // Visible for testing
+    public static long numMisses() {
+        return numMisses.get();
+    }
+
+    static String key(CodeAndComment code) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Version.VALUE.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(code.body.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads the compiled classes of the given code, returns null if they are not cached or the
+     * entry cannot be read.
+     */
+    Tuple2<GeneratedClass, ByteCodeStats> load(CodeAndComment code) {
+        Path file = dir.resolve(key(code) + FILE_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            numMisses.incrementAndGet();
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || !Version.VALUE.equals(in.readUTF())) {
+                numMisses.incrementAndGet();
+                return null;
+            }
+            ByteCodeStats stats = new ByteCodeStats(in.readInt(), in.readInt(), in.readInt());
+            int numClasses = in.readInt();
+            Map<String, byte[]> classes = new HashMap<>(numClasses * 2);
+            for (int i = 0; i < numClasses; i++) {
+                String name = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                classes.put(name, bytes);
+            }
+
+            ClassLoader parent = new ParentClassLoader(Utils.getContextOrJippleClassLoader());
+            ByteArrayClassLoader loader = new ByteArrayClassLoader(classes, parent);
+            GeneratedClass generatedClass = (GeneratedClass) loader.loadClass(GENERATED_CLASS_NAME)
+                    .getConstructor().newInstance();
+            numHits.incrementAndGet();
+            return Tuple2.of(generatedClass, stats);
+        } catch (Exception | LinkageError e) {
+            logger.warn("Failed to load cached generated classes from {}, recompiling", file, e);
+            numMisses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores the compiled classes of the given code. Failures are logged and otherwise ignored.
+     */
+    void store(CodeAndComment code, Map<String, byte[]> classes, ByteCodeStats stats) {
+        Path file = dir.resolve(key(code) + FILE_SUFFIX);
+        Path tmp = null;
+        try {
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, "tmp-", FILE_SUFFIX);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(Version.VALUE);
+                out.writeInt(stats.maxMethodCodeSize);
+                out.writeInt(stats.maxConstPoolSize);
+                out.writeInt(stats.numInnerClasses);
+                out.writeInt(classes.size());
+                for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            // Readers never see a partially written entry.
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to store generated classes to {}", file, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    /**
+     * Defines the classes of one cache entry.
+     */
+    private static class ByteArrayClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        ByteArrayClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.jipple.sql.catalyst.expressions.codegen;
 
 import com.jipple.sql.catalyst.expressions.UnsafeRow;
+import com.jipple.sql.types.CompactDecimal;
 import com.jipple.sql.types.Decimal;
 import com.jipple.unsafe.Platform;
 import com.jipple.unsafe.bitset.BitSetMethods;
@@ -166,9 +167,12 @@ public final class UnsafeRowWriter extends UnsafeWriter {
   @Override
   public void write(int ordinal, Decimal input, int precision, int scale) {
     if (precision <= Decimal.MAX_LONG_DIGITS) {
-      // make sure Decimal object has the same scale as DecimalType
-      if (input != null && input.changePrecision(precision, scale)) {
-        write(ordinal, input.toUnscaledLong());
+      // write the unscaled value at the scale of DecimalType, without changing the Decimal object
+      long unscaled = input == null ? CompactDecimal.OVERFLOW
+        : input.precision() == precision && input.scale() == scale ? input.toUnscaledLong()
+        : input.toUnscaledLong(precision, scale);
+      if (unscaled != CompactDecimal.OVERFLOW) {
+        write(ordinal, unscaled);
       } else {
         setNullAt(ordinal);
       }
@@ -19,6 +19,7 @@ import com.jipple.sql.types.DataType;
 import com.jipple.sql.types.StringType;
 import com.jipple.sql.types.TypeCollection;
 import com.jipple.tuple.Tuple2;
+import com.jipple.unsafe.UTF8StringBuilder;
 import com.jipple.unsafe.array.ByteArrayMethods;
 import com.jipple.unsafe.types.ByteArray;
 import com.jipple.unsafe.types.UTF8String;
@@ -185,6 +186,9 @@ public class Concat extends ComplexTypeMergingExpression {
 
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+        if (dataType() instanceof StringType && ctx.isResultCopied(this)) {
+            return genCodeIntoBuilder(ctx, ev);
+        }
         List<ExprCode> evals = children.stream()
                 .map(child -> child.genCode(ctx))
                 .collect(Collectors.toList());
@@ -304,6 +308,78 @@ public class Concat extends ComplexTypeMergingExpression {
         ));
     }
 
+    /**
+     * Appends the strings to a builder reused across rows, for a result that is copied out before
+     * the next row, so that no argument array and no result buffer is allocated per row.
+     */
+    private ExprCode genCodeIntoBuilder(CodegenContext ctx, ExprCode ev) {
+        String builderClass = UTF8StringBuilder.class.getName();
+        String builder = ctx.addMutableState(builderClass, "concatBuilder",
+                v -> v + " = new " + builderClass + "();");
+        String hasNull = ctx.freshName("hasNull");
+
+        List<String> appends = new ArrayList<>(children.size());
+        for (Expression child : children) {
+            ExprCode eval = child.genCode(ctx);
+            appends.add(CodeGeneratorUtils.template(
+                    """
+                            if (!${hasNull}) {
+                              ${evalCode}
+                              if (!${evalIsNull}) {
+                                ${builder}.append(${evalValue});
+                              } else {
+                                ${hasNull} = true;
+                              }
+                            }
+                            """,
+                    Map.ofEntries(
+                            Map.entry("hasNull", hasNull),
+                            Map.entry("evalCode", eval.code),
+                            Map.entry("evalIsNull", eval.isNull),
+                            Map.entry("builder", builder),
+                            Map.entry("evalValue", eval.value)
+                    )
+            ));
+        }
+
+        String codes = ctx.splitExpressionsWithCurrentInputs(
+                appends,
+                "appendConcat",
+                List.of(Tuple2.of(CodeGeneratorUtils.JAVA_BOOLEAN, hasNull)),
+                CodeGeneratorUtils.JAVA_BOOLEAN,
+                body -> CodeGeneratorUtils.template(
+                        """
+                                ${body}
+                                return ${hasNull};
+                                """,
+                        Map.ofEntries(
+                                Map.entry("body", body),
+                                Map.entry("hasNull", hasNull)
+                        )
+                ),
+                funcCalls -> funcCalls.stream()
+                        .map(funcCall -> hasNull + " = " + funcCall + ";")
+                        .collect(Collectors.joining("\n"))
+        );
+
+        return ev.copy(Block.block(
+                """
+                        ${builder}.reset();
+                        boolean ${hasNull} = false;
+                        ${codes}
+                        UTF8String ${value} = ${hasNull} ? null : ${builder}.build();
+                        boolean ${isNull} = ${hasNull};
+                        """,
+                Map.ofEntries(
+                        Map.entry("builder", builder),
+                        Map.entry("hasNull", hasNull),
+                        Map.entry("codes", codes),
+                        Map.entry("value", ev.value),
+                        Map.entry("isNull", ev.isNull)
+                )
+        ));
+    }
+
     private Tuple2<String, String> genCodeForNumberOfElements(CodegenContext ctx, String args) {
         String numElements = ctx.freshName("numElements");
         String z = ctx.freshName("z");
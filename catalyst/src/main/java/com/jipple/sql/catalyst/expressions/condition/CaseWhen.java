@@ -77,6 +77,39 @@ public class CaseWhen extends ComplexTypeMergingExpression implements Conditiona
         return ConditionalExpression.conditionalFoldable(this);
     }
 
+    @Override
+    public List<Expression> alwaysEvaluatedInputs() {
+        // `CaseWhen` always evaluates the first condition.
+        return List.of(branches.get(0)._1);
+    }
+
+    @Override
+    public List<List<Expression>> branchGroups() {
+        // We look at subexpressions in conditions and values of `CaseWhen` separately. It is
+        // because a subexpression in conditions will be run no matter which condition is matched
+        // if it is shared among conditions, but it doesn't need to be shared in values. Similarly,
+        // a subexpression among values doesn't need to be in conditions because no matter which
+        // condition is true, it will be evaluated.
+        List<Expression> conditions = new ArrayList<>();
+        if (branches.size() > 1) {
+            // If there is only one branch, the first condition is already covered by
+            // `alwaysEvaluatedInputs` and we should exclude it here.
+            for (Tuple2<Expression, Expression> branch : branches) {
+                conditions.add(branch._1);
+            }
+        }
+        // For an expression to be in all branch values of a CaseWhen statement, it must also be in
+        // the elseValue.
+        List<Expression> values = new ArrayList<>();
+        if (elseValue.isDefined()) {
+            for (Tuple2<Expression, Expression> branch : branches) {
+                values.add(branch._2);
+            }
+            values.add(elseValue.get());
+        }
+        return List.of(conditions, values);
+    }
+
     @Override
     public TypeCheckResult checkInputDataTypes() {
         if (TypeCoercion.haveSameType(inputTypesForMerging())) {
@@ -53,6 +53,16 @@ public class If extends ComplexTypeMergingExpression implements ConditionalExpre
         return ConditionalExpression.conditionalFoldable(this);
     }
 
+    @Override
+    public List<Expression> alwaysEvaluatedInputs() {
+        return List.of(predicate);
+    }
+
+    @Override
+    public List<List<Expression>> branchGroups() {
+        return List.of(List.of(trueValue, falseValue));
+    }
+
     @Override
     public TypeCheckResult checkInputDataTypes() {
         if (!predicate.dataType().equals(BOOLEAN)) {
@@ -5,10 +5,10 @@ import com.jipple.sql.catalyst.expressions.Expression;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.FormatterCache;
 import com.jipple.sql.catalyst.util.TimestampFormatter;
 import com.jipple.sql.types.AbstractDataType;
 import com.jipple.sql.types.DataType;
-import com.jipple.unsafe.types.UTF8String;
 
 import java.time.ZoneId;
 import java.util.List;
@@ -68,7 +68,7 @@ public class DateFormatClass extends TimestampFormatterHelper {
     protected Object nullSafeEval(Object timestamp, Object format) {
         Option<TimestampFormatter> timestampFormatterOption = formatterOption();
         TimestampFormatter fmt = timestampFormatterOption.isDefined() ? timestampFormatterOption.get() : getFormatter(format.toString());
-        return UTF8String.fromString(fmt.format((Long) timestamp));
+        return fmt.formatUTF8((Long) timestamp);
     }
 
     @Override
@@ -77,7 +77,7 @@ public class DateFormatClass extends TimestampFormatterHelper {
         if (timestampFormatterOption.isDefined()) {
             String timestampFormatter = ctx.addReferenceObj("timestampFormatter", timestampFormatterOption.get());
             return defineCodeGen(ctx, ev, (timestamp, format) -> CodeGeneratorUtils.template(
-                    "UTF8String.fromString(${formatter}.format(${timestamp}))",
+                    "${formatter}.formatUTF8(${timestamp})",
                     Map.of(
                             "formatter", timestampFormatter,
                             "timestamp", timestamp
@@ -85,15 +85,14 @@ public class DateFormatClass extends TimestampFormatterHelper {
             ));
         }
         String zoneId = ctx.addReferenceObj("zoneId", zoneId(), ZoneId.class.getName());
-        String timestampFormatterClass = TimestampFormatter.class.getName();
+        String formatterCacheClass = FormatterCache.class.getName();
         return defineCodeGen(ctx, ev, (timestamp, format) -> CodeGeneratorUtils.template(
                 """
-                        UTF8String.fromString(
-                          ${timestampFormatter}.getFormatter(${format}.toString(), ${zoneId})
-                          .format(${timestamp}))
+                        ${formatterCache}.getTimestampFormatter(${format}.toString(), ${zoneId})
+                          .formatUTF8(${timestamp})
                         """,
                 Map.ofEntries(
-                        Map.entry("timestampFormatter", timestampFormatterClass),
+                        Map.entry("formatterCache", formatterCacheClass),
                         Map.entry("format", format),
                         Map.entry("zoneId", zoneId),
                         Map.entry("timestamp", timestamp)
@@ -6,10 +6,10 @@ import com.jipple.sql.catalyst.expressions.Literal;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.FormatterCache;
 import com.jipple.sql.catalyst.util.TimestampFormatter;
 import com.jipple.sql.types.AbstractDataType;
 import com.jipple.sql.types.DataType;
-import com.jipple.unsafe.types.UTF8String;
 
 import java.time.ZoneId;
 import java.util.List;
@@ -84,7 +84,7 @@ public class FromUnixTime extends TimestampFormatterHelper {
         try {
             Option<TimestampFormatter> timestampFormatterOption = formatterOption();
             TimestampFormatter fmt = timestampFormatterOption.isDefined() ? timestampFormatterOption.get() : getFormatter(format.toString());
-            return UTF8String.fromString(fmt.format((Long) seconds * MICROS_PER_SECOND));
+            return fmt.formatUTF8((Long) seconds * MICROS_PER_SECOND);
         } catch (Exception e) {
             return null;
         }
@@ -100,7 +100,7 @@ public class FromUnixTime extends TimestampFormatterHelper {
                     TimestampFormatter.class.getName()
             );
             return defineCodeGen(ctx, ev, (seconds, format) -> CodeGeneratorUtils.template(
-                    "UTF8String.fromString(${formatter}.format(${seconds} * 1000000L))",
+                    "${formatter}.formatUTF8(${seconds} * 1000000L)",
                     Map.ofEntries(
                             Map.entry("formatter", formatterName),
                             Map.entry("seconds", seconds)
@@ -108,15 +108,14 @@ public class FromUnixTime extends TimestampFormatterHelper {
             ));
         }
         String zoneId = ctx.addReferenceObj("zoneId", zoneId(), ZoneId.class.getName());
-        String timestampFormatterClass = TimestampFormatter.class.getName();
+        String formatterCacheClass = FormatterCache.class.getName();
         return defineCodeGen(ctx, ev, (seconds, format) -> CodeGeneratorUtils.template(
                 """
-                        UTF8String.fromString(
-                          ${timestampFormatter}.getFormatter(${format}.toString(), ${zoneId})
-                          .format(${seconds} * 1000000L))
+                        ${formatterCache}.getTimestampFormatter(${format}.toString(), ${zoneId})
+                          .formatUTF8(${seconds} * 1000000L)
                         """,
                 Map.ofEntries(
-                        Map.entry("timestampFormatter", timestampFormatterClass),
+                        Map.entry("formatterCache", formatterCacheClass),
                         Map.entry("format", format),
                         Map.entry("zoneId", zoneId),
                         Map.entry("seconds", seconds)
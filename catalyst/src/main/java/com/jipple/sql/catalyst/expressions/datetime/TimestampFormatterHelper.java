@@ -4,6 +4,7 @@ import com.jipple.collection.Option;
 import com.jipple.sql.catalyst.expressions.BinaryExpression;
 import com.jipple.sql.catalyst.expressions.Expression;
 import com.jipple.sql.catalyst.expressions.TimeZoneAwareExpression;
+import com.jipple.sql.catalyst.util.FormatterCache;
 import com.jipple.sql.catalyst.util.TimestampFormatter;
 
 public abstract class TimestampFormatterHelper extends BinaryExpression implements TimeZoneAwareExpression {
@@ -27,8 +28,7 @@ public abstract class TimestampFormatterHelper extends BinaryExpression implemen
     }
 
     protected final TimestampFormatter getFormatter(String fmt) {
-        //return TimestampFormatter.getFormatter(Option.some(fmt), zoneId());
-        return TimestampFormatter.getFormatter(fmt, zoneId());
+        return FormatterCache.getTimestampFormatter(fmt, zoneId());
     }
 
 }
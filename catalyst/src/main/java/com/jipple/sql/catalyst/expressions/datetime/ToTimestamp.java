@@ -8,6 +8,7 @@ import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
 import com.jipple.sql.catalyst.util.JippleDateTimeUtils;
+import com.jipple.sql.catalyst.util.FormatterCache;
 import com.jipple.sql.catalyst.util.TimestampFormatter;
 import com.jipple.sql.types.*;
 import com.jipple.unsafe.types.UTF8String;
@@ -70,9 +71,9 @@ public abstract class ToTimestamp extends TimestampFormatterHelper {
                     Option<TimestampFormatter> timestampFormatterOption = formatterOption();
                     TimestampFormatter fmt = timestampFormatterOption.isDefined() ? timestampFormatterOption.get() : getFormatter(format.toString());
                     if (forTimestampNTZ()) {
-                        return fmt.parseWithoutTimeZone(((UTF8String)t).toString());
+                        return fmt.parseWithoutTimeZone((UTF8String) t);
                     } else {
-                        return fmt.parse(((UTF8String)t).toString()) / downScaleFactor();
+                        return fmt.parse((UTF8String) t) / downScaleFactor();
                     }
                 } catch (Exception e) {
                     return null;
@@ -108,7 +109,7 @@ public abstract class ToTimestamp extends TimestampFormatterHelper {
                 return nullSafeCodeGen(ctx, ev, (datetimeStr, format) -> CodeGeneratorUtils.template(
                         """
                                 try {
-                                  ${value} = ${formatter}.${parseMethod}(${datetimeStr}.toString())${downScaleCode};
+                                  ${value} = ${formatter}.${parseMethod}(${datetimeStr})${downScaleCode};
                                 } catch (Exception e) {
                                   ${parseErrorBranch}
                                 }
@@ -125,20 +126,22 @@ public abstract class ToTimestamp extends TimestampFormatterHelper {
             }
             String zoneId = ctx.addReferenceObj("zoneId", zoneId(), ZoneId.class.getName());
             String timestampFormatterClass = TimestampFormatter.class.getName();
+            String formatterCacheClass = FormatterCache.class.getName();
             String timestampFormatter = ctx.freshName("timestampFormatter");
             return nullSafeCodeGen(ctx, ev, (string, format) -> CodeGeneratorUtils.template(
                     """
-                            ${timestampFormatterClass} ${timestampFormatter} = ${timestampFormatterClass}.getFormatter(
+                            ${timestampFormatterClass} ${timestampFormatter} = ${formatterCache}.getTimestampFormatter(
                               ${format}.toString(),
                               ${zoneId});
                             try {
-                              ${value} = ${timestampFormatter}.${parseMethod}(${string}.toString())${downScaleCode};
+                              ${value} = ${timestampFormatter}.${parseMethod}(${string})${downScaleCode};
                             } catch (Exception e) {
                               ${parseErrorBranch}
                             }
                             """,
                     Map.ofEntries(
                             Map.entry("timestampFormatterClass", timestampFormatterClass),
+                            Map.entry("formatterCache", formatterCacheClass),
                             Map.entry("timestampFormatter", timestampFormatter),
                             Map.entry("format", format),
                             Map.entry("zoneId", zoneId),
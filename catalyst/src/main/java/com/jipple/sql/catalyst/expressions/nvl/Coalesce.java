@@ -42,6 +42,17 @@ public class Coalesce extends ComplexTypeMergingExpression implements Conditiona
         return ConditionalExpression.conditionalFoldable(this);
     }
 
+    @Override
+    public List<Expression> alwaysEvaluatedInputs() {
+        // Coalesce will always evaluate the first child.
+        return List.of(children.get(0));
+    }
+
+    @Override
+    public List<List<Expression>> branchGroups() {
+        return children.size() > 1 ? List.of(children) : List.of();
+    }
+
     @Override
     public TypeCheckResult checkInputDataTypes() {
         if (children.isEmpty()) {
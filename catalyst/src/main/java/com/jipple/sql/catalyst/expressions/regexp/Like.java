@@ -5,6 +5,7 @@ import com.jipple.sql.catalyst.expressions.codegen.Block;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.LikeMatcher;
 import com.jipple.sql.catalyst.util.StringUtils;
 import com.jipple.unsafe.types.UTF8String;
 import org.apache.commons.text.StringEscapeUtils;
@@ -39,24 +40,32 @@ public class Like extends StringRegexExpression {
         return regex.matcher(str).matches(); // 完全匹配
     }
 
+    private transient LikeMatcher cachedMatcher;
+
+    private LikeMatcher matcher(UTF8String pattern) {
+        if (cachedMatcher != null) {
+            return cachedMatcher;
+        }
+        LikeMatcher matcher = LikeMatcher.compile(pattern, escapeChar);
+        if (right.foldable()) {
+            cachedMatcher = matcher;
+        }
+        return matcher;
+    }
+
+    @Override
+    protected Object nullSafeEval(Object input1, Object input2) {
+        return matcher((UTF8String) input2).matches((UTF8String) input1);
+    }
+
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
-        String patternClass = Pattern.class.getName();
-        String escapeFunc = StringUtils.class.getName() + ".escapeLikeRegex";
+        String matcherClass = LikeMatcher.class.getName();
 
         if (right.foldable()) {
             Object rVal = right.eval();
             if (rVal != null) {
-                String regexStr = StringEscapeUtils.escapeJava(escape(((UTF8String) rVal).toString()));
-                String pattern = ctx.addMutableState(patternClass, "patternLike", value ->
-                        CodeGeneratorUtils.template(
-                                "${value} = ${patternClass}.compile(\"${regexStr}\");",
-                                Map.of(
-                                        "value", value,
-                                        "patternClass", patternClass,
-                                        "regexStr", regexStr
-                                )
-                        ));
+                String matcher = ctx.addReferenceObj("likeMatcher", LikeMatcher.compile((UTF8String) rVal, escapeChar));
 
                 // We don't use nullSafeCodeGen here because we don't want to re-evaluate right again.
                 ExprCode eval = left.genCode(ctx);
@@ -66,7 +75,7 @@ public class Like extends StringRegexExpression {
                                 boolean ${isNull} = ${evalIsNull};
                                 ${javaType} ${value} = ${defaultValue};
                                 if (!${isNull}) {
-                                  ${value} = ${pattern}.matcher(${evalValue}.toString()).matches();
+                                  ${value} = ${matcher}.matches(${evalValue});
                                 }
                                 """,
                         Map.of(
@@ -76,7 +85,7 @@ public class Like extends StringRegexExpression {
                                 "javaType", CodeGeneratorUtils.javaType(dataType()),
                                 "value", ev.value,
                                 "defaultValue", CodeGeneratorUtils.defaultValue(dataType()),
-                                "pattern", pattern,
+                                "matcher", matcher,
                                 "evalValue", eval.value
                         )
                 ));
@@ -95,27 +104,17 @@ public class Like extends StringRegexExpression {
                 ));
             }
         } else {
-            String pattern = ctx.freshName("pattern");
-            String rightStr = ctx.freshName("rightStr");
             // We need to escape the escapeChar to make sure the generated code is valid.
             // Otherwise we'll hit org.codehaus.commons.compiler.CompileException.
-            String escapedEscapeChar = StringEscapeUtils.escapeJava(Character.toString(escapeChar));
+            String escapedEscapeChar = StringEscapeUtils.escapeJava(Character.toString(escapeChar)).replace("'", "\\'");
             return nullSafeCodeGen(ctx, ev, (eval1, eval2) ->
                     CodeGeneratorUtils.template(
-                            """
-                                    String ${rightStr} = ${eval2}.toString();
-                                    ${patternClass} ${pattern} = ${patternClass}.compile(
-                                      ${escapeFunc}(${rightStr}, '${escapedEscapeChar}'));
-                                    ${value} = ${pattern}.matcher(${eval1}.toString()).matches();
-                                    """,
+                            "${value} = ${matcherClass}.compile(${eval2}, '${escapedEscapeChar}').matches(${eval1});",
                             Map.of(
-                                    "rightStr", rightStr,
+                                    "value", ev.value,
+                                    "matcherClass", matcherClass,
                                     "eval2", eval2,
-                                    "patternClass", patternClass,
-                                    "pattern", pattern,
-                                    "escapeFunc", escapeFunc,
                                     "escapedEscapeChar", escapedEscapeChar,
-                                    "value", ev.value,
                                     "eval1", eval1
                             )
                     ));
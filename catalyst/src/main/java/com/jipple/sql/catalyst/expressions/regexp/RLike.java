@@ -1,10 +1,12 @@
 package com.jipple.sql.catalyst.expressions.regexp;
 
+import com.jipple.sql.SQLConf;
 import com.jipple.sql.catalyst.expressions.Expression;
 import com.jipple.sql.catalyst.expressions.codegen.Block;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.regex.RegexMatcher;
 import com.jipple.unsafe.types.UTF8String;
 import org.apache.commons.text.StringEscapeUtils;
 
@@ -12,10 +14,23 @@ import java.util.Map;
 import java.util.regex.Pattern;
 
 public class RLike extends StringRegexExpression {
+    // last regex in string, we will update the matcher iff regexp value changed.
+    private transient UTF8String lastRegex;
+    // matcher of the last regex, reset for every input instead of being re-created
+    private transient RegexMatcher matcher;
+
     public RLike(Expression left, Expression right) {
         super(left, right);
     }
 
+    /**
+     * The matcher is mutable state, so every evaluator needs its own copy of this expression.
+     */
+    @Override
+    public boolean stateful() {
+        return true;
+    }
+
     @Override
     public String escape(String v) {
         return v;
@@ -26,21 +41,34 @@ public class RLike extends StringRegexExpression {
         return regex.matcher(str).find(0); // 包含匹配
     }
 
+    @Override
+    protected Object nullSafeEval(Object input1, Object input2) {
+        UTF8String regex = (UTF8String) input2;
+        if (!regex.equals(lastRegex)) {
+            // Let it raise exception if couldn't compile the regex string
+            matcher = RegexMatcher.compile(escape(regex.toString()), SQLConf.get().regexEngine());
+            lastRegex = regex.clone();
+        }
+        return matcher.containsMatch((UTF8String) input1);
+    }
+
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
-        String patternClass = Pattern.class.getName();
+        String matcherClass = RegexMatcher.class.getName();
+        String regexEngine = RegExpUtils.regexEngineCode();
 
         if (right.foldable()) {
             Object rVal = right.eval();
             if (rVal != null) {
                 String regexStr = StringEscapeUtils.escapeJava(((UTF8String) rVal).toString());
-                String pattern = ctx.addMutableState(patternClass, "patternRLike", value ->
+                String matcher = ctx.addMutableState(matcherClass, "matcherRLike", value ->
                         CodeGeneratorUtils.template(
-                                "${value} = ${patternClass}.compile(\"${regexStr}\");",
+                                "${value} = ${matcherClass}.compile(\"${regexStr}\", ${regexEngine});",
                                 Map.of(
                                         "value", value,
-                                        "patternClass", patternClass,
-                                        "regexStr", regexStr
+                                        "matcherClass", matcherClass,
+                                        "regexStr", regexStr,
+                                        "regexEngine", regexEngine
                                 )
                         ));
 
@@ -52,7 +80,7 @@ public class RLike extends StringRegexExpression {
                                 boolean ${isNull} = ${evalIsNull};
                                 ${javaType} ${value} = ${defaultValue};
                                 if (!${isNull}) {
-                                  ${value} = ${pattern}.matcher(${evalValue}.toString()).find(0);
+                                  ${value} = ${matcher}.containsMatch(${evalValue});
                                 }
                                 """,
                         Map.of(
@@ -62,7 +90,7 @@ public class RLike extends StringRegexExpression {
                                 "javaType", CodeGeneratorUtils.javaType(dataType()),
                                 "value", ev.value,
                                 "defaultValue", CodeGeneratorUtils.defaultValue(dataType()),
-                                "pattern", pattern,
+                                "matcher", matcher,
                                 "evalValue", eval.value
                         )
                 ));
@@ -81,20 +109,26 @@ public class RLike extends StringRegexExpression {
                 ));
             }
         } else {
-            String rightStr = ctx.freshName("rightStr");
-            String pattern = ctx.freshName("pattern");
+            // Recompile only when the pattern changes, like RegExpUtils.initLastMatcherCode, but let
+            // invalid patterns raise the same exception as the interpreted version.
+            String lastRegex = ctx.addMutableState("UTF8String", "lastRegex");
+            String matcher = ctx.addMutableState(matcherClass, "lastMatcher");
             return nullSafeCodeGen(ctx, ev, (eval1, eval2) ->
                     CodeGeneratorUtils.template(
                             """
-                                    String ${rightStr} = ${eval2}.toString();
-                                    ${patternClass} ${pattern} = ${patternClass}.compile(${rightStr});
-                                    ${value} = ${pattern}.matcher(${eval1}.toString()).find(0);
+                                    if (!${eval2}.equals(${lastRegex})) {
+                                      UTF8String r = ${eval2}.clone();
+                                      ${matcher} = ${matcherClass}.compile(r.toString(), ${regexEngine});
+                                      ${lastRegex} = r;
+                                    }
+                                    ${value} = ${matcher}.containsMatch(${eval1});
                                     """,
                             Map.of(
-                                    "rightStr", rightStr,
                                     "eval2", eval2,
-                                    "patternClass", patternClass,
-                                    "pattern", pattern,
+                                    "lastRegex", lastRegex,
+                                    "matcher", matcher,
+                                    "matcherClass", matcherClass,
+                                    "regexEngine", regexEngine,
                                     "value", ev.value,
                                     "eval1", eval1
                             )
@@ -5,12 +5,11 @@ import com.jipple.sql.catalyst.expressions.Literal;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.regex.RegexMatcher;
 import com.jipple.sql.types.DataType;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.util.Map;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
 
 import static com.jipple.sql.types.DataTypes.STRING;
 
@@ -35,13 +34,12 @@ public class RegExpExtract extends RegExpExtractBase {
 
     @Override
     protected Object nullSafeEval(Object s, Object p, Object r) {
-        Matcher m = getLastMatcher(s, (UTF8String) p);
+        RegexMatcher m = getLastMatcher(s, (UTF8String) p);
         if (m.find()) {
-            MatchResult mr = m.toMatchResult();
             int index = (Integer) r;
             RegExpExtractBase.checkGroupIndex(prettyName(), m.groupCount(), index);
-            String group = mr.group(index);
-            return group == null ? UTF8String.EMPTY_UTF8 : UTF8String.fromString(group);
+            UTF8String group = m.group(index);
+            return group == null ? UTF8String.EMPTY_UTF8 : group;
         } else {
             return UTF8String.EMPTY_UTF8;
         }
@@ -51,7 +49,6 @@ public class RegExpExtract extends RegExpExtractBase {
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
         String classNameRegExpExtractBase = RegExpExtractBase.class.getCanonicalName();
         String matcher = ctx.freshName("matcher");
-        String matchResult = ctx.freshName("matchResult");
         String group = ctx.freshName("group");
         String setEvNotNull = nullable() ? ev.isNull + " = false;" : "";
 
@@ -60,13 +57,12 @@ public class RegExpExtract extends RegExpExtractBase {
                     """
                     ${initLastMatcherCode}
                     if (${matcher}.find()) {
-                      java.util.regex.MatchResult ${matchResult} = ${matcher}.toMatchResult();
-                      ${classNameRegExpExtractBase}.checkGroupIndex("${prettyName}", ${matchResult}.groupCount(), ${idx});
-                      String ${group} = ${matchResult}.group(${idx});
+                      ${classNameRegExpExtractBase}.checkGroupIndex("${prettyName}", ${matcher}.groupCount(), ${idx});
+                      UTF8String ${group} = ${matcher}.group(${idx});
                       if (${group} == null) {
                         ${evValue} = UTF8String.EMPTY_UTF8;
                       } else {
-                        ${evValue} = UTF8String.fromString(${group});
+                        ${evValue} = ${group};
                       }
                       ${setEvNotNull}
                     } else {
@@ -77,7 +73,6 @@ public class RegExpExtract extends RegExpExtractBase {
                     Map.ofEntries(
                             Map.entry("initLastMatcherCode", RegExpUtils.initLastMatcherCode(ctx, subject, regexp, matcher, prettyName())),
                             Map.entry("matcher", matcher),
-                            Map.entry("matchResult", matchResult),
                             Map.entry("group", group),
                             Map.entry("classNameRegExpExtractBase", classNameRegExpExtractBase),
                             Map.entry("prettyName", prettyName()),
@@ -7,13 +7,12 @@ import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
 import com.jipple.sql.catalyst.util.GenericArrayData;
 import com.jipple.sql.types.ArrayType;
+import com.jipple.sql.catalyst.util.regex.RegexMatcher;
 import com.jipple.sql.types.DataType;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
 
 import static com.jipple.sql.types.DataTypes.STRING;
 
@@ -38,17 +37,16 @@ public class RegExpExtractAll extends RegExpExtractBase {
 
     @Override
     protected Object nullSafeEval(Object s, Object p, Object r) {
-        Matcher m = getLastMatcher(s, (UTF8String) p);
+        RegexMatcher m = getLastMatcher(s, (UTF8String) p);
         ArrayList<UTF8String> matchResults = new ArrayList<>();
         while (m.find()) {
-            MatchResult mr = m.toMatchResult();
             int index = (Integer) r;
             RegExpExtractBase.checkGroupIndex(prettyName(), m.groupCount(), index);
-            String group = mr.group(index);
+            UTF8String group = m.group(index);
             if (group == null) { // Pattern matched, but it's an optional group
                 matchResults.add(UTF8String.EMPTY_UTF8);
             } else {
-                matchResults.add(UTF8String.fromString(group));
+                matchResults.add(group);
             }
         }
         return new GenericArrayData(matchResults.toArray(new UTF8String[matchResults.size()]));
@@ -59,7 +57,6 @@ public class RegExpExtractAll extends RegExpExtractBase {
         String classNameRegExpExtractBase = RegExpExtractBase.class.getCanonicalName();
         String arrayClass = GenericArrayData.class.getName();
         String matcher = ctx.freshName("matcher");
-        String matchResult = ctx.freshName("matchResult");
         String matchResults = ctx.freshName("matchResults");
         String group = ctx.freshName("group");
         String setEvNotNull = nullable() ? ev.isNull + " = false;" : "";
@@ -70,13 +67,12 @@ public class RegExpExtractAll extends RegExpExtractBase {
                     ${initLastMatcherCode}
                     java.util.ArrayList ${matchResults} = new java.util.ArrayList<UTF8String>();
                     while (${matcher}.find()) {
-                      java.util.regex.MatchResult ${matchResult} = ${matcher}.toMatchResult();
-                      ${classNameRegExpExtractBase}.checkGroupIndex("${prettyName}", ${matchResult}.groupCount(), ${idx});
-                      String ${group} = ${matchResult}.group(${idx});
+                      ${classNameRegExpExtractBase}.checkGroupIndex("${prettyName}", ${matcher}.groupCount(), ${idx});
+                      UTF8String ${group} = ${matcher}.group(${idx});
                       if (${group} == null) {
                         ${matchResults}.add(UTF8String.EMPTY_UTF8);
                       } else {
-                        ${matchResults}.add(UTF8String.fromString(${group}));
+                        ${matchResults}.add(${group});
                       }
                     }
                     ${evValue} = new ${arrayClass}(${matchResults}.toArray(new UTF8String[${matchResults}.size()]));
@@ -85,7 +81,6 @@ public class RegExpExtractAll extends RegExpExtractBase {
                     Map.ofEntries(
                             Map.entry("initLastMatcherCode", RegExpUtils.initLastMatcherCode(ctx, subject, regexp, matcher, prettyName())),
                             Map.entry("matcher", matcher),
-                            Map.entry("matchResult", matchResult),
                             Map.entry("matchResults", matchResults),
                             Map.entry("group", group),
                             Map.entry("classNameRegExpExtractBase", classNameRegExpExtractBase),
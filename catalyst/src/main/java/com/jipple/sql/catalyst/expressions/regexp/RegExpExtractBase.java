@@ -3,12 +3,11 @@ package com.jipple.sql.catalyst.expressions.regexp;
 import com.jipple.collection.Option;
 import com.jipple.sql.catalyst.expressions.Expression;
 import com.jipple.sql.catalyst.expressions.TernaryExpression;
+import com.jipple.sql.catalyst.util.regex.RegexMatcher;
 import com.jipple.sql.types.AbstractDataType;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.jipple.sql.types.DataTypes.INTEGER;
 import static com.jipple.sql.types.DataTypes.STRING;
@@ -37,17 +36,25 @@ public abstract class RegExpExtractBase extends TernaryExpression {
 
     // last regex in string, we will update the pattern iff regexp value changed.
     private transient UTF8String lastRegex;
-    // last regex pattern, we cache it for performance concern
-    private transient Pattern pattern;
+    // matcher of the last regex pattern, reset for every input instead of being re-created
+    private transient RegexMatcher matcher;
 
-    protected Matcher getLastMatcher(Object s, UTF8String p) {
-        if (p != lastRegex) {
+    /**
+     * The matcher is mutable state, so every evaluator needs its own copy of this expression.
+     */
+    @Override
+    public boolean stateful() {
+        return true;
+    }
+
+    protected RegexMatcher getLastMatcher(Object s, UTF8String p) {
+        if (!p.equals(lastRegex)) {
             // regex value changed
-            var patternAndRegex = RegExpUtils.getPatternAndLastRegex(p, prettyName());
-            pattern = patternAndRegex._1;
-            lastRegex = patternAndRegex._2;
+            var matcherAndRegex = RegExpUtils.getMatcherAndLastRegex(p, prettyName());
+            matcher = matcherAndRegex._1;
+            lastRegex = matcherAndRegex._2;
         }
-        return pattern.matcher(s.toString());
+        return matcher.reset((UTF8String) s);
     }
 
     public static void checkGroupIndex(String prettyName, int groupCount, int groupIndex) {
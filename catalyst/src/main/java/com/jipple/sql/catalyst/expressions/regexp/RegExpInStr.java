@@ -5,11 +5,11 @@ import com.jipple.sql.catalyst.expressions.Literal;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.regex.RegexMatcher;
 import com.jipple.sql.types.DataType;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.util.Map;
-import java.util.regex.Matcher;
 
 import static com.jipple.sql.types.DataTypes.INTEGER;
 
@@ -35,9 +35,9 @@ public class RegExpInStr extends RegExpExtractBase {
     @Override
     protected Object nullSafeEval(Object s, Object r, Object i) {
         try {
-            Matcher m = getLastMatcher(s, (UTF8String) r);
+            RegexMatcher m = getLastMatcher(s, (UTF8String) r);
             if (m.find()) {
-                return m.toMatchResult().start() + 1;
+                return m.start() + 1;
             } else {
                 return 0;
             }
@@ -58,7 +58,7 @@ public class RegExpInStr extends RegExpExtractBase {
                       ${setEvNotNull}
                       ${initLastMatcherCode}
                       if (${matcher}.find()) {
-                        ${evValue} = ${matcher}.toMatchResult().start() + 1;
+                        ${evValue} = ${matcher}.start() + 1;
                       } else {
                         ${evValue} = 0;
                       }
@@ -8,13 +8,13 @@ import com.jipple.sql.catalyst.expressions.QuaternaryExpression;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.regex.RegexMatcher;
 import com.jipple.sql.types.AbstractDataType;
 import com.jipple.sql.types.DataType;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 import static com.jipple.sql.types.DataTypes.INTEGER;
 import static com.jipple.sql.types.DataTypes.STRING;
@@ -71,21 +71,27 @@ public class RegExpReplace extends QuaternaryExpression {
 
     // last regex in string, we will update the pattern iff regexp value changed.
     private transient UTF8String lastRegex;
-    // last regex pattern, we cache it for performance concern
-    private transient Pattern pattern;
+    // matcher of the last regex pattern, we cache it for performance concern
+    private transient RegexMatcher matcher;
     // last replacement string, we don't want to convert a UTF8String => java.langString every time.
     private transient String lastReplacement;
     private transient UTF8String lastReplacementInUTF8;
-    // result buffer write by Matcher
-    private StringBuffer result = new StringBuffer();
+
+    /**
+     * The matcher is mutable state, so every evaluator needs its own copy of this expression.
+     */
+    @Override
+    public boolean stateful() {
+        return true;
+    }
 
     @Override
     protected Object nullSafeEval(Object s, Object p, Object r, Object i) {
         UTF8String pStr = (UTF8String) p;
         if (!pStr.equals(lastRegex)) {
-            var patternAndRegex = RegExpUtils.getPatternAndLastRegex(pStr, prettyName());
-            pattern = patternAndRegex._1;
-            lastRegex = patternAndRegex._2;
+            var matcherAndRegex = RegExpUtils.getMatcherAndLastRegex(pStr, prettyName());
+            matcher = matcherAndRegex._1;
+            lastRegex = matcherAndRegex._2;
         }
 
         UTF8String rStr = (UTF8String) r;
@@ -95,31 +101,12 @@ public class RegExpReplace extends QuaternaryExpression {
             lastReplacement = lastReplacementInUTF8.toString();
         }
 
-        String source = s.toString();
-        int position = (Integer) i - 1;
-        if (position == 0 || position < source.length()) {
-            var m = pattern.matcher(source);
-            m.region(position, source.length());
-            result.delete(0, result.length());
-            while (m.find()) {
-                m.appendReplacement(result, lastReplacement);
-            }
-            m.appendTail(result);
-            return UTF8String.fromString(result.toString());
-        } else {
-            return s;
-        }
+        return matcher.reset((UTF8String) s).replaceAll((Integer) i - 1, lastReplacement);
     }
 
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
-        String termResult = ctx.freshName("termResult");
-
-        String classNameStringBuffer = StringBuffer.class.getCanonicalName();
-
         String matcher = ctx.freshName("matcher");
-        String source = ctx.freshName("source");
-        String position = ctx.freshName("position");
 
         String termLastReplacement = ctx.addMutableState("String", "lastReplacement");
         String termLastReplacementInUTF8 = ctx.addMutableState("UTF8String", "lastReplacementInUTF8");
@@ -135,21 +122,7 @@ public class RegExpReplace extends QuaternaryExpression {
                       ${termLastReplacementInUTF8} = ${rep}.clone();
                       ${termLastReplacement} = ${termLastReplacementInUTF8}.toString();
                     }
-                    String ${source} = ${subject}.toString();
-                    int ${position} = ${pos} - 1;
-                    if (${position} == 0 || ${position} < ${source}.length()) {
-                      ${classNameStringBuffer} ${termResult} = new ${classNameStringBuffer}();
-                      ${matcher}.region(${position}, ${source}.length());
-        
-                      while (${matcher}.find()) {
-                        ${matcher}.appendReplacement(${termResult}, ${termLastReplacement});
-                      }
-                      ${matcher}.appendTail(${termResult});
-                      ${evValue} = UTF8String.fromString(${termResult}.toString());
-                      ${termResult} = null;
-                    } else {
-                      ${evValue} = ${subject};
-                    }
+                    ${evValue} = ${matcher}.replaceAll(${pos} - 1, ${termLastReplacement});
                     ${setEvNotNull}
                     """,
                     Map.ofEntries(
@@ -157,13 +130,8 @@ public class RegExpReplace extends QuaternaryExpression {
                             Map.entry("rep", rep),
                             Map.entry("termLastReplacementInUTF8", termLastReplacementInUTF8),
                             Map.entry("termLastReplacement", termLastReplacement),
-                            Map.entry("source", source),
-                            Map.entry("position", position),
                             Map.entry("pos", pos),
-                            Map.entry("classNameStringBuffer", classNameStringBuffer),
-                            Map.entry("termResult", termResult),
                             Map.entry("matcher", matcher),
-                            Map.entry("subject", subject),
                             Map.entry("evValue", ev.value),
                             Map.entry("setEvNotNull", setEvNotNull)
                     )
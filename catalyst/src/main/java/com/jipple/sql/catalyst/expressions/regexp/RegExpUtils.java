@@ -1,21 +1,24 @@
 package com.jipple.sql.catalyst.expressions.regexp;
 
+import com.jipple.sql.SQLConf;
 import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
+import com.jipple.sql.catalyst.util.regex.CompiledRegex;
+import com.jipple.sql.catalyst.util.regex.RegexEngine;
+import com.jipple.sql.catalyst.util.regex.RegexMatcher;
 import com.jipple.sql.errors.QueryExecutionErrors;
 import com.jipple.tuple.Tuple2;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.util.Map;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 public class RegExpUtils {
 
     public static String initLastMatcherCode(CodegenContext ctx, String subject, String regexp, String matcher, String prettyName) {
-        String classNamePattern = Pattern.class.getCanonicalName();
+        String classNameMatcher = RegexMatcher.class.getCanonicalName();
         String termLastRegex = ctx.addMutableState("UTF8String", "lastRegex");
-        String termPattern = ctx.addMutableState(classNamePattern, "pattern");
+        String termMatcher = ctx.addMutableState(classNameMatcher, "lastMatcher");
 
         return CodeGeneratorUtils.template(
                 """
@@ -23,19 +26,20 @@ public class RegExpUtils {
                   // regex value changed
                   try {
                     UTF8String r = ${regexp}.clone();
-                    ${termPattern} = ${classNamePattern}.compile(r.toString());
+                    ${termMatcher} = ${classNameMatcher}.compile(r.toString(), ${regexEngine});
                     ${termLastRegex} = r;
                   } catch (java.util.regex.PatternSyntaxException e) {
                     throw QueryExecutionErrors.invalidPatternError("${prettyName}", e.getPattern(), e);
                   }
                 }
-                java.util.regex.Matcher ${matcher} = ${termPattern}.matcher(${subject}.toString());
+                ${classNameMatcher} ${matcher} = ${termMatcher}.reset(${subject});
                 """,
                 Map.of(
                         "regexp", regexp,
                         "termLastRegex", termLastRegex,
-                        "classNamePattern", classNamePattern,
-                        "termPattern", termPattern,
+                        "classNameMatcher", classNameMatcher,
+                        "termMatcher", termMatcher,
+                        "regexEngine", regexEngineCode(),
                         "prettyName", prettyName,
                         "matcher", matcher,
                         "subject", subject
@@ -43,14 +47,22 @@ public class RegExpUtils {
         );
     }
 
-    public static Tuple2<Pattern, UTF8String> getPatternAndLastRegex(UTF8String p, String prettyName) {
+    /**
+     * Returns the code of the regex engine of the current session, which is fixed when the code
+     * is generated.
+     */
+    public static String regexEngineCode() {
+        return RegexEngine.class.getCanonicalName() + "." + SQLConf.get().regexEngine().name();
+    }
+
+    public static Tuple2<RegexMatcher, UTF8String> getMatcherAndLastRegex(UTF8String p, String prettyName) {
         UTF8String r = p.clone();
-        Pattern pattern = null;
+        RegexMatcher matcher = null;
         try {
-            pattern = Pattern.compile(r.toString());
+            matcher = CompiledRegex.compile(r.toString(), SQLConf.get().regexEngine()).matcher();
         } catch (PatternSyntaxException e) {
             throw QueryExecutionErrors.invalidPatternError(prettyName, e.getPattern(), e);
         }
-        return new Tuple2<>(pattern, r);
+        return new Tuple2<>(matcher, r);
     }
 }
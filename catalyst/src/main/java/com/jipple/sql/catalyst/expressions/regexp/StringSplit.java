@@ -12,6 +12,7 @@ import com.jipple.sql.types.AbstractDataType;
 import com.jipple.sql.types.ArrayType;
 import com.jipple.sql.types.DataType;
 import com.jipple.unsafe.types.UTF8String;
+import com.jipple.unsafe.types.UTF8StringSearcher;
 
 import java.util.List;
 import java.util.Map;
@@ -44,15 +45,46 @@ public class StringSplit extends TernaryExpression {
         return "split";
     }
 
+    private transient boolean literalChecked;
+    // the searcher of a foldable regex that only matches a literal delimiter, if any
+    private transient UTF8StringSearcher cachedLiteral;
+
+    private UTF8StringSearcher literalDelimiter() {
+        if (!literalChecked) {
+            Object regex = second.foldable() ? second.eval() : null;
+            cachedLiteral = regex == null ? null : UTF8StringSearcher.ofRegex((UTF8String) regex);
+            literalChecked = true;
+        }
+        return cachedLiteral;
+    }
+
     @Override
     protected Object nullSafeEval(Object string, Object regex, Object limit) {
-        UTF8String[] strings = ((UTF8String) string).split((UTF8String) regex, (Integer) limit);
+        UTF8StringSearcher literal = literalDelimiter();
+        UTF8String[] strings = literal != null
+                ? ((UTF8String) string).splitLiteral(literal, (Integer) limit)
+                : ((UTF8String) string).split((UTF8String) regex, (Integer) limit);
         return new GenericArrayData(strings);
     }
 
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
         String arrayClass = GenericArrayData.class.getName();
+        UTF8StringSearcher literal = literalDelimiter();
+        if (literal != null) {
+            String delimiter = ctx.addReferenceObj("delimiter", literal);
+            return nullSafeCodeGen(ctx, ev, (str, regex, limit) ->
+                    CodeGeneratorUtils.template(
+                            "${value} = new ${arrayClass}(${str}.splitLiteral(${delimiter}, ${limit}));",
+                            Map.of(
+                                    "value", ev.value,
+                                    "arrayClass", arrayClass,
+                                    "str", str,
+                                    "delimiter", delimiter,
+                                    "limit", limit
+                            )
+                    ));
+        }
         return nullSafeCodeGen(ctx, ev, (str, regex, limit) ->
                 // Array in java is covariant, so we don't need to cast UTF8String[] to Object[].
                 CodeGeneratorUtils.template(
@@ -0,0 +1,97 @@
+package com.jipple.sql.catalyst.expressions.string;
+
+import com.jipple.collection.Option;
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.UnaryExpression;
+import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
+import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
+import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.util.CaseFoldedMatcher;
+import com.jipple.sql.types.AbstractDataType;
+import com.jipple.sql.types.DataType;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.jipple.sql.types.DataTypes.BOOLEAN;
+import static com.jipple.sql.types.DataTypes.STRING;
+
+/**
+ * A predicate on the [[Lower]] or [[Upper]] case of a string with literal patterns, evaluated by
+ * a [[CaseFoldedMatcher]] that folds the case of the string while comparing it instead of
+ * building the converted string.
+ *
+ * Like the predicate it replaces, it returns null if and only if the string is null.
+ */
+public abstract class CaseFoldedPredicate extends UnaryExpression {
+    // Whether the string is compared in upper case, otherwise in lower case.
+    public final boolean upper;
+    private transient CaseFoldedMatcher matcher;
+
+    protected CaseFoldedPredicate(Expression child, boolean upper) {
+        super(child);
+        this.upper = upper;
+    }
+
+    protected abstract CaseFoldedMatcher.Comparison comparison();
+
+    public abstract List<UTF8String> patterns();
+
+    /**
+     * Returns the equivalent predicate on the converted string.
+     */
+    public abstract Expression toConverted();
+
+    protected Expression convertedChild() {
+        return upper ? new Upper(child) : new Lower(child);
+    }
+
+    private CaseFoldedMatcher matcher() {
+        if (matcher == null) {
+            matcher = CaseFoldedMatcher.compile(comparison(), patterns(), upper);
+        }
+        return matcher;
+    }
+
+    @Override
+    public Option<List<AbstractDataType>> expectsInputTypes() {
+        return Option.of(List.of(STRING));
+    }
+
+    @Override
+    public DataType dataType() {
+        return BOOLEAN;
+    }
+
+    @Override
+    protected Object nullSafeEval(Object input) {
+        return matcher().matches((UTF8String) input);
+    }
+
+    @Override
+    protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+        String matcherTerm = ctx.addReferenceObj("caseFoldedMatcher", matcher());
+        return defineCodeGen(ctx, ev, c -> CodeGeneratorUtils.template(
+                "${matcher}.matches(${c})",
+                Map.of(
+                        "matcher", matcherTerm,
+                        "c", c
+                )
+        ));
+    }
+
+    @Override
+    public String toString() {
+        String patterns = patterns().stream()
+                .map(UTF8String::toString)
+                .collect(Collectors.joining(", "));
+        return String.format("%s(%s, %s)", nodeName(), convertedChild(), patterns);
+    }
+
+    @Override
+    public String sql() {
+        return toConverted().sql();
+    }
+}
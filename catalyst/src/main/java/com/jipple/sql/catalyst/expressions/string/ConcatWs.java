@@ -17,6 +17,7 @@ import com.jipple.sql.types.DataType;
 import com.jipple.sql.types.StringType;
 import com.jipple.sql.types.TypeCollection;
 import com.jipple.tuple.Tuple2;
+import com.jipple.unsafe.UTF8StringBuilder;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.util.ArrayList;
@@ -103,6 +104,9 @@ public class ConcatWs extends Expression {
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
         boolean allStrings = children.stream().allMatch(child -> child.dataType() instanceof StringType);
+        if (allStrings && ctx.isResultCopied(this)) {
+            return genCodeIntoBuilder(ctx, ev);
+        }
         if (allStrings) {
             List<ExprCode> evals = children.stream().map(child -> child.genCode(ctx)).toList();
             ExprCode separator = evals.get(0);
@@ -340,6 +344,97 @@ public class ConcatWs extends Expression {
         ));
     }
 
+    /**
+     * Appends the strings to a builder reused across rows, for a result that is copied out before
+     * the next row, so that no argument array and no result buffer is allocated per row.
+     */
+    private ExprCode genCodeIntoBuilder(CodegenContext ctx, ExprCode ev) {
+        String builderClass = UTF8StringBuilder.class.getName();
+        String builder = ctx.addMutableState(builderClass, "concatWsBuilder",
+                v -> v + " = new " + builderClass + "();");
+        // whether a string was appended, i.e. whether the next one needs a separator
+        String appended = ctx.freshName("appended");
+        String separatorValue = ctx.freshName("separator");
+        ExprCode separator = children.get(0).genCode(ctx);
+
+        List<String> appends = new ArrayList<>(children.size() - 1);
+        for (Expression child : children.subList(1, children.size())) {
+            ExprCode eval = child.genCode(ctx);
+            if (eval.isNull instanceof TrueLiteral) {
+                continue;
+            }
+            appends.add(CodeGeneratorUtils.template(
+                    """
+                            ${evalCode}
+                            if (!${evalIsNull}) {
+                              if (${appended}) {
+                                ${builder}.append(${separator});
+                              }
+                              ${builder}.append(${evalValue});
+                              ${appended} = true;
+                            }
+                            """,
+                    Map.ofEntries(
+                            Map.entry("evalCode", eval.code),
+                            Map.entry("evalIsNull", eval.isNull),
+                            Map.entry("appended", appended),
+                            Map.entry("builder", builder),
+                            Map.entry("separator", separatorValue),
+                            Map.entry("evalValue", eval.value)
+                    )
+            ));
+        }
+
+        String codes = ctx.splitExpressionsWithCurrentInputs(
+                appends,
+                "appendConcatWs",
+                List.of(
+                        Tuple2.of("UTF8String", separatorValue),
+                        Tuple2.of("boolean", appended)
+                ),
+                "boolean",
+                body -> CodeGeneratorUtils.template(
+                        """
+                                ${body}
+                                return ${appended};
+                                """,
+                        Map.of(
+                                "body", body,
+                                "appended", appended
+                        )
+                ),
+                funcs -> funcs.stream()
+                        .map(funcCall -> appended + " = " + funcCall + ";")
+                        .collect(java.util.stream.Collectors.joining("\n"))
+        );
+
+        return ev.copy(Block.block(
+                """
+                        ${separatorCode}
+                        UTF8String ${value} = null;
+                        if (!${separatorIsNull}) {
+                          UTF8String ${separatorValue} = ${separator};
+                          ${builder}.reset();
+                          boolean ${appended} = false;
+                          ${codes}
+                          ${value} = ${builder}.build();
+                        }
+                        boolean ${isNull} = ${value} == null;
+                        """,
+                Map.ofEntries(
+                        Map.entry("separatorCode", separator.code),
+                        Map.entry("value", ev.value),
+                        Map.entry("separatorIsNull", separator.isNull),
+                        Map.entry("separatorValue", separatorValue),
+                        Map.entry("separator", separator.value),
+                        Map.entry("builder", builder),
+                        Map.entry("appended", appended),
+                        Map.entry("codes", codes),
+                        Map.entry("isNull", ev.isNull)
+                )
+        ));
+    }
+
     @Override
     protected Expression withNewChildrenInternal(List<Expression> newChildren) {
         return new ConcatWs(newChildren);
@@ -5,6 +5,7 @@ import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
 import com.jipple.unsafe.types.UTF8String;
+import com.jipple.unsafe.types.UTF8StringSearcher;
 
 import java.util.Map;
 
@@ -13,13 +14,41 @@ public class Contains extends StringPredicate {
         super(left, right);
     }
 
+    // the searcher of a foldable needle, prepared on the first row
+    private transient UTF8StringSearcher cachedSearcher;
+
     @Override
     public boolean compare(UTF8String l, UTF8String r) {
         return l.contains(r);
     }
 
+    @Override
+    protected Object nullSafeEval(Object input1, Object input2) {
+        if (cachedSearcher == null && right.foldable()) {
+            cachedSearcher = UTF8StringSearcher.of((UTF8String) input2);
+        }
+        if (cachedSearcher != null) {
+            return cachedSearcher.contains((UTF8String) input1);
+        }
+        return compare((UTF8String) input1, (UTF8String) input2);
+    }
+
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+        if (right.foldable()) {
+            Object rVal = right.eval();
+            if (rVal != null) {
+                String searcher = StringSearcherUtils.addSearcher(ctx, (UTF8String) rVal);
+                return defineCodeGen(ctx, ev, (c1, c2) ->
+                        CodeGeneratorUtils.template(
+                                "${searcher}.contains(${c1})",
+                                Map.of(
+                                        "searcher", searcher,
+                                        "c1", c1
+                                )
+                        ));
+            }
+        }
         return defineCodeGen(ctx, ev, (c1, c2) ->
                 CodeGeneratorUtils.template(
                         "(${c1}).contains(${c2})",
@@ -0,0 +1,47 @@
+package com.jipple.sql.catalyst.expressions.string;
+
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.predicate.InSet;
+import com.jipple.sql.catalyst.util.CaseFoldedMatcher;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Whether the lower or upper case of a string is one of a set of literal strings, none of them
+ * null, i.e. an [[InSet]] predicate on the [[Lower]] or [[Upper]] case of the string.
+ */
+public class InSetIgnoreCase extends CaseFoldedPredicate {
+    public final List<UTF8String> values;
+
+    public InSetIgnoreCase(Expression child, List<UTF8String> values, boolean upper) {
+        super(child, upper);
+        this.values = values;
+    }
+
+    @Override
+    public Object[] args() {
+        return new Object[]{child, values, upper};
+    }
+
+    @Override
+    protected CaseFoldedMatcher.Comparison comparison() {
+        return CaseFoldedMatcher.Comparison.EQUAL_TO;
+    }
+
+    @Override
+    public List<UTF8String> patterns() {
+        return values;
+    }
+
+    @Override
+    public Expression toConverted() {
+        return new InSet(convertedChild(), new LinkedHashSet<Object>(values));
+    }
+
+    @Override
+    public Expression withNewChildInternal(Expression newChild) {
+        return new InSetIgnoreCase(newChild, values, upper);
+    }
+}
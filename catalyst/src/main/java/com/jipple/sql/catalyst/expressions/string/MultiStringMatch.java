@@ -0,0 +1,146 @@
+package com.jipple.sql.catalyst.expressions.string;
+
+import com.jipple.collection.Option;
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.Literal;
+import com.jipple.sql.catalyst.expressions.UnaryExpression;
+import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
+import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
+import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.expressions.predicate.EqualTo;
+import com.jipple.sql.catalyst.expressions.predicate.Or;
+import com.jipple.sql.catalyst.util.MultiStringMatcher;
+import com.jipple.sql.types.AbstractDataType;
+import com.jipple.sql.types.DataType;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.jipple.sql.types.DataTypes.BOOLEAN;
+import static com.jipple.sql.types.DataTypes.STRING;
+
+/**
+ * A disjunction of [[Contains]], [[StartsWith]], [[EndsWith]] and [[EqualTo]] predicates on the
+ * same string with literal patterns, evaluated in a single pass over the string by a
+ * [[MultiStringMatcher]] instead of one pass per pattern.
+ *
+ * Like the disjunction it replaces, it returns null if and only if the string is null.
+ */
+public class MultiStringMatch extends UnaryExpression {
+    public final List<UTF8String> contains;
+    public final List<UTF8String> startsWith;
+    public final List<UTF8String> endsWith;
+    public final List<UTF8String> equalTo;
+    private transient MultiStringMatcher matcher;
+
+    public MultiStringMatch(
+            Expression child,
+            List<UTF8String> contains,
+            List<UTF8String> startsWith,
+            List<UTF8String> endsWith,
+            List<UTF8String> equalTo) {
+        super(child);
+        this.contains = contains;
+        this.startsWith = startsWith;
+        this.endsWith = endsWith;
+        this.equalTo = equalTo;
+    }
+
+    @Override
+    public Object[] args() {
+        return new Object[]{child, contains, startsWith, endsWith, equalTo};
+    }
+
+    public int numPatterns() {
+        return contains.size() + startsWith.size() + endsWith.size() + equalTo.size();
+    }
+
+    private MultiStringMatcher matcher() {
+        if (matcher == null) {
+            matcher = MultiStringMatcher.compile(contains, startsWith, endsWith, equalTo);
+        }
+        return matcher;
+    }
+
+    @Override
+    public Option<List<AbstractDataType>> expectsInputTypes() {
+        return Option.of(List.of(STRING));
+    }
+
+    @Override
+    public DataType dataType() {
+        return BOOLEAN;
+    }
+
+    @Override
+    protected Object nullSafeEval(Object input) {
+        return matcher().matches((UTF8String) input);
+    }
+
+    @Override
+    protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+        String matcherTerm = ctx.addReferenceObj("multiStringMatcher", matcher());
+        return defineCodeGen(ctx, ev, c -> CodeGeneratorUtils.template(
+                "${matcher}.matches(${c})",
+                Map.of(
+                        "matcher", matcherTerm,
+                        "c", c
+                )
+        ));
+    }
+
+    /**
+     * Returns the equivalent disjunction of string predicates.
+     */
+    public Expression toDisjunction() {
+        List<Expression> predicates = new ArrayList<>();
+        addPredicates(predicates, contains, Contains::new);
+        addPredicates(predicates, startsWith, StartsWith::new);
+        addPredicates(predicates, endsWith, EndsWith::new);
+        addPredicates(predicates, equalTo, EqualTo::new);
+        return predicates.stream().reduce(Or::new).orElse(Literal.FalseLiteral);
+    }
+
+    private void addPredicates(
+            List<Expression> predicates,
+            List<UTF8String> patterns,
+            BiFunction<Expression, Expression, Expression> predicate) {
+        for (UTF8String pattern : patterns) {
+            predicates.add(predicate.apply(child, new Literal(pattern, STRING)));
+        }
+    }
+
+    @Override
+    public String toString() {
+        String patterns = Stream.of(
+                        toString("contains", contains),
+                        toString("startswith", startsWith),
+                        toString("endswith", endsWith),
+                        toString("equalto", equalTo))
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.joining(", "));
+        return String.format("%s(%s, %s)", nodeName(), child, patterns);
+    }
+
+    private static String toString(String kind, List<UTF8String> patterns) {
+        if (patterns.isEmpty()) {
+            return "";
+        }
+        return patterns.stream().map(UTF8String::toString).collect(Collectors.joining(", ", kind + "[", "]"));
+    }
+
+    @Override
+    public String sql() {
+        return toDisjunction().sql();
+    }
+
+    @Override
+    public Expression withNewChildInternal(Expression newChild) {
+        return new MultiStringMatch(newChild, contains, startsWith, endsWith, equalTo);
+    }
+}
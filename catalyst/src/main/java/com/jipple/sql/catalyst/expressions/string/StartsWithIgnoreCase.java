@@ -0,0 +1,48 @@
+package com.jipple.sql.catalyst.expressions.string;
+
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.Literal;
+import com.jipple.sql.catalyst.util.CaseFoldedMatcher;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.List;
+
+import static com.jipple.sql.types.DataTypes.STRING;
+
+/**
+ * Whether the lower or upper case of a string starts with a literal pattern, i.e. a
+ * [[StartsWith]] predicate on the [[Lower]] or [[Upper]] case of the string.
+ */
+public class StartsWithIgnoreCase extends CaseFoldedPredicate {
+    public final UTF8String pattern;
+
+    public StartsWithIgnoreCase(Expression child, UTF8String pattern, boolean upper) {
+        super(child, upper);
+        this.pattern = pattern;
+    }
+
+    @Override
+    public Object[] args() {
+        return new Object[]{child, pattern, upper};
+    }
+
+    @Override
+    protected CaseFoldedMatcher.Comparison comparison() {
+        return CaseFoldedMatcher.Comparison.STARTS_WITH;
+    }
+
+    @Override
+    public List<UTF8String> patterns() {
+        return List.of(pattern);
+    }
+
+    @Override
+    public Expression toConverted() {
+        return new StartsWith(convertedChild(), new Literal(pattern, STRING));
+    }
+
+    @Override
+    public Expression withNewChildInternal(Expression newChild) {
+        return new StartsWithIgnoreCase(newChild, pattern, upper);
+    }
+}
@@ -9,6 +9,7 @@ import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
 import com.jipple.sql.types.AbstractDataType;
 import com.jipple.sql.types.DataType;
 import com.jipple.unsafe.types.UTF8String;
+import com.jipple.unsafe.types.UTF8StringSearcher;
 
 import java.util.List;
 import java.util.Map;
@@ -36,13 +37,38 @@ public class StringReplace extends TernaryExpression {
         return "replace";
     }
 
+    // the searcher of a foldable search string, prepared on the first row
+    private transient UTF8StringSearcher cachedSearcher;
+
     @Override
     protected Object nullSafeEval(Object srcEval, Object searchEval, Object replaceEval) {
+        if (cachedSearcher == null && second.foldable()) {
+            cachedSearcher = UTF8StringSearcher.of((UTF8String) searchEval);
+        }
+        if (cachedSearcher != null) {
+            return ((UTF8String) srcEval).replace(cachedSearcher, (UTF8String) replaceEval);
+        }
         return ((UTF8String) srcEval).replace((UTF8String) searchEval, (UTF8String) replaceEval);
     }
 
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+        if (second.foldable()) {
+            Object searchVal = second.eval();
+            if (searchVal != null) {
+                String searcher = StringSearcherUtils.addSearcher(ctx, (UTF8String) searchVal);
+                return nullSafeCodeGen(ctx, ev, (src, search, replace) ->
+                        CodeGeneratorUtils.template(
+                                "${result} = ${src}.replace(${searcher}, ${replace});",
+                                Map.of(
+                                        "result", ev.value,
+                                        "src", src,
+                                        "searcher", searcher,
+                                        "replace", replace
+                                )
+                        ));
+            }
+        }
         return nullSafeCodeGen(ctx, ev, (src, search, replace) ->
                 CodeGeneratorUtils.template(
                         "${result} = ${src}.replace(${search}, ${replace});",
@@ -0,0 +1,49 @@
+package com.jipple.sql.catalyst.expressions.string;
+
+import com.jipple.sql.catalyst.expressions.codegen.CodeGeneratorUtils;
+import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
+import com.jipple.unsafe.types.UTF8String;
+import com.jipple.unsafe.types.UTF8StringSearcher;
+import org.apache.commons.text.StringEscapeUtils;
+
+import java.util.HexFormat;
+import java.util.Map;
+
+public class StringSearcherUtils {
+    // Longer needles would make the field names too long, each gets its own reference instead.
+    private static final int MAX_SHARED_NEEDLE_BYTES = 64;
+
+    /**
+     * Returns the name of a field holding the [[UTF8StringSearcher]] of a foldable needle. The
+     * field is named after the needle, so that expressions searching for the same needle share it.
+     */
+    public static String addSearcher(CodegenContext ctx, UTF8String needle) {
+        byte[] bytes = needle.getBytes();
+        if (bytes.length > MAX_SHARED_NEEDLE_BYTES) {
+            return ctx.addReferenceObj("searcher", UTF8StringSearcher.of(needle));
+        }
+        String searcherClass = UTF8StringSearcher.class.getName();
+        String needleCode;
+        if (UTF8String.fromString(needle.toString()).equals(needle)) {
+            needleCode = "UTF8String.fromString(\"" + StringEscapeUtils.escapeJava(needle.toString()) + "\")";
+        } else {
+            // invalid UTF-8 does not survive a round trip through a String
+            StringBuilder sb = new StringBuilder("UTF8String.fromBytes(new byte[] {");
+            for (int i = 0; i < bytes.length; i++) {
+                sb.append(i > 0 ? ", " : "").append(bytes[i]);
+            }
+            needleCode = sb.append("})").toString();
+        }
+        String name = "searcher_" + HexFormat.of().formatHex(bytes);
+        ctx.addImmutableStateIfNotExists(searcherClass, name, v ->
+                CodeGeneratorUtils.template(
+                        "${value} = ${searcherClass}.of(${needle});",
+                        Map.of(
+                                "value", v,
+                                "searcherClass", searcherClass,
+                                "needle", needleCode
+                        )
+                ));
+        return name;
+    }
+}
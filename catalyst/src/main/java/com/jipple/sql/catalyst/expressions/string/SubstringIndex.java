@@ -9,6 +9,7 @@ import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
 import com.jipple.sql.types.AbstractDataType;
 import com.jipple.sql.types.DataType;
 import com.jipple.unsafe.types.UTF8String;
+import com.jipple.unsafe.types.UTF8StringSearcher;
 
 import java.util.List;
 import java.util.Map;
@@ -36,13 +37,37 @@ public class SubstringIndex extends TernaryExpression {
         return "substring_index";
     }
 
+    // the searcher of a foldable delimiter, prepared on the first row
+    private transient UTF8StringSearcher cachedSearcher;
+
     @Override
     protected Object nullSafeEval(Object str, Object delim, Object count) {
+        if (cachedSearcher == null && second.foldable()) {
+            cachedSearcher = UTF8StringSearcher.of((UTF8String) delim);
+        }
+        if (cachedSearcher != null) {
+            return ((UTF8String) str).subStringIndex(cachedSearcher, (Integer) count);
+        }
         return ((UTF8String) str).subStringIndex((UTF8String) delim, (Integer) count);
     }
 
     @Override
     protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+        if (second.foldable()) {
+            Object delimVal = second.eval();
+            if (delimVal != null) {
+                String searcher = StringSearcherUtils.addSearcher(ctx, (UTF8String) delimVal);
+                return defineCodeGen(ctx, ev, (str, delim, count) ->
+                        CodeGeneratorUtils.template(
+                                "${str}.subStringIndex(${searcher}, ${count})",
+                                Map.of(
+                                        "str", str,
+                                        "searcher", searcher,
+                                        "count", count
+                                )
+                        ));
+            }
+        }
         return defineCodeGen(ctx, ev, (str, delim, count) ->
                 CodeGeneratorUtils.template(
                         "${str}.subStringIndex(${delim}, ${count})",
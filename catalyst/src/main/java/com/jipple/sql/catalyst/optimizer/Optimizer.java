@@ -21,7 +21,9 @@ public class Optimizer extends RuleExecutor<LogicalPlan> {
                 new Batch("Operator Optimization", fixedPoint(),
                         new OptimizeIn(),
                         new ConstantFolding(),
-                        new LikeSimplification()
+                        new LikeSimplification(),
+                        new CombineStringMatches(),
+                        new SimplifyCaseConversionPredicates()
                 ),
                 new Batch("Finish Analysis", Once,
                     new EliminateSubqueryAliases(),
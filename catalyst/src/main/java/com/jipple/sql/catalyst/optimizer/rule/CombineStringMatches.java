@@ -0,0 +1,157 @@
+package com.jipple.sql.catalyst.optimizer.rule;
+
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.Literal;
+import com.jipple.sql.catalyst.expressions.predicate.EqualTo;
+import com.jipple.sql.catalyst.expressions.predicate.Or;
+import com.jipple.sql.catalyst.expressions.string.*;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+import com.jipple.sql.catalyst.rules.Rule;
+import com.jipple.sql.types.StringType;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Combines the [[Contains]], [[StartsWith]], [[EndsWith]] and [[EqualTo]] predicates with literal
+ * patterns on the same string in a disjunction into one [[MultiStringMatch]], which scans the
+ * string once for all the patterns instead of once per pattern. For example:
+ * {{{
+ *   c LIKE '%a%' OR c LIKE 'b%' OR c = 'd' OR x > 1  ==>  multistringmatch(c, ...) OR x > 1
+ * }}}
+ * LIKE predicates are combined once [[LikeSimplification]] has rewritten them. Disjunctions with
+ * less than `jipple.sql.optimizer.multiStringMatchThreshold` patterns on a string are left as is.
+ */
+public class CombineStringMatches extends Rule<LogicalPlan> {
+    @Override
+    public LogicalPlan apply(LogicalPlan plan) {
+        int threshold = conf().optimizerMultiStringMatchThreshold();
+        return plan.transformAllExpressions(e -> {
+            if (e instanceof Or) {
+                return combine(e, threshold);
+            } else {
+                return e;
+            }
+        });
+    }
+
+    private Expression combine(Expression or, int threshold) {
+        List<Expression> disjuncts = new ArrayList<>();
+        splitDisjuncts(or, disjuncts);
+
+        // The patterns of the disjuncts that can be combined, grouped by string.
+        Map<Expression, Patterns> groups = new LinkedHashMap<>();
+        for (Expression disjunct : disjuncts) {
+            Expression child = matchedString(disjunct);
+            if (child != null) {
+                groups.computeIfAbsent(child.canonicalized(), k -> new Patterns(child)).add(disjunct);
+            }
+        }
+        if (groups.values().stream().noneMatch(p -> p.combinable(threshold))) {
+            return or;
+        }
+
+        List<Expression> newDisjuncts = new ArrayList<>();
+        for (Expression disjunct : disjuncts) {
+            Expression child = matchedString(disjunct);
+            Patterns patterns = child == null ? null : groups.get(child.canonicalized());
+            if (patterns == null || !patterns.combinable(threshold)) {
+                newDisjuncts.add(disjunct);
+            } else if (patterns.first == disjunct) {
+                newDisjuncts.add(patterns.toExpression());
+            }
+        }
+        return newDisjuncts.stream().reduce(Or::new).get();
+    }
+
+    private static void splitDisjuncts(Expression e, List<Expression> disjuncts) {
+        if (e instanceof Or or) {
+            splitDisjuncts(or.left, disjuncts);
+            splitDisjuncts(or.right, disjuncts);
+        } else {
+            disjuncts.add(e);
+        }
+    }
+
+    /**
+     * Returns the string the disjunct matches patterns against if it can be combined, else null.
+     */
+    private static Expression matchedString(Expression e) {
+        Expression child;
+        if (e instanceof MultiStringMatch m) {
+            child = m.child;
+        } else if ((e instanceof Contains || e instanceof StartsWith || e instanceof EndsWith)
+                && isPattern(((StringPredicate) e).right)) {
+            child = ((StringPredicate) e).left;
+        } else if (e instanceof EqualTo eq && isPattern(eq.right)) {
+            child = eq.left;
+        } else if (e instanceof EqualTo eq && isPattern(eq.left)) {
+            child = eq.right;
+        } else {
+            return null;
+        }
+        return child.deterministic() && child.dataType() instanceof StringType ? child : null;
+    }
+
+    private static boolean isPattern(Expression e) {
+        return e instanceof Literal lit && lit.dataType instanceof StringType && lit.value != null;
+    }
+
+    private static UTF8String pattern(Expression e) {
+        return (UTF8String) ((Literal) e).value;
+    }
+
+    private static final class Patterns {
+        final Expression child;
+        Expression first;
+        int numDisjuncts;
+        final Set<UTF8String> contains = new LinkedHashSet<>();
+        final Set<UTF8String> startsWith = new LinkedHashSet<>();
+        final Set<UTF8String> endsWith = new LinkedHashSet<>();
+        final Set<UTF8String> equalTo = new LinkedHashSet<>();
+
+        Patterns(Expression child) {
+            this.child = child;
+        }
+
+        void add(Expression e) {
+            if (first == null) {
+                first = e;
+            }
+            numDisjuncts++;
+            if (e instanceof MultiStringMatch m) {
+                contains.addAll(m.contains);
+                startsWith.addAll(m.startsWith);
+                endsWith.addAll(m.endsWith);
+                equalTo.addAll(m.equalTo);
+            } else if (e instanceof Contains c) {
+                contains.add(pattern(c.right));
+            } else if (e instanceof StartsWith s) {
+                startsWith.add(pattern(s.right));
+            } else if (e instanceof EndsWith s) {
+                endsWith.add(pattern(s.right));
+            } else if (e instanceof EqualTo eq) {
+                equalTo.add(pattern(isPattern(eq.right) ? eq.right : eq.left));
+            }
+        }
+
+        boolean combinable(int threshold) {
+            int numPatterns = contains.size() + startsWith.size() + endsWith.size() + equalTo.size();
+            return numDisjuncts > 1 && numPatterns >= threshold;
+        }
+
+        Expression toExpression() {
+            return new MultiStringMatch(
+                    child,
+                    List.copyOf(contains),
+                    List.copyOf(startsWith),
+                    List.copyOf(endsWith),
+                    List.copyOf(equalTo));
+        }
+    }
+}
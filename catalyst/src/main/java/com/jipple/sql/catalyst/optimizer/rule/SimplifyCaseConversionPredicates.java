@@ -0,0 +1,85 @@
+package com.jipple.sql.catalyst.optimizer.rule;
+
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.Literal;
+import com.jipple.sql.catalyst.expressions.predicate.EqualTo;
+import com.jipple.sql.catalyst.expressions.predicate.In;
+import com.jipple.sql.catalyst.expressions.predicate.InSet;
+import com.jipple.sql.catalyst.expressions.string.*;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+import com.jipple.sql.catalyst.rules.Rule;
+import com.jipple.sql.types.StringType;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the comparisons of the [[Lower]] or [[Upper]] case of a string with literals by
+ * [[CaseFoldedPredicate]]s, which fold the case of the string while comparing it instead of
+ * building the converted string for every row. For example:
+ * {{{
+ *   lower(c) = 'abc'             ==>  equalsignorecase(lower(c), abc)
+ *   upper(c) LIKE 'AB%'          ==>  startswithignorecase(upper(c), AB)
+ *   lower(c) IN ('a', 'b', 'c')  ==>  insetignorecase(lower(c), a, b, c)
+ * }}}
+ * [[EqualTo]], [[StartsWith]], [[EndsWith]], [[Contains]], [[In]] and [[InSet]] are replaced,
+ * LIKE predicates once [[LikeSimplification]] has rewritten them. IN lists with a null are left
+ * as is, as they are null rather than false when nothing matches.
+ */
+public class SimplifyCaseConversionPredicates extends Rule<LogicalPlan> {
+    @Override
+    public LogicalPlan apply(LogicalPlan plan) {
+        return plan.transformAllExpressions(SimplifyCaseConversionPredicates::simplify);
+    }
+
+    private static Expression simplify(Expression e) {
+        if (e instanceof EqualTo eq && isConverted(eq.left) && isPattern(eq.right)) {
+            return new EqualsIgnoreCase(string(eq.left), pattern(eq.right), isUpper(eq.left));
+        } else if (e instanceof EqualTo eq && isConverted(eq.right) && isPattern(eq.left)) {
+            return new EqualsIgnoreCase(string(eq.right), pattern(eq.left), isUpper(eq.right));
+        } else if (e instanceof StartsWith s && isConverted(s.left) && isPattern(s.right)) {
+            return new StartsWithIgnoreCase(string(s.left), pattern(s.right), isUpper(s.left));
+        } else if (e instanceof EndsWith s && isConverted(s.left) && isPattern(s.right)) {
+            return new EndsWithIgnoreCase(string(s.left), pattern(s.right), isUpper(s.left));
+        } else if (e instanceof Contains c && isConverted(c.left) && isPattern(c.right)) {
+            return new ContainsIgnoreCase(string(c.left), pattern(c.right), isUpper(c.left));
+        } else if (e instanceof In in && isConverted(in.value) && !in.list.isEmpty()
+                && in.list.stream().allMatch(SimplifyCaseConversionPredicates::isPattern)) {
+            List<UTF8String> values = in.list.stream()
+                    .map(SimplifyCaseConversionPredicates::pattern)
+                    .distinct()
+                    .toList();
+            return new InSetIgnoreCase(string(in.value), values, isUpper(in.value));
+        } else if (e instanceof InSet in && isConverted(in.child) && !in.hset.isEmpty()
+                && in.hset.stream().allMatch(v -> v instanceof UTF8String)) {
+            List<UTF8String> values = new ArrayList<>();
+            in.hset.forEach(v -> values.add((UTF8String) v));
+            // sort the values, so that the plan does not depend on the order of the hash set
+            values.sort(null);
+            return new InSetIgnoreCase(string(in.child), values, isUpper(in.child));
+        } else {
+            return e;
+        }
+    }
+
+    private static boolean isConverted(Expression e) {
+        return e instanceof Lower || e instanceof Upper;
+    }
+
+    private static boolean isUpper(Expression converted) {
+        return converted instanceof Upper;
+    }
+
+    private static Expression string(Expression converted) {
+        return ((String2StringExpression) converted).child;
+    }
+
+    private static boolean isPattern(Expression e) {
+        return e instanceof Literal lit && lit.dataType instanceof StringType && lit.value != null;
+    }
+
+    private static UTF8String pattern(Expression e) {
+        return (UTF8String) ((Literal) e).value;
+    }
+}
@@ -120,6 +120,48 @@ public abstract class QueryPlan<PlanType extends QueryPlan<PlanType>> extends Tr
         return changed[0] ? makeCopy(newArgs) : self();
     }
 
+    /**
+     * Returns a copy of this plan and its children whose expressions are fresh copies, see
+     * [[Expression#freshCopy]], so that evaluating them shares no transient state with the
+     * expressions of this plan. Leaf plans without expressions are returned as they are.
+     */
+    public final PlanType freshCopy() {
+        if (children().isEmpty() && expressions().isEmpty()) {
+            return self();
+        }
+        Object[] args = args();
+        Object[] newArgs = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            newArgs[i] = freshCopyArg(args[i]);
+        }
+        PlanType copy = makeCopy(newArgs);
+        copy.copyTagsFrom(self());
+        return copy;
+    }
+
+    private static Object freshCopyArg(Object arg) {
+        if (arg instanceof QueryPlan<?> plan) {
+            return plan.freshCopy();
+        }
+        if (arg instanceof Expression expr) {
+            return expr.freshCopy();
+        }
+        if (arg instanceof Option option) {
+            return option.isDefined() ? Option.some(freshCopyArg(option.get())) : option;
+        }
+        if (arg instanceof Map<?, ?> || arg instanceof DataType) {
+            return arg;
+        }
+        if (arg instanceof List<?> list) {
+            List<Object> mapped = new ArrayList<>(list.size());
+            for (Object value : list) {
+                mapped.add(freshCopyArg(value));
+            }
+            return mapped;
+        }
+        return arg;
+    }
+
     private Object recursiveTransformExpression(Object arg, Function<Expression, Expression> transformExpression) {
         if (arg instanceof Expression expr) {
             return transformExpression.apply(expr);
@@ -0,0 +1,181 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Compares the lower or upper case of [[UTF8String]]s with fixed patterns, e.g. evaluates
+ * `lower(s) = 'abc'` or `upper(s) LIKE 'ABC%'`, without building the converted string.
+ *
+ * The case of a full ASCII string is converted byte by byte, so the bytes of such a string are
+ * folded while they are compared with the pattern and nothing is allocated. Other strings are
+ * converted with [[UTF8String#toLowerCase]] or [[UTF8String#toUpperCase]] first, whose case
+ * mappings depend on the context and the locale, so that the result is always the same as the
+ * one of the comparison on the converted string.
+ *
+ * Equality is checked against any number of patterns with a hash table of the patterns, whose
+ * hash codes are computed on the folded bytes of the input. The other comparisons check the
+ * patterns one after another.
+ *
+ * Matchers are immutable and can be shared between threads.
+ */
+public final class CaseFoldedMatcher implements Serializable {
+    public enum Comparison { EQUAL_TO, STARTS_WITH, ENDS_WITH, CONTAINS }
+
+    private final Comparison comparison;
+    private final boolean upper;
+    private final UTF8String[] patterns;
+    // The case conversion of the ASCII bytes.
+    private final byte[] fold;
+    // Open addressing table of the indexes of the patterns plus one, by hash code, for EQUAL_TO.
+    private final int[] table;
+
+    private CaseFoldedMatcher(Comparison comparison, boolean upper, UTF8String[] patterns) {
+        this.comparison = comparison;
+        this.upper = upper;
+        this.patterns = patterns;
+        this.fold = new byte[128];
+        for (int b = 0; b < 128; b++) {
+            if (upper && b >= 'a' && b <= 'z') {
+                fold[b] = (byte) (b - 'a' + 'A');
+            } else if (!upper && b >= 'A' && b <= 'Z') {
+                fold[b] = (byte) (b - 'A' + 'a');
+            } else {
+                fold[b] = (byte) b;
+            }
+        }
+        if (comparison == Comparison.EQUAL_TO) {
+            table = new int[Math.max(2, Integer.highestOneBit(patterns.length) << 2)];
+            for (int i = 0; i < patterns.length; i++) {
+                int slot = hash(patterns[i], false) & (table.length - 1);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (table.length - 1);
+                }
+                table[slot] = i + 1;
+            }
+        } else {
+            table = null;
+        }
+    }
+
+    /**
+     * Returns a matcher of the strings whose lower case, or upper case if `upper` is set,
+     * compares true with any of the patterns.
+     */
+    public static CaseFoldedMatcher compile(
+            Comparison comparison,
+            List<UTF8String> patterns,
+            boolean upper) {
+        // copy the patterns, so that the matcher does not retain row buffers
+        UTF8String[] distinct = new LinkedHashSet<>(patterns).stream()
+                .map(UTF8String::copy)
+                .toArray(UTF8String[]::new);
+        return new CaseFoldedMatcher(comparison, upper, distinct);
+    }
+
+    public boolean matches(UTF8String str) {
+        if (!str.isFullAscii()) {
+            return matchesConverted(upper ? str.toUpperCase() : str.toLowerCase());
+        }
+        int numBytes = str.numBytes();
+        switch (comparison) {
+            case EQUAL_TO:
+                return lookup(str, true);
+            case STARTS_WITH:
+                for (UTF8String p : patterns) {
+                    if (p.numBytes() <= numBytes && foldedMatchAt(str, 0, p)) {
+                        return true;
+                    }
+                }
+                return false;
+            case ENDS_WITH:
+                for (UTF8String p : patterns) {
+                    if (p.numBytes() <= numBytes && foldedMatchAt(str, numBytes - p.numBytes(), p)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                for (UTF8String p : patterns) {
+                    for (int i = 0; i <= numBytes - p.numBytes(); i++) {
+                        if (foldedMatchAt(str, i, p)) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+        }
+    }
+
+    private boolean matchesConverted(UTF8String converted) {
+        switch (comparison) {
+            case EQUAL_TO:
+                return lookup(converted, false);
+            case STARTS_WITH:
+                for (UTF8String p : patterns) {
+                    if (converted.startsWith(p)) {
+                        return true;
+                    }
+                }
+                return false;
+            case ENDS_WITH:
+                for (UTF8String p : patterns) {
+                    if (converted.endsWith(p)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                for (UTF8String p : patterns) {
+                    if (converted.contains(p)) {
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    private boolean lookup(UTF8String str, boolean folded) {
+        int slot = hash(str, folded) & (table.length - 1);
+        int index;
+        while ((index = table[slot]) != 0) {
+            UTF8String p = patterns[index - 1];
+            if (p.numBytes() == str.numBytes()
+                    && (folded ? foldedMatchAt(str, 0, p) : str.equals(p))) {
+                return true;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return false;
+    }
+
+    private int hash(UTF8String str, boolean folded) {
+        int h = 0;
+        for (int i = 0; i < str.numBytes(); i++) {
+            byte b = str.getByte(i);
+            h = 31 * h + (folded ? fold[b] : b);
+        }
+        // spread the high bits, the table is indexed by the low bits
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns whether the folded bytes of an ASCII string at `pos` are the bytes of the pattern.
+     */
+    private boolean foldedMatchAt(UTF8String str, int pos, UTF8String pattern) {
+        for (int i = 0; i < pattern.numBytes(); i++) {
+            if (fold[str.getByte(pos + i)] != pattern.getByte(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "CaseFoldedMatcher(" + comparison + ", " + patterns.length + " patterns)";
+    }
+}
@@ -5,11 +5,11 @@ import java.util.Locale;
 
 /**
  * The formatter for timestamps which doesn't require users to specify a pattern.
- * It uses the default pattern {@link TimestampFormatter#defaultPattern()}.
+ * It uses the default pattern {@link TimestampFormatter#defaultPattern()}, which has a fast path.
  */
-public class DefaultTimestampFormatter extends Iso8601TimestampFormatter {
+public class DefaultTimestampFormatter extends FastTimestampFormatter {
     public DefaultTimestampFormatter(ZoneId zoneId, Locale locale) {
-        super(TimestampFormatter.defaultPattern(), zoneId, locale);
+        super(Layout.DATE_TIME, zoneId, locale);
     }
 
     public DefaultTimestampFormatter(ZoneId zoneId) {
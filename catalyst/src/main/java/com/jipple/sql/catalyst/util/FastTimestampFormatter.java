@@ -0,0 +1,328 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import static com.jipple.sql.catalyst.util.DateTimeConstants.MICROS_PER_SECOND;
+
+/**
+ * A formatter for the few fixed width patterns that most timestamps are written in, see
+ * [[Layout]], which formats and parses them digit by digit on the UTF-8 bytes instead of going
+ * through a `DateTimeFormatter` and its `TemporalAccessor`s.
+ *
+ * Only the canonical form of the layout is handled here: 4 digit years from 0001 to 9999, fields
+ * in their ranges and offsets in whole minutes. Anything else, including all the inputs that do
+ * not parse, is handed to [[Iso8601TimestampFormatter]], so the results and the errors are the
+ * ones of the pattern in a `DateTimeFormatter`.
+ */
+public class FastTimestampFormatter extends Iso8601TimestampFormatter {
+    private static final long serialVersionUID = 1L;
+    private static final int SECONDS_PER_DAY = 86400;
+    // Returned by the parsing helpers when the input has to be parsed by the generic formatter.
+    private static final long FALLBACK = Long.MIN_VALUE;
+    private static final int NO_OFFSET = Integer.MIN_VALUE;
+
+    /**
+     * The patterns with a fast path.
+     */
+    public enum Layout {
+        DATE("yyyy-MM-dd", 10, (char) 0, false, false),
+        DATE_TIME("yyyy-MM-dd HH:mm:ss", 19, ' ', false, false),
+        DATE_TIME_MILLIS("yyyy-MM-dd HH:mm:ss.SSS", 23, ' ', true, false),
+        COMPACT_DATE_TIME("yyyyMMddHHmmss", 14, (char) 0, false, false),
+        ISO_OFFSET("yyyy-MM-dd'T'HH:mm:ssXXX", 19, 'T', false, true),
+        ISO_MILLIS_OFFSET("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", 23, 'T', true, true);
+
+        final String pattern;
+        // The length of the local date-time, the offset follows it.
+        final int localLength;
+        // The character between the date and the time, 0 if there is no time or no separator.
+        final char timeSeparator;
+        final boolean millis;
+        final boolean offset;
+
+        Layout(String pattern, int localLength, char timeSeparator, boolean millis, boolean offset) {
+            this.pattern = pattern;
+            this.localLength = localLength;
+            this.timeSeparator = timeSeparator;
+            this.millis = millis;
+            this.offset = offset;
+        }
+
+        boolean compact() {
+            return this == COMPACT_DATE_TIME;
+        }
+
+        boolean hasTime() {
+            return this != DATE;
+        }
+
+        /**
+         * Returns the layout of the pattern, or null if the pattern has no fast path.
+         */
+        public static Layout of(String pattern) {
+            for (Layout layout : values()) {
+                if (layout.pattern.equals(pattern)) {
+                    return layout;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Layout layout;
+    private transient ZoneOffsetTable zoneOffsets;
+
+    public FastTimestampFormatter(Layout layout, ZoneId zoneId, Locale locale) {
+        super(layout.pattern, zoneId, locale);
+        this.layout = layout;
+    }
+
+    public Layout layout() {
+        return layout;
+    }
+
+    private ZoneOffsetTable zoneOffsets() {
+        if (zoneOffsets == null) {
+            zoneOffsets = ZoneOffsetTable.of(zoneId());
+        }
+        return zoneOffsets;
+    }
+
+    @Override
+    public long parse(String s) throws DateTimeParseException {
+        return parse(UTF8String.fromString(s));
+    }
+
+    @Override
+    public long parse(UTF8String s) throws DateTimeParseException {
+        long local = parseLocal(s);
+        if (local == FALLBACK) {
+            return super.parse(s.toString());
+        }
+        if (layout.offset) {
+            int offset = parseOffset(s);
+            if (offset == NO_OFFSET) {
+                return super.parse(s.toString());
+            }
+            return local - offset * MICROS_PER_SECOND;
+        }
+        // resolves gaps and overlaps in the zone like the generic formatter does
+        return zoneOffsets().localToUtcMicros(local);
+    }
+
+    @Override
+    public long parseWithoutTimeZone(String s, boolean allowTimeZone) throws DateTimeParseException {
+        return parseWithoutTimeZone(UTF8String.fromString(s), allowTimeZone);
+    }
+
+    @Override
+    public long parseWithoutTimeZone(UTF8String s, boolean allowTimeZone) throws DateTimeParseException {
+        long local = parseLocal(s);
+        if (local == FALLBACK || (layout.offset && (!allowTimeZone || parseOffset(s) == NO_OFFSET))) {
+            return super.parseWithoutTimeZone(s.toString(), allowTimeZone);
+        }
+        return local;
+    }
+
+    /**
+     * Returns the microseconds since the epoch of the local date-time at the start of the string
+     * as if it was in UTC, or [[#FALLBACK]].
+     */
+    private long parseLocal(UTF8String s) {
+        int length = s.numBytes();
+        if (!layout.hasTime() || length < layout.localLength
+                || (!layout.offset && length != layout.localLength)) {
+            // date-only patterns don't parse to a timestamp, let the generic formatter fail
+            return FALLBACK;
+        }
+        int year, month, day, hour, minute, second;
+        int millis = 0;
+        if (layout.compact()) {
+            year = digits(s, 0, 4);
+            month = digits(s, 4, 2);
+            day = digits(s, 6, 2);
+            hour = digits(s, 8, 2);
+            minute = digits(s, 10, 2);
+            second = digits(s, 12, 2);
+        } else {
+            if (s.getByte(4) != '-' || s.getByte(7) != '-' || s.getByte(10) != layout.timeSeparator
+                    || s.getByte(13) != ':' || s.getByte(16) != ':') {
+                return FALLBACK;
+            }
+            year = digits(s, 0, 4);
+            month = digits(s, 5, 2);
+            day = digits(s, 8, 2);
+            hour = digits(s, 11, 2);
+            minute = digits(s, 14, 2);
+            second = digits(s, 17, 2);
+            if (layout.millis) {
+                if (s.getByte(19) != '.') {
+                    return FALLBACK;
+                }
+                millis = digits(s, 20, 3);
+            }
+        }
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || millis < 0) {
+            return FALLBACK;
+        }
+        long seconds = daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+        return seconds * MICROS_PER_SECOND + millis * 1000L;
+    }
+
+    /**
+     * Returns the offset in seconds after the local date-time, or [[#NO_OFFSET]].
+     */
+    private int parseOffset(UTF8String s) {
+        int pos = layout.localLength;
+        int length = s.numBytes();
+        if (length == pos + 1 && s.getByte(pos) == 'Z') {
+            return 0;
+        }
+        if (length != pos + 6 || s.getByte(pos + 3) != ':') {
+            return NO_OFFSET;
+        }
+        byte sign = s.getByte(pos);
+        int hours = digits(s, pos + 1, 2);
+        int minutes = digits(s, pos + 4, 2);
+        if ((sign != '+' && sign != '-') || hours < 0 || minutes < 0 || minutes > 59
+                || hours * 60 + minutes > 18 * 60) {
+            return NO_OFFSET;
+        }
+        int offset = (hours * 60 + minutes) * 60;
+        return sign == '-' ? -offset : offset;
+    }
+
+    /**
+     * Returns the value of `count` decimal digits, or a negative value if one is not a digit.
+     */
+    private static int digits(UTF8String s, int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            int digit = s.getByte(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    @Override
+    public String format(long us) {
+        byte[] bytes = formatBytes(us);
+        return bytes == null ? super.format(us) : new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public UTF8String formatUTF8(long us) {
+        byte[] bytes = formatBytes(us);
+        return bytes == null ? UTF8String.fromString(super.format(us)) : UTF8String.fromBytes(bytes);
+    }
+
+    /**
+     * Returns the formatted timestamp, or null if it has to be formatted by the generic formatter.
+     */
+    private byte[] formatBytes(long us) {
+        long seconds = Math.floorDiv(us, MICROS_PER_SECOND);
+        int micros = (int) (us - seconds * MICROS_PER_SECOND);
+        int offsetSeconds = zoneOffsets().offsetAtUtc(seconds);
+        if (layout.offset && offsetSeconds % 60 != 0) {
+            return null;
+        }
+        long local = seconds + offsetSeconds;
+        long days = Math.floorDiv(local, SECONDS_PER_DAY);
+        int secondOfDay = (int) (local - days * SECONDS_PER_DAY);
+
+        // the civil date of the days since the epoch, see daysFromCivil
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 1 || year > 9999) {
+            return null;
+        }
+
+        int offsetLength = !layout.offset ? 0 : offsetSeconds == 0 ? 1 : 6;
+        byte[] bytes = new byte[layout.localLength + offsetLength];
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+        if (layout.compact()) {
+            writeDigits(bytes, 0, (int) year, 4);
+            writeDigits(bytes, 4, month, 2);
+            writeDigits(bytes, 6, day, 2);
+            writeDigits(bytes, 8, hour, 2);
+            writeDigits(bytes, 10, minute, 2);
+            writeDigits(bytes, 12, second, 2);
+            return bytes;
+        }
+        writeDigits(bytes, 0, (int) year, 4);
+        bytes[4] = '-';
+        writeDigits(bytes, 5, month, 2);
+        bytes[7] = '-';
+        writeDigits(bytes, 8, day, 2);
+        if (layout.hasTime()) {
+            bytes[10] = (byte) layout.timeSeparator;
+            writeDigits(bytes, 11, hour, 2);
+            bytes[13] = ':';
+            writeDigits(bytes, 14, minute, 2);
+            bytes[16] = ':';
+            writeDigits(bytes, 17, second, 2);
+            if (layout.millis) {
+                bytes[19] = '.';
+                writeDigits(bytes, 20, micros / 1000, 3);
+            }
+        }
+        if (offsetLength == 1) {
+            bytes[layout.localLength] = 'Z';
+        } else if (offsetLength == 6) {
+            int pos = layout.localLength;
+            int offsetMinutes = Math.abs(offsetSeconds) / 60;
+            bytes[pos] = (byte) (offsetSeconds < 0 ? '-' : '+');
+            writeDigits(bytes, pos + 1, offsetMinutes / 60, 2);
+            bytes[pos + 3] = ':';
+            writeDigits(bytes, pos + 4, offsetMinutes % 60, 2);
+        }
+        return bytes;
+    }
+
+    private static void writeDigits(byte[] bytes, int pos, int value, int count) {
+        for (int i = pos + count - 1; i >= pos; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Returns the days since the epoch of a proleptic Gregorian date, with the algorithm of
+     * http://howardhinnant.github.io/date_algorithms.html, which counts years from March.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
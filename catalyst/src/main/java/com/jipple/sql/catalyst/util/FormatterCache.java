@@ -0,0 +1,127 @@
+package com.jipple.sql.catalyst.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.jipple.collection.Option;
+
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A bounded LRU cache of the [[TimestampFormatter]]s and [[DateFormatter]]s, shared by the
+ * datetime expressions and casts, keyed by pattern, time zone and locale.
+ *
+ * Expressions with a constant format build their formatter once, but a format read from a column
+ * needs a formatter for every row, and building one parses the pattern into a
+ * `DateTimeFormatter`, which costs much more than formatting or parsing a value with it.
+ * Formatters are immutable, so the cached ones are shared by all threads.
+ *
+ * Formatters are built outside of the cache, concurrent misses on the same key may build twice.
+ * Invalid patterns throw as before and are not cached.
+ */
+public final class FormatterCache {
+    static final int MAX_ENTRIES = 1024;
+
+    private static final Cache<Key, Object> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .recordStats()
+            .build();
+
+    private FormatterCache() {
+    }
+
+    public static TimestampFormatter getTimestampFormatter(ZoneId zoneId) {
+        return getTimestampFormatter(null, zoneId, TimestampFormatter.DEFAULT_LOCALE);
+    }
+
+    public static TimestampFormatter getTimestampFormatter(String format, ZoneId zoneId) {
+        return getTimestampFormatter(format, zoneId, TimestampFormatter.DEFAULT_LOCALE);
+    }
+
+    /**
+     * Returns the formatter of [[TimestampFormatter#getFormatter]] for the pattern, or the
+     * default formatter if the pattern is null.
+     */
+    public static TimestampFormatter getTimestampFormatter(String format, ZoneId zoneId, Locale locale) {
+        return get(new Key(Kind.TIMESTAMP, format, zoneId, locale),
+                () -> TimestampFormatter.getFormatter(Option.option(format), zoneId, locale));
+    }
+
+    public static DateFormatter getDateFormatter() {
+        return getDateFormatter(null, DateFormatter.DEFAULT_LOCALE);
+    }
+
+    /**
+     * Returns the formatter of [[DateFormatter#getFormatter]] for the pattern, or the default
+     * formatter if the pattern is null.
+     */
+    public static DateFormatter getDateFormatter(String format, Locale locale) {
+        return get(new Key(Kind.DATE, format, null, locale),
+                () -> DateFormatter.getFormatter(Option.option(format), locale));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(Key key, Supplier<T> builder) {
+        T formatter = (T) cache.getIfPresent(key);
+        if (formatter == null) {
+            formatter = builder.get();
+            cache.put(key, formatter);
+        }
+        return formatter;
+    }
+
+    public static FormatterCacheMetrics metrics() {
+        CacheStats stats = cache.stats();
+        return new FormatterCacheMetrics(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.size());
+    }
+
+    /**
+     * Discards all the cached formatters, the metrics are kept.
+     */
+    public static void clear() {
+        cache.invalidateAll();
+    }
+
+    private enum Kind {
+        TIMESTAMP, DATE
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final String pattern;
+        private final ZoneId zoneId;
+        private final Locale locale;
+        private final int hashCode;
+
+        Key(Kind kind, String pattern, ZoneId zoneId, Locale locale) {
+            this.kind = kind;
+            this.pattern = pattern;
+            this.zoneId = zoneId;
+            this.locale = locale;
+            this.hashCode = Objects.hash(kind, pattern, zoneId, locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return hashCode == other.hashCode
+                    && kind == other.kind
+                    && Objects.equals(pattern, other.pattern)
+                    && Objects.equals(zoneId, other.zoneId)
+                    && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
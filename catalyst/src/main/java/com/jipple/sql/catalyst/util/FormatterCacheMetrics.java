@@ -0,0 +1,36 @@
+package com.jipple.sql.catalyst.util;
+
+/**
+ * Metrics about the shared formatter cache, see [[FormatterCache]].
+ */
+public class FormatterCacheMetrics {
+    /** Number of lookups that found a cached formatter. */
+    public final long hitCount;
+    /** Number of lookups that built a new formatter. */
+    public final long missCount;
+    /** Number of formatters evicted to keep the cache under its maximum size. */
+    public final long evictionCount;
+    /** Number of cached formatters. */
+    public final long size;
+
+    public FormatterCacheMetrics(long hitCount, long missCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Returns the ratio of lookups that found a cached formatter, 1.0 if there was no lookup.
+     */
+    public double hitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FormatterCacheMetrics(hitCount=%d, missCount=%d, evictionCount=%d, size=%d)",
+                hitCount, missCount, evictionCount, size);
+    }
+}
@@ -5,7 +5,6 @@ import com.jipple.sql.errors.QueryExecutionErrors;
 import com.jipple.unsafe.types.UTF8String;
 
 import java.time.*;
-import java.time.temporal.ChronoUnit;
 import java.time.temporal.IsoFields;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -105,8 +104,8 @@ public class JippleDateTimeUtils {
      * is valid for the `toZone` time zone, thus the local date-time may be adjusted.
      */
     public static long convertTz(long micros, ZoneId fromZone, ZoneId toZone) {
-        ZonedDateTime rebasedDateTime = getLocalDateTime(micros, toZone).atZone(fromZone);
-        return instantToMicros(rebasedDateTime.toInstant());
+        long localMicros = ZoneOffsetTable.of(toZone).utcToLocalMicros(micros);
+        return ZoneOffsetTable.of(fromZone).localToUtcMicros(localMicros);
     }
 
     /**
@@ -129,15 +128,18 @@ public class JippleDateTimeUtils {
      * Converts microseconds since 1970-01-01 00:00:00Z to days since 1970-01-01 at the given zone ID.
      */
     public static int microsToDays(long micros, ZoneId zoneId) {
-        return localDateToDays(getLocalDateTime(micros, zoneId).toLocalDate());
+        long seconds = Math.floorDiv(micros, MICROS_PER_SECOND);
+        long localSeconds = seconds + ZoneOffsetTable.of(zoneId).offsetAtUtc(seconds);
+        return Math.toIntExact(Math.floorDiv(localSeconds, SECONDS_PER_DAY));
     }
 
     /**
      * Converts days since 1970-01-01 at the given zone ID to microseconds since 1970-01-01 00:00:00Z.
      */
     public static long daysToMicros(int days, ZoneId zoneId) {
-        Instant instant = daysToLocalDate(days).atStartOfDay(zoneId).toInstant();
-        return instantToMicros(instant);
+        // like LocalDate.atStartOfDay, the day starts at the transition if midnight is in a gap
+        long seconds = ZoneOffsetTable.of(zoneId).localToUtcAtGapEnd(days * SECONDS_PER_DAY);
+        return Math.multiplyExact(seconds, MICROS_PER_SECOND);
     }
 
     /**
@@ -171,9 +173,17 @@ public class JippleDateTimeUtils {
         }
     }
 
-    private static long truncToUnit(long micros, ZoneId zoneId, ChronoUnit unit) {
-        ZonedDateTime truncated = microsToInstant(micros).atZone(zoneId).truncatedTo(unit);
-        return instantToMicros(truncated.toInstant());
+    /**
+     * Truncates the local time of the timestamp to a multiple of `unitSeconds` since the epoch,
+     * keeping its offset if it is still valid, like [[ZonedDateTime#truncatedTo]] does.
+     */
+    private static long truncToUnit(long micros, ZoneId zoneId, long unitSeconds) {
+        ZoneOffsetTable table = ZoneOffsetTable.of(zoneId);
+        long seconds = Math.floorDiv(micros, MICROS_PER_SECOND);
+        int offset = table.offsetAtUtc(seconds);
+        long localSeconds = seconds + offset;
+        long truncated = localSeconds - Math.floorMod(localSeconds, unitSeconds);
+        return Math.multiplyExact(table.localToUtc(truncated, offset), MICROS_PER_SECOND);
     }
 
     /**
@@ -192,11 +202,11 @@ public class JippleDateTimeUtils {
             case TRUNC_TO_SECOND:
                 return micros - Math.floorMod(micros, MICROS_PER_SECOND);
             case TRUNC_TO_MINUTE:
-                return truncToUnit(micros, zoneId, ChronoUnit.MINUTES);
+                return truncToUnit(micros, zoneId, SECONDS_PER_MINUTE);
             case TRUNC_TO_HOUR:
-                return truncToUnit(micros, zoneId, ChronoUnit.HOURS);
+                return truncToUnit(micros, zoneId, SECONDS_PER_HOUR);
             case TRUNC_TO_DAY:
-                return truncToUnit(micros, zoneId, ChronoUnit.DAYS);
+                return truncToUnit(micros, zoneId, SECONDS_PER_DAY);
             default:
                 int dDays = microsToDays(micros, zoneId);
                 return daysToMicros(truncDate(dDays, level), zoneId);
@@ -583,9 +593,7 @@ public class JippleDateTimeUtils {
                 localDate = LocalDate.of(result.segments[0], result.segments[1], result.segments[2]);
             }
             LocalDateTime localDateTime = LocalDateTime.of(localDate, localTime);
-            ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, zoneId);
-            Instant instant = Instant.from(zonedDateTime);
-            return Option.some(instantToMicros(instant));
+            return Option.some(ZoneOffsetTable.of(zoneId).localToUtcMicros(localDateTimeToMicros(localDateTime)));
         } catch (Exception e) {
             // NonFatal exceptions are caught and return None
             return Option.none();
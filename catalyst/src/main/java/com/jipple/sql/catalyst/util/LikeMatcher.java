@@ -0,0 +1,184 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A matcher for SQL LIKE patterns that works on the UTF-8 bytes of a [[UTF8String]], without
+ * decoding the input or going through a backtracking regex.
+ *
+ * The pattern is split at `%` into segments of literal bytes and `_` wildcards. The first segment
+ * is matched at the start of the input, the last one at its end, and the segments in between are
+ * searched left to right, which is enough since `_` always matches exactly one character.
+ * Inputs are expected to be valid UTF-8, as for [[UTF8String#numChars]].
+ *
+ * Matchers are immutable and can be shared between threads.
+ */
+public final class LikeMatcher implements Serializable {
+    // Token of a segment matching any one character, other tokens are unsigned byte values.
+    private static final int ANY_CHAR = -1;
+
+    private final String pattern;
+    private final int[][] segments;
+
+    private LikeMatcher(String pattern, int[][] segments) {
+        this.pattern = pattern;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles a LIKE pattern. Escapes are validated the same way as
+     * [[StringUtils#escapeLikeRegex]].
+     */
+    public static LikeMatcher compile(String pattern, char escapeChar) {
+        List<int[]> segments = new ArrayList<>();
+        List<Integer> tokens = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = pattern.length();
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            if (c == escapeChar && i + 1 < length) {
+                i++;
+                c = pattern.charAt(i);
+                if (c == '_' || c == '%' || c == escapeChar) {
+                    literal.append(c);
+                } else {
+                    throw new IllegalArgumentException(String.format(
+                            "the escape character is not allowed to precede '%s'", Character.toString(c)));
+                }
+            } else if (c == escapeChar) {
+                throw new IllegalArgumentException("it is not allowed to end with the escape character");
+            } else if (c == '_') {
+                flushLiteral(literal, tokens);
+                tokens.add(ANY_CHAR);
+            } else if (c == '%') {
+                flushLiteral(literal, tokens);
+                segments.add(toArray(tokens));
+                tokens.clear();
+            } else {
+                literal.append(c);
+            }
+        }
+        flushLiteral(literal, tokens);
+        segments.add(toArray(tokens));
+        return new LikeMatcher(pattern, segments.toArray(new int[0][]));
+    }
+
+    public static LikeMatcher compile(UTF8String pattern, char escapeChar) {
+        return compile(pattern.toString(), escapeChar);
+    }
+
+    private static void flushLiteral(StringBuilder literal, List<Integer> tokens) {
+        for (byte b : literal.toString().getBytes(StandardCharsets.UTF_8)) {
+            tokens.add(b & 0xFF);
+        }
+        literal.setLength(0);
+    }
+
+    private static int[] toArray(List<Integer> tokens) {
+        return tokens.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    public boolean matches(UTF8String str) {
+        int numBytes = str.numBytes();
+        int[] first = segments[0];
+        if (segments.length == 1) {
+            return matchAt(first, str, 0, numBytes) == numBytes;
+        }
+
+        int pos = matchAt(first, str, 0, numBytes);
+        if (pos < 0) {
+            return false;
+        }
+        int limit = matchBackward(segments[segments.length - 1], str, pos, numBytes);
+        if (limit < 0) {
+            return false;
+        }
+        for (int i = 1; i < segments.length - 1; i++) {
+            if (segments[i].length > 0) {
+                pos = find(segments[i], str, pos, limit);
+                if (pos < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches the segment starting at byte `pos`, returns the end of the match or -1.
+     */
+    private static int matchAt(int[] segment, UTF8String str, int pos, int limit) {
+        for (int token : segment) {
+            if (pos >= limit) {
+                return -1;
+            }
+            byte b = str.getByte(pos);
+            if (token == ANY_CHAR) {
+                pos += UTF8String.numBytesForFirstByte(b);
+                if (pos > limit) {
+                    return -1;
+                }
+            } else if ((b & 0xFF) == token) {
+                pos++;
+            } else {
+                return -1;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Matches the segment ending at byte `end` and starting at or after `floor`, returns the start
+     * of the match or -1.
+     */
+    private static int matchBackward(int[] segment, UTF8String str, int floor, int end) {
+        int pos = end;
+        for (int i = segment.length - 1; i >= 0; i--) {
+            if (pos <= floor) {
+                return -1;
+            }
+            int token = segment[i];
+            pos--;
+            if (token == ANY_CHAR) {
+                // Step back to the first byte of the character.
+                while (pos > floor && (str.getByte(pos) & 0xC0) == 0x80) {
+                    pos--;
+                }
+            } else if ((str.getByte(pos) & 0xFF) != token) {
+                return -1;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Finds the leftmost match of the segment within [from, limit), returns its end or -1.
+     */
+    private static int find(int[] segment, UTF8String str, int from, int limit) {
+        int first = segment[0];
+        for (int start = from; start < limit; start++) {
+            byte b = str.getByte(start);
+            if (first == ANY_CHAR ? (b & 0xC0) != 0x80 : (b & 0xFF) == first) {
+                int end = matchAt(segment, str, start, limit);
+                if (end >= 0) {
+                    return end;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "LikeMatcher(" + pattern + ")";
+    }
+}
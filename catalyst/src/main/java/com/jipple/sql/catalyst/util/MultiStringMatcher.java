@@ -0,0 +1,187 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An Aho-Corasick automaton that checks whether a [[UTF8String]] contains, starts with, ends with
+ * or is equal to any of a set of strings, in a single pass over its UTF-8 bytes whatever the
+ * number of strings.
+ *
+ * The automaton is compiled into a dense transition table, so every input byte costs one table
+ * lookup. Bytes are mapped to classes first, all the bytes that do not occur in any string
+ * sharing one class, which keeps the table small. Every state is flagged with the kinds of
+ * strings it matches:
+ *  - a contained string or a suffix matches in every state whose failure chain ends a string,
+ *  - a prefix or an equal string only matches in the state that ends it, and only if the depth
+ *    of that state is the number of bytes read so far, that is, at the start of the input.
+ *
+ * Matchers are immutable and can be shared between threads.
+ */
+public final class MultiStringMatcher implements Serializable {
+    private static final int CONTAINS = 1;
+    private static final int STARTS_WITH = 2;
+    private static final int ENDS_WITH = 4;
+    private static final int EQUAL_TO = 8;
+
+    private final int[] byteClasses;
+    private final int numClasses;
+    private final int[] transitions;
+    private final byte[] flags;
+    private final int[] depths;
+    // Whether the whole input needs to be read, otherwise only prefixes can match.
+    private final boolean scanAll;
+    private final int maxPrefixLength;
+
+    private MultiStringMatcher(
+            int[] byteClasses,
+            int numClasses,
+            int[] transitions,
+            byte[] flags,
+            int[] depths,
+            boolean scanAll,
+            int maxPrefixLength) {
+        this.byteClasses = byteClasses;
+        this.numClasses = numClasses;
+        this.transitions = transitions;
+        this.flags = flags;
+        this.depths = depths;
+        this.scanAll = scanAll;
+        this.maxPrefixLength = maxPrefixLength;
+    }
+
+    public static MultiStringMatcher compile(
+            List<UTF8String> contains,
+            List<UTF8String> startsWith,
+            List<UTF8String> endsWith,
+            List<UTF8String> equalTo) {
+        int[] byteClasses = new int[256];
+        int numClasses = 1;
+        List<UTF8String> all = new ArrayList<>();
+        all.addAll(contains);
+        all.addAll(startsWith);
+        all.addAll(endsWith);
+        all.addAll(equalTo);
+        for (UTF8String s : all) {
+            for (byte b : s.getBytes()) {
+                if (byteClasses[b & 0xFF] == 0) {
+                    byteClasses[b & 0xFF] = numClasses++;
+                }
+            }
+        }
+
+        // Builds the trie, -1 marks a missing edge.
+        List<int[]> edges = new ArrayList<>();
+        List<Integer> stateFlags = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        edges.add(newEdges(numClasses));
+        stateFlags.add(0);
+        depths.add(0);
+        addAll(contains, CONTAINS, byteClasses, numClasses, edges, stateFlags, depths);
+        addAll(startsWith, STARTS_WITH, byteClasses, numClasses, edges, stateFlags, depths);
+        addAll(endsWith, ENDS_WITH, byteClasses, numClasses, edges, stateFlags, depths);
+        addAll(equalTo, EQUAL_TO, byteClasses, numClasses, edges, stateFlags, depths);
+        int maxPrefixLength = 0;
+        for (UTF8String s : startsWith) {
+            maxPrefixLength = Math.max(maxPrefixLength, s.numBytes());
+        }
+
+        // Resolves the failure links breadth first into a complete transition table.
+        int numStates = edges.size();
+        int[] transitions = new int[numStates * numClasses];
+        byte[] flags = new byte[numStates];
+        int[] fail = new int[numStates];
+        flags[0] = (byte) stateFlags.get(0).intValue();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] next = edges.get(state);
+            for (int c = 0; c < numClasses; c++) {
+                int child = next[c];
+                if (child < 0) {
+                    transitions[state * numClasses + c] = state == 0 ? 0 : transitions[fail[state] * numClasses + c];
+                } else {
+                    int failure = state == 0 ? 0 : transitions[fail[state] * numClasses + c];
+                    fail[child] = failure;
+                    flags[child] = (byte) (stateFlags.get(child) | (flags[failure] & (CONTAINS | ENDS_WITH)));
+                    transitions[state * numClasses + c] = child;
+                    queue.add(child);
+                }
+            }
+        }
+        boolean scanAll = !contains.isEmpty() || !endsWith.isEmpty() || !equalTo.isEmpty();
+        return new MultiStringMatcher(
+                byteClasses,
+                numClasses,
+                transitions,
+                flags,
+                depths.stream().mapToInt(Integer::intValue).toArray(),
+                scanAll,
+                maxPrefixLength);
+    }
+
+    private static int[] newEdges(int numClasses) {
+        int[] edges = new int[numClasses];
+        Arrays.fill(edges, -1);
+        return edges;
+    }
+
+    private static void addAll(
+            List<UTF8String> strings,
+            int flag,
+            int[] byteClasses,
+            int numClasses,
+            List<int[]> edges,
+            List<Integer> stateFlags,
+            List<Integer> depths) {
+        for (UTF8String s : strings) {
+            int state = 0;
+            for (byte b : s.getBytes()) {
+                int c = byteClasses[b & 0xFF];
+                int next = edges.get(state)[c];
+                if (next < 0) {
+                    next = edges.size();
+                    edges.add(newEdges(numClasses));
+                    stateFlags.add(0);
+                    depths.add(depths.get(state) + 1);
+                    edges.get(state)[c] = next;
+                }
+                state = next;
+            }
+            stateFlags.set(state, stateFlags.get(state) | flag);
+        }
+    }
+
+    public int numStates() {
+        return flags.length;
+    }
+
+    public boolean matches(UTF8String str) {
+        int numBytes = str.numBytes();
+        int state = 0;
+        int f = flags[0];
+        if ((f & (CONTAINS | STARTS_WITH)) != 0) {
+            return true;
+        }
+        int limit = scanAll ? numBytes : Math.min(numBytes, maxPrefixLength);
+        for (int i = 0; i < limit; i++) {
+            state = transitions[state * numClasses + byteClasses[str.getByte(i) & 0xFF]];
+            f = flags[state];
+            if ((f & CONTAINS) != 0 || ((f & STARTS_WITH) != 0 && depths[state] == i + 1)) {
+                return true;
+            }
+        }
+        return (f & ENDS_WITH) != 0 || ((f & EQUAL_TO) != 0 && depths[state] == numBytes);
+    }
+
+    @Override
+    public String toString() {
+        return "MultiStringMatcher(" + numStates() + " states)";
+    }
+}
@@ -8,6 +8,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.Locale;
 import com.jipple.collection.Option;
+import com.jipple.unsafe.types.UTF8String;
 
 public interface TimestampFormatter extends Serializable {
     Locale DEFAULT_LOCALE = Locale.US;
@@ -17,6 +18,13 @@ public interface TimestampFormatter extends Serializable {
      */
     long parse(String s) throws DateTimeParseException;
 
+    /**
+     * Parses a timestamp in a [[UTF8String]] and converts it to microseconds.
+     */
+    default long parse(UTF8String s) throws DateTimeParseException {
+        return parse(s.toString());
+    }
+
     /**
      * Parses a timestamp in a string and converts it to an optional number of microseconds.
      */
@@ -58,8 +66,29 @@ public interface TimestampFormatter extends Serializable {
         return parseWithoutTimeZone(s, true);
     }
 
+    /**
+     * Parses a timestamp in a [[UTF8String]] and converts it to microseconds since Unix Epoch in
+     * local time.
+     */
+    default long parseWithoutTimeZone(UTF8String s, boolean allowTimeZone)
+            throws DateTimeParseException {
+        return parseWithoutTimeZone(s.toString(), allowTimeZone);
+    }
+
+    default long parseWithoutTimeZone(UTF8String s)
+            throws DateTimeParseException {
+        return parseWithoutTimeZone(s, true);
+    }
+
     String format(long us);
 
+    /**
+     * Formats a timestamp in microseconds to a [[UTF8String]].
+     */
+    default UTF8String formatUTF8(long us) {
+        return UTF8String.fromString(format(us));
+    }
+
     String format(Timestamp ts);
 
     String format(Instant instant);
@@ -88,7 +117,7 @@ public interface TimestampFormatter extends Serializable {
 
     static TimestampFormatter getFormatter(Option<String> format, ZoneId zoneId, Locale locale) {
         if (format.isDefined()) {
-            return new Iso8601TimestampFormatter(format.get(), zoneId, locale);
+            return getFormatter(format.get(), zoneId, locale);
         } else {
             return new DefaultTimestampFormatter(zoneId, locale);
         }
@@ -98,7 +127,15 @@ public interface TimestampFormatter extends Serializable {
         return getFormatter(format, zoneId, DEFAULT_LOCALE);
     }
 
+    /**
+     * Returns a [[FastTimestampFormatter]] for the patterns it has a layout for, otherwise an
+     * [[Iso8601TimestampFormatter]].
+     */
     static TimestampFormatter getFormatter(String format, ZoneId zoneId, Locale locale) {
+        FastTimestampFormatter.Layout layout = FastTimestampFormatter.Layout.of(format);
+        if (layout != null) {
+            return new FastTimestampFormatter(layout, zoneId, locale);
+        }
         return new Iso8601TimestampFormatter(format, zoneId, locale);
     }
 }
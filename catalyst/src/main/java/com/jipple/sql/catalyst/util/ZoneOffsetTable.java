@@ -0,0 +1,219 @@
+package com.jipple.sql.catalyst.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.jipple.sql.catalyst.util.DateTimeConstants.MICROS_PER_SECOND;
+import static com.jipple.sql.catalyst.util.DateTimeConstants.SECONDS_PER_DAY;
+
+/**
+ * The offsets of a time zone from UTC, to convert between UTC and local times without going
+ * through [[ZoneRules]] and the `java.time` objects it takes and returns.
+ *
+ * Zones with a fixed offset, such as UTC, need no lookup at all. For the other zones, the
+ * transitions between the years `jipple.sql.zoneOffsetTable.minYear` (1900 by default) and
+ * `jipple.sql.zoneOffsetTable.maxYear` (2100 by default) are listed once in sorted arrays and
+ * binary searched. Times outside of these years are converted by the [[ZoneRules]].
+ *
+ * Local times in a gap or an overlap are resolved like [[ZonedDateTime#ofLocal]] does: a time in
+ * a gap is moved later by the length of the gap, a time in an overlap gets the preferred offset
+ * if it is valid, otherwise the earlier one.
+ *
+ * Tables are immutable and shared by all threads, see [[#of]].
+ */
+public final class ZoneOffsetTable {
+    static final int MIN_YEAR = Integer.getInteger("jipple.sql.zoneOffsetTable.minYear", 1900);
+    static final int MAX_YEAR = Integer.getInteger("jipple.sql.zoneOffsetTable.maxYear", 2100);
+
+    private static final ConcurrentHashMap<ZoneId, ZoneOffsetTable> tables = new ConcurrentHashMap<>();
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    // The offset of a fixed offset zone, or NOT_FIXED.
+    private final int fixedOffset;
+    private static final int NOT_FIXED = Integer.MIN_VALUE;
+    // The UTC seconds covered by the table, [startSecond, endSecond).
+    private final long startSecond;
+    private final long endSecond;
+    // The UTC second of every transition and the offset from it, offsets[0] being the offset
+    // before the first transition.
+    private final long[] transitions;
+    private final int[] offsets;
+    // The local second from which a local time gets the offset after a transition, that is the
+    // end of its gap or overlap.
+    private final long[] localBoundaries;
+    // Whether the gaps and overlaps of the transitions are apart, so that a local time is
+    // resolved by the last boundary before it, otherwise local times are converted by the rules.
+    private final boolean localSearchable;
+
+    private ZoneOffsetTable(ZoneId zoneId, int minYear, int maxYear) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        this.startSecond = LocalDateTime.of(minYear, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        this.endSecond = LocalDateTime.of(maxYear + 1, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        if (rules.isFixedOffset()) {
+            this.fixedOffset = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            this.transitions = null;
+            this.offsets = null;
+            this.localBoundaries = null;
+            this.localSearchable = false;
+            return;
+        }
+        List<ZoneOffsetTransition> list = new ArrayList<>();
+        ZoneOffsetTransition t = rules.nextTransition(Instant.ofEpochSecond(startSecond - 1));
+        while (t != null && t.toEpochSecond() < endSecond) {
+            list.add(t);
+            t = rules.nextTransition(t.getInstant());
+        }
+        this.fixedOffset = NOT_FIXED;
+        this.transitions = new long[list.size()];
+        this.offsets = new int[list.size() + 1];
+        this.localBoundaries = new long[list.size()];
+        offsets[0] = rules.getOffset(Instant.ofEpochSecond(startSecond)).getTotalSeconds();
+        for (int i = 0; i < list.size(); i++) {
+            ZoneOffsetTransition transition = list.get(i);
+            transitions[i] = transition.toEpochSecond();
+            offsets[i + 1] = transition.getOffsetAfter().getTotalSeconds();
+            localBoundaries[i] = transitions[i] + Math.max(offsets[i], offsets[i + 1]);
+        }
+        boolean apart = true;
+        for (int i = 1; i < transitions.length; i++) {
+            apart &= transitions[i] + Math.min(offsets[i], offsets[i + 1]) >= localBoundaries[i - 1];
+        }
+        this.localSearchable = apart;
+    }
+
+    /**
+     * Returns the shared table of the zone, built on first use.
+     */
+    public static ZoneOffsetTable of(ZoneId zoneId) {
+        ZoneOffsetTable table = tables.get(zoneId);
+        if (table == null) {
+            table = tables.computeIfAbsent(zoneId, z -> new ZoneOffsetTable(z, MIN_YEAR, MAX_YEAR));
+        }
+        return table;
+    }
+
+    /**
+     * Builds a table for the given years, for tests.
+     */
+    static ZoneOffsetTable build(ZoneId zoneId, int minYear, int maxYear) {
+        return new ZoneOffsetTable(zoneId, minYear, maxYear);
+    }
+
+    public ZoneId zoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Returns the offset in seconds of the zone at a UTC time in seconds since the epoch.
+     */
+    public int offsetAtUtc(long epochSecond) {
+        if (fixedOffset != NOT_FIXED) {
+            return fixedOffset;
+        }
+        if (epochSecond < startSecond || epochSecond >= endSecond) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        return offsets[upperBound(transitions, epochSecond)];
+    }
+
+    /**
+     * Converts a local time in seconds since the epoch to UTC, resolving gaps and overlaps like
+     * [[ZonedDateTime#of]].
+     */
+    public long localToUtc(long localSecond) {
+        if (fixedOffset != NOT_FIXED) {
+            return localSecond - fixedOffset;
+        }
+        // no offset is more than a day, so the UTC time is in the table too
+        if (!localSearchable
+                || localSecond < startSecond + SECONDS_PER_DAY || localSecond >= endSecond - SECONDS_PER_DAY) {
+            LocalDateTime local = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+            return ZonedDateTime.of(local, zoneId).toEpochSecond();
+        }
+        return localSecond - offsets[upperBound(localBoundaries, localSecond)];
+    }
+
+    /**
+     * Converts a local time in seconds since the epoch to UTC like [[#localToUtc(long)]], except
+     * that a local time in a gap is resolved to the transition ending the gap, like
+     * [[java.time.LocalDate#atStartOfDay(ZoneId)]] does for midnight.
+     */
+    public long localToUtcAtGapEnd(long localSecond) {
+        if (fixedOffset != NOT_FIXED) {
+            return localSecond - fixedOffset;
+        }
+        if (!localSearchable
+                || localSecond < startSecond + SECONDS_PER_DAY || localSecond >= endSecond - SECONDS_PER_DAY) {
+            LocalDateTime local = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+            ZoneOffsetTransition transition = rules.getTransition(local);
+            if (transition != null && transition.isGap()) {
+                return transition.toEpochSecond();
+            }
+            return ZonedDateTime.of(local, zoneId).toEpochSecond();
+        }
+        int i = upperBound(localBoundaries, localSecond);
+        // in the gap of the next transition if the local time is past its start
+        if (i < transitions.length && offsets[i + 1] > offsets[i] && localSecond >= transitions[i] + offsets[i]) {
+            return transitions[i];
+        }
+        return localSecond - offsets[i];
+    }
+
+    /**
+     * Converts a local time in seconds since the epoch to UTC like [[#localToUtc(long)]], but
+     * keeps the preferred offset if it is valid at this local time.
+     */
+    public long localToUtc(long localSecond, int preferredOffset) {
+        long utc = localSecond - preferredOffset;
+        return offsetAtUtc(utc) == preferredOffset ? utc : localToUtc(localSecond);
+    }
+
+    /**
+     * Converts microseconds since the epoch in UTC to microseconds since the epoch in local time.
+     */
+    public long utcToLocalMicros(long micros) {
+        return Math.addExact(micros, offsetAtUtc(Math.floorDiv(micros, MICROS_PER_SECOND)) * MICROS_PER_SECOND);
+    }
+
+    /**
+     * Converts microseconds since the epoch in local time to microseconds since the epoch in UTC.
+     */
+    public long localToUtcMicros(long localMicros) {
+        long localSecond = Math.floorDiv(localMicros, MICROS_PER_SECOND);
+        long fraction = localMicros - localSecond * MICROS_PER_SECOND;
+        return Math.addExact(Math.multiplyExact(localToUtc(localSecond), MICROS_PER_SECOND), fraction);
+    }
+
+    /**
+     * Returns the number of values less than or equal to the key.
+     */
+    private static int upperBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        int numTransitions = transitions == null ? 0 : transitions.length;
+        return "ZoneOffsetTable(" + zoneId + ", " + numTransitions + " transitions)";
+    }
+}
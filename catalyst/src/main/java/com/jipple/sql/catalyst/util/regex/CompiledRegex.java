@@ -0,0 +1,42 @@
+package com.jipple.sql.catalyst.util.regex;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A regular expression compiled for one [[RegexEngine]].
+ *
+ * Compiled regexes are immutable and can be shared between threads. Matching state lives in the
+ * [[RegexMatcher]]s created by [[#matcher()]], which must not be shared.
+ */
+public final class CompiledRegex {
+    private final Pattern pattern;
+    // null if the engine is JAVA or the pattern is not supported by LinearRegex
+    private final LinearRegex linear;
+
+    private CompiledRegex(Pattern pattern, LinearRegex linear) {
+        this.pattern = pattern;
+        this.linear = linear;
+    }
+
+    /**
+     * Compiles a regular expression for the given engine. The expression is always validated by
+     * [[java.util.regex.Pattern]], so invalid patterns fail the same way with every engine.
+     */
+    public static CompiledRegex compile(String regex, RegexEngine engine) throws PatternSyntaxException {
+        Pattern pattern = Pattern.compile(regex);
+        LinearRegex linear = engine == RegexEngine.LINEAR ? LinearRegex.compile(regex) : null;
+        return new CompiledRegex(pattern, linear);
+    }
+
+    public String regex() {
+        return pattern.pattern();
+    }
+
+    /**
+     * Returns a new matcher of this regex.
+     */
+    public RegexMatcher matcher() {
+        return linear != null ? new LinearRegexMatcher(linear, pattern) : new JavaRegexMatcher(pattern);
+    }
+}
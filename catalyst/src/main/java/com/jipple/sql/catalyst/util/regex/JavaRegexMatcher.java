@@ -0,0 +1,70 @@
+package com.jipple.sql.catalyst.util.regex;
+
+import com.jipple.unsafe.types.UTF8String;
+import com.jipple.unsafe.types.UTF8StringCharSequence;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A [[RegexMatcher]] backed by `java.util.regex`, which matches over a reused
+ * [[UTF8StringCharSequence]] instead of decoding every input into a String.
+ */
+public final class JavaRegexMatcher extends RegexMatcher {
+    private final Matcher matcher;
+    private final UTF8StringCharSequence chars = new UTF8StringCharSequence();
+    // result buffer write by Matcher
+    private final StringBuilder result = new StringBuilder();
+
+    public JavaRegexMatcher(Pattern pattern) {
+        this.matcher = pattern.matcher("");
+    }
+
+    @Override
+    public boolean containsMatch(UTF8String input) {
+        return matcher.reset(chars.reset(input)).find(0);
+    }
+
+    @Override
+    public RegexMatcher reset(UTF8String input) {
+        matcher.reset(chars.reset(input));
+        return this;
+    }
+
+    @Override
+    public boolean find() {
+        return matcher.find();
+    }
+
+    @Override
+    public int start() {
+        return matcher.start();
+    }
+
+    @Override
+    public int groupCount() {
+        return matcher.groupCount();
+    }
+
+    @Override
+    public UTF8String group(int group) {
+        String value = matcher.group(group);
+        return value == null ? null : UTF8String.fromString(value);
+    }
+
+    @Override
+    public UTF8String replaceAll(int position, String replacement) {
+        int length = chars.length();
+        if (position == 0 || position < length) {
+            matcher.region(position, length);
+            result.setLength(0);
+            while (matcher.find()) {
+                matcher.appendReplacement(result, replacement);
+            }
+            matcher.appendTail(result);
+            return UTF8String.fromString(result.toString());
+        } else {
+            return chars.utf8String();
+        }
+    }
+}
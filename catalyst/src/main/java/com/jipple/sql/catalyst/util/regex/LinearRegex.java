@@ -0,0 +1,639 @@
+package com.jipple.sql.catalyst.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A regular expression compiled into a program for a Thompson NFA, which [[LinearRegexMatcher]]
+ * runs over the UTF-8 bytes of a [[UTF8String]] in time linear to the input length.
+ *
+ * Only the subset of the `java.util.regex` syntax with the same meaning for an automaton is
+ * supported: literals, `.`, character classes without nesting or intersection, the predefined
+ * classes `\d \D \s \S \w \W`, `\Q...\E` quoting, `^ $ \A \Z \z` anchors, capturing and
+ * non-capturing groups, alternation and greedy or reluctant quantifiers, all with the default
+ * flags. [[#compile]] returns null for anything else (backreferences, lookaround, possessive
+ * quantifiers, inline flags, word boundaries, Unicode properties, repetitions able to match the
+ * empty string, groups nested in a repetition other than a repeated capturing group, ...), so that
+ * the caller can fall back to `java.util.regex`.
+ *
+ * Programs are immutable and can be shared between threads.
+ */
+public final class LinearRegex {
+    // Opcodes.
+    static final int CHAR = 0;
+    static final int CLASS = 1;
+    static final int SPLIT = 2;
+    static final int JMP = 3;
+    static final int SAVE = 4;
+    static final int ASSERT = 5;
+    static final int MATCH = 6;
+
+    // Assertion kinds, also used as bits of the context of an input position.
+    static final int BEGIN = 1;
+    static final int END_TEXT = 2;
+    static final int END_LINE = 4;
+
+    // Programs larger than this, e.g. because of large counted repetitions, are not supported.
+    static final int MAX_INSTRUCTIONS = 10000;
+
+    // The code points `.` does not match: LF, CR, NEL, LINE SEPARATOR and PARAGRAPH SEPARATOR.
+    private static final int[] LINE_TERMINATORS = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+    private static final int[] DIGIT = {'0', '9'};
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+
+    private final String pattern;
+    private final int numGroups;
+    final int[] op;
+    final int[] arg;
+    final int[] arg2;
+    private final int[][] classes;
+    private final long[][] asciiClasses;
+
+    private LinearRegex(String pattern, int numGroups, int[] op, int[] arg, int[] arg2, List<int[]> classes) {
+        this.pattern = pattern;
+        this.numGroups = numGroups;
+        this.op = op;
+        this.arg = arg;
+        this.arg2 = arg2;
+        this.classes = classes.toArray(new int[0][]);
+        this.asciiClasses = new long[this.classes.length][];
+        for (int i = 0; i < this.classes.length; i++) {
+            long[] bits = new long[2];
+            for (int c = 0; c < 128; c++) {
+                if (inRanges(this.classes[i], c)) {
+                    bits[c >> 6] |= 1L << c;
+                }
+            }
+            asciiClasses[i] = bits;
+        }
+    }
+
+    /**
+     * Compiles a regular expression which must be valid for [[java.util.regex.Pattern]], or
+     * returns null if it uses a construct this engine does not support.
+     */
+    public static LinearRegex compile(String pattern) {
+        try {
+            Parser parser = new Parser(pattern);
+            Node root = parser.parse();
+            Compiler compiler = new Compiler();
+            compiler.emit(SAVE, 0, 0);
+            compiler.emit(root);
+            compiler.emit(SAVE, 1, 0);
+            compiler.emit(MATCH, 0, 0);
+            return new LinearRegex(pattern, parser.numGroups, Arrays.copyOf(compiler.op, compiler.size),
+                    Arrays.copyOf(compiler.arg, compiler.size), Arrays.copyOf(compiler.arg2, compiler.size),
+                    compiler.classes);
+        } catch (UnsupportedRegexException e) {
+            return null;
+        }
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the number of capturing groups, like [[java.util.regex.Matcher#groupCount]].
+     */
+    public int groupCount() {
+        return numGroups;
+    }
+
+    int numInstructions() {
+        return op.length;
+    }
+
+    /**
+     * Returns whether the CHAR or CLASS instruction at `pc` matches the code point.
+     */
+    boolean matches(int pc, int codePoint) {
+        if (op[pc] == CHAR) {
+            return arg[pc] == codePoint;
+        }
+        if (codePoint < 128) {
+            return (asciiClasses[arg[pc]][codePoint >> 6] & (1L << codePoint)) != 0;
+        }
+        return inRanges(classes[arg[pc]], codePoint);
+    }
+
+    private static boolean inRanges(int[] ranges, int c) {
+        int lo = 0;
+        int hi = ranges.length / 2 - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c < ranges[2 * mid]) {
+                hi = mid - 1;
+            } else if (c > ranges[2 * mid + 1]) {
+                lo = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static final class UnsupportedRegexException extends Exception {
+        UnsupportedRegexException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private sealed interface Node permits Literal, CharClass, Concat, Alternation, Repeat, Group, Assertion {}
+
+    private record Literal(int codePoint) implements Node {}
+
+    private record CharClass(int[] ranges) implements Node {}
+
+    private record Concat(List<Node> nodes) implements Node {}
+
+    private record Alternation(List<Node> nodes) implements Node {}
+
+    // max is -1 for an unbounded repetition.
+    private record Repeat(Node node, int min, int max, boolean greedy) implements Node {}
+
+    private record Group(Node node, int index) implements Node {}
+
+    private record Assertion(int kind) implements Node {}
+
+    /**
+     * A recursive descent parser for the supported subset of the `java.util.regex` syntax.
+     */
+    private static final class Parser {
+        private final String s;
+        private int pos = 0;
+        int numGroups = 0;
+        // Whether the last atom parsed is a capturing group, as opposed to e.g. `(?:(a))`.
+        private boolean capturingAtom = false;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        Node parse() throws UnsupportedRegexException {
+            Node node = parseAlternation();
+            if (pos < s.length()) {
+                throw new UnsupportedRegexException();
+            }
+            return node;
+        }
+
+        private boolean more() {
+            return pos < s.length();
+        }
+
+        private int peek() {
+            return s.codePointAt(pos);
+        }
+
+        private int next() throws UnsupportedRegexException {
+            if (!more()) {
+                throw new UnsupportedRegexException();
+            }
+            int c = s.codePointAt(pos);
+            pos += Character.charCount(c);
+            return c;
+        }
+
+        private Node parseAlternation() throws UnsupportedRegexException {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcat());
+            while (more() && peek() == '|') {
+                pos++;
+                alternatives.add(parseConcat());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+        }
+
+        private Node parseConcat() throws UnsupportedRegexException {
+            List<Node> nodes = new ArrayList<>();
+            while (more() && peek() != '|' && peek() != ')') {
+                Node atom;
+                if (s.startsWith("\\Q", pos)) {
+                    // Like java.util.regex, splice the quoted characters into the concatenation so
+                    // that a quantifier after `\E` applies to the last one only.
+                    List<Node> quoted = parseQuote();
+                    if (quoted.isEmpty()) {
+                        continue;
+                    }
+                    nodes.addAll(quoted.subList(0, quoted.size() - 1));
+                    atom = quoted.get(quoted.size() - 1);
+                    capturingAtom = false;
+                } else {
+                    atom = parseAtom();
+                }
+                nodes.add(parseQuantifier(atom));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Concat(nodes);
+        }
+
+        private Node parseAtom() throws UnsupportedRegexException {
+            capturingAtom = false;
+            int c = next();
+            switch (c) {
+                case '(':
+                    boolean capturing = !more() || peek() != '?';
+                    Node group;
+                    if (!capturing) {
+                        pos++;
+                        if (!more() || peek() != ':') {
+                            // lookaround, named and atomic groups, inline flags
+                            throw new UnsupportedRegexException();
+                        }
+                        pos++;
+                        group = parseAlternation();
+                    } else {
+                        int index = ++numGroups;
+                        group = new Group(parseAlternation(), index);
+                    }
+                    if (next() != ')') {
+                        throw new UnsupportedRegexException();
+                    }
+                    capturingAtom = capturing;
+                    return group;
+                case '[':
+                    return parseClass();
+                case '.':
+                    return new CharClass(complement(LINE_TERMINATORS));
+                case '^':
+                    return new Assertion(BEGIN);
+                case '$':
+                    return new Assertion(END_LINE);
+                case '\\':
+                    return parseEscape(false);
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedRegexException();
+                default:
+                    return new Literal(c);
+            }
+        }
+
+        private Node parseQuantifier(Node atom) throws UnsupportedRegexException {
+            if (!more()) {
+                return atom;
+            }
+            int min;
+            int max;
+            switch (peek()) {
+                case '*':
+                    min = 0;
+                    max = -1;
+                    pos++;
+                    break;
+                case '+':
+                    min = 1;
+                    max = -1;
+                    pos++;
+                    break;
+                case '?':
+                    min = 0;
+                    max = 1;
+                    pos++;
+                    break;
+                case '{':
+                    pos++;
+                    min = parseNumber();
+                    if (more() && peek() == ',') {
+                        pos++;
+                        max = more() && peek() == '}' ? -1 : parseNumber();
+                    } else {
+                        max = min;
+                    }
+                    if (next() != '}' || (max != -1 && max < min)) {
+                        throw new UnsupportedRegexException();
+                    }
+                    break;
+                default:
+                    return atom;
+            }
+            if (atom instanceof Assertion) {
+                throw new UnsupportedRegexException();
+            }
+            if ((max == -1 || max > 1) && nullable(atom)) {
+                // java.util.regex stops repeating after an iteration matching the empty string and
+                // keeps its groups, which an automaton cannot tell apart, e.g. `(?:^|.)+` matches ""
+                // in "abc" and `(b*)+` matches "b" with group 1 being "".
+                throw new UnsupportedRegexException();
+            }
+            if ((max == -1 || max > 1) && hasGroup(atom)
+                    && !(capturingAtom && !hasGroup(((Group) atom).node()))) {
+                // java.util.regex keeps the groups set by failed attempts of an iteration, unless the
+                // repeated atom is a capturing group without nested groups, e.g. `(?:(b))*b` matches
+                // "b" in "xb" with group 1 being "b", and `(?:([^a])+){2}` sets group 1 to "c" in "bcd".
+                throw new UnsupportedRegexException();
+            }
+            boolean greedy = true;
+            if (more() && peek() == '?') {
+                pos++;
+                greedy = false;
+            } else if (more() && peek() == '+') {
+                // possessive
+                throw new UnsupportedRegexException();
+            }
+            if (more() && (peek() == '*' || peek() == '+' || peek() == '?' || peek() == '{')) {
+                throw new UnsupportedRegexException();
+            }
+            return new Repeat(atom, min, max, greedy);
+        }
+
+        private int parseNumber() throws UnsupportedRegexException {
+            int start = pos;
+            while (more() && peek() >= '0' && peek() <= '9' && pos - start < 6) {
+                pos++;
+            }
+            if (start == pos || (more() && peek() >= '0' && peek() <= '9')) {
+                throw new UnsupportedRegexException();
+            }
+            return Integer.parseInt(s.substring(start, pos));
+        }
+
+        private Node parseEscape(boolean inClass) throws UnsupportedRegexException {
+            int c = next();
+            switch (c) {
+                case 't': return new Literal('\t');
+                case 'n': return new Literal('\n');
+                case 'r': return new Literal('\r');
+                case 'f': return new Literal('\f');
+                case 'a': return new Literal(0x07);
+                case 'e': return new Literal(0x1B);
+                case 'x': return new Literal(parseHex(2));
+                case 'u': {
+                    int u = parseHex(4);
+                    if (Character.isSurrogate((char) u)) {
+                        throw new UnsupportedRegexException();
+                    }
+                    return new Literal(u);
+                }
+                case 'd': return new CharClass(DIGIT);
+                case 'D': return new CharClass(complement(DIGIT));
+                case 's': return new CharClass(SPACE);
+                case 'S': return new CharClass(complement(SPACE));
+                case 'w': return new CharClass(WORD);
+                case 'W': return new CharClass(complement(WORD));
+                default:
+                    break;
+            }
+            if (!inClass) {
+                switch (c) {
+                    case 'A': return new Assertion(BEGIN);
+                    case 'z': return new Assertion(END_TEXT);
+                    case 'Z': return new Assertion(END_LINE);
+                    default:
+                        break;
+                }
+            }
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                // backreferences, octal escapes, word boundaries, properties, ...
+                throw new UnsupportedRegexException();
+            }
+            return new Literal(c);
+        }
+
+        /**
+         * Parses `\Q...\E` into one literal per quoted character. The quote extends to the end of
+         * the pattern if there is no `\E`.
+         */
+        private List<Node> parseQuote() {
+            pos += 2;
+            int end = s.indexOf("\\E", pos);
+            String quoted = end < 0 ? s.substring(pos) : s.substring(pos, end);
+            pos = end < 0 ? s.length() : end + 2;
+            List<Node> literals = new ArrayList<>();
+            quoted.codePoints().forEach(cp -> literals.add(new Literal(cp)));
+            return literals;
+        }
+
+        private int parseHex(int digits) throws UnsupportedRegexException {
+            if (pos + digits > s.length()) {
+                throw new UnsupportedRegexException();
+            }
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int d = Character.digit(s.charAt(pos++), 16);
+                if (d < 0) {
+                    throw new UnsupportedRegexException();
+                }
+                value = value * 16 + d;
+            }
+            return value;
+        }
+
+        private Node parseClass() throws UnsupportedRegexException {
+            boolean negate = false;
+            if (more() && peek() == '^') {
+                pos++;
+                negate = true;
+            }
+            if (more() && peek() == ']') {
+                throw new UnsupportedRegexException();
+            }
+            List<int[]> ranges = new ArrayList<>();
+            while (true) {
+                int c = next();
+                if (c == ']') {
+                    break;
+                }
+                if (c == '[' || (c == '&' && more() && peek() == '&')) {
+                    // unions and intersections
+                    throw new UnsupportedRegexException();
+                }
+                int lo = c;
+                if (c == '\\') {
+                    Node escaped = parseEscape(true);
+                    if (escaped instanceof CharClass cls) {
+                        ranges.add(cls.ranges());
+                        continue;
+                    }
+                    lo = ((Literal) escaped).codePoint();
+                }
+                if (more() && peek() == '-' && pos + 1 < s.length() && s.charAt(pos + 1) != ']') {
+                    pos++;
+                    int hi = next();
+                    if (hi == '[') {
+                        throw new UnsupportedRegexException();
+                    }
+                    if (hi == '\\') {
+                        Node escaped = parseEscape(true);
+                        if (!(escaped instanceof Literal literal)) {
+                            throw new UnsupportedRegexException();
+                        }
+                        hi = literal.codePoint();
+                    }
+                    if (hi < lo) {
+                        throw new UnsupportedRegexException();
+                    }
+                    ranges.add(new int[] {lo, hi});
+                } else {
+                    ranges.add(new int[] {lo, lo});
+                }
+            }
+            int[] merged = merge(ranges);
+            return new CharClass(negate ? complement(merged) : merged);
+        }
+    }
+
+    private static boolean nullable(Node node) {
+        if (node instanceof Concat concat) {
+            return concat.nodes().stream().allMatch(LinearRegex::nullable);
+        } else if (node instanceof Alternation alternation) {
+            return alternation.nodes().stream().anyMatch(LinearRegex::nullable);
+        } else if (node instanceof Repeat repeat) {
+            return repeat.min() == 0 || nullable(repeat.node());
+        } else if (node instanceof Group group) {
+            return nullable(group.node());
+        } else {
+            return node instanceof Assertion;
+        }
+    }
+
+    private static boolean hasGroup(Node node) {
+        if (node instanceof Concat concat) {
+            return concat.nodes().stream().anyMatch(LinearRegex::hasGroup);
+        } else if (node instanceof Alternation alternation) {
+            return alternation.nodes().stream().anyMatch(LinearRegex::hasGroup);
+        } else if (node instanceof Repeat repeat) {
+            return hasGroup(repeat.node());
+        } else {
+            return node instanceof Group;
+        }
+    }
+
+    /**
+     * Sorts and merges lists of [lo, hi] pairs into one sorted list of disjoint ranges.
+     */
+    private static int[] merge(List<int[]> lists) {
+        List<int[]> pairs = new ArrayList<>();
+        for (int[] list : lists) {
+            for (int i = 0; i < list.length; i += 2) {
+                pairs.add(new int[] {list[i], list[i + 1]});
+            }
+        }
+        pairs.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] out = new int[pairs.size() * 2];
+        int n = 0;
+        for (int[] p : pairs) {
+            if (n > 0 && p[0] <= out[n - 1] + 1) {
+                out[n - 1] = Math.max(out[n - 1], p[1]);
+            } else {
+                out[n++] = p[0];
+                out[n++] = p[1];
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int[] complement(int[] ranges) {
+        int[] out = new int[ranges.length + 2];
+        int n = 0;
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                out[n++] = next;
+                out[n++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= Character.MAX_CODE_POINT) {
+            out[n++] = next;
+            out[n++] = Character.MAX_CODE_POINT;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Emits the NFA program of a parsed expression.
+     */
+    private static final class Compiler {
+        int[] op = new int[16];
+        int[] arg = new int[16];
+        int[] arg2 = new int[16];
+        int size = 0;
+        final List<int[]> classes = new ArrayList<>();
+
+        int emit(int opcode, int a, int b) throws UnsupportedRegexException {
+            if (size == MAX_INSTRUCTIONS) {
+                throw new UnsupportedRegexException();
+            }
+            if (size == op.length) {
+                op = Arrays.copyOf(op, size * 2);
+                arg = Arrays.copyOf(arg, size * 2);
+                arg2 = Arrays.copyOf(arg2, size * 2);
+            }
+            op[size] = opcode;
+            arg[size] = a;
+            arg2[size] = b;
+            return size++;
+        }
+
+        void emit(Node node) throws UnsupportedRegexException {
+            if (node instanceof Literal literal) {
+                emit(CHAR, literal.codePoint(), 0);
+            } else if (node instanceof CharClass cls) {
+                classes.add(cls.ranges());
+                emit(CLASS, classes.size() - 1, 0);
+            } else if (node instanceof Concat concat) {
+                for (Node n : concat.nodes()) {
+                    emit(n);
+                }
+            } else if (node instanceof Alternation alternation) {
+                List<Integer> jumps = new ArrayList<>();
+                List<Node> nodes = alternation.nodes();
+                for (int i = 0; i < nodes.size() - 1; i++) {
+                    int split = emit(SPLIT, size + 1, 0);
+                    emit(nodes.get(i));
+                    jumps.add(emit(JMP, 0, 0));
+                    arg2[split] = size;
+                }
+                emit(nodes.get(nodes.size() - 1));
+                for (int jump : jumps) {
+                    arg[jump] = size;
+                }
+            } else if (node instanceof Group group) {
+                emit(SAVE, 2 * group.index(), 0);
+                emit(group.node());
+                emit(SAVE, 2 * group.index() + 1, 0);
+            } else if (node instanceof Assertion assertion) {
+                emit(ASSERT, assertion.kind(), 0);
+            } else if (node instanceof Repeat repeat) {
+                emitRepeat(repeat);
+            }
+        }
+
+        private void emitRepeat(Repeat repeat) throws UnsupportedRegexException {
+            for (int i = 0; i < repeat.min(); i++) {
+                emit(repeat.node());
+            }
+            if (repeat.max() == -1) {
+                int split = emit(SPLIT, 0, 0);
+                emit(repeat.node());
+                emit(JMP, split, 0);
+                setSplit(split, split + 1, size, repeat.greedy());
+            } else {
+                List<Integer> splits = new ArrayList<>();
+                for (int i = repeat.min(); i < repeat.max(); i++) {
+                    splits.add(emit(SPLIT, 0, 0));
+                    emit(repeat.node());
+                }
+                for (int split : splits) {
+                    setSplit(split, split + 1, size, repeat.greedy());
+                }
+            }
+        }
+
+        // `body` is preferred over `out` when the repetition is greedy.
+        private void setSplit(int split, int body, int out, boolean greedy) {
+            arg[split] = greedy ? body : out;
+            arg2[split] = greedy ? out : body;
+        }
+    }
+}
@@ -0,0 +1,617 @@
+package com.jipple.sql.catalyst.util.regex;
+
+import com.jipple.unsafe.Platform;
+import com.jipple.unsafe.UTF8StringBuilder;
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static com.jipple.sql.catalyst.util.regex.LinearRegex.*;
+
+/**
+ * A [[RegexMatcher]] running a [[LinearRegex]] directly over the UTF-8 bytes of the input.
+ *
+ * Whether a match exists is decided by a DFA whose states are built lazily from the NFA program
+ * and cached, so that every input byte is looked at once. When the cache grows past
+ * [[#MAX_DFA_STATES]] it is dropped, and if that keeps happening the matcher stops caching and
+ * simulates the NFA directly. Match positions and groups are then computed by a Pike VM, which
+ * tracks the same leftmost-first preference as a backtracking engine. All of these run in time
+ * linear to the input for a given pattern.
+ *
+ * Malformed UTF-8 bytes are read as one U+FFFD character each, and empty matches are never
+ * reported between the two UTF-16 units of a supplementary character.
+ */
+public final class LinearRegexMatcher extends RegexMatcher {
+    static final int MAX_DFA_STATES = 4096;
+    static final int MAX_DFA_FLUSHES = 8;
+
+    private final LinearRegex regex;
+    private final Pattern pattern;
+    private final int numSlots;
+    private final int[] noCaptures;
+
+    // The current input.
+    private UTF8String input = UTF8String.EMPTY_UTF8;
+    private Object base;
+    private long offset;
+    private int numBytes;
+    // Byte offset where `^` matches, and byte offset of the next search.
+    private int regionStart;
+    private int nextSearch;
+    // The byte offsets of the groups of the last match.
+    private int[] captures;
+    // Length in bytes of the last decoded character.
+    private int charLength;
+
+    // Lazily built DFA.
+    private final Map<StateKey, DState> states = new HashMap<>();
+    private DState startState;
+    private int numFlushes = 0;
+    private final int[] closure;
+    private int closureSize;
+    private boolean closureMatches;
+
+    // Pike VM.
+    private Threads current;
+    private Threads next;
+
+    // Shared by both, marks the instructions visited while computing one closure.
+    private final int[] visited;
+    private int generation = 0;
+    private int[] stack;
+    private int[][] stackCaptures;
+
+    // The parsed replacement of `replaceAll`, see `parseReplacement`.
+    private String lastReplacement;
+    private UTF8String[] replacementLiterals;
+    private int[] replacementGroups;
+    private JavaRegexMatcher fallback;
+
+    public LinearRegexMatcher(LinearRegex regex, Pattern pattern) {
+        this.regex = regex;
+        this.pattern = pattern;
+        this.numSlots = 2 * (regex.groupCount() + 1);
+        this.noCaptures = new int[numSlots];
+        Arrays.fill(noCaptures, -1);
+        int n = regex.numInstructions();
+        this.closure = new int[n];
+        this.visited = new int[n];
+        this.stack = new int[n];
+        this.stackCaptures = new int[n][];
+        this.current = new Threads(n);
+        this.next = new Threads(n);
+        this.captures = noCaptures;
+        reset(UTF8String.EMPTY_UTF8);
+    }
+
+    @Override
+    public boolean containsMatch(UTF8String input) {
+        reset(input);
+        return dfaSearch(0);
+    }
+
+    @Override
+    public RegexMatcher reset(UTF8String input) {
+        this.input = input;
+        this.base = input.getBaseObject();
+        this.offset = input.getBaseOffset();
+        this.numBytes = input.numBytes();
+        this.regionStart = 0;
+        this.nextSearch = 0;
+        this.captures = noCaptures;
+        return this;
+    }
+
+    @Override
+    public boolean find() {
+        int from = nextSearch;
+        if (from > numBytes || !dfaSearch(from) || !pikeSearch(from)) {
+            nextSearch = numBytes + 1;
+            captures = noCaptures;
+            return false;
+        }
+        int start = captures[0];
+        int end = captures[1];
+        if (start == end) {
+            // Same as java.util.regex, do not find the same empty match again.
+            nextSearch = end < numBytes ? end + lengthAt(end) : numBytes + 1;
+        } else {
+            nextSearch = end;
+        }
+        return true;
+    }
+
+    @Override
+    public int start() {
+        checkMatch();
+        return charIndex(captures[0]);
+    }
+
+    @Override
+    public int groupCount() {
+        return regex.groupCount();
+    }
+
+    @Override
+    public UTF8String group(int group) {
+        checkMatch();
+        if (group < 0 || group > regex.groupCount()) {
+            throw new IndexOutOfBoundsException("No group " + group);
+        }
+        int start = captures[2 * group];
+        int end = captures[2 * group + 1];
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[end - start];
+        Platform.copyMemory(base, offset + start, bytes, Platform.BYTE_ARRAY_OFFSET, bytes.length);
+        return UTF8String.fromBytes(bytes);
+    }
+
+    @Override
+    public UTF8String replaceAll(int position, String replacement) {
+        if (!replacement.equals(lastReplacement)) {
+            lastReplacement = replacement;
+            parseReplacement(replacement);
+        }
+        if (replacementGroups == null) {
+            // Let java.util.regex apply, or reject, a replacement we do not handle.
+            if (fallback == null) {
+                fallback = new JavaRegexMatcher(pattern);
+            }
+            return fallback.reset(input).replaceAll(position, replacement);
+        }
+
+        int start = 0;
+        int units = 0;
+        while (units < position && start < numBytes) {
+            units += decode(start) >= Character.MIN_SUPPLEMENTARY_CODE_POINT ? 2 : 1;
+            start += charLength;
+        }
+        if (position != 0 && start >= numBytes) {
+            return input;
+        }
+        regionStart = start;
+        nextSearch = start;
+        UTF8StringBuilder result = new UTF8StringBuilder(numBytes + 16);
+        int appendPosition = 0;
+        while (find()) {
+            result.appendBytes(base, offset + appendPosition, captures[0] - appendPosition);
+            for (int i = 0; i < replacementGroups.length; i++) {
+                int group = replacementGroups[i];
+                if (group < 0) {
+                    result.append(replacementLiterals[i]);
+                } else if (captures[2 * group] >= 0 && captures[2 * group + 1] >= 0) {
+                    result.appendBytes(base, offset + captures[2 * group],
+                            captures[2 * group + 1] - captures[2 * group]);
+                }
+            }
+            appendPosition = captures[1];
+        }
+        result.appendBytes(base, offset + appendPosition, numBytes - appendPosition);
+        return result.build();
+    }
+
+    /**
+     * Splits a replacement into literals and group references, following
+     * `Matcher.appendReplacement`. Leaves `replacementGroups` null for named group references
+     * and for the replacements `Matcher` rejects, so that they go through `java.util.regex`.
+     */
+    private void parseReplacement(String replacement) {
+        List<UTF8String> literals = new ArrayList<>();
+        List<Integer> groups = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        replacementGroups = null;
+        int i = 0;
+        int length = replacement.length();
+        while (i < length) {
+            char c = replacement.charAt(i++);
+            if (c == '\\') {
+                if (i == length) {
+                    return;
+                }
+                literal.append(replacement.charAt(i++));
+            } else if (c == '$') {
+                if (i == length) {
+                    return;
+                }
+                int group = replacement.charAt(i++) - '0';
+                if (group < 0 || group > 9 || group > regex.groupCount()) {
+                    return;
+                }
+                // Take as many digits as still form a valid group number.
+                while (i < length) {
+                    int digit = replacement.charAt(i) - '0';
+                    if (digit < 0 || digit > 9 || group * 10 + digit > regex.groupCount()) {
+                        break;
+                    }
+                    group = group * 10 + digit;
+                    i++;
+                }
+                if (literal.length() > 0) {
+                    literals.add(UTF8String.fromString(literal.toString()));
+                    groups.add(-1);
+                    literal.setLength(0);
+                }
+                literals.add(null);
+                groups.add(group);
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            literals.add(UTF8String.fromString(literal.toString()));
+            groups.add(-1);
+        }
+        replacementLiterals = literals.toArray(new UTF8String[0]);
+        replacementGroups = groups.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void checkMatch() {
+        if (captures == noCaptures) {
+            throw new IllegalStateException("No match found");
+        }
+    }
+
+    // -- Input ---------------------------------------------------------------------------------
+
+    private int byteAt(int i) {
+        return Platform.getByte(base, offset + i) & 0xFF;
+    }
+
+    /**
+     * Decodes the character starting at byte `i` and sets `charLength` to its length.
+     */
+    private int decode(int i) {
+        int b0 = byteAt(i);
+        if (b0 < 0x80) {
+            charLength = 1;
+            return b0;
+        }
+        int remaining = numBytes - i;
+        if (b0 >= 0xC2 && b0 < 0xE0 && remaining >= 2) {
+            int b1 = byteAt(i + 1);
+            if ((b1 & 0xC0) == 0x80) {
+                charLength = 2;
+                return ((b0 & 0x1F) << 6) | (b1 & 0x3F);
+            }
+        } else if (b0 >= 0xE0 && b0 < 0xF0 && remaining >= 3) {
+            int b1 = byteAt(i + 1);
+            int b2 = byteAt(i + 2);
+            if ((b1 & 0xC0) == 0x80 && (b2 & 0xC0) == 0x80) {
+                int c = ((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F);
+                if (c >= 0x800 && !Character.isSurrogate((char) c)) {
+                    charLength = 3;
+                    return c;
+                }
+            }
+        } else if (b0 >= 0xF0 && b0 < 0xF5 && remaining >= 4) {
+            int b1 = byteAt(i + 1);
+            int b2 = byteAt(i + 2);
+            int b3 = byteAt(i + 3);
+            if ((b1 & 0xC0) == 0x80 && (b2 & 0xC0) == 0x80 && (b3 & 0xC0) == 0x80) {
+                int c = ((b0 & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+                if (c >= Character.MIN_SUPPLEMENTARY_CODE_POINT && c <= Character.MAX_CODE_POINT) {
+                    charLength = 4;
+                    return c;
+                }
+            }
+        }
+        charLength = 1;
+        return 0xFFFD;
+    }
+
+    private int lengthAt(int i) {
+        decode(i);
+        return charLength;
+    }
+
+    private int charIndex(int byteIndex) {
+        int units = 0;
+        for (int i = 0; i < byteIndex; i += charLength) {
+            units += decode(i) >= Character.MIN_SUPPLEMENTARY_CODE_POINT ? 2 : 1;
+        }
+        return units;
+    }
+
+    /**
+     * Returns which assertions hold at byte `i`. `$` follows `java.util.regex` without the
+     * MULTILINE flag: it matches at the end, and before a line terminator ending the input.
+     */
+    private int context(int i) {
+        int context = i == regionStart ? BEGIN : 0;
+        if (i >= numBytes - 3) {
+            if (i == numBytes) {
+                context |= END_TEXT | END_LINE;
+            } else if (i == numBytes - 2 && byteAt(i) == '\r' && byteAt(i + 1) == '\n') {
+                context |= END_LINE;
+            } else {
+                int c = decode(i);
+                if (i + charLength == numBytes) {
+                    boolean terminator = c == '\n'
+                            ? i == 0 || byteAt(i - 1) != '\r'
+                            : c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+                    if (terminator) {
+                        context |= END_LINE;
+                    }
+                }
+            }
+        }
+        return context;
+    }
+
+    // -- DFA -----------------------------------------------------------------------------------
+
+    /**
+     * A DFA state: the CHAR and CLASS instructions the NFA can be at, and whether it reached MATCH.
+     */
+    private static final class DState {
+        final int[] pcs;
+        final boolean matches;
+        final DState[] ascii = new DState[128];
+        Map<Integer, DState> others;
+
+        DState(int[] pcs, boolean matches) {
+            this.pcs = pcs;
+            this.matches = matches;
+        }
+    }
+
+    private record StateKey(int[] pcs, boolean matches) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey other && matches == other.matches && Arrays.equals(pcs, other.pcs);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(pcs) + (matches ? 1 : 0);
+        }
+    }
+
+    /**
+     * Returns whether a match starts at or after byte `from`.
+     */
+    private boolean dfaSearch(int from) {
+        int context = context(from);
+        DState state;
+        if (context == 0 && startState != null) {
+            state = startState;
+        } else {
+            generation++;
+            closureSize = 0;
+            closureMatches = false;
+            addClosure(0, context);
+            state = newState(context == 0);
+            if (context == 0) {
+                startState = state;
+            }
+        }
+        int i = from;
+        while (!state.matches && i < numBytes) {
+            int c = decode(i);
+            i += charLength;
+            context = context(i);
+            boolean cache = context == 0 && numFlushes <= MAX_DFA_FLUSHES;
+            DState nextState = null;
+            if (cache) {
+                nextState = c < 128 ? state.ascii[c] : state.others == null ? null : state.others.get(c);
+            }
+            if (nextState == null) {
+                nextState = step(state, c, context, cache);
+                if (cache) {
+                    if (c < 128) {
+                        state.ascii[c] = nextState;
+                    } else {
+                        if (state.others == null) {
+                            state.others = new HashMap<>();
+                        }
+                        state.others.put(c, nextState);
+                    }
+                }
+            }
+            state = nextState;
+        }
+        return state.matches;
+    }
+
+    private DState step(DState state, int c, int context, boolean cache) {
+        generation++;
+        closureSize = 0;
+        closureMatches = false;
+        for (int pc : state.pcs) {
+            if (regex.matches(pc, c)) {
+                addClosure(pc + 1, context);
+            }
+        }
+        // A match can start at every position.
+        addClosure(0, context);
+        return newState(cache);
+    }
+
+    private DState newState(boolean cache) {
+        int[] pcs = Arrays.copyOf(closure, closureSize);
+        Arrays.sort(pcs);
+        if (!cache) {
+            return new DState(pcs, closureMatches);
+        }
+        StateKey key = new StateKey(pcs, closureMatches);
+        DState state = states.get(key);
+        if (state == null) {
+            if (states.size() >= MAX_DFA_STATES) {
+                states.clear();
+                startState = null;
+                numFlushes++;
+            }
+            state = new DState(pcs, closureMatches);
+            states.put(key, state);
+        }
+        return state;
+    }
+
+    private void addClosure(int pc0, int context) {
+        int[] op = regex.op;
+        int[] arg = regex.arg;
+        int top = 0;
+        stack[top++] = pc0;
+        while (top > 0) {
+            int pc = stack[--top];
+            if (visited[pc] == generation) {
+                continue;
+            }
+            visited[pc] = generation;
+            switch (op[pc]) {
+                case CHAR:
+                case CLASS:
+                    closure[closureSize++] = pc;
+                    break;
+                case MATCH:
+                    closureMatches = true;
+                    break;
+                case SPLIT:
+                    top = push(top, regex.arg2[pc], null);
+                    top = push(top, arg[pc], null);
+                    break;
+                case JMP:
+                    top = push(top, arg[pc], null);
+                    break;
+                case SAVE:
+                    top = push(top, pc + 1, null);
+                    break;
+                case ASSERT:
+                    if ((context & arg[pc]) != 0) {
+                        top = push(top, pc + 1, null);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown opcode " + op[pc]);
+            }
+        }
+    }
+
+    private int push(int top, int pc, int[] captures) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top * 2);
+            stackCaptures = Arrays.copyOf(stackCaptures, top * 2);
+        }
+        stack[top] = pc;
+        stackCaptures[top] = captures;
+        return top + 1;
+    }
+
+    // -- Pike VM -------------------------------------------------------------------------------
+
+    /**
+     * The NFA threads at one input position, in priority order.
+     */
+    private static final class Threads {
+        final int[] pcs;
+        final int[][] captures;
+        int size;
+
+        Threads(int n) {
+            this.pcs = new int[n];
+            this.captures = new int[n][];
+        }
+    }
+
+    /**
+     * Finds the leftmost match starting at or after byte `from`, preferring the same alternatives
+     * as a backtracking engine, and stores its groups in `captures`.
+     */
+    private boolean pikeSearch(int from) {
+        int[] op = regex.op;
+        boolean matched = false;
+        current.size = 0;
+        generation++;
+        int i = from;
+        while (true) {
+            int context = context(i);
+            if (!matched) {
+                addThread(current, 0, noCaptures, i, context);
+            }
+            if (current.size == 0 && (matched || i >= numBytes)) {
+                break;
+            }
+            int c = i < numBytes ? decode(i) : -1;
+            int length = charLength;
+            int nextContext = i < numBytes ? context(i + length) : 0;
+            generation++;
+            next.size = 0;
+            for (int t = 0; t < current.size; t++) {
+                int pc = current.pcs[t];
+                if (op[pc] == MATCH) {
+                    matched = true;
+                    captures = current.captures[t];
+                    // Threads of lower priority can't produce the preferred match anymore.
+                    break;
+                }
+                if (c >= 0 && regex.matches(pc, c)) {
+                    addThread(next, pc + 1, current.captures[t], i + length, nextContext);
+                }
+            }
+            if (c < 0) {
+                break;
+            }
+            Threads tmp = current;
+            current = next;
+            next = tmp;
+            i += length;
+        }
+        return matched;
+    }
+
+    private void addThread(Threads threads, int pc0, int[] captures0, int position, int context) {
+        int[] op = regex.op;
+        int[] arg = regex.arg;
+        int top = push(0, pc0, captures0);
+        while (top > 0) {
+            top--;
+            int pc = stack[top];
+            int[] caps = stackCaptures[top];
+            if (visited[pc] == generation) {
+                continue;
+            }
+            visited[pc] = generation;
+            switch (op[pc]) {
+                case CHAR:
+                case CLASS:
+                case MATCH:
+                    threads.pcs[threads.size] = pc;
+                    threads.captures[threads.size] = caps;
+                    threads.size++;
+                    break;
+                case SPLIT:
+                    top = push(top, regex.arg2[pc], caps);
+                    top = push(top, arg[pc], caps);
+                    break;
+                case JMP:
+                    top = push(top, arg[pc], caps);
+                    break;
+                case SAVE: {
+                    int[] updated = caps.clone();
+                    updated[arg[pc]] = position;
+                    top = push(top, pc + 1, updated);
+                    break;
+                }
+                case ASSERT:
+                    if ((context & arg[pc]) != 0) {
+                        top = push(top, pc + 1, caps);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown opcode " + op[pc]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LinearRegexMatcher(" + regex + ")";
+    }
+}
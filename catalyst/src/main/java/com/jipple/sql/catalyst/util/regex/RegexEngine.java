@@ -0,0 +1,11 @@
+package com.jipple.sql.catalyst.util.regex;
+
+/**
+ * Defines values for the `SQLConf` config selecting the engine of the regexp expressions.
+ *
+ * JAVA uses `java.util.regex`. LINEAR uses [[LinearRegex]], which matches in time linear to the
+ * input for every supported pattern, and falls back to `java.util.regex` for the others.
+ */
+public enum RegexEngine {
+    JAVA, LINEAR;
+}
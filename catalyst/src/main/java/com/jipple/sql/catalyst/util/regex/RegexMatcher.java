@@ -0,0 +1,59 @@
+package com.jipple.sql.catalyst.util.regex;
+
+import com.jipple.unsafe.types.UTF8String;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A stateful matcher of one regular expression over [[UTF8String]] inputs, used by the regexp
+ * expressions so that they do not depend on the engine selected by [[RegexEngine]].
+ *
+ * Indexes are in UTF-16 code units as for [[java.util.regex.Matcher]], so that the results do not
+ * depend on the engine either. Matchers are not thread safe, threads share the [[CompiledRegex]]
+ * instead and create their own matchers.
+ */
+public abstract class RegexMatcher {
+
+    /**
+     * Compiles a regular expression for the given engine and returns a new matcher of it, see
+     * [[CompiledRegex#compile]].
+     */
+    public static RegexMatcher compile(String regex, RegexEngine engine) throws PatternSyntaxException {
+        return CompiledRegex.compile(regex, engine).matcher();
+    }
+
+    /**
+     * Returns whether any substring of the input matches, like `Matcher.find(0)`.
+     */
+    public abstract boolean containsMatch(UTF8String input);
+
+    /**
+     * Resets this matcher to search the given input from its start.
+     */
+    public abstract RegexMatcher reset(UTF8String input);
+
+    /**
+     * Finds the next match in the current input, like [[java.util.regex.Matcher#find()]].
+     */
+    public abstract boolean find();
+
+    /**
+     * Returns the start index of the last match.
+     */
+    public abstract int start();
+
+    public abstract int groupCount();
+
+    /**
+     * Returns the input captured by the group in the last match, or null if the group did not
+     * participate in the match.
+     */
+    public abstract UTF8String group(int group);
+
+    /**
+     * Replaces every match in the current input starting at the given index with the
+     * replacement, which is interpreted like in [[java.util.regex.Matcher#appendReplacement]].
+     * Returns the input itself when the index is out of bounds.
+     */
+    public abstract UTF8String replaceAll(int position, String replacement);
+}
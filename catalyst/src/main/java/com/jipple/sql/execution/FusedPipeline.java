@@ -0,0 +1,110 @@
+package com.jipple.sql.execution;
+
+import com.jipple.sql.catalyst.expressions.AttributeSeq;
+import com.jipple.sql.catalyst.expressions.BindReferences;
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.named.Alias;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.catalyst.expressions.named.AttributeReference;
+import com.jipple.sql.catalyst.expressions.named.ExprId;
+import com.jipple.sql.catalyst.plans.logical.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A `Project`/`Filter`/`SubqueryAlias` chain over a [[RelationPlaceholder]] collapsed into a single
+ * stage: the filter conditions in evaluation order followed by the output expressions, all bound to
+ * the output of the relation. Aliases defined by lower projections are inlined into the expressions
+ * that reference them, so common subexpressions can be shared by the whole pipeline.
+ */
+public class FusedPipeline {
+    public final List<Attribute> input;
+    public final List<Expression> conditions;
+    public final List<Expression> output;
+
+    private FusedPipeline(List<Attribute> input, List<Expression> conditions, List<Expression> output) {
+        this.input = input;
+        this.conditions = conditions;
+        this.output = output;
+    }
+
+    /**
+     * Returns the operators of the plan bottom up, starting with the [[RelationPlaceholder]].
+     */
+    public static List<LogicalPlan> operators(LogicalPlan plan) {
+        List<LogicalPlan> operators = new ArrayList<>();
+        LogicalPlan p = plan;
+        while (!(p instanceof RelationPlaceholder)) {
+            if (p instanceof Project || p instanceof Filter || p instanceof SubqueryAlias || p instanceof Expr) {
+                operators.add(p);
+                p = ((UnaryNode) p).child;
+            } else {
+                throw new UnsupportedOperationException(
+                        "Cannot fuse " + p.nodeName() + ", only Project, Filter and SubqueryAlias over a " +
+                                "RelationPlaceholder are supported:\n" + plan);
+            }
+        }
+        operators.add(p);
+        Collections.reverse(operators);
+        return operators;
+    }
+
+    public static FusedPipeline of(LogicalPlan plan) {
+        List<LogicalPlan> operators = operators(plan);
+        List<Attribute> input = operators.get(0).output();
+        // Expression (in terms of the relation output) produced by each alias seen so far.
+        Map<ExprId, Expression> aliases = new HashMap<>();
+        List<Expression> conditions = new ArrayList<>();
+        List<Expression> output = new ArrayList<>(input);
+
+        for (LogicalPlan operator : operators.subList(1, operators.size())) {
+            if (operator instanceof Filter f) {
+                conditions.add(substitute(f.condition, aliases));
+            } else if (operator instanceof Project || operator instanceof Expr) {
+                List<Expression> projectList = operator instanceof Project p ?
+                        p.projectList : List.of(((Expr) operator).expression);
+                output = new ArrayList<>(projectList.size());
+                for (Expression e : projectList) {
+                    Expression substituted = substitute(e, aliases);
+                    if (substituted instanceof Alias a) {
+                        aliases.put(a.exprId, a.child);
+                        output.add(a.child);
+                    } else {
+                        output.add(substituted);
+                    }
+                }
+            }
+        }
+
+        AttributeSeq inputSeq = new AttributeSeq(input);
+        return new FusedPipeline(
+                input,
+                BindReferences.bindReferences(conditions, inputSeq),
+                BindReferences.bindReferences(output, inputSeq));
+    }
+
+    private static Expression substitute(Expression expr, Map<ExprId, Expression> aliases) {
+        return expr.transformUp(e -> {
+            if (e instanceof AttributeReference a && aliases.containsKey(a.exprId)) {
+                Expression replacement = aliases.get(a.exprId);
+                if (!replacement.deterministic()) {
+                    // Inlining would evaluate the expression once per reference instead of once per row.
+                    throw new UnsupportedOperationException(
+                            "Cannot inline non-deterministic expression " + replacement + " referenced by " + expr);
+                }
+                return replacement;
+            } else {
+                return e;
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "FusedPipeline(conditions=[" +
+                conditions.stream().map(Expression::toString).collect(Collectors.joining(", ")) +
+                "], output=[" +
+                output.stream().map(Expression::toString).collect(Collectors.joining(", ")) + "])";
+    }
+}
@@ -0,0 +1,82 @@
+package com.jipple.sql.execution;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.*;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.catalyst.plans.logical.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A [[RowProcessor]] that evaluates the operators of the plan one after another, calling the
+ * `eval` of their expressions. The final row is written by an [[InterpretedUnsafeProjection]] so
+ * the output matches the generated version.
+ */
+public class InterpretedRowProcessor extends RowProcessor {
+    private final List<ExpressionsEvaluator> evaluators = new ArrayList<>();
+    private final List<Stage> stages = new ArrayList<>();
+    private final UnsafeProjection outputProjection;
+
+    /**
+     * One operator of the plan. Returns null if the row is filtered out.
+     */
+    @FunctionalInterface
+    private interface Stage {
+        InternalRow apply(InternalRow row);
+    }
+
+    public InterpretedRowProcessor(LogicalPlan plan) {
+        List<LogicalPlan> operators = FusedPipeline.operators(plan);
+        for (LogicalPlan operator : operators.subList(1, operators.size())) {
+            List<Attribute> childOutput = ((UnaryNode) operator).child.output();
+            if (operator instanceof Filter f) {
+                Predicate predicate = new InterpretedPredicate(
+                        BindReferences.bindReference(f.condition, new AttributeSeq(childOutput))
+                                .freshCopyIfContainsStatefulExpression());
+                evaluators.add(predicate);
+                stages.add(row -> predicate.eval(row) ? row : null);
+            } else if (operator instanceof Project || operator instanceof Expr) {
+                List<Expression> projectList = operator instanceof Project p ?
+                        p.projectList : List.of(((Expr) operator).expression);
+                Projection projection = new InterpretedProjection(projectList, childOutput);
+                evaluators.add(projection);
+                stages.add(projection::apply);
+            }
+        }
+        List<Attribute> output = plan.output();
+        List<Expression> outputRefs = new ArrayList<>(output.size());
+        for (int i = 0; i < output.size(); i++) {
+            outputRefs.add(new BoundReference(i, output.get(i).dataType(), output.get(i).nullable()));
+        }
+        outputProjection = new InterpretedUnsafeProjection(outputRefs);
+        evaluators.add(outputProjection);
+    }
+
+    @Override
+    public void open(int partitions, int partitionIndex) throws Exception {
+        for (ExpressionsEvaluator evaluator : evaluators) {
+            evaluator.open(partitions, partitionIndex);
+        }
+    }
+
+    @Override
+    public void process(InternalRow input, Consumer<InternalRow> out) {
+        InternalRow row = input;
+        for (Stage stage : stages) {
+            row = stage.apply(row);
+            if (row == null) {
+                return;
+            }
+        }
+        out.accept(outputProjection.apply(row));
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ExpressionsEvaluator evaluator : evaluators) {
+            evaluator.close();
+        }
+    }
+}
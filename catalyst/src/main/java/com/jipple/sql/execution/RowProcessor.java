@@ -0,0 +1,20 @@
+package com.jipple.sql.execution;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.ExpressionsEvaluator;
+
+import java.util.function.Consumer;
+
+/**
+ * Physical evaluator of a whole `Project`/`Filter`/`SubqueryAlias` chain over a
+ * [[RelationPlaceholder]]. Each input row is either dropped by one of the filters or turned into
+ * exactly one output row that is handed to the consumer.
+ *
+ * The output row is an [[UnsafeRow]] that is reused across calls, a consumer should copy the row
+ * if it is being buffered.
+ *
+ * CAUTION: the returned processor object should *not* be assumed to be thread-safe.
+ */
+public abstract class RowProcessor extends ExpressionsEvaluator {
+    public abstract void process(InternalRow input, Consumer<InternalRow> out);
+}
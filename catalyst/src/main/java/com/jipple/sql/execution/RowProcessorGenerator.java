@@ -0,0 +1,70 @@
+package com.jipple.sql.execution;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.CodeGeneratorWithInterpretedFallback;
+import com.jipple.sql.catalyst.expressions.TieredCompilation;
+import com.jipple.sql.catalyst.expressions.TieredEvaluator;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+import com.jipple.sql.execution.codegen.GenerateRowProcessor;
+
+import java.util.function.Consumer;
+
+public class RowProcessorGenerator extends CodeGeneratorWithInterpretedFallback<LogicalPlan, RowProcessor> {
+    public static final RowProcessorGenerator INSTANCE = new RowProcessorGenerator();
+    private RowProcessorGenerator() {}
+    public static RowProcessorGenerator get() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected RowProcessor createCodeGeneratedObject(LogicalPlan plan) {
+        return GenerateRowProcessor.get().generate(FusedPipeline.of(plan));
+    }
+
+    @Override
+    protected RowProcessor createInterpretedObject(LogicalPlan plan) {
+        return new InterpretedRowProcessor(plan);
+    }
+
+    @Override
+    protected LogicalPlan freshCopy(LogicalPlan plan) {
+        return plan.freshCopy();
+    }
+
+    @Override
+    protected RowProcessor createTieredObject(LogicalPlan plan) {
+        return new TieredRowProcessor(TieredCompilation.create(
+                createInterpretedObject(plan), () -> createCodeGeneratedObject(plan)));
+    }
+
+    /**
+     * Returns a RowProcessor for an optimized `Project`/`Filter`/`SubqueryAlias` plan over a
+     * RelationPlaceholder, e.g. the result of `JippleSession.sqlPlan`.
+     */
+    public RowProcessor create(LogicalPlan plan) {
+        return createObject(plan);
+    }
+
+    private static class TieredRowProcessor extends RowProcessor {
+        private final TieredEvaluator<RowProcessor> tiered;
+
+        TieredRowProcessor(TieredEvaluator<RowProcessor> tiered) {
+            this.tiered = tiered;
+        }
+
+        @Override
+        public void open(int partitions, int partitionIndex) throws Exception {
+            tiered.open(partitions, partitionIndex);
+        }
+
+        @Override
+        public void process(InternalRow input, Consumer<InternalRow> out) {
+            tiered.current().process(input, out);
+        }
+
+        @Override
+        public void close() throws Exception {
+            tiered.close();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.jipple.sql.execution.codegen;
+
+import com.jipple.sql.catalyst.expressions.*;
+import com.jipple.sql.catalyst.expressions.codegen.*;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.catalyst.expressions.predicate.And;
+import com.jipple.sql.catalyst.expressions.predicate.Or;
+import com.jipple.sql.execution.FusedPipeline;
+import com.jipple.sql.execution.RowProcessor;
+import com.jipple.tuple.Tuple2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generates bytecode that runs a whole [[FusedPipeline]] for one input row, in the style of
+ * whole-stage codegen: every input column is read at most once into a local variable, the filter
+ * conditions are evaluated in order and return early when the row is dropped, and the output
+ * expressions are written into an [[UnsafeRow]]. Subexpressions that are common to the conditions
+ * and the output are evaluated once, right before the first stage that always evaluates them. Until
+ * then they are evaluated inline, so that the branches of conditional expressions and the right
+ * side of `And` and `Or` still run only when needed.
+ *
+ * All the code lives in a single `process` method, so very large pipelines may fail to compile and
+ * fall back to the interpreted version.
+ */
+public class GenerateRowProcessor extends CodeGenerator<FusedPipeline, RowProcessor> {
+    private static final Logger logger = LoggerFactory.getLogger(GenerateRowProcessor.class);
+
+    public static final GenerateRowProcessor INSTANCE = new GenerateRowProcessor();
+
+    private GenerateRowProcessor() {
+    }
+
+    public static GenerateRowProcessor get() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected FusedPipeline canonicalize(FusedPipeline in) {
+        return in;
+    }
+
+    @Override
+    protected FusedPipeline bind(FusedPipeline in, List<Attribute> inputSchema) {
+        // A fused pipeline is always bound to the output of its relation.
+        return in;
+    }
+
+    @Override
+    protected RowProcessor create(FusedPipeline pipeline) {
+        CodegenContext ctx = newCodeGenContext();
+        List<Expression> conditions = pipeline.conditions.stream()
+                .map(Expression::freshCopyIfContainsStatefulExpression).collect(Collectors.toList());
+        List<Expression> output = pipeline.output.stream()
+                .map(Expression::freshCopyIfContainsStatefulExpression).collect(Collectors.toList());
+
+        // Generate the column reads up front, they are emitted lazily by the first stage using them.
+        List<Attribute> input = pipeline.input;
+        String[] inputReads = new String[input.size()];
+        List<ExprCode> inputVars = new ArrayList<>(input.size());
+        for (int i = 0; i < input.size(); i++) {
+            Attribute a = input.get(i);
+            ExprCode ev = new BoundReference(i, a.dataType(), a.nullable()).genCode(ctx);
+            inputReads[i] = ev.code.toString();
+            inputVars.add(new ExprCode(EmptyBlock.INSTANCE, ev.isNull, ev.value));
+        }
+        ctx.currentVars = inputVars;
+
+        List<Expression> all = new ArrayList<>(conditions);
+        all.addAll(output);
+        EquivalentExpressions equivalentExpressions = new EquivalentExpressions();
+        for (Expression e : all) {
+            equivalentExpressions.addExprTree(e);
+        }
+        // Sorted by height, so the children of a common subexpression are always emitted first.
+        List<Expression> commonExprs = equivalentExpressions.getCommonSubexpressions();
+
+        StageEmitter emitter = new StageEmitter(ctx, inputReads, commonExprs);
+        StringBuilder processCode = new StringBuilder();
+        for (Expression condition : conditions) {
+            processCode.append(emitter.prepare(List.of(condition)));
+            ExprCode eval = condition.genCode(ctx);
+            processCode.append(CodeGeneratorUtils.template(
+                    """
+                            ${evalCode}
+                            if (${isNull} || !${value}) return;
+                            """,
+                    Map.of(
+                            "evalCode", eval.code.toString(),
+                            "isNull", eval.isNull.toString(),
+                            "value", eval.value.toString())));
+        }
+        processCode.append(emitter.prepare(output));
+        ExprCode row = GenerateUnsafeProjection.createCode(ctx, output, false);
+        processCode.append(row.code.toString());
+
+        String codeBody = CodeGeneratorUtils.template(
+                """
+                        public SpecificRowProcessor generate(Object[] references) {
+                          return new SpecificRowProcessor(references);
+                        }
+
+                        class SpecificRowProcessor extends ${processorClassName} {
+                          private final Object[] references;
+                          ${mutableStates}
+
+                          public SpecificRowProcessor(Object[] references) {
+                            this.references = references;
+                            ${initMutableStates}
+                          }
+
+                          public void open(int partitions, int partitionIndex) throws Exception {
+                            ${initPartition}
+                          }
+
+                          public void process(InternalRow ${inputRow}, java.util.function.Consumer out) {
+                            ${processCode}
+                            out.accept(${row});
+                          }
+
+                          public void close() throws Exception {
+                            ${closePartition}
+                          }
+
+                          ${addedFunctions}
+                        }
+                        """,
+                Map.ofEntries(
+                        Map.entry("processorClassName", RowProcessor.class.getName()),
+                        Map.entry("mutableStates", ctx.declareMutableStates()),
+                        Map.entry("initMutableStates", ctx.initMutableStates()),
+                        Map.entry("initPartition", ctx.initPartition()),
+                        Map.entry("inputRow", ctx.INPUT_ROW),
+                        Map.entry("processCode", processCode.toString()),
+                        Map.entry("row", row.value.toString()),
+                        Map.entry("closePartition", ctx.closePartition()),
+                        Map.entry("addedFunctions", ctx.declareAddedFunctions())
+                )
+        );
+
+        CodeAndComment code = CodeFormatter.stripOverlappingComments(
+                new CodeAndComment(codeBody, ctx.getPlaceHolderToComments()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Generated row processor '{}':\n{}", pipeline, CodeFormatter.format(code, -1));
+        }
+
+        Tuple2<GeneratedClass, ByteCodeStats> compiled = CodeGeneratorUtils.compile(code);
+        return (RowProcessor) compiled._1.generate(ctx.referencesArray());
+    }
+
+    /**
+     * Tracks which input columns and common subexpressions have already been evaluated in the
+     * generated `process` method.
+     */
+    private static class StageEmitter {
+        private final CodegenContext ctx;
+        private final String[] inputReads;
+        private final boolean[] inputEmitted;
+        private final List<Expression> pendingCommonExprs;
+
+        StageEmitter(CodegenContext ctx, String[] inputReads, List<Expression> commonExprs) {
+            this.ctx = ctx;
+            this.inputReads = inputReads;
+            this.inputEmitted = new boolean[inputReads.length];
+            this.pendingCommonExprs = new ArrayList<>(commonExprs);
+        }
+
+        /**
+         * Returns the code that reads the input columns and evaluates the common subexpressions
+         * always evaluated by the given expressions, which have not been evaluated by a previous
+         * stage.
+         */
+        String prepare(List<Expression> exprs) {
+            StringBuilder code = new StringBuilder();
+            Set<ExpressionEquals> used = new HashSet<>();
+            SortedSet<Integer> ordinals = new TreeSet<>();
+            for (Expression expr : exprs) {
+                addAlwaysEvaluated(expr, used);
+                expr.foreach(e -> {
+                    if (e instanceof BoundReference b) {
+                        ordinals.add(b.ordinal);
+                    }
+                });
+            }
+            for (int ordinal : ordinals) {
+                if (!inputEmitted[ordinal]) {
+                    code.append(inputReads[ordinal]).append("\n");
+                    inputEmitted[ordinal] = true;
+                }
+            }
+
+            Iterator<Expression> it = pendingCommonExprs.iterator();
+            while (it.hasNext()) {
+                Expression expr = it.next();
+                if (used.contains(new ExpressionEquals(expr))) {
+                    ExprCode eval = expr.genCode(ctx);
+                    code.append(eval.code.toString()).append("\n");
+                    // Later references (including larger common subexpressions) reuse the local variables.
+                    ctx.subExprEliminationExprs.put(new ExpressionEquals(expr),
+                            SubExprEliminationState.apply(new ExprCode(EmptyBlock.INSTANCE, eval.isNull, eval.value)));
+                    it.remove();
+                }
+            }
+            return code.toString();
+        }
+
+        /**
+         * Adds the expression and the descendants which are evaluated whenever it is, like
+         * [[EquivalentExpressions]] but never looking past the left side of `And` and `Or`.
+         */
+        private static void addAlwaysEvaluated(Expression expr, Set<ExpressionEquals> used) {
+            used.add(new ExpressionEquals(expr));
+            List<Expression> children;
+            if (expr instanceof CodegenFallback) {
+                children = Collections.emptyList();
+            } else if (expr instanceof ConditionalExpression c) {
+                children = c.alwaysEvaluatedInputs();
+            } else if (expr instanceof And || expr instanceof Or) {
+                children = List.of(expr.children().get(0));
+            } else {
+                children = expr.children();
+            }
+            for (Expression child : children) {
+                addAlwaysEvaluated(child, used);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.jipple.sql.types;
+
+import static com.jipple.sql.types.Decimal.MAX_LONG_DIGITS;
+import static com.jipple.sql.types.Decimal.POW_10;
+
+/**
+ * Arithmetic on compact decimals, i.e. decimals of up to [[Decimal#MAX_LONG_DIGITS]] digits, on
+ * their unscaled long values and scales instead of [[Decimal]] objects.
+ *
+ * The operands are unscaled values of at most 18 digits. The result is the unscaled value of
+ * the exact result rounded half up to the given precision and scale, the same as the [[Decimal]]
+ * method followed by [[Decimal#toPrecision]] returns. Whenever the result does not fit the
+ * precision, or an intermediate value does not fit in a long, [[#OVERFLOW]] is returned and the
+ * caller should fall back to the [[Decimal]] methods, which also report the overflow.
+ */
+public final class CompactDecimal {
+    /** Returned instead of the unscaled result when it cannot be computed on longs. */
+    public static final long OVERFLOW = Long.MIN_VALUE;
+
+    /**
+     * An arithmetic operation on the unscaled values of two compact decimals.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        long apply(long x, int xScale, long y, int yScale, int precision, int scale);
+    }
+
+    private CompactDecimal() {
+    }
+
+    public static boolean isCompact(DecimalType dt) {
+        return dt.precision <= MAX_LONG_DIGITS;
+    }
+
+    public static long add(long x, int xScale, long y, int yScale, int precision, int scale) {
+        try {
+            int common = Math.max(xScale, yScale);
+            long sum = Math.addExact(scaleUp(x, common - xScale), scaleUp(y, common - yScale));
+            return rescale(sum, common, precision, scale);
+        } catch (ArithmeticException e) {
+            return OVERFLOW;
+        }
+    }
+
+    public static long subtract(long x, int xScale, long y, int yScale, int precision, int scale) {
+        try {
+            int common = Math.max(xScale, yScale);
+            long diff = Math.subtractExact(scaleUp(x, common - xScale), scaleUp(y, common - yScale));
+            return rescale(diff, common, precision, scale);
+        } catch (ArithmeticException e) {
+            return OVERFLOW;
+        }
+    }
+
+    public static long multiply(long x, int xScale, long y, int yScale, int precision, int scale) {
+        try {
+            return rescale(Math.multiplyExact(x, y), xScale + yScale, precision, scale);
+        } catch (ArithmeticException e) {
+            return OVERFLOW;
+        }
+    }
+
+    /**
+     * Divides `x` by `y`, which must not be zero.
+     */
+    public static long divide(long x, int xScale, long y, int yScale, int precision, int scale) {
+        try {
+            // x / y = (x * 10^shift / y) * 10^-scale
+            int shift = scale + yScale - xScale;
+            long dividend = shift >= 0 ? scaleUp(x, shift) : x;
+            long divisor = shift >= 0 ? y : scaleUp(y, -shift);
+            return checkPrecision(divideHalfUp(dividend, divisor), precision);
+        } catch (ArithmeticException e) {
+            return OVERFLOW;
+        }
+    }
+
+    /**
+     * Returns the remainder of `x` divided by `y`, which must not be zero, with the sign of `x`.
+     */
+    public static long remainder(long x, int xScale, long y, int yScale, int precision, int scale) {
+        try {
+            int common = Math.max(xScale, yScale);
+            long rem = scaleUp(x, common - xScale) % scaleUp(y, common - yScale);
+            return rescale(rem, common, precision, scale);
+        } catch (ArithmeticException e) {
+            return OVERFLOW;
+        }
+    }
+
+    /**
+     * Converts an unscaled value from one scale to another, rounding half up.
+     */
+    public static long rescale(long unscaled, int fromScale, int precision, int scale) {
+        long result;
+        if (scale >= fromScale) {
+            try {
+                result = scaleUp(unscaled, scale - fromScale);
+            } catch (ArithmeticException e) {
+                return OVERFLOW;
+            }
+        } else {
+            int diff = fromScale - scale;
+            if (diff <= MAX_LONG_DIGITS) {
+                result = divideHalfUp(unscaled, POW_10[diff]);
+            } else {
+                // only 10^19 can still round a long up to one
+                long half = POW_10[MAX_LONG_DIGITS] * 5;
+                boolean roundsToZero = diff > MAX_LONG_DIGITS + 1 || (unscaled > -half && unscaled < half);
+                result = roundsToZero ? 0 : Long.signum(unscaled);
+            }
+        }
+        return checkPrecision(result, precision);
+    }
+
+    private static long scaleUp(long unscaled, int digits) {
+        if (digits == 0 || unscaled == 0) {
+            return unscaled;
+        } else if (digits > MAX_LONG_DIGITS) {
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.multiplyExact(unscaled, POW_10[digits]);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        // |remainder| * 2 >= |divisor|, without overflowing
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static long checkPrecision(long unscaled, int precision) {
+        long bound = POW_10[Math.min(precision, MAX_LONG_DIGITS)];
+        return unscaled <= -bound || unscaled >= bound ? OVERFLOW : unscaled;
+    }
+}
@@ -48,6 +48,23 @@ public class DataTypes {
         }
     };
 
+    public static final AbstractDataType DECIMAL = new AbstractDataType() {
+        @Override
+        public DataType defaultConcreteType() {
+            return DecimalType.SYSTEM_DEFAULT;
+        }
+
+        @Override
+        public boolean acceptsType(DataType other) {
+            return other instanceof DecimalType;
+        }
+
+        @Override
+        public String simpleString() {
+            return "decimal";
+        }
+    };
+
     public static final AbstractDataType ANY = new AbstractDataType() {
 
         @Override
@@ -203,6 +203,18 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         }
     }
 
+    /**
+     * Returns the unscaled value at the given compact precision and scale, rounded half up, or
+     * [[CompactDecimal#OVERFLOW]] if it does not fit, without changing this decimal.
+     */
+    public long toUnscaledLong(int precision, int scale) {
+        if (decimalVal == null) {
+            return CompactDecimal.rescale(longVal, _scale, precision, scale);
+        }
+        BigDecimal rescaled = decimalVal.setScale(scale, RoundingMode.HALF_UP);
+        return rescaled.precision() > precision ? CompactDecimal.OVERFLOW : rescaled.unscaledValue().longValue();
+    }
+
     @Override
     public String toString() {
         return toBigDecimal().toString();
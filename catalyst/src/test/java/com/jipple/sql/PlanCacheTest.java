@@ -0,0 +1,134 @@
+package com.jipple.sql;
+
+import com.jipple.sql.catalyst.QueryPlanningTracker;
+import com.jipple.sql.catalyst.parser.CatalystSqlParser;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+import com.jipple.sql.types.StructType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanCacheTest {
+    private static final StructType SCHEMA = (StructType) CatalystSqlParser.getInstance()
+            .parseDataType("struct<a:int, s:string>");
+    private static final StructType OTHER_SCHEMA = (StructType) CatalystSqlParser.getInstance()
+            .parseDataType("struct<a:bigint, s:string>");
+
+    private final JippleSession session = JippleSession.get();
+
+    @BeforeEach
+    void clearCache() {
+        session.planCache().clear();
+    }
+
+    private static <T> T withTracker(QueryPlanningTracker tracker, Supplier<T> f) {
+        return QueryPlanningTracker.withTracker(tracker, f);
+    }
+
+    @Test
+    void testSessionHitsAndMisses() {
+        QueryPlanningTracker tracker = new QueryPlanningTracker();
+        LogicalPlan first = withTracker(tracker, () -> session.sqlPlan("select a + 1 b from tbl where a > 1", SCHEMA));
+        assertEquals(0, tracker.numPlanCacheHits());
+        assertEquals(1, tracker.numPlanCacheMisses());
+        assertTrue(tracker.phases().containsKey(QueryPlanningTracker.PARSING));
+
+        tracker = new QueryPlanningTracker();
+        LogicalPlan second = withTracker(tracker,
+                () -> session.sqlPlan("  select a + 1 b\n from   tbl where a > 1 ", SCHEMA));
+        // Hits are fresh copies of the cached plan.
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertNotSame(first.expressions().get(0), second.expressions().get(0));
+        assertEquals(1, tracker.numPlanCacheHits());
+        assertEquals(0, tracker.numPlanCacheMisses());
+        assertFalse(tracker.phases().containsKey(QueryPlanningTracker.PARSING));
+
+        // A different schema, method or conf value is a different plan.
+        PlanCache cache = session.planCache();
+        session.sqlPlan("select a + 1 b from tbl where a > 1", OTHER_SCHEMA);
+        session.parseFilter("a > 1", SCHEMA);
+        session.parseExpr("a > 1", SCHEMA);
+        assertEquals(4, cache.size());
+        SQLConf conf = SQLConf.get();
+        for (Runnable set : List.<Runnable>of(
+                () -> conf.setConf(SQLConf.CASE_SENSITIVE, true),
+                () -> conf.setConf(SQLConf.OPTIMIZER_INSET_CONVERSION_THRESHOLD, 2),
+                () -> conf.setConf(SQLConf.OPTIMIZER_MULTI_STRING_MATCH_THRESHOLD, 2))) {
+            long misses = cache.missCount();
+            set.run();
+            try {
+                session.sqlPlan("select a + 1 b from tbl where a > 1", SCHEMA);
+            } finally {
+                conf.unsetConf(SQLConf.CASE_SENSITIVE);
+                conf.unsetConf(SQLConf.OPTIMIZER_INSET_CONVERSION_THRESHOLD);
+                conf.unsetConf(SQLConf.OPTIMIZER_MULTI_STRING_MATCH_THRESHOLD);
+            }
+            assertEquals(misses + 1, cache.missCount());
+        }
+        long hits = cache.hitCount();
+        assertEquals(first, session.sqlPlan("select a + 1 b from tbl where a > 1", SCHEMA));
+        assertEquals(hits + 1, cache.hitCount());
+    }
+
+    @Test
+    void testAllCachedMethods() {
+        PlanCache cache = session.planCache();
+        long hits = cache.hitCount();
+        long misses = cache.missCount();
+        assertEquals(session.selectExprs("a, s", SCHEMA), session.selectExprs("a,  s", SCHEMA));
+        assertEquals(session.selectExprs(List.of("a", "s"), SCHEMA), session.selectExprs(List.of("a", "s"), SCHEMA));
+        assertEquals(session.parseFilter("a > 1", SCHEMA), session.parseFilter("a > 1", SCHEMA));
+        assertEquals(session.parseExpr("a + 1", SCHEMA), session.parseExpr("a + 1", SCHEMA));
+        assertEquals(4, cache.size());
+        assertEquals(hits + 4, cache.hitCount());
+        assertEquals(misses + 4, cache.missCount());
+    }
+
+    @Test
+    void testQuotedTextIsNotNormalized() {
+        assertNotEquals(session.parseExpr("s = 'a  b'", SCHEMA), session.parseExpr("s = 'a b'", SCHEMA));
+        assertEquals("s = 'a  b'", PlanCache.normalize(" s  =\t'a  b' "));
+        assertEquals("s = 'a\\'  b'", PlanCache.normalize("s = 'a\\'  b'"));
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        PlanCache cache = session.planCache();
+        assertThrows(Exception.class, () -> session.parseExpr("no_such_column", SCHEMA));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEviction() {
+        SQLConf conf = new SQLConf();
+        LogicalPlan plan = session.parseExpr("a", SCHEMA);
+        QueryPlanningTracker tracker = new QueryPlanningTracker();
+
+        PlanCache bySize = new PlanCache(2, 0);
+        bySize.get(new PlanCache.Key(PlanCache.Kind.EXPR, "a", SCHEMA, conf), tracker, () -> plan);
+        bySize.get(new PlanCache.Key(PlanCache.Kind.EXPR, "b", SCHEMA, conf), tracker, () -> plan);
+        // Touch "a" so "b" is the least recently used.
+        bySize.get(new PlanCache.Key(PlanCache.Kind.EXPR, "a", SCHEMA, conf), tracker, () -> plan);
+        bySize.get(new PlanCache.Key(PlanCache.Kind.EXPR, "c", SCHEMA, conf), tracker, () -> plan);
+        assertEquals(2, bySize.size());
+        assertEquals(1, bySize.evictionCount());
+        bySize.get(new PlanCache.Key(PlanCache.Kind.EXPR, "a", SCHEMA, conf), tracker, () -> plan);
+        assertEquals(2, bySize.hitCount());
+
+        PlanCache byWeight = new PlanCache(100, 10);
+        byWeight.get(new PlanCache.Key(PlanCache.Kind.EXPR, "aaaaaa", SCHEMA, conf), tracker, () -> plan);
+        byWeight.get(new PlanCache.Key(PlanCache.Kind.EXPR, "bbbbbb", SCHEMA, conf), tracker, () -> plan);
+        assertEquals(1, byWeight.size());
+        assertEquals(6, byWeight.weight());
+
+        PlanCache disabled = new PlanCache(0, 0);
+        disabled.get(new PlanCache.Key(PlanCache.Kind.EXPR, "a", SCHEMA, conf), tracker, () -> plan);
+        assertEquals(0, disabled.size());
+        assertEquals(0, disabled.missCount());
+    }
+}
@@ -0,0 +1,61 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.expressions.arithmetic.Add;
+import com.jipple.sql.catalyst.expressions.arithmetic.Divide;
+import com.jipple.sql.catalyst.expressions.arithmetic.Multiply;
+import com.jipple.sql.catalyst.expressions.arithmetic.Remainder;
+import com.jipple.sql.catalyst.expressions.arithmetic.Subtract;
+import com.jipple.sql.types.Decimal;
+import com.jipple.sql.types.DecimalType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.BiFunction;
+
+public class ArithmeticExpressionsTest extends ExpressionEvalHelper {
+    private static final DecimalType MONEY = new DecimalType(18, 4);
+    private static final DecimalType WIDE = new DecimalType(30, 4);
+
+    private static final List<BiFunction<Expression, Expression, Expression>> OPERATIONS = List.of(
+            Add::new, Subtract::new, Multiply::new, Divide::new, Remainder::new);
+
+    private static Literal decimal(String value, DecimalType dt) {
+        return Literal.of(value == null ? null : new Decimal(new BigDecimal(value), dt.precision, dt.scale), dt);
+    }
+
+    private void checkDecimal(BiFunction<Expression, Expression, Expression> operation,
+                              String x, String y, DecimalType dt, String expected) {
+        BigDecimal expectedValue = expected == null ? null : new BigDecimal(expected);
+        checkEvaluation(operation.apply(decimal(x, dt), decimal(y, dt)), expectedValue);
+        checkEvaluation(operation.apply(new BoundReference(0, dt, true), new BoundReference(1, dt, true)),
+                expectedValue, createRow(decimal(x, dt).value, decimal(y, dt).value));
+    }
+
+    @Test
+    public void testDecimalArithmetic() {
+        for (DecimalType dt : new DecimalType[] {MONEY, WIDE}) {
+            checkDecimal(Add::new, "1.2345", "-0.0045", dt, "1.2300");
+            checkDecimal(Subtract::new, "1.2345", "-0.0045", dt, "1.2390");
+            checkDecimal(Multiply::new, "1.2345", "-0.0045", dt, "-0.0056");
+            checkDecimal(Multiply::new, "-1.2345", "0.0001", dt, "-0.0001");
+            checkDecimal(Divide::new, "1.0000", "3.0000", dt, "0.3333");
+            checkDecimal(Divide::new, "-2.0000", "3.0000", dt, "-0.6667");
+            checkDecimal(Remainder::new, "-7.5000", "2.0000", dt, "-1.5000");
+            // the product does not fit in a long, but the result fits the type
+            checkDecimal(Multiply::new, "99999999.9999", "99999.9999", dt, "9999999989990.0000");
+            checkDecimal(Divide::new, "1.0000", "0.0000", dt, null);
+            checkDecimal(Remainder::new, "1.0000", "0.0000", dt, null);
+            for (BiFunction<Expression, Expression, Expression> operation : OPERATIONS) {
+                checkDecimal(operation, null, "1.0000", dt, null);
+                checkDecimal(operation, "1.0000", null, dt, null);
+            }
+        }
+        // null on overflow
+        checkDecimal(Add::new, "99999999999999.9999", "0.0001", MONEY, null);
+        checkDecimal(Subtract::new, "-99999999999999.9999", "0.0001", MONEY, null);
+        checkDecimal(Multiply::new, "99999999.9999", "9999999.9999", MONEY, null);
+        checkDecimal(Divide::new, "99999999999999.9999", "0.0001", MONEY, null);
+        checkDecimal(Add::new, "99999999999999.9999", "0.0001", WIDE, "100000000000000.0000");
+    }
+}
@@ -0,0 +1,38 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.collection.Option;
+import com.jipple.sql.types.DataType;
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import static com.jipple.sql.types.DataTypes.*;
+
+public class CastExpressionsTest extends ExpressionEvalHelper {
+
+    private void checkCast(String input, DataType dt, Object expected) {
+        checkEvaluation(new Cast(Literal.of(input), dt, Option.some("UTC")), expected);
+        checkEvaluation(new Cast(new BoundReference(0, STRING, true), dt, Option.some("UTC")),
+                expected, createRow(input == null ? null : UTF8String.fromString(input)));
+    }
+
+    @Test
+    public void testStringToNumber() {
+        checkCast(" 1234567890123.75 ", LONG, 1234567890123L);
+        checkCast("-9223372036854775808", LONG, Long.MIN_VALUE);
+        checkCast("9223372036854775808", LONG, null);
+        checkCast("12345678", INTEGER, 12345678);
+        checkCast("2147483648", INTEGER, null);
+        checkCast("1e3", INTEGER, null);
+        checkCast("1234.5678", DOUBLE, 1234.5678);
+        checkCast("-1.7976931348623157e308", DOUBLE, -Double.MAX_VALUE);
+        checkCast("4.9e-324", DOUBLE, Double.MIN_VALUE);
+        checkCast("9007199254740993", DOUBLE, 9007199254740992.0);
+        checkCast("0.1", FLOAT, 0.1f);
+        checkCast("3.4028236e38", FLOAT, Float.POSITIVE_INFINITY);
+        checkCast("1.5d", DOUBLE, 1.5);
+        checkCast("-infinity", DOUBLE, Double.NEGATIVE_INFINITY);
+        checkCast("NaN", FLOAT, Float.NaN);
+        checkCast("1.5x", DOUBLE, null);
+        checkCast(null, DOUBLE, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.collection.Option;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.datetime.DateFormatClass;
+import com.jipple.sql.catalyst.expressions.datetime.FromUnixTime;
+import com.jipple.sql.catalyst.expressions.datetime.GetTimestamp;
+import org.junit.jupiter.api.Test;
+
+import static com.jipple.sql.types.DataTypes.*;
+
+public class DateTimeExpressionsTest extends ExpressionEvalHelper {
+    private static final Option<String> UTC = Option.some("UTC");
+    // 2024-01-02 03:04:05 UTC
+    private static final long SECONDS = 1704164645L;
+
+    @Test
+    public void testFormatFromColumn() {
+        BoundReference ts = new BoundReference(0, TIMESTAMP, true);
+        BoundReference seconds = new BoundReference(1, LONG, true);
+        BoundReference string = new BoundReference(2, STRING, true);
+        BoundReference format = new BoundReference(3, STRING, true);
+        String[][] cases = {
+                {"yyyy-MM-dd", "2024-01-02"},
+                {"HH:mm:ss", "03:04:05"},
+                {"yyyy/MM/dd HH:mm:ss", "2024/01/02 03:04:05"},
+                {"dd.MM.yyyy HH:mm:ss", "02.01.2024 03:04:05"}};
+        for (String[] c : cases) {
+            InternalRow row = createRow(SECONDS * 1000000L, SECONDS, c[1], c[0]);
+            checkEvaluation(new DateFormatClass(ts, format, UTC), c[1], row);
+            checkEvaluation(new FromUnixTime(seconds, format, UTC), c[1], row);
+            if (c[0].contains("HH") && c[0].contains("yyyy")) {
+                checkEvaluation(new GetTimestamp(string, format, TIMESTAMP, UTC), SECONDS * 1000000L, row);
+            }
+        }
+        checkEvaluation(new DateFormatClass(ts, format, UTC), null, createRow(SECONDS * 1000000L, SECONDS, "", null));
+    }
+}
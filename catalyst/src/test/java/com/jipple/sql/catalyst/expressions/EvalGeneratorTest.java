@@ -38,6 +38,13 @@ public class EvalGeneratorTest extends ExpressionEvalHelper {
         EvalGenerator.get().createCodeGeneratedObject(new Add(col1, col2));
     }
 
+    @Test
+    public void testNonNullableBoundReference() {
+        var add = new Add(new BoundReference(0, LONG, false), new BoundReference(1, LONG, false));
+        Eval eval = EvalGenerator.get().createCodeGeneratedObject(add);
+        assertEquals(3L, eval.eval(createRow(1L, 2L)));
+    }
+
     @Test
     public void testGeneratedEval() {
         var row = createRow(10, 100);
@@ -67,4 +74,40 @@ public class EvalGeneratorTest extends ExpressionEvalHelper {
         assertEquals(eval.eval(row), 9L);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testPrimitiveEval() {
+        var intCol = new BoundReference(0, INTEGER);
+        var longCol = new BoundReference(1, LONG);
+        var doubleCol = new BoundReference(2, DOUBLE);
+        for (CodegenObjectFactoryMode mode : new CodegenObjectFactoryMode[]{
+                CodegenObjectFactoryMode.CODEGEN_ONLY, CodegenObjectFactoryMode.NO_CODEGEN}) {
+            Eval intEval = EvalGenerator.get().createObject(new Add(intCol, Literal.of(1)), mode);
+            Eval longEval = EvalGenerator.get().createObject(new Multiply(longCol, Literal.of(2L)), mode);
+            Eval doubleEval = EvalGenerator.get().createObject(new Add(doubleCol, Literal.of(0.5)), mode);
+            Eval booleanEval = EvalGenerator.get().createObject(new EqualTo(intCol, Literal.of(10)), mode);
+
+            var row = createRow(10, 100L, 1.0);
+            assertEquals(11, intEval.evalInt(row));
+            assertFalse(intEval.wasNull());
+            assertEquals(200L, longEval.evalLong(row));
+            assertFalse(longEval.wasNull());
+            assertEquals(1.5, doubleEval.evalDouble(row));
+            assertFalse(doubleEval.wasNull());
+            assertTrue(booleanEval.evalBoolean(row));
+            assertFalse(booleanEval.wasNull());
+            assertEquals(11, intEval.eval(row));
+
+            var nullRow = createRow(null, null, null);
+            intEval.evalInt(nullRow);
+            assertTrue(intEval.wasNull(), "mode = " + mode);
+            longEval.evalLong(nullRow);
+            assertTrue(longEval.wasNull(), "mode = " + mode);
+            doubleEval.evalDouble(nullRow);
+            assertTrue(doubleEval.wasNull(), "mode = " + mode);
+            booleanEval.evalBoolean(nullRow);
+            assertTrue(booleanEval.wasNull(), "mode = " + mode);
+            assertNull(intEval.eval(nullRow));
+        }
+    }
+
+}
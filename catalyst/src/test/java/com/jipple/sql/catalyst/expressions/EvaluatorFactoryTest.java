@@ -0,0 +1,132 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.arithmetic.Add;
+import com.jipple.sql.catalyst.expressions.regexp.RLike;
+import com.jipple.sql.catalyst.expressions.string.Substring;
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.jipple.sql.types.DataTypes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluatorFactoryTest extends ExpressionEvalHelper {
+
+    private static final Expression ADD = new Add(new BoundReference(0, INTEGER), new BoundReference(1, INTEGER));
+
+    @Test
+    public void testPooling() throws Exception {
+        for (CodegenObjectFactoryMode mode : CodegenObjectFactoryMode.values()) {
+            EvaluatorFactory<Eval> factory = EvaluatorFactory.create(EvalGenerator.get(), ADD, mode);
+            Eval first = factory.acquire(1, 0);
+            Eval second = factory.acquire(1, 0);
+            assertNotSame(first, second, "mode = " + mode);
+            assertEquals(3, first.eval(createRow(1, 2)));
+            assertEquals(7, second.evalInt(createRow(3, 4)));
+            factory.release(first);
+            assertEquals(1, factory.numIdle());
+            assertSame(first, factory.acquire(1, 1));
+            assertEquals(2, factory.numCreated());
+            if (mode == CodegenObjectFactoryMode.CODEGEN_ONLY) {
+                assertFalse(first instanceof InterpretedEval);
+            }
+        }
+    }
+
+    @Test
+    public void testMaxIdle() throws Exception {
+        EvaluatorFactory<Eval> factory = new EvaluatorFactory<>(
+                EvalGenerator.get().createSupplier(ADD, CodegenObjectFactoryMode.CODEGEN_ONLY), 1);
+        Eval first = factory.acquire(1, 0);
+        Eval second = factory.acquire(1, 0);
+        factory.release(first);
+        factory.release(second);
+        assertEquals(1, factory.numIdle());
+    }
+
+    @Test
+    public void testSafeProjectionInstancesDoNotShareRows() throws Exception {
+        List<Expression> exprs = List.of(new Substring(new BoundReference(0, STRING), Literal.of(1), Literal.of(2)));
+        EvaluatorFactory<Projection> factory = EvaluatorFactory.create(
+                SafeProjectionGenerator.get(), exprs, CodegenObjectFactoryMode.CODEGEN_ONLY);
+        Projection first = factory.acquire(1, 0);
+        Projection second = factory.acquire(1, 0);
+        InternalRow r1 = first.apply(createRow("abc"));
+        InternalRow r2 = second.apply(createRow("xyz"));
+        assertNotSame(r1, r2);
+        assertEquals(UTF8String.fromString("ab"), r1.getUTF8String(0));
+        assertEquals(UTF8String.fromString("xy"), r2.getUTF8String(0));
+    }
+
+    @Test
+    public void testInterpretedEvaluatorsDoNotShareExpressions() throws Exception {
+        // RLike caches the matcher of the last regex it saw.
+        Expression rlike = new RLike(new BoundReference(0, STRING), new BoundReference(1, STRING));
+        EvaluatorFactory<Predicate> factory = EvaluatorFactory.create(
+                PredicateGenerator.get(), rlike, CodegenObjectFactoryMode.NO_CODEGEN);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                int partitionIndex = task;
+                results.add(executor.submit(() -> {
+                    Predicate predicate = factory.acquire(16, partitionIndex);
+                    try {
+                        for (int i = 0; i < 2000; i++) {
+                            String regex = (i + partitionIndex) % 2 == 0 ? "^a+$" : "^b+$";
+                            if (predicate.eval(createRow("aaa", regex)) != regex.contains("a")) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    } finally {
+                        factory.release(predicate);
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentTasks() throws Exception {
+        EvaluatorFactory<UnsafeProjection> factory = EvaluatorFactory.create(
+                UnsafeProjectionGenerator.get(), List.of(ADD), CodegenObjectFactoryMode.CODEGEN_ONLY);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 64; task++) {
+                int partitionIndex = task;
+                results.add(executor.submit(() -> {
+                    UnsafeProjection projection = factory.acquire(64, partitionIndex);
+                    try {
+                        for (int i = 0; i < 1000; i++) {
+                            if (projection.apply(createRow(partitionIndex, i)).getInt(0) != partitionIndex + i) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    } finally {
+                        factory.release(projection);
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(factory.numCreated() <= 64);
+    }
+}
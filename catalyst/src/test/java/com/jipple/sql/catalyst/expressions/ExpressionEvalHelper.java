@@ -1,9 +1,11 @@
 package com.jipple.sql.catalyst.expressions;
 
+import com.jipple.configuration.Option;
 import com.jipple.sql.SQLConf;
 import com.jipple.sql.catalyst.CatalystTypeConverters;
 import com.jipple.sql.catalyst.InternalRow;
 import com.jipple.sql.catalyst.analysis.rule.ResolveTimeZone;
+import com.jipple.sql.catalyst.expressions.codegen.GenerateUnsafeProjection;
 import com.jipple.sql.catalyst.expressions.named.Alias;
 import com.jipple.sql.catalyst.util.ArrayData;
 import com.jipple.sql.catalyst.util.MapData;
@@ -16,6 +18,7 @@ import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public abstract class ExpressionEvalHelper {
 
@@ -52,6 +55,10 @@ public abstract class ExpressionEvalHelper {
         checkEvaluationWithoutCodegen(expr, catalystValue, inputRow);
         expr = prepareEvaluation(expression);
         checkEvaluationWithSafeProjection(expr, catalystValue, inputRow);
+        if (GenerateUnsafeProjection.canSupport(expr.dataType())) {
+            expr = prepareEvaluation(expression);
+            checkEvaluationWithUnsafeProjection(expr, catalystValue, inputRow);
+        }
     }
 
 /*
@@ -129,6 +136,40 @@ public abstract class ExpressionEvalHelper {
         return plan.apply(inputRow).get(0, expression.dataType());
     }
 
+    protected void checkEvaluationWithUnsafeProjection(Expression expression, Object expected, InternalRow inputRow) {
+        CodegenObjectFactoryMode[] modes = new CodegenObjectFactoryMode[]{CodegenObjectFactoryMode.CODEGEN_ONLY, CodegenObjectFactoryMode.NO_CODEGEN};
+        for (CodegenObjectFactoryMode fallbackMode : modes) {
+            withCodegenFactoryMode(fallbackMode, () -> {
+                InternalRow unsafeRow;
+                try {
+                    unsafeRow = evaluateWithUnsafeProjection(expression, inputRow);
+                } catch (Exception e) {
+                    throw new RuntimeException("Exception UnsafeProjection evaluating " + expression, e);
+                }
+                String input = Objects.equals(inputRow, InternalRow.EMPTY)?  "" : ", input: "  + inputRow;
+                DataType dataType = expression.dataType();
+                if (!checkResult(unsafeRow.get(0, dataType), expected, dataType, expression.nullable())) {
+                    throw new RuntimeException(
+                            "Incorrect evaluation in unsafe mode (fallback mode = " + fallbackMode + "): " + expression +
+                                    ", actual: " + unsafeRow +
+                                    ", expected: " + expected +
+                                    ", dataType: " + dataType +
+                                    ", nullable: " + expression.nullable() + input);
+                }
+            });
+        }
+    }
+
+    protected InternalRow evaluateWithUnsafeProjection(Expression expression, InternalRow inputRow) throws Exception {
+        // Explicitly doing code generation twice so code gen will fail if
+        // some expression is reusing variable names across different instances.
+        Projection plan = UnsafeProjectionGenerator.get().create(List.of(
+                new Alias(expression, "Optimized(" + expression + ")1"),
+                new Alias(expression, "Optimized(" + expression + ")2")));
+        plan.open(1, 0);
+        return plan.apply(inputRow);
+    }
+
     /**
      * Check the equality between result of expression and expected value, it will handle
      * Array[Byte], Spread[Double], MapData and Row. Also check whether nullable in expression is
@@ -191,12 +232,25 @@ public abstract class ExpressionEvalHelper {
     }
 
     protected void withCodegenFactoryMode(CodegenObjectFactoryMode fallbackMode, Runnable f) {
-        CodegenObjectFactoryMode old = SQLConf.get().codegenFactoryMode();
-        SQLConf.get().setConf(SQLConf.CODEGEN_FACTORY_MODE, fallbackMode);
+        withSQLConf(SQLConf.CODEGEN_FACTORY_MODE, fallbackMode, f);
+    }
+
+    protected <T> void withSQLConf(Option<T> option, T value, Runnable f) {
+        // Pin the active conf, the default getter creates a new SQLConf on every call.
+        Supplier<SQLConf> oldGetter = SQLConf.getSQLConfGetter();
+        SQLConf conf = SQLConf.get();
+        SQLConf.setSQLConfGetter(() -> conf);
+        String old = conf.toMap().get(option.key());
+        conf.setConf(option, value);
         try {
             f.run();
         } finally {
-            SQLConf.get().setConf(SQLConf.CODEGEN_FACTORY_MODE, old);
+            if (old == null) {
+                conf.unsetConf(option);
+            } else {
+                conf.set(option.key(), old);
+            }
+            SQLConf.setSQLConfGetter(oldGetter);
         }
     }
 
@@ -0,0 +1,39 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.predicate.And;
+import com.jipple.sql.catalyst.expressions.predicate.GreaterThan;
+import com.jipple.sql.catalyst.expressions.predicate.LessThan;
+import org.junit.jupiter.api.Test;
+
+import static com.jipple.sql.types.DataTypes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PredicateGeneratorTest extends ExpressionEvalHelper {
+
+    private void checkPredicate(CodegenObjectFactoryMode mode) {
+        withCodegenFactoryMode(mode, () -> {
+            var col1 = new BoundReference(0, INTEGER);
+            var col2 = new BoundReference(1, LONG);
+            var condition = new And(new GreaterThan(col1, Literal.of(10)), new LessThan(col2, Literal.of(100L)));
+            Predicate predicate = PredicateGenerator.get().create(condition);
+            assertTrue(predicate.eval(createRow(11, 99L)));
+            assertFalse(predicate.eval(createRow(10, 99L)));
+            assertFalse(predicate.eval(createRow(11, 100L)));
+            // null is treated as false
+            assertFalse(predicate.eval(InternalRow.of(null, 99L)));
+            assertFalse(predicate.eval(InternalRow.of(11, null)));
+            assertFalse(PredicateGenerator.get().create(Literal.create(null, BOOLEAN)).eval(InternalRow.EMPTY));
+        });
+    }
+
+    @Test
+    public void testInterpretedPredicate() {
+        checkPredicate(CodegenObjectFactoryMode.NO_CODEGEN);
+    }
+
+    @Test
+    public void testGeneratedPredicate() {
+        checkPredicate(CodegenObjectFactoryMode.CODEGEN_ONLY);
+    }
+}
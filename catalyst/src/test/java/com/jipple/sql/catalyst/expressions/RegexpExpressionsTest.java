@@ -1,9 +1,11 @@
 package com.jipple.sql.catalyst.expressions;
 
+import com.jipple.sql.SQLConf;
 import com.jipple.sql.catalyst.InternalRow;
 import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.GenerateSafeProjection;
 import com.jipple.sql.catalyst.expressions.regexp.*;
+import com.jipple.sql.catalyst.util.regex.RegexEngine;
 import com.jipple.sql.types.ArrayType;
 import org.junit.jupiter.api.Test;
 
@@ -15,7 +17,9 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static com.jipple.sql.types.DataTypes.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RegexpExpressionsTest extends ExpressionEvalHelper {
@@ -167,12 +171,29 @@ public class RegexpExpressionsTest extends ExpressionEvalHelper {
         GenerateSafeProjection.get().generate(List.of(new RegExpReplace(Literal.of("\"quote"), Literal.of("\"quote"), Literal.of("\"quote"))));
     }
 
+    @Test
+    public void testRlikeReusesMatcher() {
+        // A non-foldable pattern is compiled again only when it changes.
+        var ctx = new CodegenContext();
+        new RLike(new BoundReference(0, STRING), new BoundReference(1, STRING)).genCode(ctx);
+        assertTrue(ctx.mutableStateInitCode.size() == 2);
+
+        Projection projection = GenerateSafeProjection.get().generate(List.of(
+                new RLike(new BoundReference(0, STRING), new BoundReference(1, STRING))));
+        String[][] rows = {{"aaa", "^a+$", "true"}, {"bbb", "^a+$", "false"}, {"bbb", "^b+$", "true"},
+                {"aaa", "^b+$", "false"}, {"aaa", "^a+$", "true"}};
+        for (String[] row : rows) {
+            InternalRow result = projection.apply(createRow(row[0], row[1]));
+            assertEquals(Boolean.parseBoolean(row[2]), result.getBoolean(0), row[0] + " rlike " + row[1]);
+        }
+    }
+
     @Test
     public void testRegexReplaceGlobalVariables() {
         // SPARK-22570: RegExpReplace should not create a lot of global variables
         var ctx = new CodegenContext();
         new RegExpReplace(Literal.of("100"), Literal.of("(\\d+)"), Literal.of("num")).genCode(ctx);
-        // four global variables (lastRegex, pattern, lastReplacement, and lastReplacementInUTF8)
+        // four global variables (lastRegex, lastMatcher, lastReplacement, and lastReplacementInUTF8)
         // are always required, which are allocated in type-based global array
         assertTrue(ctx.inlinedMutableStates.size() == 0);
         assertTrue(ctx.mutableStateInitCode.size() == 4);
@@ -296,6 +317,21 @@ public class RegexpExpressionsTest extends ExpressionEvalHelper {
         checkEvaluation(
                 new StringSplit(s1, s2, Literal.of(-1)), null, row3);
 
+        // Regexes that only match a literal delimiter split on the bytes
+        InternalRow row4 = createRow("a|b||c|", "\\|");
+        checkEvaluation(
+                new StringSplit(s1, Literal.of("\\|"), Literal.of(-1)),
+                Arrays.asList("a", "b", "", "c", ""), row4);
+        checkEvaluation(
+                new StringSplit(s1, Literal.of("\\|"), Literal.of(2)),
+                Arrays.asList("a", "b||c|"), row4);
+        checkEvaluation(
+                new StringSplit(s1, s2, Literal.of(3)),
+                Arrays.asList("a", "b", "|c|"), row4);
+        checkEvaluation(
+                new StringSplit(s1, Literal.of("x"), Literal.of(-1)),
+                Arrays.asList("a|b||c|"), row4);
+
         // Empty regex
         checkEvaluation(
                 new StringSplit(Literal.of("hello"), Literal.of(""), Literal.of(0)),
@@ -324,4 +360,41 @@ public class RegexpExpressionsTest extends ExpressionEvalHelper {
                 new StringSplit(Literal.of("\"quote"), Literal.of("\"quote"), Literal.of(-1))));
     }
 
+    @Test
+    public void testLinearRegexEngine() {
+        withSQLConf(SQLConf.REGEX_ENGINE, RegexEngine.LINEAR, () -> {
+            testRlikeRegularExpression();
+            testRegexReplace();
+            testRegexExtract();
+            testRegexExtractAll();
+            testRegExpInStr();
+
+            // Patterns the linear engine does not support fall back to java.util.regex.
+            checkLiteralRow(expr -> new RLike(Literal.of("abab"), expr), "^(ab)\\1$", true);
+            checkEvaluation(new RegExpExtract(Literal.of("foobar"), Literal.of("foo(?=bar)"), Literal.of(0)), "foo");
+            checkEvaluation(new RegExpReplace(Literal.of("a-b"), Literal.of("(?<x>\\w)"), Literal.of("${x}${x}")), "aa-bb");
+
+            // Catastrophic backtracking for java.util.regex.
+            String hostile = "a".repeat(5000) + "!";
+            checkEvaluation(new RLike(Literal.of(hostile), Literal.of("^(a+)+$")), false);
+            checkEvaluation(new RegExpExtract(Literal.of(hostile), Literal.of("(a|aa)+b"), Literal.of(0)), "");
+        });
+    }
+
+    @Test
+    public void testMatchersAreNotShared() {
+        // Expressions caching a matcher must be copied for every evaluator.
+        Expression s = new BoundReference(0, STRING);
+        Expression p = new BoundReference(1, STRING);
+        List<Expression> exprs = List.of(
+                new RLike(s, p),
+                new RegExpReplace(s, p, Literal.of("x")),
+                new RegExpExtract(s, p, Literal.of(0)),
+                new RegExpExtractAll(s, p, Literal.of(0)),
+                new RegExpInStr(s, p, Literal.of(0)));
+        for (Expression expr : exprs) {
+            assertNotSame(expr, expr.freshCopyIfContainsStatefulExpression(), expr.toString());
+        }
+    }
+
 }
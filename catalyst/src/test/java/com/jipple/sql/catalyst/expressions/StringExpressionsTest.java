@@ -1,19 +1,23 @@
 package com.jipple.sql.catalyst.expressions;
 
 import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
 import com.jipple.sql.catalyst.expressions.codegen.GenerateSafeProjection;
 import com.jipple.sql.catalyst.expressions.collection.Concat;
 import com.jipple.sql.catalyst.expressions.string.*;
 import com.jipple.sql.types.ArrayType;
+import com.jipple.unsafe.types.UTF8String;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static com.jipple.sql.types.DataTypes.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -127,6 +131,56 @@ public class StringExpressionsTest extends ExpressionEvalHelper {
         GenerateSafeProjection.get().generate(List.of(new StartsWith(Literal.of("\"quote"), Literal.of("\"quote"))));
     }
 
+    @Test
+    public void testFoldableNeedle() {
+        // needles long enough for the skip tables of the precomputed searcher
+        InternalRow row = createRow("GET /api/v1/items?id=1 HTTP/1.1", null);
+        BoundReference c1 = new BoundReference(0, STRING);
+        BoundReference c2 = new BoundReference(1, STRING);
+
+        for (boolean foldable : new boolean[] { true, false }) {
+            Function<String, Expression> needle =
+                    v -> foldable ? Literal.create(v, STRING) : NonFoldableLiteral.create(v, STRING);
+            checkEvaluation(new Contains(c1, needle.apply("/api/v1/items")), true, row);
+            checkEvaluation(new Contains(c1, needle.apply("/api/v2/items")), false, row);
+            checkEvaluation(new Contains(c2, needle.apply("/api/v1/items")), null, row);
+            checkEvaluation(new Contains(c1, needle.apply(null)), null, row);
+
+            checkEvaluation(new StringReplace(c1, needle.apply("/api/v1/"), Literal.of("/v2/")),
+                    "GET /v2/items?id=1 HTTP/1.1", row);
+            checkEvaluation(new StringReplace(c1, needle.apply("/api/v2/"), Literal.of("/v2/")),
+                    "GET /api/v1/items?id=1 HTTP/1.1", row);
+            checkEvaluation(new StringReplace(c1, needle.apply(null), Literal.of("/v2/")), null, row);
+
+            checkEvaluation(new SubstringIndex(c1, needle.apply("/items?"), Literal.of(1)),
+                    "GET /api/v1", row);
+            checkEvaluation(new SubstringIndex(c1, needle.apply("/items?"), Literal.of(-1)),
+                    "id=1 HTTP/1.1", row);
+            checkEvaluation(new SubstringIndex(c1, needle.apply(null), Literal.of(1)), null, row);
+        }
+    }
+
+    @Test
+    public void testSharedSearchers() {
+        // expressions searching for the same needle share one searcher
+        var ctx = new CodegenContext();
+        BoundReference c1 = new BoundReference(0, STRING);
+        new Contains(c1, Literal.of("/api/v1/")).genCode(ctx);
+        new StringReplace(c1, Literal.of("/api/v1/"), Literal.of("/v2/")).genCode(ctx);
+        new SubstringIndex(c1, Literal.of("/api/v1/"), Literal.of(1)).genCode(ctx);
+        assertEquals(1, ctx.mutableStateInitCode.size());
+        new Contains(c1, Literal.of("/api/v2/")).genCode(ctx);
+        assertEquals(2, ctx.mutableStateInitCode.size());
+
+        // needles that are not valid UTF-8, with escaped characters or too long to name the field
+        InternalRow row = createRow("a\"\\b\u00e9c".repeat(10));
+        for (UTF8String needle : new UTF8String[] {
+                UTF8String.fromBytes(new byte[] {(byte) 0xc3}), UTF8String.fromString("\"\\b\u00e9"),
+                UTF8String.fromString("a\"\\b\u00e9c".repeat(9))}) {
+            checkEvaluation(new Contains(new BoundReference(0, STRING), Literal.create(needle, STRING)), true, row);
+        }
+    }
+
     @Test
     public void testSubstring() {
         InternalRow row = createRow("example", "example".getBytes());
@@ -332,6 +386,50 @@ public class StringExpressionsTest extends ExpressionEvalHelper {
         GenerateSafeProjection.get().generate(List.of(new StringRepeat(Literal.of("\"quote"), Literal.of(2))));
     }
 
+    @Test
+    public void testMultiStringMatch() {
+        BoundReference s = new BoundReference(0, STRING);
+        List<UTF8String> contains = List.of(UTF8String.fromString("bad"), UTF8String.fromString("évil"));
+        List<UTF8String> startsWith = List.of(UTF8String.fromString("http:"));
+        List<UTF8String> endsWith = List.of(UTF8String.fromString(".exe"));
+        List<UTF8String> equalTo = List.of(UTF8String.fromString(""), UTF8String.fromString("admin"));
+        MultiStringMatch match = new MultiStringMatch(s, contains, startsWith, endsWith, equalTo);
+        Expression disjunction = match.toDisjunction();
+
+        for (String input : new String[] {"a bad word", "so évil", "http://x", "https://x", "run.exe", "run.exe2",
+                "", "admin", "admins", "harmless", null}) {
+            InternalRow row = createRow(input);
+            Object expected = evaluateWithoutCodegen(disjunction, row);
+            checkEvaluation(match, expected, row);
+        }
+        assertTrue(match.sql().contains("startswith"));
+    }
+
+    @Test
+    public void testCaseFoldedPredicates() {
+        BoundReference s = new BoundReference(0, STRING);
+        UTF8String lower = UTF8String.fromString("kelvin");
+        UTF8String upper = UTF8String.fromString("KELVIN");
+        List<CaseFoldedPredicate> predicates = List.of(
+                new EqualsIgnoreCase(s, lower, false),
+                new EqualsIgnoreCase(s, upper, true),
+                new StartsWithIgnoreCase(s, UTF8String.fromString("kel"), false),
+                new EndsWithIgnoreCase(s, UTF8String.fromString("VIN"), true),
+                new ContainsIgnoreCase(s, UTF8String.fromString("lv"), false),
+                new InSetIgnoreCase(s, List.of(lower, UTF8String.fromString("celsius")), false));
+
+        // the Kelvin sign is lower case k, the dotless i is upper case I
+        for (String input : new String[] {"kelvin", "KeLvIn", "\u212Aelvin", "kelv\u0131n", "KELVINS", "kel",
+                "", null}) {
+            InternalRow row = createRow(input);
+            for (CaseFoldedPredicate predicate : predicates) {
+                Object expected = evaluateWithoutCodegen(predicate.toConverted(), row);
+                checkEvaluation(predicate, expected, row);
+            }
+        }
+        assertTrue(predicates.get(0).sql().contains("lower"));
+    }
+
 
 
 /*
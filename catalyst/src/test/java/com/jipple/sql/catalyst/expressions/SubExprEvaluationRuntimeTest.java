@@ -0,0 +1,110 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.arithmetic.Add;
+import com.jipple.sql.catalyst.expressions.arithmetic.Multiply;
+import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
+import com.jipple.sql.catalyst.expressions.codegen.ExprCode;
+import com.jipple.sql.catalyst.expressions.condition.If;
+import com.jipple.sql.catalyst.expressions.nvl.IsNull;
+import com.jipple.sql.types.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.jipple.sql.types.DataTypes.INTEGER;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubExprEvaluationRuntimeTest extends ExpressionEvalHelper {
+
+    /**
+     * Counts how many times it has been evaluated.
+     */
+    private static class CountingExpression extends UnaryExpression {
+        int evalCount = 0;
+
+        CountingExpression(Expression child) {
+            super(child);
+        }
+
+        @Override
+        public DataType dataType() {
+            return child.dataType();
+        }
+
+        @Override
+        public Object eval(InternalRow input) {
+            evalCount++;
+            return child.eval(input);
+        }
+
+        @Override
+        protected ExprCode doGenCode(CodegenContext ctx, ExprCode ev) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Expression withNewChildInternal(Expression newChild) {
+            return new CountingExpression(newChild);
+        }
+    }
+
+    @Test
+    public void testProxyExpressions() {
+        BoundReference a = new BoundReference(0, INTEGER);
+        Expression mul = new Multiply(a, Literal.of(10));
+        SubExprEvaluationRuntime runtime = new SubExprEvaluationRuntime();
+        List<Expression> proxied = runtime.proxyExpressions(List.of(new Add(mul, Literal.of(1)), new Add(mul, Literal.of(2))));
+        for (Expression e : proxied) {
+            assertInstanceOf(ExpressionProxy.class, e.children().get(0));
+        }
+
+        List<Expression> unique = List.of(new Add(a, Literal.of(1)));
+        assertSame(unique, runtime.proxyExpressions(unique));
+    }
+
+    @Test
+    public void testCommonSubexpressionEvaluatedOncePerRow() {
+        CountingExpression counting = new CountingExpression(new BoundReference(0, INTEGER));
+        List<Expression> exprs = List.of(new Add(counting, Literal.of(1)), new Add(counting, Literal.of(2)));
+        UnsafeProjection projection = new InterpretedUnsafeProjection(exprs);
+
+        UnsafeRow row = projection.apply(createRow(10));
+        assertEquals(11, row.getInt(0));
+        assertEquals(12, row.getInt(1));
+        assertEquals(1, counting.evalCount);
+
+        row = projection.apply(createRow(20));
+        assertEquals(21, row.getInt(0));
+        assertEquals(22, row.getInt(1));
+        assertEquals(2, counting.evalCount);
+    }
+
+    @Test
+    public void testSubexpressionEliminationDisabled() {
+        withSQLConf(SQLConf.SUBEXPRESSION_ELIMINATION_ENABLED, false, () -> {
+            CountingExpression counting = new CountingExpression(new BoundReference(0, INTEGER));
+            Eval eval = new InterpretedEval(new Add(counting, counting));
+            assertEquals(20, eval.eval(createRow(10)));
+            assertEquals(2, counting.evalCount);
+        });
+    }
+
+    @Test
+    public void testConditionalBranchesNotEagerlyEvaluated() {
+        BoundReference a = new BoundReference(0, INTEGER);
+        Expression add = new Add(a, Literal.of(1));
+        // `add` in the false branch of `If` may not be evaluated, so it is not a common subexpression.
+        EquivalentExpressions equivalence = new EquivalentExpressions();
+        equivalence.addExprTree(new If(new IsNull(a), Literal.of(0), add));
+        equivalence.addExprTree(add);
+        assertTrue(equivalence.getCommonSubexpressions().isEmpty());
+
+        // It is evaluated by both branches, so it can be evaluated eagerly.
+        equivalence = new EquivalentExpressions();
+        equivalence.addExprTree(new If(new IsNull(a), add, new Multiply(add, Literal.of(2))));
+        equivalence.addExprTree(add);
+        assertEquals(List.of(add), equivalence.getCommonSubexpressions());
+    }
+}
@@ -0,0 +1,63 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.arithmetic.Add;
+import com.jipple.sql.catalyst.expressions.predicate.GreaterThan;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.jipple.sql.types.DataTypes.INTEGER;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TieredCompilationTest extends ExpressionEvalHelper {
+
+    private static void awaitSwap(long numSwapped, Runnable evaluate) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (TieredCompilation.getMetrics().numSwapped < numSwapped) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the compiled object");
+            evaluate.run();
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testTieredEval() throws Exception {
+        long swapped = TieredCompilation.getMetrics().numSwapped;
+        BoundReference a = new BoundReference(0, INTEGER);
+        Eval eval = EvalGenerator.get().createObject(new Add(a, Literal.of(1)), CodegenObjectFactoryMode.TIERED);
+        eval.open(1, 0);
+        InternalRow row = createRow(41);
+        assertEquals(42, eval.eval(row));
+        awaitSwap(swapped + 1, () -> assertEquals(42, eval.evalInt(row)));
+        assertEquals(42, eval.evalInt(row));
+        assertFalse(eval.wasNull());
+        eval.evalInt(createRow((Object) null));
+        assertTrue(eval.wasNull());
+        eval.close();
+
+        TieredCompilationMetrics metrics = TieredCompilation.getMetrics();
+        assertTrue(metrics.numSubmitted > 0);
+        assertTrue(metrics.compileTime > 0);
+        assertTrue(metrics.maxSwapLatency > 0);
+    }
+
+    @Test
+    public void testTieredPredicateAndProjection() throws Exception {
+        long swapped = TieredCompilation.getMetrics().numSwapped;
+        BoundReference a = new BoundReference(0, INTEGER);
+        Predicate predicate = PredicateGenerator.get().createObject(
+                new GreaterThan(a, Literal.of(10)), CodegenObjectFactoryMode.TIERED);
+        UnsafeProjection projection = UnsafeProjectionGenerator.get().createObject(
+                List.of(new Add(a, Literal.of(1))), CodegenObjectFactoryMode.TIERED);
+        InternalRow row = createRow(20);
+        assertTrue(predicate.eval(row));
+        assertEquals(21, projection.apply(row).getInt(0));
+        awaitSwap(swapped + 2, () -> {
+            assertTrue(predicate.eval(row));
+            assertEquals(21, projection.apply(row).getInt(0));
+        });
+        assertFalse(predicate.eval(createRow(5)));
+        assertEquals(6, projection.apply(createRow(5)).getInt(0));
+    }
+}
@@ -0,0 +1,142 @@
+package com.jipple.sql.catalyst.expressions;
+
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.codegen.CodegenContext;
+import com.jipple.sql.catalyst.expressions.codegen.GenerateUnsafeProjection;
+import com.jipple.sql.catalyst.expressions.collection.Concat;
+import com.jipple.sql.catalyst.expressions.string.ConcatWs;
+import com.jipple.sql.catalyst.expressions.string.Upper;
+import com.jipple.sql.catalyst.util.ArrayBasedMapData;
+import com.jipple.sql.catalyst.util.GenericArrayData;
+import com.jipple.sql.types.*;
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.jipple.sql.types.DataTypes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnsafeProjectionTest extends ExpressionEvalHelper {
+
+    private static final StructType NESTED_TYPE = new StructType(new StructField[]{
+            new StructField("a", INTEGER),
+            new StructField("b", STRING)
+    });
+
+    private static final DataType[] FIELD_TYPES = new DataType[]{
+            INTEGER,
+            STRING,
+            new DecimalType(10, 2),
+            new DecimalType(30, 2),
+            NESTED_TYPE,
+            new ArrayType(STRING, true),
+            new ArrayType(LONG, false),
+            new MapType(STRING, INTEGER, true)
+    };
+
+    private InternalRow createInput(String s) {
+        return InternalRow.of(
+                1,
+                UTF8String.fromString(s),
+                new Decimal().set(new BigDecimal("123.45"), 10, 2),
+                new Decimal().set(new BigDecimal("1234567890123456789012.34"), 30, 2),
+                InternalRow.of(2, UTF8String.fromString(s + "_nested")),
+                new GenericArrayData(new Object[]{UTF8String.fromString("x"), null, UTF8String.fromString(s)}),
+                new GenericArrayData(new long[]{1L, 2L, 3L}),
+                new ArrayBasedMapData(
+                        new GenericArrayData(new Object[]{UTF8String.fromString("k1"), UTF8String.fromString("k2")}),
+                        new GenericArrayData(new Object[]{10, null}))
+        );
+    }
+
+    private void checkProjection(CodegenObjectFactoryMode mode) {
+        withCodegenFactoryMode(mode, () -> {
+            UnsafeProjection projection = UnsafeProjectionGenerator.get().create(FIELD_TYPES);
+            for (String s : new String[]{"abc", "a much longer string that forces the buffer to grow"}) {
+                InternalRow input = createInput(s);
+                UnsafeRow row = projection.apply(input);
+                assertEquals(FIELD_TYPES.length, row.numFields());
+                for (int i = 0; i < FIELD_TYPES.length; i++) {
+                    DataType dt = FIELD_TYPES[i];
+                    assertTrue(checkResult(row.get(i, dt), input.get(i, dt), dt, true),
+                            "mode = " + mode + ", field " + i + ": " + row.get(i, dt));
+                }
+                // Projecting an UnsafeRow again must produce the same bytes.
+                UnsafeRow copy = row.copy();
+                assertEquals(copy, projection.apply(copy).copy());
+            }
+
+            InternalRow nulls = InternalRow.of(new Object[FIELD_TYPES.length]);
+            UnsafeRow row = projection.apply(nulls);
+            for (int i = 0; i < FIELD_TYPES.length; i++) {
+                assertTrue(row.isNullAt(i), "mode = " + mode + ", field " + i);
+            }
+        });
+    }
+
+    @Test
+    public void testInterpretedUnsafeProjection() {
+        checkProjection(CodegenObjectFactoryMode.NO_CODEGEN);
+    }
+
+    @Test
+    public void testGeneratedUnsafeProjection() {
+        checkProjection(CodegenObjectFactoryMode.CODEGEN_ONLY);
+    }
+
+    @Test
+    public void testUnsafeProjectionReusesRow() {
+        UnsafeProjection projection = UnsafeProjectionGenerator.get().create(new DataType[]{INTEGER, STRING});
+        UnsafeRow first = projection.apply(InternalRow.of(1, UTF8String.fromString("a")));
+        UnsafeRow second = projection.apply(InternalRow.of(2, UTF8String.fromString("b")));
+        assertSame(first, second);
+        assertEquals(2, second.getInt(0));
+        assertEquals(UTF8String.fromString("b"), second.getUTF8String(1));
+    }
+
+    @Test
+    public void testConcatIntoReusedBuilder() {
+        // The generated code of the top level concat and concat_ws reuses one builder across rows,
+        // while the nested concat must still return a string of its own.
+        BoundReference a = new BoundReference(0, STRING, true);
+        BoundReference b = new BoundReference(1, STRING, true);
+        List<Expression> expressions = List.of(
+                new Concat(List.of(a, Literal.of("-"), b)),
+                new ConcatWs(List.of(Literal.of(","), a, b, Literal.of("z"))),
+                new Upper(new Concat(List.of(a, b))));
+        CodegenContext ctx = new CodegenContext();
+        String code = GenerateUnsafeProjection.createCode(ctx, expressions).code + ctx.declareAddedFunctions();
+        assertEquals(2, code.split("\\.build\\(\\)", -1).length - 1, code);
+        assertFalse(code.contains("UTF8String.concatWs("), code);
+        assertTrue(code.contains("UTF8String.concat("), code);
+        UnsafeProjection projection = GenerateUnsafeProjection.get().generate(expressions, false);
+        String[][] inputs = {
+                {"a", "b"},
+                {"a much longer string that forces the buffer to grow", "c"},
+                {null, "d"},
+                {"", ""},
+                {"e", null}};
+        List<UnsafeRow> rows = new ArrayList<>();
+        for (String[] input : inputs) {
+            rows.add(projection.apply(createRow(input[0], input[1])).copy());
+        }
+        for (int i = 0; i < inputs.length; i++) {
+            String x = inputs[i][0];
+            String y = inputs[i][1];
+            UnsafeRow row = rows.get(i);
+            String concat = x == null || y == null ? null : x + y;
+            assertEquals(concat == null ? null : x + "-" + y,
+                    row.isNullAt(0) ? null : row.getUTF8String(0).toString());
+            assertEquals(Stream.of(x, y, "z").filter(Objects::nonNull).collect(Collectors.joining(",")),
+                    row.getUTF8String(1).toString());
+            assertEquals(concat == null ? null : concat.toUpperCase(),
+                    row.isNullAt(2) ? null : row.getUTF8String(2).toString());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.jipple.sql.catalyst.expressions.codegen;
+
+import com.jipple.sql.SQLConf;
+import com.jipple.sql.catalyst.expressions.ExpressionEvalHelper;
+import com.jipple.tuple.Tuple2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentClassCacheTest extends ExpressionEvalHelper {
+
+    @TempDir
+    Path dir;
+
+    private static CodeAndComment uniqueCode() {
+        // A unique body so neither the in-memory cache nor an earlier run can serve it.
+        String body = "public Object generate(Object[] references) {\n" +
+                "  return new Inner().value();\n" +
+                "}\n" +
+                "class Inner {\n" +
+                "  String value() { return \"" + UUID.randomUUID() + "\"; }\n" +
+                "}\n";
+        return new CodeAndComment(body, Map.of());
+    }
+
+    private long numEntries() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".bin")).count();
+        }
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        withSQLConf(SQLConf.CODEGEN_PERSISTENT_CACHE_DIR, dir.toString(), () -> {
+            CodeAndComment code = uniqueCode();
+            long misses = PersistentClassCache.numMisses();
+            Tuple2<GeneratedClass, ByteCodeStats> compiled = CodeGeneratorUtils.compile(code);
+            assertEquals(misses + 1, PersistentClassCache.numMisses());
+            try {
+                assertEquals(1, numEntries());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            long hits = PersistentClassCache.numHits();
+            Tuple2<GeneratedClass, ByteCodeStats> loaded = PersistentClassCache.get().load(code);
+            assertNotNull(loaded);
+            assertEquals(hits + 1, PersistentClassCache.numHits());
+            assertNotSame(compiled._1.getClass(), loaded._1.getClass());
+            assertEquals(compiled._1.generate(null), loaded._1.generate(null));
+            assertEquals(compiled._2.maxMethodCodeSize, loaded._2.maxMethodCodeSize);
+            assertEquals(compiled._2.maxConstPoolSize, loaded._2.maxConstPoolSize);
+            assertEquals(compiled._2.numInnerClasses, loaded._2.numInnerClasses);
+        });
+    }
+
+    @Test
+    public void testCorruptEntryIsAMiss() {
+        withSQLConf(SQLConf.CODEGEN_PERSISTENT_CACHE_DIR, dir.toString(), () -> {
+            CodeAndComment code = uniqueCode();
+            Path file = dir.resolve(PersistentClassCache.key(code) + ".bin");
+            try {
+                Files.write(file, new byte[]{1, 2, 3});
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            long misses = PersistentClassCache.numMisses();
+            assertNull(PersistentClassCache.get().load(code));
+            assertEquals(misses + 1, PersistentClassCache.numMisses());
+            // Compiling still works and replaces the corrupt entry.
+            assertNotNull(CodeGeneratorUtils.compile(code)._1.generate(null));
+            assertNotNull(PersistentClassCache.get().load(code));
+        });
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(SQLConf.get().codegenPersistentCacheDir());
+        assertNull(PersistentClassCache.get());
+    }
+}
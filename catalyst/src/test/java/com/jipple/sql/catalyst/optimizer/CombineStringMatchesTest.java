@@ -0,0 +1,111 @@
+package com.jipple.sql.catalyst.optimizer;
+
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.Literal;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.catalyst.expressions.predicate.EqualTo;
+import com.jipple.sql.catalyst.expressions.predicate.GreaterThan;
+import com.jipple.sql.catalyst.expressions.predicate.Or;
+import com.jipple.sql.catalyst.expressions.regexp.Like;
+import com.jipple.sql.catalyst.expressions.string.Contains;
+import com.jipple.sql.catalyst.expressions.string.EndsWith;
+import com.jipple.sql.catalyst.expressions.string.MultiStringMatch;
+import com.jipple.sql.catalyst.expressions.string.StartsWith;
+import com.jipple.sql.catalyst.optimizer.rule.CombineStringMatches;
+import com.jipple.sql.catalyst.parser.CatalystSqlParser;
+import com.jipple.sql.catalyst.plans.logical.Filter;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+import com.jipple.sql.catalyst.plans.logical.RelationPlaceholder;
+import com.jipple.sql.types.StructType;
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CombineStringMatchesTest {
+    private final List<Attribute> output = ((StructType) CatalystSqlParser.getInstance()
+            .parseDataType("struct<a:string, b:string, x:int>")).toAttributes();
+    private final Attribute a = output.get(0);
+    private final Attribute b = output.get(1);
+    private final Attribute x = output.get(2);
+    private final RelationPlaceholder relation = new RelationPlaceholder(output, "tbl");
+
+    private static Expression or(Expression... disjuncts) {
+        Expression result = disjuncts[0];
+        for (int i = 1; i < disjuncts.length; i++) {
+            result = new Or(result, disjuncts[i]);
+        }
+        return result;
+    }
+
+    private static List<UTF8String> strings(String... values) {
+        return Arrays.stream(values).map(UTF8String::fromString).toList();
+    }
+
+    private Expression optimize(Expression condition) {
+        LogicalPlan plan = new CombineStringMatches().apply(new Filter(condition, relation));
+        return ((Filter) plan).condition;
+    }
+
+    @Test
+    public void testCombinePredicatesOnSameString() {
+        Expression condition = or(
+                new Contains(a, Literal.of("x")),
+                new GreaterThan(x, Literal.of(1)),
+                new StartsWith(a, Literal.of("y")),
+                new Contains(b, Literal.of("x")),
+                new EndsWith(a, Literal.of("z")),
+                new EqualTo(Literal.of("w"), a),
+                new Contains(a, Literal.of("x")));
+        Expression expected = or(
+                new MultiStringMatch(a, strings("x"), strings("y"), strings("z"), strings("w")),
+                new GreaterThan(x, Literal.of(1)),
+                new Contains(b, Literal.of("x")));
+        assertEquals(expected, optimize(condition));
+    }
+
+    @Test
+    public void testBelowThreshold() {
+        Expression condition = or(
+                new Contains(a, Literal.of("x")),
+                new StartsWith(a, Literal.of("y")),
+                new Contains(b, Literal.of("x")),
+                new Contains(b, Literal.of("y")));
+        assertEquals(condition, optimize(condition));
+        // Duplicate patterns are only counted once.
+        Expression duplicates = or(
+                new Contains(a, Literal.of("x")),
+                new Contains(a, Literal.of("x")),
+                new Contains(a, Literal.of("x")),
+                new Contains(a, Literal.of("y")));
+        assertEquals(duplicates, optimize(duplicates));
+    }
+
+    @Test
+    public void testMergeIntoExistingMatch() {
+        Expression condition = or(
+                new MultiStringMatch(a, strings("x", "y"), List.of(), List.of(), strings("z", "w")),
+                new Contains(a, Literal.of("v")));
+        assertEquals(
+                new MultiStringMatch(a, strings("x", "y", "v"), List.of(), List.of(), strings("z", "w")),
+                optimize(condition));
+    }
+
+    @Test
+    public void testSimplifiedLikePatterns() {
+        Expression condition = or(
+                new Like(a, Literal.of("%x%")),
+                new Like(a, Literal.of("y%")),
+                new Like(a, Literal.of("%z")),
+                new Like(a, Literal.of("w")),
+                new Like(a, Literal.of("%u%v%")));
+        LogicalPlan plan = new Optimizer().execute(new Filter(condition, relation));
+        Expression expected = or(
+                new MultiStringMatch(a, strings("x"), strings("y"), strings("z"), strings("w")),
+                new Like(a, Literal.of("%u%v%")));
+        assertEquals(expected, ((Filter) plan).condition);
+    }
+}
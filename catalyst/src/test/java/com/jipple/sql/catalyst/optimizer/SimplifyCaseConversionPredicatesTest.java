@@ -0,0 +1,87 @@
+package com.jipple.sql.catalyst.optimizer;
+
+import com.jipple.sql.catalyst.expressions.Expression;
+import com.jipple.sql.catalyst.expressions.Literal;
+import com.jipple.sql.catalyst.expressions.named.Attribute;
+import com.jipple.sql.catalyst.expressions.predicate.EqualTo;
+import com.jipple.sql.catalyst.expressions.predicate.In;
+import com.jipple.sql.catalyst.expressions.predicate.InSet;
+import com.jipple.sql.catalyst.expressions.regexp.Like;
+import com.jipple.sql.catalyst.expressions.string.*;
+import com.jipple.sql.catalyst.optimizer.rule.SimplifyCaseConversionPredicates;
+import com.jipple.sql.catalyst.parser.CatalystSqlParser;
+import com.jipple.sql.catalyst.plans.logical.Filter;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+import com.jipple.sql.catalyst.plans.logical.RelationPlaceholder;
+import com.jipple.sql.types.StructType;
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static com.jipple.sql.types.DataTypes.STRING;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimplifyCaseConversionPredicatesTest {
+    private final List<Attribute> output = ((StructType) CatalystSqlParser.getInstance()
+            .parseDataType("struct<a:string, b:string>")).toAttributes();
+    private final Attribute a = output.get(0);
+    private final Attribute b = output.get(1);
+    private final RelationPlaceholder relation = new RelationPlaceholder(output, "tbl");
+
+    private static UTF8String string(String value) {
+        return UTF8String.fromString(value);
+    }
+
+    private static List<UTF8String> strings(String... values) {
+        return Arrays.stream(values).map(UTF8String::fromString).toList();
+    }
+
+    private Expression optimize(Expression condition) {
+        LogicalPlan plan = new SimplifyCaseConversionPredicates().apply(new Filter(condition, relation));
+        return ((Filter) plan).condition;
+    }
+
+    @Test
+    public void testComparisons() {
+        assertEquals(new EqualsIgnoreCase(a, string("abc"), false),
+                optimize(new EqualTo(new Lower(a), Literal.of("abc"))));
+        assertEquals(new EqualsIgnoreCase(a, string("ABC"), true),
+                optimize(new EqualTo(Literal.of("ABC"), new Upper(a))));
+        assertEquals(new StartsWithIgnoreCase(a, string("ab"), false),
+                optimize(new StartsWith(new Lower(a), Literal.of("ab"))));
+        assertEquals(new EndsWithIgnoreCase(a, string("AB"), true),
+                optimize(new EndsWith(new Upper(a), Literal.of("AB"))));
+        assertEquals(new ContainsIgnoreCase(a, string("ab"), false),
+                optimize(new Contains(new Lower(a), Literal.of("ab"))));
+    }
+
+    @Test
+    public void testInLists() {
+        assertEquals(new InSetIgnoreCase(a, strings("x", "y"), false),
+                optimize(new In(new Lower(a), List.of(Literal.of("x"), Literal.of("y"), Literal.of("x")))));
+        assertEquals(new InSetIgnoreCase(a, strings("X", "Y", "Z"), true),
+                optimize(new InSet(new Upper(a), Set.of(string("Z"), string("X"), string("Y")))));
+        // a null in the list makes the result null instead of false
+        Expression withNull = new In(new Lower(a), List.of(Literal.of("x"), Literal.create(null, STRING)));
+        assertEquals(withNull, optimize(withNull));
+    }
+
+    @Test
+    public void testNotSimplified() {
+        Expression noConversion = new EqualTo(a, Literal.of("abc"));
+        assertEquals(noConversion, optimize(noConversion));
+        Expression noLiteral = new EqualTo(new Lower(a), b);
+        assertEquals(noLiteral, optimize(noLiteral));
+        Expression nullLiteral = new StartsWith(new Lower(a), Literal.create(null, STRING));
+        assertEquals(nullLiteral, optimize(nullLiteral));
+    }
+
+    @Test
+    public void testSimplifiedLikePatterns() {
+        LogicalPlan plan = new Optimizer().execute(new Filter(new Like(new Lower(a), Literal.of("%ab%")), relation));
+        assertEquals(new ContainsIgnoreCase(a, string("ab"), false), ((Filter) plan).condition);
+    }
+}
@@ -0,0 +1,105 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaseFoldedMatcherTest {
+
+    private static List<UTF8String> strings(String... values) {
+        List<UTF8String> result = new ArrayList<>();
+        for (String value : values) {
+            result.add(UTF8String.fromString(value));
+        }
+        return result;
+    }
+
+    private static boolean matches(
+            CaseFoldedMatcher.Comparison comparison, List<UTF8String> patterns, boolean upper, String s) {
+        return CaseFoldedMatcher.compile(comparison, patterns, upper).matches(UTF8String.fromString(s));
+    }
+
+    @Test
+    void asciiStrings() {
+        List<UTF8String> lower = strings("abc");
+        assertTrue(matches(CaseFoldedMatcher.Comparison.EQUAL_TO, lower, false, "aBC"));
+        assertFalse(matches(CaseFoldedMatcher.Comparison.EQUAL_TO, lower, false, "aBCd"));
+        assertTrue(matches(CaseFoldedMatcher.Comparison.STARTS_WITH, lower, false, "ABCD"));
+        assertFalse(matches(CaseFoldedMatcher.Comparison.STARTS_WITH, lower, false, "AB"));
+        assertTrue(matches(CaseFoldedMatcher.Comparison.ENDS_WITH, lower, false, "xAbc"));
+        assertFalse(matches(CaseFoldedMatcher.Comparison.ENDS_WITH, lower, false, "Abcx"));
+        assertTrue(matches(CaseFoldedMatcher.Comparison.CONTAINS, lower, false, "xxABcxx"));
+        assertFalse(matches(CaseFoldedMatcher.Comparison.CONTAINS, lower, false, "xxAB-cxx"));
+        // the converted string never has the other case
+        assertFalse(matches(CaseFoldedMatcher.Comparison.EQUAL_TO, strings("Abc"), false, "Abc"));
+        assertTrue(matches(CaseFoldedMatcher.Comparison.EQUAL_TO, strings("ABC"), true, "abC"));
+        assertTrue(matches(CaseFoldedMatcher.Comparison.CONTAINS, strings(""), true, ""));
+    }
+
+    @Test
+    void nonAsciiStrings() {
+        // the Kelvin sign is lower case k, the dotless i is upper case I
+        assertTrue(matches(CaseFoldedMatcher.Comparison.EQUAL_TO, strings("kelvin"), false, "\u212Aelvin"));
+        assertTrue(matches(CaseFoldedMatcher.Comparison.STARTS_WITH, strings("SI"), true, "sır"));
+        assertTrue(matches(CaseFoldedMatcher.Comparison.CONTAINS, strings("été"), false, "L'ÉTÉ"));
+        assertFalse(matches(CaseFoldedMatcher.Comparison.ENDS_WITH, strings("ete"), false, "ÉTÉ"));
+    }
+
+    @Test
+    void manyEqualPatterns() {
+        List<UTF8String> patterns = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            patterns.add(UTF8String.fromString("value" + i));
+        }
+        CaseFoldedMatcher matcher = CaseFoldedMatcher.compile(CaseFoldedMatcher.Comparison.EQUAL_TO, patterns, false);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(matcher.matches(UTF8String.fromString("VALUE" + i)));
+            assertFalse(matcher.matches(UTF8String.fromString("VALUE" + (i + 100))));
+        }
+        assertFalse(CaseFoldedMatcher.compile(CaseFoldedMatcher.Comparison.EQUAL_TO, List.of(), false)
+                .matches(UTF8String.fromString("value")));
+    }
+
+    @Test
+    void randomStrings() {
+        Random random = new Random(42);
+        String alphabet = "aAbBéÉıI\u212Ak";
+        for (int i = 0; i < 2000; i++) {
+            boolean upper = random.nextBoolean();
+            CaseFoldedMatcher.Comparison comparison =
+                    CaseFoldedMatcher.Comparison.values()[random.nextInt(4)];
+            List<String> patterns = new ArrayList<>();
+            for (int j = random.nextInt(3) + 1; j > 0; j--) {
+                String pattern = randomString(random, alphabet, random.nextInt(4));
+                patterns.add(upper ? pattern.toUpperCase() : pattern.toLowerCase());
+            }
+            String s = randomString(random, random.nextBoolean() ? "aAbB" : alphabet, random.nextInt(8));
+            UTF8String converted = upper
+                    ? UTF8String.fromString(s).toUpperCase() : UTF8String.fromString(s).toLowerCase();
+            BiPredicate<UTF8String, UTF8String> op = switch (comparison) {
+                case EQUAL_TO -> UTF8String::equals;
+                case STARTS_WITH -> UTF8String::startsWith;
+                case ENDS_WITH -> UTF8String::endsWith;
+                case CONTAINS -> UTF8String::contains;
+            };
+            List<UTF8String> utf8Patterns = strings(patterns.toArray(new String[0]));
+            boolean expected = utf8Patterns.stream().anyMatch(p -> op.test(converted, p));
+            assertEquals(expected, matches(comparison, utf8Patterns, upper, s),
+                    comparison + " " + patterns + " on " + (upper ? "upper" : "lower") + "('" + s + "')");
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastTimestampFormatterTest {
+    private static final List<ZoneId> ZONES = List.of(
+            ZoneOffset.UTC,
+            ZoneOffset.ofHoursMinutes(5, 30),
+            ZoneId.of("America/New_York"),
+            // LMT offsets in seconds before 1901
+            ZoneId.of("Asia/Shanghai"));
+
+    /**
+     * Returns the result of a formatter call, or the class of the exception it throws.
+     */
+    private static Object result(Function<String, Object> f, String s) {
+        try {
+            return f.apply(s);
+        } catch (Exception e) {
+            return e.getClass();
+        }
+    }
+
+    private static void checkParse(FastTimestampFormatter fast, Iso8601TimestampFormatter generic, String s) {
+        String clue = fast.layout() + " '" + s + "'";
+        UTF8String utf8 = UTF8String.fromString(s);
+        assertEquals(result(generic::parse, s), result(x -> fast.parse(utf8), s), clue);
+        assertEquals(result(generic::parse, s), result(fast::parse, s), clue);
+        for (boolean allowTimeZone : new boolean[] {true, false}) {
+            assertEquals(result(x -> generic.parseWithoutTimeZone(x, allowTimeZone), s),
+                    result(x -> fast.parseWithoutTimeZone(utf8, allowTimeZone), s), clue);
+        }
+    }
+
+    @Test
+    void selectedByPattern() {
+        for (FastTimestampFormatter.Layout layout : FastTimestampFormatter.Layout.values()) {
+            TimestampFormatter formatter = TimestampFormatter.getFormatter(layout.pattern, ZoneOffset.UTC);
+            assertEquals(layout, ((FastTimestampFormatter) formatter).layout());
+        }
+        assertInstanceOf(FastTimestampFormatter.class, TimestampFormatter.getFormatter(ZoneOffset.UTC));
+        assertFalse(TimestampFormatter.getFormatter("yyyy/MM/dd", ZoneOffset.UTC) instanceof FastTimestampFormatter);
+    }
+
+    @Test
+    void sameAsGenericFormatter() {
+        Random random = new Random(42);
+        for (FastTimestampFormatter.Layout layout : FastTimestampFormatter.Layout.values()) {
+            for (ZoneId zone : ZONES) {
+                FastTimestampFormatter fast = new FastTimestampFormatter(layout, zone, TimestampFormatter.DEFAULT_LOCALE);
+                Iso8601TimestampFormatter generic = new Iso8601TimestampFormatter(layout.pattern, zone);
+                for (int i = 0; i < 300; i++) {
+                    // mostly years 1 to 9999, some outside of them
+                    long micros = i % 10 == 0
+                            ? random.nextLong() % 400_000_000_000_000_000L
+                            : Math.floorMod(random.nextLong(), 315_000_000_000_000_000L) - 62_000_000_000_000_000L;
+                    String formatted = generic.format(micros);
+                    assertEquals(formatted, fast.format(micros), layout + " " + zone + " " + micros);
+                    assertEquals(UTF8String.fromString(formatted), fast.formatUTF8(micros));
+                    checkParse(fast, generic, formatted);
+                }
+            }
+        }
+    }
+
+    @Test
+    void sameAsGenericParser() {
+        String[] inputs = {
+                "2024-02-29 12:34:56", "2023-02-29 12:34:56", "2024-04-31 00:00:00", "2024-13-01 00:00:00",
+                "2024-01-01 24:00:00", "2024-01-01 23:60:00", "2024-01-01 23:59:60", "0000-01-01 00:00:00",
+                "0001-01-01 00:00:00", "9999-12-31 23:59:59", "+12024-01-01 00:00:00", "2024-1-01 00:00:00",
+                "2024-01-01 00:00:00 ", "2024-01-01T00:00:00", "2024-01-01 00:00:00.123", "2024-01-01 00:00:00.12",
+                "2024-01-01 00:00:00.1234", "2024-01-01 00:00:00,123", "20240101123456", "20241301123456",
+                "2024010112345", "202401011234567", "2024-01-01", "2024-01-01T00:00:00Z", "2024-01-01T00:00:00+08:00",
+                "2024-01-01T00:00:00-00:00", "2024-01-01T00:00:00+18:00", "2024-01-01T00:00:00+18:01",
+                "2024-01-01T00:00:00+0800", "2024-01-01T00:00:00+08", "2024-01-01T00:00:00.999-03:30",
+                "2024-01-01T00:00:00.999Z", "2024-03-10 02:30:00", "2024-11-03 01:30:00", "２０24-01-01 00:00:00", ""};
+        for (FastTimestampFormatter.Layout layout : FastTimestampFormatter.Layout.values()) {
+            for (ZoneId zone : ZONES) {
+                FastTimestampFormatter fast = new FastTimestampFormatter(layout, zone, TimestampFormatter.DEFAULT_LOCALE);
+                Iso8601TimestampFormatter generic = new Iso8601TimestampFormatter(layout.pattern, zone);
+                for (String input : inputs) {
+                    checkParse(fast, generic, input);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.collection.Option;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.BoundReference;
+import com.jipple.sql.catalyst.expressions.datetime.DateFormatClass;
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+import static com.jipple.sql.types.DataTypes.STRING;
+import static com.jipple.sql.types.DataTypes.TIMESTAMP;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatterCacheTest {
+    private static final ZoneId UTC = ZoneOffset.UTC;
+
+    @Test
+    void reusesFormattersByPatternZoneAndLocale() {
+        TimestampFormatter formatter = FormatterCache.getTimestampFormatter("yyyy/MM/dd", UTC);
+        assertSame(formatter, FormatterCache.getTimestampFormatter("yyyy/MM/dd", UTC));
+        assertNotSame(formatter, FormatterCache.getTimestampFormatter("yyyy/MM/dd", ZoneId.of("Asia/Tokyo")));
+        assertNotSame(formatter, FormatterCache.getTimestampFormatter("yyyy/MM/dd", UTC, Locale.FRANCE));
+        assertNotSame(formatter, FormatterCache.getTimestampFormatter("yyyy-MM-dd", UTC));
+        assertInstanceOf(DefaultTimestampFormatter.class, FormatterCache.getTimestampFormatter(UTC));
+        assertSame(FormatterCache.getDateFormatter(), FormatterCache.getDateFormatter());
+        assertNotSame(FormatterCache.getDateFormatter(), FormatterCache.getDateFormatter("yyyy/MM/dd", Locale.US));
+        assertEquals("2024/01/02", formatter.format(1704153600000000L));
+    }
+
+    @Test
+    void invalidPatternsAreNotCached() {
+        long size = FormatterCache.metrics().size;
+        assertThrows(IllegalArgumentException.class, () -> FormatterCache.getTimestampFormatter("yyyy-MM-dd'", UTC));
+        assertEquals(size, FormatterCache.metrics().size);
+    }
+
+    @Test
+    void boundedSize() {
+        for (int i = 0; i < FormatterCache.MAX_ENTRIES + 100; i++) {
+            FormatterCache.getTimestampFormatter("'" + i + "' yyyy", UTC);
+        }
+        FormatterCacheMetrics metrics = FormatterCache.metrics();
+        assertTrue(metrics.size <= FormatterCache.MAX_ENTRIES, metrics.toString());
+        assertTrue(metrics.evictionCount > 0, metrics.toString());
+    }
+
+    @Test
+    void formatFromColumn() {
+        DateFormatClass dateFormat = new DateFormatClass(
+                new BoundReference(0, TIMESTAMP, true), new BoundReference(1, STRING, true), Option.some("UTC"));
+        FormatterCacheMetrics before = FormatterCache.metrics();
+        String[] formats = {"yyyy-MM-dd", "HH:mm", "yyyy-MM-dd"};
+        String[] expected = {"2024-01-02", "03:04", "2024-01-02"};
+        for (int i = 0; i < 100; i++) {
+            InternalRow row = InternalRow.of(1704164640000000L, UTF8String.fromString(formats[i % 3]));
+            assertEquals(UTF8String.fromString(expected[i % 3]), dateFormat.eval(row));
+        }
+        FormatterCacheMetrics after = FormatterCache.metrics();
+        assertTrue(after.missCount - before.missCount <= 2, after.toString());
+        assertTrue(after.hitCount - before.hitCount >= 98, after.toString());
+        assertTrue(after.hitRate() > 0.0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LikeMatcherTest {
+
+    private static boolean like(String str, String pattern) {
+        return LikeMatcher.compile(pattern, '\\').matches(UTF8String.fromString(str));
+    }
+
+    @Test
+    void multiSegmentPatterns() {
+        assertTrue(like("xxfooyybarzzbaz", "%foo%bar%baz"));
+        assertTrue(like("foobarbaz", "%foo%bar%baz"));
+        assertFalse(like("foobazbar", "%foo%bar%baz"));
+        assertFalse(like("foobarbazx", "%foo%bar%baz"));
+        assertTrue(like("abcabc", "a%c%c"));
+        assertFalse(like("abc", "a%c%c"));
+        // The last segment must not overlap the first one.
+        assertFalse(like("a", "a%a"));
+        assertTrue(like("aa", "a%a"));
+        assertTrue(like("anything", "%"));
+        assertTrue(like("", "%%"));
+    }
+
+    @Test
+    void anyCharMatchesOneCodePoint() {
+        assertTrue(like("a€b", "a_b"));
+        assertTrue(like("a😀b", "a_b"));
+        assertFalse(like("a😀b", "a__b"));
+        assertTrue(like("x€y€z", "%€_€%"));
+        assertTrue(like("€€", "%_"));
+        assertTrue(like("€", "_%"));
+        assertFalse(like("", "_%"));
+    }
+
+    @Test
+    void escapes() {
+        assertTrue(like("50%", "50\\%"));
+        assertFalse(like("500", "50\\%"));
+        assertTrue(like("a_b", "a\\_b"));
+        assertTrue(LikeMatcher.compile("a/%", '/').matches(UTF8String.fromString("a%")));
+        assertThrows(IllegalArgumentException.class, () -> LikeMatcher.compile("a\\b", '\\'));
+        assertThrows(IllegalArgumentException.class, () -> LikeMatcher.compile("a\\", '\\'));
+    }
+
+    @Test
+    void agreesWithRegex() {
+        Random random = new Random(7);
+        char[] patternChars = {'a', 'b', '€', '%', '_'};
+        char[] inputChars = {'a', 'b', '€', '\n'};
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder pattern = new StringBuilder();
+            for (int j = random.nextInt(7); j > 0; j--) {
+                pattern.append(patternChars[random.nextInt(patternChars.length)]);
+            }
+            StringBuilder input = new StringBuilder();
+            for (int j = random.nextInt(9); j > 0; j--) {
+                input.append(inputChars[random.nextInt(inputChars.length)]);
+            }
+            boolean expected = Pattern.compile(StringUtils.escapeLikeRegex(pattern.toString(), '\\'))
+                    .matcher(input).matches();
+            assertEquals(expected, like(input.toString(), pattern.toString()),
+                    "'" + input + "' LIKE '" + pattern + "'");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.jipple.sql.catalyst.util;
+
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiStringMatcherTest {
+
+    private static List<UTF8String> strings(String... values) {
+        List<UTF8String> result = new ArrayList<>();
+        for (String value : values) {
+            result.add(UTF8String.fromString(value));
+        }
+        return result;
+    }
+
+    private static boolean expected(
+            String s, List<String> contains, List<String> startsWith, List<String> endsWith, List<String> equalTo) {
+        return contains.stream().anyMatch(s::contains)
+                || startsWith.stream().anyMatch(s::startsWith)
+                || endsWith.stream().anyMatch(s::endsWith)
+                || equalTo.contains(s);
+    }
+
+    @Test
+    void containsOverlappingPatterns() {
+        MultiStringMatcher matcher = MultiStringMatcher.compile(
+                strings("he", "she", "his", "hers"), List.of(), List.of(), List.of());
+        assertTrue(matcher.matches(UTF8String.fromString("ushers")));
+        assertTrue(matcher.matches(UTF8String.fromString("xxhisxx")));
+        // Reached through a failure link from "hi".
+        assertTrue(matcher.matches(UTF8String.fromString("xhhe")));
+        assertFalse(matcher.matches(UTF8String.fromString("hhixs")));
+        assertFalse(matcher.matches(UTF8String.fromString("")));
+    }
+
+    @Test
+    void anchoredPatterns() {
+        MultiStringMatcher matcher = MultiStringMatcher.compile(
+                List.of(), strings("ab", "€x"), strings("yz", "bc"), strings("abc", "q"));
+        assertTrue(matcher.matches(UTF8String.fromString("abxxx")));
+        assertTrue(matcher.matches(UTF8String.fromString("€xz")));
+        assertFalse(matcher.matches(UTF8String.fromString("xab")));
+        assertTrue(matcher.matches(UTF8String.fromString("xxyz")));
+        assertTrue(matcher.matches(UTF8String.fromString("abc")));
+        assertFalse(matcher.matches(UTF8String.fromString("bcx")));
+        assertTrue(matcher.matches(UTF8String.fromString("q")));
+        assertFalse(matcher.matches(UTF8String.fromString("qq")));
+        assertFalse(matcher.matches(UTF8String.fromString("a")));
+        assertFalse(matcher.matches(UTF8String.fromString("")));
+    }
+
+    @Test
+    void emptyPatterns() {
+        UTF8String empty = UTF8String.fromString("");
+        UTF8String a = UTF8String.fromString("a");
+        for (int kind = 0; kind < 3; kind++) {
+            List<List<UTF8String>> lists = new ArrayList<>(List.of(List.of(), List.of(), List.of(), List.of()));
+            lists.set(kind, strings(""));
+            MultiStringMatcher matcher = MultiStringMatcher.compile(lists.get(0), lists.get(1), lists.get(2), lists.get(3));
+            assertTrue(matcher.matches(empty));
+            assertTrue(matcher.matches(a));
+        }
+        MultiStringMatcher equalToEmpty = MultiStringMatcher.compile(List.of(), List.of(), List.of(), strings(""));
+        assertTrue(equalToEmpty.matches(empty));
+        assertFalse(equalToEmpty.matches(a));
+        assertFalse(MultiStringMatcher.compile(List.of(), List.of(), List.of(), List.of()).matches(a));
+    }
+
+    @Test
+    void randomPatterns() {
+        Random random = new Random(42);
+        String alphabet = "abcé€";
+        for (int i = 0; i < 200; i++) {
+            List<List<String>> patterns = new ArrayList<>();
+            for (int kind = 0; kind < 4; kind++) {
+                List<String> list = new ArrayList<>();
+                int numPatterns = random.nextInt(4);
+                for (int j = 0; j < numPatterns; j++) {
+                    list.add(randomString(random, alphabet, 1 + random.nextInt(4)));
+                }
+                patterns.add(list);
+            }
+            MultiStringMatcher matcher = MultiStringMatcher.compile(
+                    strings(patterns.get(0).toArray(new String[0])),
+                    strings(patterns.get(1).toArray(new String[0])),
+                    strings(patterns.get(2).toArray(new String[0])),
+                    strings(patterns.get(3).toArray(new String[0])));
+            for (int j = 0; j < 50; j++) {
+                String s = randomString(random, alphabet, random.nextInt(10));
+                assertEquals(
+                        expected(s, patterns.get(0), patterns.get(1), patterns.get(2), patterns.get(3)),
+                        matcher.matches(UTF8String.fromString(s)),
+                        "input = " + s + ", patterns = " + patterns);
+            }
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.jipple.sql.catalyst.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static com.jipple.sql.catalyst.util.DateTimeConstants.MICROS_PER_SECOND;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneOffsetTableTest {
+    // 1800 to 2300, beyond the default years of the tables
+    private static final long MIN_SECOND = -5364662400L;
+    private static final long MAX_SECOND = 10413792000L;
+
+    private static List<ZoneId> zones(Random random) {
+        List<ZoneId> zones = new ArrayList<>(List.of(
+                ZoneOffset.UTC,
+                ZoneOffset.ofHoursMinutes(-9, -30),
+                ZoneId.of("UTC"),
+                ZoneId.of("America/Los_Angeles"),
+                ZoneId.of("Europe/London"),
+                ZoneId.of("Australia/Lord_Howe"),
+                ZoneId.of("Asia/Shanghai"),
+                ZoneId.of("Pacific/Apia")));
+        List<String> ids = new ArrayList<>(new TreeSet<>(ZoneId.getAvailableZoneIds()));
+        for (int i = 0; i < 40; i++) {
+            zones.add(ZoneId.of(ids.get(random.nextInt(ids.size()))));
+        }
+        return zones;
+    }
+
+    /**
+     * Returns random seconds, half of them around the transitions of the zone.
+     */
+    private static List<Long> seconds(Random random, ZoneId zoneId) {
+        List<Long> seconds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            seconds.add(MIN_SECOND + (long) (random.nextDouble() * (MAX_SECOND - MIN_SECOND)));
+        }
+        ZoneOffsetTransition t = zoneId.getRules().nextTransition(Instant.ofEpochSecond(MIN_SECOND));
+        for (int i = 0; i < 300 && t != null && t.toEpochSecond() < MAX_SECOND; i++) {
+            for (long delta = -2 * 3600; delta <= 2 * 3600; delta += 900) {
+                seconds.add(t.toEpochSecond() + delta);
+                seconds.add(t.toEpochSecond() + delta + random.nextInt(900));
+            }
+            t = zoneId.getRules().nextTransition(t.getInstant());
+        }
+        return seconds;
+    }
+
+    private static void checkTable(ZoneOffsetTable table, List<Long> seconds) {
+        ZoneId zoneId = table.zoneId();
+        for (long s : seconds) {
+            String clue = table + " at " + s;
+            Instant instant = Instant.ofEpochSecond(s);
+            assertEquals(zoneId.getRules().getOffset(instant).getTotalSeconds(), table.offsetAtUtc(s), clue);
+
+            LocalDateTime local = LocalDateTime.ofEpochSecond(s, 0, ZoneOffset.UTC);
+            assertEquals(ZonedDateTime.of(local, zoneId).toEpochSecond(), table.localToUtc(s), clue);
+            for (ZoneOffsetTransition t : new ZoneOffsetTransition[] {
+                    zoneId.getRules().previousTransition(instant), zoneId.getRules().nextTransition(instant)}) {
+                if (t == null) {
+                    continue;
+                }
+                for (ZoneOffset preferred : new ZoneOffset[] {t.getOffsetBefore(), t.getOffsetAfter()}) {
+                    assertEquals(ZonedDateTime.ofLocal(local, zoneId, preferred).toEpochSecond(),
+                            table.localToUtc(s, preferred.getTotalSeconds()), clue + " preferring " + preferred);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMatchesZoneRules() {
+        Random random = new Random(42);
+        for (ZoneId zoneId : zones(random)) {
+            List<Long> seconds = seconds(random, zoneId);
+            checkTable(ZoneOffsetTable.of(zoneId), seconds);
+            checkTable(ZoneOffsetTable.build(zoneId, 1990, 2010), seconds);
+        }
+    }
+
+    @Test
+    void testMicros() {
+        ZoneOffsetTable table = ZoneOffsetTable.of(ZoneId.of("America/Los_Angeles"));
+        // 2019-03-10 02:30:00.123456 does not exist, it is 03:30 PDT
+        long local = LocalDateTime.of(2019, 3, 10, 2, 30).toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + 123456;
+        long expected = LocalDateTime.of(2019, 3, 10, 10, 30).toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + 123456;
+        assertEquals(expected, table.localToUtcMicros(local));
+        assertEquals(local + 3600 * MICROS_PER_SECOND, table.utcToLocalMicros(expected));
+        // before the epoch, the fraction belongs to the second before
+        assertEquals(8 * 3600 * MICROS_PER_SECOND - 1, table.localToUtcMicros(-1));
+        assertThrows(ArithmeticException.class, () -> table.utcToLocalMicros(Long.MIN_VALUE));
+    }
+
+    @Test
+    void testDaysToMicrosMatchesStartOfDay() {
+        // e.g. 1919-03-31 starts at 00:30 in America/Toronto, right after the transition from 23:30
+        long minDay = LocalDate.of(ZoneOffsetTable.MIN_YEAR - 1, 12, 1).toEpochDay();
+        long maxDay = LocalDate.of(ZoneOffsetTable.MAX_YEAR + 1, 2, 1).toEpochDay();
+        for (String id : new TreeSet<>(ZoneId.getAvailableZoneIds())) {
+            ZoneId zoneId = ZoneId.of(id);
+            for (long day = minDay; day <= maxDay; day++) {
+                LocalDate date = LocalDate.ofEpochDay(day);
+                assertEquals(JippleDateTimeUtils.instantToMicros(date.atStartOfDay(zoneId).toInstant()),
+                        JippleDateTimeUtils.daysToMicros((int) day, zoneId), id + " " + date);
+            }
+        }
+    }
+
+    @Test
+    void testDateTimeUtils() {
+        Random random = new Random(7);
+        for (ZoneId zoneId : zones(random)) {
+            for (long s : seconds(random, zoneId)) {
+                long micros = s * MICROS_PER_SECOND + random.nextInt((int) MICROS_PER_SECOND);
+                ZonedDateTime zoned = Instant.ofEpochSecond(s, Math.floorMod(micros, MICROS_PER_SECOND) * 1000).atZone(zoneId);
+                String clue = zoned.toString();
+                int days = (int) zoned.toLocalDate().toEpochDay();
+                assertEquals(days, JippleDateTimeUtils.microsToDays(micros, zoneId), clue);
+                assertEquals(JippleDateTimeUtils.instantToMicros(zoned.toLocalDate().atStartOfDay(zoneId).toInstant()),
+                        JippleDateTimeUtils.daysToMicros(days, zoneId), clue);
+                assertEquals(JippleDateTimeUtils.instantToMicros(zoned.truncatedTo(ChronoUnit.HOURS).toInstant()),
+                        JippleDateTimeUtils.truncTimestamp(micros, JippleDateTimeUtils.TRUNC_TO_HOUR, zoneId), clue);
+                assertEquals(JippleDateTimeUtils.instantToMicros(zoned.truncatedTo(ChronoUnit.DAYS).toInstant()),
+                        JippleDateTimeUtils.truncTimestamp(micros, JippleDateTimeUtils.TRUNC_TO_DAY, zoneId), clue);
+                ZonedDateTime converted = zoned.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime().atZone(zoneId);
+                assertEquals(JippleDateTimeUtils.instantToMicros(converted.toInstant()),
+                        JippleDateTimeUtils.convertTz(micros, zoneId, ZoneOffset.UTC), clue);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.jipple.sql.catalyst.util.regex;
+
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinearRegexMatcherTest {
+
+    private static final String[] PATTERNS = {
+            "", "a", "abc", "a|b", "a*", "a+", "a?", "a*?", "a+?", "a??", "(a)", "(a)|(b)", "(a|ab)(c|bcd)(d*)",
+            "(a+)(b+)?", "(a*)?", "x*", "^a", "a$", "^$", "^", "$", "\\Aab", "b\\z", "b\\Z", ".", ".+",
+            "[abc]+", "[^abc]+", "[a-c]{2}", "[a-]", "[-a]", "a{2,3}", "a{2,}", "a{0,2}?", "(?:ab)+", "(ab|a)(bc|c)",
+            "\\d+", "\\D", "\\s+", "\\S+", "\\w+", "\\W", "[\\d\\s]+", "\\.", "\\Q.*\\E", "\\x41", "\\u00e9",
+            "é+", "😀", ".😀.", "[é😀]", "\\t", "a.c", "(a(b(c)))", "(a|b)*c", "c(a|b)*?",
+            "\\Qab\\E+", "\\Qab\\E{2}", "(\\Qab\\E)+", "a\\Q\\Eb", "\\Qa|b",
+    };
+
+    private static final String[] INPUTS = {
+            "", "a", "b", "ab", "abc", "aaa", "abcabc", "xaybzc", "aab\n", "ab\r\n", "b\n", "b\r", "a ", "\n",
+            "a\nb", "12 ab_c", "A.*", "éé😀é", "a😀b😀c", "\tabcd", "abbbbcd", "bcbcbc", "-a-", "xabbb", "a|b",
+    };
+
+    private static RegexMatcher linear(String regex) {
+        LinearRegex linear = LinearRegex.compile(regex);
+        assertNotNull(linear, regex);
+        return new LinearRegexMatcher(linear, Pattern.compile(regex));
+    }
+
+    private static List<String> findAll(RegexMatcher matcher, UTF8String input) {
+        List<String> results = new ArrayList<>();
+        matcher.reset(input);
+        while (matcher.find()) {
+            StringBuilder sb = new StringBuilder().append(matcher.start());
+            for (int i = 0; i <= matcher.groupCount(); i++) {
+                sb.append('|').append(matcher.group(i));
+            }
+            results.add(sb.toString());
+        }
+        return results;
+    }
+
+    private static void checkSameResults(String regex, String input) {
+        RegexMatcher expected = new JavaRegexMatcher(Pattern.compile(regex));
+        RegexMatcher actual = new LinearRegexMatcher(LinearRegex.compile(regex), Pattern.compile(regex));
+        UTF8String s = UTF8String.fromString(input);
+        String clue = "regex = " + regex + ", input = " + input;
+        assertEquals(expected.containsMatch(s), actual.containsMatch(s), clue);
+        if (input.codePoints().anyMatch(Character::isSupplementaryCodePoint)) {
+            // java.util.regex also starts searches in the middle of surrogate pairs.
+            return;
+        }
+        assertEquals(findAll(expected, s), findAll(actual, s), clue);
+        String replacement = actual.groupCount() > 0 ? "<$1\\$>" : "<$0>";
+        for (int position : new int[] {0, 1, 3}) {
+            assertEquals(expected.reset(s).replaceAll(position, replacement),
+                    actual.reset(s).replaceAll(position, replacement), clue + ", position = " + position);
+        }
+    }
+
+    @Test
+    public void testSameResultsAsJavaRegex() {
+        for (String regex : PATTERNS) {
+            assertNotNull(LinearRegex.compile(regex), regex);
+            for (String input : INPUTS) {
+                checkSameResults(regex, input);
+            }
+        }
+        // Supplementary characters are matched as one character.
+        RegexMatcher matcher = linear(".(😀)");
+        assertTrue(matcher.reset(UTF8String.fromString("éé😀é")).find());
+        assertEquals(1, matcher.start());
+        assertEquals(UTF8String.fromString("😀"), matcher.group(1));
+        assertEquals(UTF8String.fromString("a😀<b😀>c"),
+                matcher.reset(UTF8String.fromString("a😀b😀c")).replaceAll(3, "<$0>"));
+    }
+
+    @Test
+    public void testRandomPatterns() {
+        Random random = new Random(42);
+        String[] atoms = {"a", "b", "é", ".", "[ab]", "[^a]", "(a|b)", "(ab|a)", "(b*)", "$", "^"};
+        String[] quantifiers = {"", "", "*", "+", "?", "*?", "{1,2}"};
+        for (int i = 0; i < 500; i++) {
+            StringBuilder regex = new StringBuilder();
+            int numAtoms = 1 + random.nextInt(4);
+            for (int j = 0; j < numAtoms; j++) {
+                String atom = atoms[random.nextInt(atoms.length)];
+                regex.append(atom);
+                if (!atom.equals("$") && !atom.equals("^")) {
+                    regex.append(quantifiers[random.nextInt(quantifiers.length)]);
+                }
+            }
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                input.append("abé\n".charAt(random.nextInt(4)));
+            }
+            if (LinearRegex.compile(regex.toString()) != null) {
+                checkSameResults(regex.toString(), input.toString());
+            }
+        }
+    }
+
+    private static String randomRegex(Random random, int depth) {
+        String[] atoms = {"a", "b", "1", ".", "[ab]", "[^a]", "\\d", "^", "$", "\\A", "\\z", "\\Z"};
+        String[] quantifiers = {"*", "+", "?", "*?", "+?", "??", "{0,}", "{1,}", "{2}", "{0,2}", "{1,2}?", "{2,}"};
+        StringBuilder regex = new StringBuilder();
+        int numTerms = 1 + random.nextInt(3);
+        for (int i = 0; i < numTerms; i++) {
+            String term;
+            if (depth < 3 && random.nextInt(3) == 0) {
+                String alternatives = randomRegex(random, depth + 1);
+                if (random.nextBoolean()) {
+                    alternatives += "|" + (random.nextBoolean() ? "" : randomRegex(random, depth + 1));
+                }
+                term = (random.nextBoolean() ? "(" : "(?:") + alternatives + ")";
+            } else {
+                term = atoms[random.nextInt(atoms.length)];
+            }
+            regex.append(term);
+            if (random.nextBoolean() && !term.startsWith("^") && !term.startsWith("$") && !term.startsWith("\\A")
+                    && !term.startsWith("\\z") && !term.startsWith("\\Z")) {
+                regex.append(quantifiers[random.nextInt(quantifiers.length)]);
+            }
+        }
+        return regex.toString();
+    }
+
+    @Test
+    public void testRandomNestedPatterns() {
+        // Anchors, reluctant quantifiers and groups nested in repetitions, where a backtracking engine
+        // reports matches and groups an automaton could easily get wrong.
+        Random random = new Random(13);
+        int compiled = 0;
+        for (int i = 0; i < 20000; i++) {
+            String regex = randomRegex(random, 0);
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                input.append("ab1_\n".charAt(random.nextInt(5)));
+            }
+            if (LinearRegex.compile(regex) != null) {
+                compiled++;
+                checkSameResults(regex, input.toString());
+            }
+        }
+        assertTrue(compiled > 5000, "only " + compiled + " patterns are supported");
+    }
+
+    @Test
+    public void testUnsupportedPatterns() {
+        for (String regex : new String[] {"(a)\\1", "a(?=b)", "a(?!b)", "(?<=a)b", "(?<!a)b", "(?i)a", "a*+",
+                "(?<name>a)", "(?>a)", "\\ba", "\\p{L}", "[a[b]]", "[a&&b]", "\\0101", "a{1,20000}", "(a*)*", "(b|)+",
+                "(?:a*)*", "(?:a|)+", "(?:^|.)+", "(?:\\A|\\d)+", "x(?:b*?)*", "(?:^\\A.?){2}", "((a)|b)+",
+                "(?:(b)){0,}b", "(?:([^a])+){2}", "(?:x(b))*xb"}) {
+            assertNull(LinearRegex.compile(regex), regex);
+            assertInstanceOf(JavaRegexMatcher.class, RegexMatcher.compile(regex, RegexEngine.LINEAR), regex);
+        }
+        assertInstanceOf(LinearRegexMatcher.class, RegexMatcher.compile("a+b", RegexEngine.LINEAR));
+        assertInstanceOf(JavaRegexMatcher.class, RegexMatcher.compile("a+b", RegexEngine.JAVA));
+        assertThrows(java.util.regex.PatternSyntaxException.class,
+                () -> RegexMatcher.compile("(a", RegexEngine.LINEAR));
+    }
+
+    @Test
+    public void testReplacementFallback() {
+        UTF8String input = UTF8String.fromString("a-b");
+        RegexMatcher matcher = linear("(\\w)");
+        assertEquals(UTF8String.fromString("[a]-[b]"), matcher.reset(input).replaceAll(0, "[$1]"));
+        // Group references that java.util.regex rejects are rejected the same way.
+        assertThrows(IndexOutOfBoundsException.class, () -> matcher.reset(input).replaceAll(0, "$2"));
+        assertThrows(IllegalArgumentException.class, () -> matcher.reset(input).replaceAll(0, "${x}"));
+        assertThrows(IllegalArgumentException.class, () -> matcher.reset(input).replaceAll(0, "a\\"));
+    }
+
+    @Test
+    public void testLinearTime() {
+        // Each of these takes exponential time with java.util.regex.
+        String input = "a".repeat(100_000) + "!";
+        UTF8String s = UTF8String.fromString(input);
+        assertFalse(linear("^(a+)+$").containsMatch(s));
+        assertFalse(linear("(a|aa)+b").reset(s).find());
+        RegexMatcher matcher = linear("(a|a)*!");
+        assertTrue(matcher.reset(s).find());
+        assertEquals(0, matcher.start());
+        assertEquals(UTF8String.fromString("a"), matcher.group(1));
+    }
+
+    @Test
+    public void testDfaCacheOverflow() {
+        // The DFA of this pattern has 2^13 states, more than the cache can hold.
+        RegexMatcher matcher = linear("[ab]*a[ab]{12}c");
+        Random random = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            StringBuilder input = new StringBuilder();
+            for (int j = 0; j < 5000; j++) {
+                input.append(random.nextBoolean() ? 'a' : 'b');
+            }
+            if (i % 2 == 0) {
+                input.append('c');
+            }
+            boolean expected = i % 2 == 0 && input.charAt(input.length() - 14) == 'a';
+            assertEquals(expected, matcher.containsMatch(UTF8String.fromString(input.toString())));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.jipple.sql.execution;
+
+import com.jipple.sql.JippleSession;
+import com.jipple.sql.catalyst.InternalRow;
+import com.jipple.sql.catalyst.expressions.CodegenObjectFactoryMode;
+import com.jipple.sql.catalyst.parser.CatalystSqlParser;
+import com.jipple.sql.catalyst.plans.logical.LogicalPlan;
+import com.jipple.sql.types.StructField;
+import com.jipple.sql.types.StructType;
+import com.jipple.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.jipple.sql.types.DataTypes.INTEGER;
+import static com.jipple.sql.types.DataTypes.STRING;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowProcessorTest {
+    private static final StructType SCHEMA = (StructType) CatalystSqlParser.getInstance()
+            .parseDataType("struct<a:int, s:string, x:bigint>");
+
+    private static final List<InternalRow> INPUT = List.of(
+            InternalRow.of(1, UTF8String.fromString("abc"), 10L),
+            InternalRow.of(2, UTF8String.fromString("de"), 20L),
+            InternalRow.of(3, null, 30L),
+            InternalRow.of(null, UTF8String.fromString("fgh"), 40L),
+            InternalRow.of(4, UTF8String.fromString("ijkl"), 50L)
+    );
+
+    private List<String> run(LogicalPlan plan, CodegenObjectFactoryMode mode) throws Exception {
+        return run(plan, mode, INPUT);
+    }
+
+    private List<String> run(LogicalPlan plan, CodegenObjectFactoryMode mode, List<InternalRow> input)
+            throws Exception {
+        RowProcessor processor = RowProcessorGenerator.get().createObject(plan, mode);
+        if (mode == CodegenObjectFactoryMode.CODEGEN_ONLY) {
+            assertFalse(processor instanceof InterpretedRowProcessor);
+        }
+        List<String> result = new ArrayList<>();
+        processor.open(1, 0);
+        for (InternalRow row : input) {
+            processor.process(row, r -> {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < r.numFields(); i++) {
+                    if (i > 0) {
+                        sb.append(",");
+                    }
+                    sb.append(r.isNullAt(i) ? "null" : r.get(i, plan.output().get(i).dataType()));
+                }
+                result.add(sb.toString());
+            });
+        }
+        processor.close();
+        return result;
+    }
+
+    private void checkPlan(String sql, List<String> expected) throws Exception {
+        LogicalPlan plan = JippleSession.get().sqlPlan(sql, SCHEMA);
+        assertEquals(expected, run(plan, CodegenObjectFactoryMode.NO_CODEGEN), sql);
+        assertEquals(expected, run(plan, CodegenObjectFactoryMode.CODEGEN_ONLY), sql);
+    }
+
+    @Test
+    void testProjectFilter() throws Exception {
+        checkPlan("select a + 1 b, substr(s, 1, 2) c, x from tbl where x > 15",
+                List.of("3,de,20", "4,null,30", "null,fg,40", "5,ij,50"));
+        checkPlan("select s from tbl where a is null or a > 3", List.of("fgh", "ijkl"));
+        checkPlan("select a, s from tbl", List.of("1,abc", "2,de", "3,null", "null,fgh", "4,ijkl"));
+    }
+
+    @Test
+    void testCommonSubexpressions() throws Exception {
+        checkPlan("select a * 10 + 1 b, a * 10 + 2 c from tbl where a * 10 + 1 > 15 and substr(s, 2, 1) is not null",
+                List.of("21,22", "41,42"));
+    }
+
+    @Test
+    void testConditionalSubexpressions() throws Exception {
+        // The pattern "(a" is invalid, so the rlike fails if it is evaluated for the row where a = 1.
+        String rlike = "s rlike substr('(ab', a, 2)";
+        checkPlan("select a, " + rlike + " m from tbl where a > 1 and " + rlike, List.of("4,true"));
+        checkPlan("select a, " + rlike + " m from (select a, s from tbl where a < 2 or " + rlike + ") t where a > 1",
+                List.of("4,true"));
+        checkPlan("select " + rlike + " m, not " + rlike + " n from tbl where if(a > 1, " + rlike + ", false)",
+                List.of("true,false"));
+    }
+
+    @Test
+    void testNonNullableColumns() throws Exception {
+        StructType schema = new StructType(new StructField[]{
+                new StructField("a", INTEGER, false), new StructField("s", STRING, false)});
+        LogicalPlan plan = JippleSession.get().sqlPlan("select a + 1 b, s from tbl where a > 1", schema);
+        assertFalse(plan.output().get(1).nullable());
+        List<InternalRow> input = List.of(
+                InternalRow.of(1, UTF8String.fromString("abc")),
+                InternalRow.of(2, UTF8String.fromString("de")));
+        for (CodegenObjectFactoryMode mode : CodegenObjectFactoryMode.values()) {
+            assertEquals(List.of("3,de"), run(plan, mode, input), mode.toString());
+        }
+    }
+
+    @Test
+    void testNestedQuery() throws Exception {
+        checkPlan("select b, c from (select a + 1 b, substr(s, 1, 1) c from tbl where x < 50) t where b % 2 = 0",
+                List.of("2,a", "4,null"));
+    }
+}
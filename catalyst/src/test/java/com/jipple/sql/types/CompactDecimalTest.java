@@ -0,0 +1,105 @@
+package com.jipple.sql.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CompactDecimalTest {
+
+    private static long randomUnscaled(Random random, int precision) {
+        long bound = Decimal.POW_10[random.nextInt(precision) + 1];
+        long value = random.nextBoolean() ? random.nextLong() % bound : random.nextInt(1000) % bound;
+        return random.nextInt(10) == 0 ? 0 : value;
+    }
+
+    private static void checkOperation(String name, CompactDecimal.Operation compact,
+                                       BiFunction<Decimal, Decimal, Decimal> operation,
+                                       Decimal x, Decimal y, int precision, int scale) {
+        // operands of the result scale only overflow a long if the result does not fit
+        boolean exactOverflow = x.scale() == scale && y.scale() == scale
+                && (name.equals("add") || name.equals("subtract") || name.equals("remainder"));
+        String clue = name + "(" + x.toDebugString() + ", " + y.toDebugString() + ") to "
+                + precision + ", " + scale;
+        Decimal expected = operation.apply(x, y);
+        expected = expected == null ? null : expected.toPrecision(precision, scale, Decimal.ROUND_HALF_UP, true);
+        long unscaled = compact.apply(x.toUnscaledLong(), x.scale(), y.toUnscaledLong(), y.scale(), precision, scale);
+        if (unscaled != CompactDecimal.OVERFLOW) {
+            assertEquals(expected, Decimal.createUnsafe(unscaled, precision, scale), clue);
+            assertEquals(expected.toUnscaledLong(), unscaled, clue);
+        } else if (exactOverflow) {
+            assertNull(expected, clue);
+        }
+    }
+
+    @Test
+    public void testMatchesDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int precision = random.nextInt(Decimal.MAX_LONG_DIGITS) + 1;
+            int scale = random.nextInt(precision + 1);
+            int xScale = random.nextBoolean() ? scale : random.nextInt(precision + 1);
+            int yScale = random.nextBoolean() ? scale : random.nextInt(precision + 1);
+            Decimal x = Decimal.createUnsafe(randomUnscaled(random, precision), precision, xScale);
+            Decimal y = Decimal.createUnsafe(randomUnscaled(random, precision), precision, yScale);
+            checkOperation("add", CompactDecimal::add, Decimal::plus, x, y, precision, scale);
+            checkOperation("subtract", CompactDecimal::subtract, Decimal::minus, x, y, precision, scale);
+            checkOperation("multiply", CompactDecimal::multiply, Decimal::times, x, y, precision, scale);
+            if (!y.isZero()) {
+                checkOperation("divide", CompactDecimal::divide, Decimal::div, x, y, precision, scale);
+                checkOperation("remainder", CompactDecimal::remainder, Decimal::remainder, x, y, precision, scale);
+            }
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        long max = Decimal.POW_10[18] - 1;
+        assertEquals(CompactDecimal.OVERFLOW, CompactDecimal.add(max, 4, 1, 4, 18, 4));
+        assertEquals(max, CompactDecimal.add(max - 1, 4, 1, 4, 18, 4));
+        assertEquals(-max, CompactDecimal.subtract(-max + 1, 4, 1, 4, 18, 4));
+        assertEquals(CompactDecimal.OVERFLOW, CompactDecimal.subtract(-max, 4, 1, 4, 18, 4));
+    }
+
+    @Test
+    public void testRescale() {
+        for (long unscaled : List.of(0L, 1L, -1L, 5L, -5L, 15L, -15L, 12345L, -12345L,
+                Long.MAX_VALUE, Long.MIN_VALUE + 1, 4999999999999999999L, 5000000000000000000L)) {
+            for (int fromScale = 0; fromScale <= 25; fromScale++) {
+                for (int scale : new int[] {0, 1, 4, 18}) {
+                    BigDecimal expected = new BigDecimal(BigDecimal.valueOf(unscaled).unscaledValue(), fromScale)
+                            .setScale(scale, RoundingMode.HALF_UP);
+                    long result = CompactDecimal.rescale(unscaled, fromScale, 18, scale);
+                    String clue = unscaled + " at " + fromScale + " to " + scale;
+                    if (expected.precision() > 18) {
+                        assertEquals(CompactDecimal.OVERFLOW, result, clue);
+                    } else {
+                        assertEquals(expected.unscaledValue().longValueExact(), result, clue);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testToUnscaledLong() {
+        Decimal compact = new Decimal(new BigDecimal("123.456"), 10, 3);
+        assertEquals(12346L, compact.toUnscaledLong(10, 2));
+        assertEquals(1234560L, compact.toUnscaledLong(10, 4));
+        assertEquals(CompactDecimal.OVERFLOW, compact.toUnscaledLong(4, 2));
+        // the decimal itself is not changed
+        assertEquals(3, compact.scale());
+        assertEquals(123456L, compact.toUnscaledLong());
+
+        Decimal expanded = new Decimal(new BigDecimal("12345678901234567890.5"), 30, 1);
+        assertEquals(CompactDecimal.OVERFLOW, expanded.toUnscaledLong(18, 0));
+        Decimal small = new Decimal(new BigDecimal("-1234.5"), 30, 1);
+        assertEquals(-1235L, small.toUnscaledLong(18, 0));
+    }
+}
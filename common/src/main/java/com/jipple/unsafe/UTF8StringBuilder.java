@@ -76,10 +76,21 @@ public class UTF8StringBuilder {
     cursor += length;
   }
 
+  /**
+   * Returns the appended bytes as a [[UTF8String]], which shares the buffer of this builder.
+   */
   public UTF8String build() {
     return UTF8String.fromBytes(buffer, 0, totalSize());
   }
 
+  /**
+   * Discards the appended bytes to build another string in the same buffer. The strings built
+   * before share the buffer, so they must not be used anymore.
+   */
+  public void reset() {
+    cursor = Platform.BYTE_ARRAY_OFFSET;
+  }
+
   public void appendCodePoint(int codePoint) {
     if (codePoint <= 0x7F) {
       grow(1);
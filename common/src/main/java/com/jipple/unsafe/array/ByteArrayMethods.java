@@ -1,6 +1,5 @@
 package com.jipple.unsafe.array;
 
-import com.jipple.unsafe.Platform;
 
 import static com.jipple.unsafe.Platform.BYTE_ARRAY_OFFSET;
 
@@ -25,47 +24,17 @@ public class ByteArrayMethods {
     return numBytes + ((8 - remainder) & 0x7);
   }
 
+  private static final ByteKernels KERNELS = ByteKernels.get();
+
   public static final int MAX_ROUNDED_ARRAY_LENGTH = ByteArrayUtils.MAX_ROUNDED_ARRAY_LENGTH;
 
-  private static final boolean unaligned = Platform.unaligned();
   /**
    * Optimized byte array equality check for byte arrays.
    * @return true if the arrays are equal, false otherwise
    */
   public static boolean arrayEquals(
       Object leftBase, long leftOffset, Object rightBase, long rightOffset, final long length) {
-    int i = 0;
-
-    // check if stars align and we can get both offsets to be aligned
-    if (!unaligned && ((leftOffset % 8) == (rightOffset % 8))) {
-      while ((leftOffset + i) % 8 != 0 && i < length) {
-        if (Platform.getByte(leftBase, leftOffset + i) !=
-            Platform.getByte(rightBase, rightOffset + i)) {
-              return false;
-        }
-        i += 1;
-      }
-    }
-    // for architectures that support unaligned accesses, chew it up 8 bytes at a time
-    if (unaligned || (((leftOffset + i) % 8 == 0) && ((rightOffset + i) % 8 == 0))) {
-      while (i <= length - 8) {
-        if (Platform.getLong(leftBase, leftOffset + i) !=
-            Platform.getLong(rightBase, rightOffset + i)) {
-              return false;
-        }
-        i += 8;
-      }
-    }
-    // this will finish off the unaligned comparisons, or do the entire aligned
-    // comparison whichever is needed.
-    while (i < length) {
-      if (Platform.getByte(leftBase, leftOffset + i) !=
-          Platform.getByte(rightBase, rightOffset + i)) {
-            return false;
-      }
-      i += 1;
-    }
-    return true;
+    return KERNELS.equals(leftBase, leftOffset, rightBase, rightOffset, length);
   }
 
   public static boolean contains(byte[] arr, byte[] sub) {
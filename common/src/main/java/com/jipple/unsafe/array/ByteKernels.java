@@ -0,0 +1,162 @@
+package com.jipple.unsafe.array;
+
+import com.jipple.unsafe.Platform;
+
+/**
+ * The byte loops behind the [[com.jipple.unsafe.types.UTF8String]] methods that scan whole
+ * strings, such as `contains`, `numChars` or `toUpperCaseAscii`, and behind
+ * [[ByteArrayMethods#arrayEquals]].
+ *
+ * This class is the portable scalar implementation. When the `jdk.incubator.vector` module is
+ * available, e.g. with `--add-modules jdk.incubator.vector`, [[#get()]] returns an implementation
+ * using the Vector API instead, which processes a whole SIMD register of bytes per iteration.
+ * Setting the system property `jipple.unsafe.vectorized` to `false` disables it.
+ *
+ * Memory is addressed like [[Platform]], by a base object and an offset, and positions are
+ * relative to the offset. Both implementations return the same results for all inputs.
+ */
+public class ByteKernels {
+  private static final boolean unaligned = Platform.unaligned();
+  private static final ByteKernels SCALAR = new ByteKernels();
+  private static final ByteKernels VECTORIZED = loadVectorized();
+  private static final ByteKernels INSTANCE =
+      VECTORIZED != null && Boolean.parseBoolean(System.getProperty("jipple.unsafe.vectorized", "true"))
+          ? VECTORIZED : SCALAR;
+
+  ByteKernels() {
+  }
+
+  private static ByteKernels loadVectorized() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return null;
+    }
+    try {
+      return (ByteKernels) Class.forName("com.jipple.unsafe.array.VectorByteKernels")
+          .getMethod("create")
+          .invoke(null);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+
+  /** Returns the implementation in use. */
+  public static ByteKernels get() {
+    return INSTANCE;
+  }
+
+  /** Returns the scalar implementation. */
+  public static ByteKernels scalar() {
+    return SCALAR;
+  }
+
+  /** Returns the Vector API implementation, or null if it is not available on this JVM. */
+  public static ByteKernels vectorized() {
+    return VECTORIZED;
+  }
+
+  /**
+   * Returns the position of the first negative, i.e. non-ASCII, byte in [from, to), or `to`.
+   */
+  public int firstNonAscii(Object base, long offset, int from, int to) {
+    int i = from;
+    while (i < to && Platform.getByte(base, offset + i) >= 0) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Returns the first position `i` in [from, to) where the byte at `i` is `first` and the byte
+   * at `i + distance` is `last`, or -1. Bytes up to `to + distance` must be readable.
+   */
+  public int indexOfPair(Object base, long offset, int from, int to, byte first, byte last, int distance) {
+    for (int i = from; i < to; i++) {
+      if (Platform.getByte(base, offset + i) == first
+          && Platform.getByte(base, offset + i + distance) == last) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the position of the first byte in [from, to) that is not `b`, or `to`.
+   */
+  public int skip(Object base, long offset, int from, int to, byte b) {
+    int i = from;
+    while (i < to && Platform.getByte(base, offset + i) == b) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Returns the position of the last byte in [from, to) that is not `b`, or `from - 1`.
+   */
+  public int skipBackward(Object base, long offset, int from, int to, byte b) {
+    int i = to - 1;
+    while (i >= from && Platform.getByte(base, offset + i) == b) {
+      i--;
+    }
+    return i;
+  }
+
+  /**
+   * Copies `length` bytes into `target`, converting the ASCII lower case letters to upper case.
+   */
+  public void toUpperCaseAscii(Object base, long offset, byte[] target, int length) {
+    for (int i = 0; i < length; i++) {
+      byte b = Platform.getByte(base, offset + i);
+      target[i] = b >= 'a' && b <= 'z' ? (byte) (b - 32) : b;
+    }
+  }
+
+  /**
+   * Copies `length` bytes into `target`, converting the ASCII upper case letters to lower case.
+   */
+  public void toLowerCaseAscii(Object base, long offset, byte[] target, int length) {
+    for (int i = 0; i < length; i++) {
+      byte b = Platform.getByte(base, offset + i);
+      target[i] = b >= 'A' && b <= 'Z' ? (byte) (b + 32) : b;
+    }
+  }
+
+  /**
+   * Returns whether the two byte ranges are equal.
+   */
+  public boolean equals(
+      Object leftBase, long leftOffset, Object rightBase, long rightOffset, final long length) {
+    int i = 0;
+
+    // check if stars align and we can get both offsets to be aligned
+    if (!unaligned && ((leftOffset % 8) == (rightOffset % 8))) {
+      while ((leftOffset + i) % 8 != 0 && i < length) {
+        if (Platform.getByte(leftBase, leftOffset + i) !=
+            Platform.getByte(rightBase, rightOffset + i)) {
+              return false;
+        }
+        i += 1;
+      }
+    }
+    // for architectures that support unaligned accesses, chew it up 8 bytes at a time
+    if (unaligned || (((leftOffset + i) % 8 == 0) && ((rightOffset + i) % 8 == 0))) {
+      while (i <= length - 8) {
+        if (Platform.getLong(leftBase, leftOffset + i) !=
+            Platform.getLong(rightBase, rightOffset + i)) {
+              return false;
+        }
+        i += 8;
+      }
+    }
+    // this will finish off the unaligned comparisons, or do the entire aligned
+    // comparison whichever is needed.
+    while (i < length) {
+      if (Platform.getByte(leftBase, leftOffset + i) !=
+          Platform.getByte(rightBase, rightOffset + i)) {
+            return false;
+      }
+      i += 1;
+    }
+    return true;
+  }
+}
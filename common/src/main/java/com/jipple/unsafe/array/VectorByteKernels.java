@@ -0,0 +1,155 @@
+package com.jipple.unsafe.array;
+
+import com.jipple.unsafe.Platform;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.jipple.unsafe.Platform.BYTE_ARRAY_OFFSET;
+
+/**
+ * [[ByteKernels]] implemented with the incubating Vector API. Only on-heap byte arrays are
+ * vectorized, other memory and the tails shorter than one vector go through the scalar loops.
+ *
+ * This class must only be loaded through [[ByteKernels#vectorized()]], since it cannot be linked
+ * when the `jdk.incubator.vector` module is not resolved.
+ */
+final class VectorByteKernels extends ByteKernels {
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+  private static final int LENGTH = SPECIES.length();
+
+  private VectorByteKernels() {
+  }
+
+  /**
+   * Returns the kernels, or null if the vectors of this platform are too narrow to beat the
+   * scalar loops.
+   */
+  public static ByteKernels create() {
+    return LENGTH >= 16 ? new VectorByteKernels() : null;
+  }
+
+  @Override
+  public int firstNonAscii(Object base, long offset, int from, int to) {
+    if (base instanceof byte[] bytes) {
+      int start = (int) (offset - BYTE_ARRAY_OFFSET);
+      int i = from;
+      for (; i <= to - LENGTH; i += LENGTH) {
+        VectorMask<Byte> negative = ByteVector.fromArray(SPECIES, bytes, start + i).lt((byte) 0);
+        if (negative.anyTrue()) {
+          return i + negative.firstTrue();
+        }
+      }
+      return super.firstNonAscii(base, offset, i, to);
+    }
+    return super.firstNonAscii(base, offset, from, to);
+  }
+
+  @Override
+  public int indexOfPair(Object base, long offset, int from, int to, byte first, byte last, int distance) {
+    if (base instanceof byte[] bytes) {
+      int start = (int) (offset - BYTE_ARRAY_OFFSET);
+      ByteVector firsts = ByteVector.broadcast(SPECIES, first);
+      ByteVector lasts = ByteVector.broadcast(SPECIES, last);
+      int i = from;
+      for (; i <= to - LENGTH; i += LENGTH) {
+        VectorMask<Byte> candidates = ByteVector.fromArray(SPECIES, bytes, start + i).eq(firsts)
+            .and(ByteVector.fromArray(SPECIES, bytes, start + i + distance).eq(lasts));
+        if (candidates.anyTrue()) {
+          return i + candidates.firstTrue();
+        }
+      }
+      return super.indexOfPair(base, offset, i, to, first, last, distance);
+    }
+    return super.indexOfPair(base, offset, from, to, first, last, distance);
+  }
+
+  @Override
+  public int skip(Object base, long offset, int from, int to, byte b) {
+    // most strings have nothing to skip, which the first byte tells cheaper than a vector
+    if (from < to && Platform.getByte(base, offset + from) != b) {
+      return from;
+    }
+    if (base instanceof byte[] bytes) {
+      int start = (int) (offset - BYTE_ARRAY_OFFSET);
+      int i = from;
+      for (; i <= to - LENGTH; i += LENGTH) {
+        VectorMask<Byte> others = ByteVector.fromArray(SPECIES, bytes, start + i)
+            .compare(VectorOperators.NE, b);
+        if (others.anyTrue()) {
+          return i + others.firstTrue();
+        }
+      }
+      return super.skip(base, offset, i, to, b);
+    }
+    return super.skip(base, offset, from, to, b);
+  }
+
+  @Override
+  public int skipBackward(Object base, long offset, int from, int to, byte b) {
+    if (from < to && Platform.getByte(base, offset + to - 1) != b) {
+      return to - 1;
+    }
+    if (base instanceof byte[] bytes) {
+      int start = (int) (offset - BYTE_ARRAY_OFFSET);
+      int i = to;
+      for (; i - LENGTH >= from; i -= LENGTH) {
+        VectorMask<Byte> others = ByteVector.fromArray(SPECIES, bytes, start + i - LENGTH)
+            .compare(VectorOperators.NE, b);
+        if (others.anyTrue()) {
+          return i - LENGTH + others.lastTrue();
+        }
+      }
+      return super.skipBackward(base, offset, from, i, b);
+    }
+    return super.skipBackward(base, offset, from, to, b);
+  }
+
+  @Override
+  public void toUpperCaseAscii(Object base, long offset, byte[] target, int length) {
+    convertCase(base, offset, target, length, (byte) 'a', (byte) 'z', (byte) -32);
+  }
+
+  @Override
+  public void toLowerCaseAscii(Object base, long offset, byte[] target, int length) {
+    convertCase(base, offset, target, length, (byte) 'A', (byte) 'Z', (byte) 32);
+  }
+
+  private void convertCase(
+      Object base, long offset, byte[] target, int length, byte low, byte high, byte delta) {
+    int i = 0;
+    if (base instanceof byte[] bytes) {
+      int start = (int) (offset - BYTE_ARRAY_OFFSET);
+      for (; i <= length - LENGTH; i += LENGTH) {
+        ByteVector v = ByteVector.fromArray(SPECIES, bytes, start + i);
+        VectorMask<Byte> letters = v.compare(VectorOperators.GE, low)
+            .and(v.compare(VectorOperators.LE, high));
+        v.lanewise(VectorOperators.ADD, delta, letters).intoArray(target, i);
+      }
+    }
+    for (; i < length; i++) {
+      byte b = Platform.getByte(base, offset + i);
+      target[i] = b >= low && b <= high ? (byte) (b + delta) : b;
+    }
+  }
+
+  @Override
+  public boolean equals(
+      Object leftBase, long leftOffset, Object rightBase, long rightOffset, final long length) {
+    if (length >= LENGTH && leftBase instanceof byte[] left && rightBase instanceof byte[] right) {
+      int leftStart = (int) (leftOffset - BYTE_ARRAY_OFFSET);
+      int rightStart = (int) (rightOffset - BYTE_ARRAY_OFFSET);
+      int i = 0;
+      for (; i <= length - LENGTH; i += LENGTH) {
+        if (ByteVector.fromArray(SPECIES, left, leftStart + i)
+            .compare(VectorOperators.NE, ByteVector.fromArray(SPECIES, right, rightStart + i))
+            .anyTrue()) {
+          return false;
+        }
+      }
+      return super.equals(leftBase, leftOffset + i, rightBase, rightOffset + i, length - i);
+    }
+    return super.equals(leftBase, leftOffset, rightBase, rightOffset, length);
+  }
+}
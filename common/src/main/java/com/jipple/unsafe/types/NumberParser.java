@@ -0,0 +1,302 @@
+package com.jipple.unsafe.types;
+
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+
+import com.jipple.unsafe.Platform;
+
+/**
+ * Parses numbers from the bytes of [[UTF8String]]s, without decoding them to Java strings.
+ *
+ * Integers are read eight digits at a time: eight bytes are loaded as one little-endian long,
+ * checked to be ASCII digits and converted to their value with three multiplications (SWAR, SIMD
+ * within a register) instead of eight iterations of a byte loop.
+ *
+ * Decimal floating-point numbers of up to [[#MAX_DIGITS]] significant digits are converted to the
+ * same value as [[Double#parseDouble]] and [[Float#parseFloat]] return: by a single exact
+ * floating-point operation when both the digits and the power of ten are exact (Clinger's fast
+ * path), otherwise by the Eisel-Lemire algorithm, which multiplies the digits by a truncated
+ * 128-bit power of five and only needs the JDK when the result is subnormal or infinite.
+ * Everything else, e.g. longer mantissas, hexadecimal or special literals, is left to the JDK.
+ */
+final class NumberParser {
+  /** Significant digits that always fit in an unsigned long. */
+  static final int MAX_DIGITS = 19;
+
+  private static final boolean IS_LITTLE_ENDIAN =
+    ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final float[] FLOAT_POWERS_OF_TEN = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
+  // Powers of ten beyond these are zero or infinite in doubles, whatever the digits.
+  private static final int SMALLEST_POWER_OF_TEN = -342;
+  private static final int LARGEST_POWER_OF_TEN = 308;
+  // The 128 most significant bits of 5^q, as pairs of high and low longs, see [[#powersOfFive]].
+  private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+  private NumberParser() {
+  }
+
+  /**
+   * Reads the eight bytes of the string from `offset` as a little-endian long, the first byte in
+   * the lowest bits.
+   */
+  static long readEightBytes(UTF8String s, int offset) {
+    long word = Platform.getLong(s.getBaseObject(), s.getBaseOffset() + offset);
+    return IS_LITTLE_ENDIAN ? word : Long.reverseBytes(word);
+  }
+
+  /**
+   * Returns whether all bytes of a little-endian long are the ASCII digits '0' to '9'.
+   */
+  static boolean isEightDigits(long word) {
+    // The high nibble of every byte must be 3, and must still be 3 after adding 6 to the byte.
+    long highNibbles = word & 0xF0F0F0F0F0F0F0F0L;
+    long carried = ((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4;
+    return (highNibbles | carried) == 0x3333333333333333L;
+  }
+
+  /**
+   * Returns the value of the eight ASCII digits of a little-endian long, see [[#isEightDigits]].
+   */
+  static int parseEightDigits(long word) {
+    long value = word - 0x3030303030303030L;
+    // Combine the adjacent digits into two-digit numbers, then four-digit numbers, then one.
+    value = value * 10 + (value >>> 8);
+    value = ((value & 0x000000FF000000FFL) * 0x000F424000000064L
+      + ((value >>> 16) & 0x000000FF000000FFL) * 0x0000271000000001L) >>> 32;
+    return (int) value;
+  }
+
+  /**
+   * Parses the string as [[Double#parseDouble]] does on its Java string, or returns NaN when the
+   * fast paths do not apply, including when the string is not a number at all.
+   */
+  static double parseDouble(UTF8String s) {
+    return parse(s, false);
+  }
+
+  /**
+   * Parses the string as [[Float#parseFloat]] does on its Java string, or returns NaN when the
+   * fast paths do not apply, including when the string is not a number at all.
+   */
+  static float parseFloat(UTF8String s) {
+    return (float) parse(s, true);
+  }
+
+  private static double parse(UTF8String s, boolean isFloat) {
+    // Java trims the characters up to ' ', which are single bytes in UTF-8.
+    int end = s.numBytes();
+    int i = 0;
+    while (i < end && isTrimmed(s.getByte(i))) i++;
+    while (end > i && isTrimmed(s.getByte(end - 1))) end--;
+    if (i == end) {
+      return Double.NaN;
+    }
+
+    boolean negative = s.getByte(i) == '-';
+    if (negative || s.getByte(i) == '+') {
+      i++;
+    }
+
+    // The significant digits, as an unsigned long, and the power of ten of the last one.
+    long digits = 0;
+    int numDigits = 0;
+    int exponent = 0;
+
+    int integralStart = i;
+    while (i < end && s.getByte(i) == '0') i++;
+    while (numDigits <= MAX_DIGITS - 8 && end - i >= 8) {
+      long word = readEightBytes(s, i);
+      if (!isEightDigits(word)) break;
+      digits = digits * 100_000_000L + parseEightDigits(word);
+      numDigits += 8;
+      i += 8;
+    }
+    while (i < end && isDigit(s.getByte(i))) {
+      if (++numDigits > MAX_DIGITS) {
+        return Double.NaN;
+      }
+      digits = digits * 10 + (s.getByte(i) - '0');
+      i++;
+    }
+    boolean anyDigits = i > integralStart;
+
+    if (i < end && s.getByte(i) == '.') {
+      i++;
+      int fractionStart = i;
+      if (numDigits == 0) {
+        // Leading zeros of the fraction are not significant, they only move the exponent.
+        while (i < end && s.getByte(i) == '0') i++;
+      }
+      while (numDigits <= MAX_DIGITS - 8 && end - i >= 8) {
+        long word = readEightBytes(s, i);
+        if (!isEightDigits(word)) break;
+        digits = digits * 100_000_000L + parseEightDigits(word);
+        numDigits += 8;
+        i += 8;
+      }
+      while (i < end && isDigit(s.getByte(i))) {
+        if (++numDigits > MAX_DIGITS) {
+          return Double.NaN;
+        }
+        digits = digits * 10 + (s.getByte(i) - '0');
+        i++;
+      }
+      exponent = fractionStart - i;
+      anyDigits |= i > fractionStart;
+    }
+    if (!anyDigits) {
+      return Double.NaN;
+    }
+
+    if (i < end && (s.getByte(i) == 'e' || s.getByte(i) == 'E')) {
+      i++;
+      boolean negativeExponent = i < end && s.getByte(i) == '-';
+      if (negativeExponent || (i < end && s.getByte(i) == '+')) {
+        i++;
+      }
+      int exponentStart = i;
+      int explicitExponent = 0;
+      while (i < end && isDigit(s.getByte(i))) {
+        if (explicitExponent >= 100_000) {
+          return Double.NaN;
+        }
+        explicitExponent = explicitExponent * 10 + (s.getByte(i) - '0');
+        i++;
+      }
+      if (i == exponentStart) {
+        return Double.NaN;
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    // Type suffixes such as "1.0d", hexadecimal and any other trailing bytes.
+    if (i != end) {
+      return Double.NaN;
+    }
+
+    if (digits == 0) {
+      return negative ? -0.0 : 0.0;
+    }
+    if (isFloat) {
+      if (Long.compareUnsigned(digits, 1L << 24) <= 0 && exponent >= -10 && exponent <= 10) {
+        float value = (float) digits;
+        value = exponent < 0 ? value / FLOAT_POWERS_OF_TEN[-exponent]
+          : value * FLOAT_POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+      }
+    } else if (Long.compareUnsigned(digits, 1L << 53) <= 0 && exponent >= -22 && exponent <= 22) {
+      double value = (double) digits;
+      value = exponent < 0 ? value / DOUBLE_POWERS_OF_TEN[-exponent]
+        : value * DOUBLE_POWERS_OF_TEN[exponent];
+      return negative ? -value : value;
+    }
+    return eiselLemire(digits, exponent, negative, isFloat);
+  }
+
+  /**
+   * Converts `digits * 10^exponent` to the nearest double or float, ties to even, with the
+   * Eisel-Lemire algorithm, or returns NaN for subnormal and infinite results.
+   */
+  private static double eiselLemire(long digits, int exponent, boolean negative, boolean isFloat) {
+    if (exponent < SMALLEST_POWER_OF_TEN || exponent > LARGEST_POWER_OF_TEN) {
+      return Double.NaN;
+    }
+    int mantissaBits = isFloat ? 23 : 52;
+    int exponentBias = isFloat ? 127 : 1023;
+    int infinitePower = isFloat ? 0xFF : 0x7FF;
+
+    int leadingZeros = Long.numberOfLeadingZeros(digits);
+    long w = digits << leadingZeros;
+    int index = 2 * (exponent - SMALLEST_POWER_OF_TEN);
+    long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+    long low = w * POWERS_OF_FIVE[index];
+    long precisionMask = -1L >>> (mantissaBits + 3);
+    if ((high & precisionMask) == precisionMask) {
+      // The truncated bits may carry into the mantissa: add the product of the next 64 bits.
+      long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+      low += secondHigh;
+      if (Long.compareUnsigned(secondHigh, low) > 0) {
+        high++;
+      }
+    }
+
+    int upperBit = (int) (high >>> 63);
+    int shift = upperBit + 64 - mantissaBits - 3;
+    long mantissa = high >>> shift;
+    // floor(log2(10^exponent)) + 63, plus the position of the leading bit of the product
+    int power2 = (((152170 + 65536) * exponent) >> 16) + 63 + upperBit - leadingZeros + exponentBias;
+    if (power2 <= 0) {
+      return Double.NaN;
+    }
+    // Only small powers of ten give exact products that lie halfway between two values.
+    int minHalfwayExponent = isFloat ? -17 : -4;
+    int maxHalfwayExponent = isFloat ? 10 : 23;
+    if (Long.compareUnsigned(low, 1) <= 0 && exponent >= minHalfwayExponent
+        && exponent <= maxHalfwayExponent && (mantissa & 3) == 1 && (mantissa << shift) == high) {
+      mantissa &= ~1L;
+    }
+    mantissa += mantissa & 1;
+    mantissa >>>= 1;
+    if (mantissa >= 2L << mantissaBits) {
+      mantissa = 1L << mantissaBits;
+      power2++;
+    }
+    mantissa &= ~(1L << mantissaBits);
+    if (power2 >= infinitePower) {
+      return Double.NaN;
+    }
+
+    if (isFloat) {
+      int bits = (int) mantissa | power2 << mantissaBits | (negative ? 1 << 31 : 0);
+      return Float.intBitsToFloat(bits);
+    }
+    long bits = mantissa | (long) power2 << mantissaBits | (negative ? 1L << 63 : 0);
+    return Double.longBitsToDouble(bits);
+  }
+
+  private static long unsignedMultiplyHigh(long x, long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  private static boolean isTrimmed(byte b) {
+    return b >= 0 && b <= ' ';
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  /**
+   * Computes the 128 most significant bits of 5^q for the supported powers of ten: truncated for
+   * positive q, and rounded up from 2^b / 5^-q with enough bits b for negative q, so that the
+   * products are never off by more than the precision checks of [[#eiselLemire]] account for.
+   */
+  private static long[] powersOfFive() {
+    long[] table = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+    for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+      BigInteger power = BigInteger.valueOf(5).pow(Math.abs(q));
+      int bits = power.bitLength();
+      BigInteger value;
+      if (q >= 0) {
+        value = bits > 128 ? power.shiftRight(bits - 128) : power.shiftLeft(128 - bits);
+      } else {
+        int b = q >= -27 ? bits + 127 : 2 * bits + 128;
+        value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+        while (value.bitLength() > 128) {
+          value = value.shiftRight(1);
+        }
+      }
+      int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+      table[index] = value.shiftRight(64).longValue();
+      table[index + 1] = value.longValue();
+    }
+    return table;
+  }
+}
@@ -7,6 +7,7 @@ import com.esotericsoftware.kryo.io.Output;
 import com.jipple.unsafe.Platform;
 import com.jipple.unsafe.UTF8StringBuilder;
 import com.jipple.unsafe.array.ByteArrayMethods;
+import com.jipple.unsafe.array.ByteKernels;
 import com.jipple.unsafe.hash.Murmur3_x86_32;
 
 import javax.annotation.Nonnull;
@@ -16,8 +17,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.regex.Pattern;
 
 import static com.jipple.unsafe.Platform.*;
 
@@ -117,6 +116,8 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
     0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 // 0xF5..0xFF - disallowed in UTF-8
   };
 
+  private static final ByteKernels KERNELS = ByteKernels.get();
+
   private static final UTF8String COMMA_UTF8 = UTF8String.fromString(",");
   public static final UTF8String EMPTY_UTF8 = UTF8String.fromString("");
   public static final UTF8String ZERO_UTF8 = UTF8String.fromString("0");
@@ -271,11 +272,21 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
    * Private helper method to calculate the number of code points in the UTF-8 string. Counting
    * the code points is a linear time operation, as we need to scan the entire UTF-8 string.
    * Hence, this method should generally only be called once for non-empty UTF-8 strings.
+   * The first ASCII run tells the ASCII-ness of the string, which is cached along.
    */
   private int getNumChars() {
-    int len = 0;
-    for (int i = 0; i < numBytes; i += numBytesForFirstByte(getByte(i))) {
-      len += 1;
+    int i = KERNELS.firstNonAscii(base, offset, 0, numBytes);
+    isFullAscii = i == numBytes ? IsFullAscii.FULL_ASCII : IsFullAscii.NOT_ASCII;
+    int len = i;
+    while (i < numBytes) {
+      // every ASCII byte is a code point, skip them in bulk
+      int nonAscii = KERNELS.firstNonAscii(base, offset, i, numBytes);
+      len += nonAscii - i;
+      i = nonAscii;
+      while (i < numBytes && getByte(i) < 0) {
+        i += numBytesForFirstByte(getByte(i));
+        len += 1;
+      }
     }
     return len;
   }
@@ -629,28 +640,45 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
       return EMPTY_UTF8;
     }
 
-    int i = 0;
-    int c = 0;
-    while (i < numBytes && c < start) {
-      i += numBytesForFirstByte(getByte(i));
-      c += 1;
-    }
-
-    int j = i;
-    while (i < numBytes && c < until) {
-      i += numBytesForFirstByte(getByte(i));
-      c += 1;
-    }
+    int j = skipChars(0, start);
+    int i = skipChars(j, until - Math.max(start, 0));
 
     if (i > j) {
       byte[] bytes = new byte[i - j];
       copyMemory(base, offset + j, bytes, BYTE_ARRAY_OFFSET, i - j);
-      return fromBytes(bytes);
+      return isKnownAscii() ? asciiFromBytes(bytes) : fromBytes(bytes);
     } else {
       return EMPTY_UTF8;
     }
   }
 
+  /**
+   * Returns the byte position `chars` code points after the byte position `from`, or the first
+   * position at or after the end. Known full ASCII strings take it in constant time, others skip
+   * their ASCII runs in bulk.
+   */
+  private int skipChars(int from, int chars) {
+    if (chars <= 0) {
+      return from;
+    }
+    if (isKnownAscii()) {
+      return (int) Math.min((long) from + chars, Math.max(from, numBytes));
+    }
+    int i = from;
+    while (chars > 0 && i < numBytes) {
+      // every ASCII byte is a code point
+      int to = (int) Math.min((long) i + chars, numBytes);
+      int nonAscii = KERNELS.firstNonAscii(base, offset, i, to);
+      chars -= nonAscii - i;
+      i = nonAscii;
+      if (chars > 0 && i < numBytes) {
+        i += numBytesForFirstByte(getByte(i));
+        chars -= 1;
+      }
+    }
+    return i;
+  }
+
   public UTF8String substringSQL(int pos, int length) {
     // Information regarding the pos calculation:
     // Hive and SQL use one-based indexing for SUBSTR arguments but also accept zero and
@@ -680,14 +708,7 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
     if (substring.numBytes == 0) {
       return true;
     }
-
-    byte first = substring.getByte(0);
-    for (int i = 0; i <= numBytes - substring.numBytes; i++) {
-      if (getByte(i) == first && matchAt(substring, i)) {
-        return true;
-      }
-    }
-    return false;
+    return find(substring, 0) >= 0;
   }
 
   /**
@@ -706,12 +727,7 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
     if (charIndex < 0 || charIndex >= numChars()) {
       throw new IndexOutOfBoundsException();
     }
-    int charCount = 0, byteCount = 0;
-    while (charCount < charIndex) {
-      byteCount += numBytesForFirstByte(getByte(byteCount));
-      charCount += 1;
-    }
-    return codePointFrom(byteCount);
+    return codePointFrom(skipChars(0, charIndex));
   }
 
   /**
@@ -766,14 +782,6 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
    * Method for ASCII character conversion using a functional interface for chars.
    */
 
-  private UTF8String convertAscii(Function<Character, Character> charConverter) {
-    byte[] bytes = new byte[numBytes];
-    for (int i = 0; i < numBytes; i++) {
-        bytes[i] = (byte) charConverter.apply((char) getByte(i)).charValue();
-    }
-    return fromBytes(bytes);
-  }
-
   /**
    * Returns the upper case of this string
    */
@@ -786,7 +794,9 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
   }
 
   public UTF8String toUpperCaseAscii() {
-    return convertAscii(Character::toUpperCase);
+    byte[] bytes = new byte[numBytes];
+    KERNELS.toUpperCaseAscii(base, offset, bytes, numBytes);
+    return fromBytes(bytes);
   }
 
   private UTF8String toUpperCaseSlow() {
@@ -807,17 +817,34 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
   public boolean isFullAscii() {
     if (isFullAscii == IsFullAscii.UNKNOWN) {
       isFullAscii = getIsFullAscii();
+      if (isFullAscii == IsFullAscii.FULL_ASCII) {
+        numChars = numBytes;
+      }
     }
     return isFullAscii == IsFullAscii.FULL_ASCII;
   }
 
+  /**
+   * Returns whether this string is already known to be full ASCII, without scanning it.
+   */
+  private boolean isKnownAscii() {
+    return isFullAscii == IsFullAscii.FULL_ASCII;
+  }
+
+  /**
+   * Marks a string cut from a full ASCII string as full ASCII as well, so that the operations
+   * chained on it take the ASCII fast paths without scanning it again.
+   */
+  private static UTF8String asciiFromBytes(byte[] bytes) {
+    UTF8String result = fromBytes(bytes);
+    result.isFullAscii = IsFullAscii.FULL_ASCII;
+    result.numChars = bytes.length;
+    return result;
+  }
+
   private IsFullAscii getIsFullAscii() {
-    for (var i = 0; i < numBytes; i++) {
-      if (getByte(i) < 0) {
-        return IsFullAscii.NOT_ASCII;
-      }
-    }
-    return IsFullAscii.FULL_ASCII;
+    return KERNELS.firstNonAscii(base, offset, 0, numBytes) == numBytes
+        ? IsFullAscii.FULL_ASCII : IsFullAscii.NOT_ASCII;
   }
 
   private UTF8String toLowerCaseSlow() {
@@ -825,7 +852,9 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
   }
 
   public UTF8String toLowerCaseAscii() {
-    return convertAscii(Character::toLowerCase);
+    byte[] bytes = new byte[numBytes];
+    KERNELS.toLowerCaseAscii(base, offset, bytes, numBytes);
+    return fromBytes(bytes);
   }
 
   /**
@@ -929,16 +958,14 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
    * @return this string with no spaces at the start or end
    */
   public UTF8String trim() {
-    int s = 0;
     // skip all of the space (0x20) in the left side
-    while (s < this.numBytes && getByte(s) == ' ') s++;
+    int s = KERNELS.skip(base, offset, 0, numBytes, (byte) ' ');
     if (s == this.numBytes) {
       // Everything trimmed
       return EMPTY_UTF8;
     }
     // skip all of the space (0x20) in the right side
-    int e = this.numBytes - 1;
-    while (e > s && getByte(e) == ' ') e--;
+    int e = KERNELS.skipBackward(base, offset, s, numBytes, (byte) ' ');
     if (s == 0 && e == numBytes - 1) {
       // Nothing trimmed
       return this;
@@ -995,9 +1022,8 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
    * @return this string with no spaces at the start
    */
   public UTF8String trimLeft() {
-    int s = 0;
     // skip all of the space (0x20) in the left side
-    while (s < this.numBytes && getByte(s) == 0x20) s++;
+    int s = KERNELS.skip(base, offset, 0, numBytes, (byte) 0x20);
     if (s == 0) {
       // Nothing trimmed
       return this;
@@ -1053,9 +1079,8 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
    * @return this string with no spaces at the end
    */
   public UTF8String trimRight() {
-    int e = numBytes - 1;
     // skip all of the space (0x20) in the right side
-    while (e >= 0 && getByte(e) == 0x20) e--;
+    int e = KERNELS.skipBackward(base, offset, 0, numBytes, (byte) 0x20);
     if (e == numBytes - 1) {
       // Nothing trimmed
       return this;
@@ -1131,6 +1156,13 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
   public UTF8String reverse() {
     byte[] result = new byte[this.numBytes];
 
+    if (isFullAscii()) {
+      for (int i = 0; i < numBytes; i++) {
+        result[numBytes - 1 - i] = getByte(i);
+      }
+      return asciiFromBytes(result);
+    }
+
     int i = 0; // position in byte
     while (i < numBytes) {
       int len = numBytesForFirstByte(getByte(i));
@@ -1189,40 +1221,44 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
       c += 1;
     }
 
-    do {
-      if (i + v.numBytes > numBytes) {
+    while (true) {
+      int found = find(v, i);
+      if (found < 0) {
         return -1;
       }
-      if (ByteArrayMethods.arrayEquals(base, offset + i, v.base, v.offset, v.numBytes)) {
+      // count the characters up to the match, which only counts if it starts a character
+      while (i < found) {
+        i += numBytesForFirstByte(getByte(i));
+        c += 1;
+      }
+      if (i == found) {
         return c;
       }
-      i += numBytesForFirstByte(getByte(i));
-      c += 1;
-    } while (i < numBytes);
-
-    return -1;
+    }
   }
 
   public int charPosToByte(int charPos) {
     if (charPos < 0) {
       return -1;
     }
-
-    int i = 0;
-    int c = 0;
-    while (i < numBytes && c < charPos) {
-      i += numBytesForFirstByte(getByte(i));
-      c += 1;
-    }
-    return i;
+    return skipChars(0, charPos);
   }
 
   public int bytePosToChar(int bytePos) {
+    if (isKnownAscii()) {
+      return Math.max(0, Math.min(bytePos, numBytes));
+    }
     int i = 0;
     int c = 0;
     while (i < numBytes && i < bytePos) {
-      i += numBytesForFirstByte(getByte(i));
-      c += 1;
+      // every ASCII byte is a code point
+      int nonAscii = KERNELS.firstNonAscii(base, offset, i, Math.min(bytePos, numBytes));
+      c += nonAscii - i;
+      i = nonAscii;
+      if (i < numBytes && i < bytePos) {
+        i += numBytesForFirstByte(getByte(i));
+        c += 1;
+      }
     }
     return c;
   }
@@ -1232,7 +1268,14 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
    */
   public int find(UTF8String str, int start) {
     assert (str.numBytes > 0);
-    while (start <= numBytes - str.numBytes) {
+    // only the positions where both the first and the last bytes match are compared in full
+    int last = str.numBytes - 1;
+    int end = numBytes - last;
+    while (start < end) {
+      start = KERNELS.indexOfPair(base, offset, start, end, str.getByte(0), str.getByte(last), last);
+      if (start < 0) {
+        return -1;
+      }
       if (ByteArrayMethods.arrayEquals(base, offset + start, str.base, str.offset, str.numBytes)) {
         return start;
       }
@@ -1262,13 +1305,21 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
    * right) is returned. subStringIndex performs a case-sensitive match when searching for delim.
    */
   public UTF8String subStringIndex(UTF8String delim, int count) {
+    return subStringIndex(UTF8StringSearcher.plain(delim), count);
+  }
+
+  /**
+   * Same as [[#subStringIndex(UTF8String, int)]], for a delimiter prepared for repeated searches.
+   */
+  public UTF8String subStringIndex(UTF8StringSearcher searcher, int count) {
+    UTF8String delim = searcher.needle();
     if (delim.numBytes == 0 || count == 0) {
       return EMPTY_UTF8;
     }
     if (count > 0) {
       int idx = -1;
       while (count > 0) {
-        idx = find(delim, idx + 1);
+        idx = searcher.find(this, idx + 1);
         if (idx >= 0) {
           count --;
         } else {
@@ -1287,7 +1338,7 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
       int idx = numBytes - delim.numBytes + 1;
       count = -count;
       while (count > 0) {
-        idx = rfind(delim, idx - 1);
+        idx = searcher.rfind(this, idx - 1);
         if (idx >= 0) {
           count --;
         } else {
@@ -1470,7 +1521,12 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
       result[newLimit - 1] = UTF8String.fromBytes(input, byteIndex, numBytes() - byteIndex);
       return result;
     }
-    return split(pattern.toString(), limit);
+    String regex = pattern.toString();
+    UTF8String literal = UTF8StringSearcher.literalOfRegex(regex);
+    if (literal != null) {
+      return splitLiteral(UTF8StringSearcher.plain(literal), limit);
+    }
+    return split(regex, limit);
   }
 
   public UTF8String[] splitLegacyTruncate(UTF8String pattern, int limit) {
@@ -1499,11 +1555,41 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
       return new UTF8String[]{this};
     } else {
       // we do not treat delimiter as a regex but consider the whole string of delimiter
-      // as the separator to split string. Java String's split, however, only accept
-      // regex as the pattern to split, thus we can quote the delimiter to escape special
-      // characters in the string.
-      return split(Pattern.quote(delimiter.toString()), limit);
+      // as the separator to split string.
+      return splitLiteral(UTF8StringSearcher.plain(delimiter), limit);
+    }
+  }
+
+  /**
+   * Splits this string around the matches of a literal, non-empty delimiter, like
+   * [[#split(UTF8String, int)]] does for a regex that only matches the delimiter, but searching
+   * the bytes instead of decoding the string. The results share one copy of the bytes.
+   */
+  public UTF8String[] splitLiteral(UTF8StringSearcher delimiter, int limit) {
+    int delimiterBytes = delimiter.needle().numBytes();
+    assert (delimiterBytes > 0);
+    int end = delimiter.find(this, 0);
+    if (end < 0) {
+      return new UTF8String[]{this};
+    }
+    byte[] input = getBytes();
+    UTF8String[] result = new UTF8String[8];
+    int count = 0;
+    int start = 0;
+    // with a positive limit, the last split takes the rest of the string
+    while (end >= 0 && (limit <= 0 || count < limit - 1)) {
+      if (count == result.length) {
+        result = Arrays.copyOf(result, count * 2);
+      }
+      result[count++] = fromBytes(input, start, end - start);
+      start = end + delimiterBytes;
+      end = delimiter.find(this, start);
     }
+    if (count == result.length) {
+      result = Arrays.copyOf(result, count + 1);
+    }
+    result[count++] = fromBytes(input, start, numBytes - start);
+    return count == result.length ? result : Arrays.copyOf(result, count);
   }
 
   private UTF8String[] split(String delimiter, int limit) {
@@ -1522,13 +1608,22 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
   }
 
   public UTF8String replace(UTF8String search, UTF8String replace) {
+    return replace(UTF8StringSearcher.plain(search), replace);
+  }
+
+  /**
+   * Same as [[#replace(UTF8String, UTF8String)]], for a search string prepared for repeated
+   * searches.
+   */
+  public UTF8String replace(UTF8StringSearcher searcher, UTF8String replace) {
+    UTF8String search = searcher.needle();
     // This implementation is loosely based on commons-lang3's StringUtils.replace().
     if (numBytes == 0 || search.numBytes == 0) {
       return this;
     }
     // Find the first occurrence of the search string.
     int start = 0;
-    int end = this.find(search, start);
+    int end = searcher.find(this, start);
     if (end == -1) {
       // Search string was not found, so string is unchanged.
       return this;
@@ -1541,7 +1636,7 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
       buf.appendBytes(this.base, this.offset + start, end - start);
       buf.append(replace);
       start = end + search.numBytes;
-      end = this.find(search, start);
+      end = searcher.find(this, start);
     }
     buf.appendBytes(this.base, this.offset + start, numBytes - start);
     return buf.build();
@@ -1585,6 +1680,68 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
     public transient int value = 0;
   }
 
+  /**
+   * Wrapper over `double` to allow result of parsing double from string to be accessed via
+   * reference. This is done solely for better performance and is not expected to be used by end
+   * users.
+   */
+  public static class DoubleWrapper implements Serializable {
+    public transient double value = 0;
+  }
+
+  /**
+   * Wrapper over `float` to allow result of parsing float from string to be accessed via
+   * reference. This is done solely for better performance and is not expected to be used by end
+   * users.
+   */
+  public static class FloatWrapper implements Serializable {
+    public transient float value = 0;
+  }
+
+  /**
+   * Parses this UTF8String to double, with the same result as [[Double#parseDouble]] on its Java
+   * string. Decimal numbers of up to 19 significant digits are parsed from the bytes, without
+   * decoding the string, see [[NumberParser]].
+   *
+   * @param toDoubleResult If a valid `double` was parsed from this UTF8String, then its value
+   *                       would be set in `toDoubleResult`
+   * @return true if the parsing was successful else false
+   */
+  public boolean toDouble(DoubleWrapper toDoubleResult) {
+    double value = NumberParser.parseDouble(this);
+    if (Double.isNaN(value)) {
+      try {
+        value = Double.parseDouble(toString());
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+    toDoubleResult.value = value;
+    return true;
+  }
+
+  /**
+   * Parses this UTF8String to float, with the same result as [[Float#parseFloat]] on its Java
+   * string. Decimal numbers of up to 19 significant digits are parsed from the bytes, without
+   * decoding the string, see [[NumberParser]].
+   *
+   * @param toFloatResult If a valid `float` was parsed from this UTF8String, then its value would
+   *                      be set in `toFloatResult`
+   * @return true if the parsing was successful else false
+   */
+  public boolean toFloat(FloatWrapper toFloatResult) {
+    float value = NumberParser.parseFloat(this);
+    if (Float.isNaN(value)) {
+      try {
+        value = Float.parseFloat(toString());
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+    toFloatResult.value = value;
+    return true;
+  }
+
   /**
    * Parses this UTF8String(trimmed if needed) to long.
    *
@@ -1625,6 +1782,14 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
     final long stopValue = Long.MIN_VALUE / radix;
     long result = 0;
 
+    // The first 16 digits cannot overflow, read them eight at a time.
+    for (int chunk = 0; chunk < 2 && end + 1 - offset >= 8; chunk++) {
+      long word = NumberParser.readEightBytes(this, offset);
+      if (!NumberParser.isEightDigits(word)) break;
+      result = result * 100_000_000L - NumberParser.parseEightDigits(word);
+      offset += 8;
+    }
+
     while (offset <= end) {
       b = getByte(offset);
       offset++;
@@ -1722,6 +1887,15 @@ public final class UTF8String implements Comparable<UTF8String>, Externalizable,
     final int stopValue = Integer.MIN_VALUE / radix;
     int result = 0;
 
+    // The first 8 digits cannot overflow, read them at once.
+    if (end + 1 - offset >= 8) {
+      long word = NumberParser.readEightBytes(this, offset);
+      if (NumberParser.isEightDigits(word)) {
+        result = -NumberParser.parseEightDigits(word);
+        offset += 8;
+      }
+    }
+
     while (offset <= end) {
       b = getByte(offset);
       offset++;
@@ -0,0 +1,146 @@
+package com.jipple.unsafe.types;
+
+import com.jipple.unsafe.Platform;
+
+/**
+ * A reusable, mutable {@link CharSequence} view over the UTF-16 code units of a {@link UTF8String},
+ * intended for feeding row values to {@link java.util.regex.Matcher#reset(CharSequence)} without
+ * materializing a {@link String} per row.
+ * <p>
+ * Pure ASCII input is served directly from the underlying bytes. Input containing multi-byte
+ * characters is decoded once into an internal char buffer that is reused across rows. Character
+ * indexes are identical to the ones of {@code UTF8String.toString()}, so match offsets can be
+ * used as if the matcher had been applied to the decoded String.
+ * <p>
+ * Note: the view is only valid until the next {@link #reset(UTF8String)} and is not thread safe.
+ */
+public final class UTF8StringCharSequence implements CharSequence {
+  private UTF8String str;
+  private Object base;
+  private long offset;
+  private int numBytes;
+  private boolean ascii;
+  private char[] chars = new char[16];
+  private int length;
+
+  public UTF8StringCharSequence() {
+    reset(UTF8String.EMPTY_UTF8);
+  }
+
+  /**
+   * Points this view to the given string and returns it.
+   */
+  public UTF8StringCharSequence reset(UTF8String s) {
+    this.str = s;
+    this.base = s.getBaseObject();
+    this.offset = s.getBaseOffset();
+    this.numBytes = s.numBytes();
+    int i = 0;
+    while (i < numBytes && Platform.getByte(base, offset + i) >= 0) {
+      i++;
+    }
+    this.ascii = i == numBytes;
+    this.length = ascii ? numBytes : decode(i);
+    return this;
+  }
+
+  /**
+   * Returns the string currently backing this view.
+   */
+  public UTF8String utf8String() {
+    return str;
+  }
+
+  /**
+   * Decodes the bytes into the char buffer, starting with the ASCII prefix of `asciiPrefix`
+   * bytes. Falls back to the JDK decoder for malformed input so the replacement behavior
+   * stays the same as {@code UTF8String.toString()}.
+   */
+  private int decode(int asciiPrefix) {
+    if (chars.length < numBytes) {
+      chars = new char[Math.max(numBytes, chars.length * 2)];
+    }
+    for (int i = 0; i < asciiPrefix; i++) {
+      chars[i] = (char) Platform.getByte(base, offset + i);
+    }
+    int i = asciiPrefix;
+    int n = asciiPrefix;
+    while (i < numBytes) {
+      int b0 = Platform.getByte(base, offset + i) & 0xFF;
+      if (b0 < 0x80) {
+        chars[n++] = (char) b0;
+        i += 1;
+      } else if (b0 >= 0xC2 && b0 < 0xE0 && i + 1 < numBytes) {
+        int b1 = Platform.getByte(base, offset + i + 1);
+        if ((b1 & 0xC0) != 0x80) return decodeSlow();
+        chars[n++] = (char) (((b0 & 0x1F) << 6) | (b1 & 0x3F));
+        i += 2;
+      } else if (b0 >= 0xE0 && b0 < 0xF0 && i + 2 < numBytes) {
+        int b1 = Platform.getByte(base, offset + i + 1);
+        int b2 = Platform.getByte(base, offset + i + 2);
+        if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80) return decodeSlow();
+        char c = (char) (((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F));
+        if (c < 0x800 || Character.isSurrogate(c)) return decodeSlow();
+        chars[n++] = c;
+        i += 3;
+      } else if (b0 >= 0xF0 && b0 < 0xF5 && i + 3 < numBytes) {
+        int b1 = Platform.getByte(base, offset + i + 1);
+        int b2 = Platform.getByte(base, offset + i + 2);
+        int b3 = Platform.getByte(base, offset + i + 3);
+        if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80 || (b3 & 0xC0) != 0x80) {
+          return decodeSlow();
+        }
+        int cp = ((b0 & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+        if (cp < 0x10000 || cp > Character.MAX_CODE_POINT) return decodeSlow();
+        chars[n++] = Character.highSurrogate(cp);
+        chars[n++] = Character.lowSurrogate(cp);
+        i += 4;
+      } else {
+        return decodeSlow();
+      }
+    }
+    return n;
+  }
+
+  private int decodeSlow() {
+    String s = str.toString();
+    if (chars.length < s.length()) {
+      chars = new char[s.length()];
+    }
+    s.getChars(0, s.length(), chars, 0);
+    return s.length();
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new StringIndexOutOfBoundsException(index);
+    }
+    return ascii ? (char) Platform.getByte(base, offset + index) : chars[index];
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+    }
+    if (ascii) {
+      char[] sub = new char[end - start];
+      for (int i = start; i < end; i++) {
+        sub[i - start] = (char) Platform.getByte(base, offset + i);
+      }
+      return new String(sub);
+    }
+    return new String(chars, start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    return ascii ? str.toString() : new String(chars, 0, length);
+  }
+}
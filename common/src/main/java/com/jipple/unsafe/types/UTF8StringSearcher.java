@@ -0,0 +1,170 @@
+package com.jipple.unsafe.types;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import com.jipple.unsafe.array.ByteArrayMethods;
+
+/**
+ * Searches a fixed needle in [[UTF8String]]s, for the string expressions whose needle is a
+ * constant, so that the work that only depends on the needle is done once instead of per row.
+ *
+ * Needles of at least [[#MIN_SKIP_LENGTH]] bytes are searched with Boyer-Moore-Horspool: the
+ * byte under the end of the needle tells how far the needle can move without skipping a match,
+ * so most of the input is never read. Shorter needles skip too little to pay for the table
+ * lookups and use [[UTF8String#find]] and [[UTF8String#rfind]] instead.
+ *
+ * Searchers are immutable and can be shared between threads.
+ */
+public final class UTF8StringSearcher implements Serializable {
+  public static final int MIN_SKIP_LENGTH = 8;
+
+  private final UTF8String needle;
+  // Distances to move the needle by the byte under its last (first) byte when searching
+  // forward (backward), null for short needles.
+  private final int[] forwardShifts;
+  private final int[] backwardShifts;
+
+  private UTF8StringSearcher(UTF8String needle, boolean precompute) {
+    this.needle = needle;
+    int length = needle.numBytes();
+    if (precompute && length >= MIN_SKIP_LENGTH) {
+      forwardShifts = new int[256];
+      backwardShifts = new int[256];
+      Arrays.fill(forwardShifts, length);
+      Arrays.fill(backwardShifts, length);
+      for (int i = 0; i < length - 1; i++) {
+        forwardShifts[needle.getByte(i) & 0xFF] = length - 1 - i;
+      }
+      for (int i = length - 1; i > 0; i--) {
+        backwardShifts[needle.getByte(i) & 0xFF] = i;
+      }
+    } else {
+      forwardShifts = null;
+      backwardShifts = null;
+    }
+  }
+
+  public static UTF8StringSearcher of(UTF8String needle) {
+    // copy the needle, so that the searcher does not retain a row buffer
+    return new UTF8StringSearcher(needle.copy(), true);
+  }
+
+  /**
+   * Returns a searcher that only wraps the needle, for the [[UTF8String]] methods that search a
+   * needle once per call and would not win back the cost of the skip tables.
+   */
+  static UTF8StringSearcher plain(UTF8String needle) {
+    return new UTF8StringSearcher(needle, false);
+  }
+
+  /**
+   * Returns a searcher for the string that a regex matches, if the regex only matches one
+   * literal string, e.g. `,`, `\|` or `\t`, or null otherwise.
+   */
+  public static UTF8StringSearcher ofRegex(UTF8String regex) {
+    UTF8String literal = literalOfRegex(regex.toString());
+    return literal == null ? null : new UTF8StringSearcher(literal, true);
+  }
+
+  /**
+   * Returns the string that a regex matches, if it has no metacharacters other than escaped
+   * punctuation and the `\t`, `\n`, `\r` and `\f` escapes, or null otherwise.
+   */
+  static UTF8String literalOfRegex(String regex) {
+    if (regex.isEmpty()) {
+      return null;
+    }
+    StringBuilder literal = new StringBuilder(regex.length());
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\') {
+        if (++i == regex.length()) {
+          return null;
+        }
+        char escaped = regex.charAt(i);
+        switch (escaped) {
+          case 't' -> literal.append('\t');
+          case 'n' -> literal.append('\n');
+          case 'r' -> literal.append('\r');
+          case 'f' -> literal.append('\f');
+          default -> {
+            // escaped letters and digits are classes, back references or other constructs
+            if (escaped >= 128 || Character.isLetterOrDigit(escaped)) {
+              return null;
+            }
+            literal.append(escaped);
+          }
+        }
+      } else if (".$|()[]{}^?*+".indexOf(c) >= 0) {
+        return null;
+      } else {
+        literal.append(c);
+      }
+    }
+    return UTF8String.fromString(literal.toString());
+  }
+
+  public UTF8String needle() {
+    return needle;
+  }
+
+  /**
+   * Returns whether the string contains the needle, like [[UTF8String#contains]].
+   */
+  public boolean contains(UTF8String str) {
+    return needle.numBytes() == 0 || find(str, 0) >= 0;
+  }
+
+  /**
+   * Returns the byte position of the first occurrence of the needle at or after `start`, or -1,
+   * like [[UTF8String#find]]. The needle must not be empty.
+   */
+  public int find(UTF8String str, int start) {
+    if (forwardShifts == null) {
+      return str.find(needle, start);
+    }
+    int length = needle.numBytes();
+    int last = length - 1;
+    byte lastByte = needle.getByte(last);
+    int end = str.numBytes() - length;
+    while (start <= end) {
+      byte b = str.getByte(start + last);
+      if (b == lastByte && matchAt(str, start)) {
+        return start;
+      }
+      start += forwardShifts[b & 0xFF];
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the byte position of the last occurrence of the needle at or before `start`, or -1,
+   * like [[UTF8String#rfind]]. The needle must not be empty.
+   */
+  public int rfind(UTF8String str, int start) {
+    if (backwardShifts == null) {
+      return str.rfind(needle, start);
+    }
+    byte firstByte = needle.getByte(0);
+    start = Math.min(start, str.numBytes() - needle.numBytes());
+    while (start >= 0) {
+      byte b = str.getByte(start);
+      if (b == firstByte && matchAt(str, start)) {
+        return start;
+      }
+      start -= backwardShifts[b & 0xFF];
+    }
+    return -1;
+  }
+
+  private boolean matchAt(UTF8String str, int pos) {
+    return ByteArrayMethods.arrayEquals(str.getBaseObject(), str.getBaseOffset() + pos,
+        needle.getBaseObject(), needle.getBaseOffset(), needle.numBytes());
+  }
+
+  @Override
+  public String toString() {
+    return "UTF8StringSearcher(" + needle + ")";
+  }
+}
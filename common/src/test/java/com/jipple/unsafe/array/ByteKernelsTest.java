@@ -0,0 +1,101 @@
+package com.jipple.unsafe.array;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.jipple.unsafe.Platform;
+import com.jipple.unsafe.types.UTF8String;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import static com.jipple.unsafe.Platform.BYTE_ARRAY_OFFSET;
+
+public class ByteKernelsTest {
+
+  private static final byte[] ALPHABET = {' ', ' ', 'a', 'b', 'z', 'A', 'Z', '0', (byte) 0xC3, (byte) 0xA9, (byte) 0xFF};
+
+  private static byte[] randomBytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+    }
+    return bytes;
+  }
+
+  @Test
+  public void vectorizedSameAsScalar() {
+    // The tests run with the jdk.incubator.vector module, see extraJavaTestArgs.
+    assumeTrue(ByteKernels.vectorized() != null, "the Vector API is not available");
+    ByteKernels scalar = ByteKernels.scalar();
+    ByteKernels vectorized = ByteKernels.vectorized();
+    Random random = new Random(42);
+    for (int n = 0; n < 2000; n++) {
+      int length = random.nextInt(200);
+      int pad = random.nextInt(5);
+      byte[] bytes = randomBytes(random, length + pad);
+      // Sparse inputs so that the searches also skip whole vectors.
+      if (random.nextBoolean()) {
+        for (int i = 0; i < bytes.length; i++) {
+          if (random.nextInt(16) != 0) {
+            bytes[i] = random.nextBoolean() ? (byte) 'x' : (byte) ' ';
+          }
+        }
+      }
+      long offset = BYTE_ARRAY_OFFSET + pad;
+      int from = length == 0 ? 0 : random.nextInt(length);
+      String clue = Arrays.toString(bytes) + ", from = " + from;
+
+      assertEquals(scalar.firstNonAscii(bytes, offset, from, length),
+          vectorized.firstNonAscii(bytes, offset, from, length), clue);
+      assertEquals(scalar.skip(bytes, offset, from, length, (byte) ' '),
+          vectorized.skip(bytes, offset, from, length, (byte) ' '), clue);
+      assertEquals(scalar.skipBackward(bytes, offset, from, length, (byte) ' '),
+          vectorized.skipBackward(bytes, offset, from, length, (byte) ' '), clue);
+      int distance = random.nextInt(4);
+      int to = Math.max(from, length - distance);
+      byte first = ALPHABET[random.nextInt(ALPHABET.length)];
+      byte last = ALPHABET[random.nextInt(ALPHABET.length)];
+      assertEquals(scalar.indexOfPair(bytes, offset, from, to, first, last, distance),
+          vectorized.indexOfPair(bytes, offset, from, to, first, last, distance), clue);
+
+      byte[] expected = new byte[length];
+      byte[] actual = new byte[length];
+      scalar.toUpperCaseAscii(bytes, offset, expected, length);
+      vectorized.toUpperCaseAscii(bytes, offset, actual, length);
+      assertArrayEquals(expected, actual, clue);
+      scalar.toLowerCaseAscii(bytes, offset, expected, length);
+      vectorized.toLowerCaseAscii(bytes, offset, actual, length);
+      assertArrayEquals(expected, actual, clue);
+
+      byte[] other = Arrays.copyOfRange(bytes, pad, bytes.length);
+      if (length > 0 && random.nextBoolean()) {
+        other[random.nextInt(length)] ^= 1;
+      }
+      assertEquals(scalar.equals(bytes, offset, other, BYTE_ARRAY_OFFSET, length),
+          vectorized.equals(bytes, offset, other, BYTE_ARRAY_OFFSET, length), clue);
+    }
+  }
+
+  @Test
+  public void offHeapMemory() {
+    ByteKernels kernels = ByteKernels.get();
+    byte[] bytes = "  abcé ".repeat(20).getBytes(StandardCharsets.UTF_8);
+    long address = Platform.allocateMemory(bytes.length);
+    try {
+      Platform.copyMemory(bytes, BYTE_ARRAY_OFFSET, null, address, bytes.length);
+      UTF8String offHeap = UTF8String.fromAddress(null, address, bytes.length);
+      UTF8String onHeap = UTF8String.fromBytes(bytes);
+      assertEquals(onHeap, offHeap);
+      assertEquals(onHeap.numChars(), offHeap.numChars());
+      assertEquals(onHeap.trim(), offHeap.trim());
+      assertEquals(onHeap.toUpperCase(), offHeap.toUpperCase());
+      assertEquals(5, kernels.firstNonAscii(null, address, 0, bytes.length));
+    } finally {
+      Platform.freeMemory(address);
+    }
+  }
+}
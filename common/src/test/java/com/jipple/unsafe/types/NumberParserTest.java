@@ -0,0 +1,192 @@
+package com.jipple.unsafe.types;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumberParserTest {
+
+  private static final Pattern INTEGRAL = Pattern.compile("([+-]?)([0-9]*)(\\.[0-9]*)?");
+
+  private static final String[] FLOATING_POINT_CASES = {
+    "0", "-0", "+0", "0.0", "-0.0", "00000000000000000000000000.000000000000000000000000000", ".5",
+    "5.", "-.5e-3", "1e5", "1E+05", "1e-5", " \t1.5\n", "\u00001.5", "1.5 x", "1.5d", "1.5F",
+    "1e", "1e+", "e5", ".", "-", "+", "", " ", "--1", "1..2", "1.2.3", "0x1p3", "0x10", "NaN",
+    "-Infinity", "Infinity", "inf", "1_000", "١", "1 ", " 1",
+    "9007199254740992", "9007199254740993", "9007199254740995", "-9007199254740993",
+    "18014398509481986", "16777216", "16777217", "16777219", "33554434",
+    "9999999999999999999", "18446744073709551615", "18446744073709551616",
+    "12345678901234567890123", "0.12345678901234567890123", "123456789.123456789",
+    "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1e309",
+    "2.2250738585072014E-308", "2.2250738585072011E-308", "4.9e-324", "2.4703282292062328e-324",
+    "1e-400", "1e-342", "1e-343", "1e308", "1e-325", "1e100000", "1e-100000", "0e100000",
+    "3.4028235e38", "3.4028236e38", "3.40282357e38", "1.17549435e-38", "1.4e-45", "7.0e-46",
+    "1e22", "1e23", "9e22", "1e-22", "1e-23", "8.589973e9", "2.2250738585072012e-308",
+    "7.038531e-26", "2.5e-1", "0.00000000000000000000000000000000000001",
+    "00000000001234567890123456789.000000000000", "1234567890123456789e-19",
+    "4503599627370496.5", "4503599627370497.5", "9007199254740993.0000000000000000000001",
+  };
+
+  private static UTF8String utf8(String s, Random random) {
+    // Parse views at an offset into their bytes as well.
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    int offset = random.nextInt(8);
+    byte[] padded = new byte[offset + bytes.length + random.nextInt(8)];
+    System.arraycopy(bytes, 0, padded, offset, bytes.length);
+    return UTF8String.fromBytes(padded, offset, bytes.length);
+  }
+
+  private static String digits(Random random, int length) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      sb.append((char) ('0' + random.nextInt(10)));
+    }
+    return sb.toString();
+  }
+
+  private static List<String> floatingPointInputs(Random random) {
+    List<String> inputs = new ArrayList<>(List.of(FLOATING_POINT_CASES));
+    for (int i = 0; i < 20000; i++) {
+      inputs.add(Double.toString(Double.longBitsToDouble(random.nextLong())));
+      inputs.add(Float.toString(Float.intBitsToFloat(random.nextInt())));
+      inputs.add(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+      String mantissa = digits(random, random.nextInt(21) + 1);
+      int point = random.nextInt(mantissa.length() + 1);
+      String number = (random.nextBoolean() ? "-" : "")
+        + mantissa.substring(0, point) + "." + mantissa.substring(point);
+      inputs.add(number);
+      inputs.add(number + "e" + (random.nextInt(700) - 350));
+      inputs.add(number + "E" + (random.nextInt(100) - 50));
+    }
+    return inputs;
+  }
+
+  private static Long referenceToLong(String s, long min, long max) {
+    int start = 0;
+    int end = s.length();
+    while (start < end && UTF8String.isWhitespaceOrISOControl(s.charAt(start))) start++;
+    while (end > start && UTF8String.isWhitespaceOrISOControl(s.charAt(end - 1))) end--;
+    String trimmed = s.substring(start, end);
+    Matcher matcher = INTEGRAL.matcher(trimmed);
+    if (trimmed.isEmpty() || !matcher.matches() || trimmed.equals("+") || trimmed.equals("-")) {
+      return null;
+    }
+    BigInteger value = matcher.group(2).isEmpty() ? BigInteger.ZERO : new BigInteger(matcher.group(2));
+    value = matcher.group(1).equals("-") ? value.negate() : value;
+    boolean fits = value.compareTo(BigInteger.valueOf(min)) >= 0
+      && value.compareTo(BigInteger.valueOf(max)) <= 0;
+    return fits ? value.longValue() : null;
+  }
+
+  @Test
+  public void eightDigits() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      String digits = digits(random, 8);
+      long word = NumberParser.readEightBytes(UTF8String.fromString(digits), 0);
+      assertTrue(NumberParser.isEightDigits(word), digits);
+      assertEquals(Integer.parseInt(digits), NumberParser.parseEightDigits(word), digits);
+      for (int position = 0; position < 8; position++) {
+        byte[] bytes = digits.getBytes(StandardCharsets.UTF_8);
+        for (int b = 0; b < 256; b++) {
+          bytes[position] = (byte) b;
+          long other = NumberParser.readEightBytes(UTF8String.fromBytes(bytes), 0);
+          assertEquals(b >= '0' && b <= '9', NumberParser.isEightDigits(other));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void toLongAndToIntMatchReference() {
+    Random random = new Random(7);
+    String alphabet = "0123456789999999.-+ \te";
+    List<String> inputs = new ArrayList<>(List.of(
+      "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+      "2147483647", "2147483648", "-2147483648", "-2147483649", "99999999", "-12345678.9",
+      "0000000000000000000000009223372036854775807", "12345678.", "1234567812345678.1234",
+      "+.", "-.", ".", "1.2.3", " 12345678 ", "１２３"));
+    for (int i = 0; i < 100000; i++) {
+      StringBuilder sb = new StringBuilder();
+      int length = random.nextInt(25);
+      boolean onlyDigits = random.nextBoolean();
+      for (int j = 0; j < length; j++) {
+        sb.append(onlyDigits && j > 0 ? (char) ('0' + random.nextInt(10))
+          : alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      inputs.add(sb.toString());
+    }
+    UTF8String.LongWrapper longResult = new UTF8String.LongWrapper();
+    UTF8String.IntWrapper intResult = new UTF8String.IntWrapper();
+    for (String input : inputs) {
+      UTF8String s = utf8(input, random);
+      Long expected = referenceToLong(input, Long.MIN_VALUE, Long.MAX_VALUE);
+      assertEquals(expected != null, s.toLong(longResult), input);
+      if (expected != null) {
+        assertEquals(expected, longResult.value, input);
+      }
+      expected = referenceToLong(input, Integer.MIN_VALUE, Integer.MAX_VALUE);
+      assertEquals(expected != null, s.toInt(intResult), input);
+      if (expected != null) {
+        assertEquals(expected.intValue(), intResult.value, input);
+      }
+    }
+  }
+
+  @Test
+  public void toDoubleMatchesParseDouble() {
+    Random random = new Random(42);
+    UTF8String.DoubleWrapper result = new UTF8String.DoubleWrapper();
+    for (String input : floatingPointInputs(random)) {
+      Double expected;
+      try {
+        expected = Double.parseDouble(input);
+      } catch (NumberFormatException e) {
+        expected = null;
+      }
+      assertEquals(expected != null, utf8(input, random).toDouble(result), input);
+      if (expected != null) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(result.value), input);
+      }
+    }
+  }
+
+  @Test
+  public void toFloatMatchesParseFloat() {
+    Random random = new Random(7);
+    UTF8String.FloatWrapper result = new UTF8String.FloatWrapper();
+    for (String input : floatingPointInputs(random)) {
+      Float expected;
+      try {
+        expected = Float.parseFloat(input);
+      } catch (NumberFormatException e) {
+        expected = null;
+      }
+      assertEquals(expected != null, utf8(input, random).toFloat(result), input);
+      if (expected != null) {
+        assertEquals(Float.floatToRawIntBits(expected), Float.floatToRawIntBits(result.value), input);
+      }
+    }
+  }
+
+  @Test
+  public void fastPaths() {
+    // Clinger, Eisel-Lemire, and the cases left to the JDK.
+    assertEquals(123.456, NumberParser.parseDouble(UTF8String.fromString("123.456")));
+    assertEquals(9007199254740992.0, NumberParser.parseDouble(UTF8String.fromString("9007199254740993")));
+    assertEquals(1e300, NumberParser.parseDouble(UTF8String.fromString("1e300")));
+    assertEquals(-1.5e-7f, NumberParser.parseFloat(UTF8String.fromString("-1.5e-7")));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(UTF8String.fromString("4.9e-324"))));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(UTF8String.fromString("1e309"))));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(UTF8String.fromString("12345678901234567890"))));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(UTF8String.fromString("Infinity"))));
+  }
+}
@@ -0,0 +1,79 @@
+package com.jipple.unsafe.types;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static com.jipple.unsafe.types.UTF8String.fromBytes;
+import static com.jipple.unsafe.types.UTF8String.fromString;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UTF8StringCharSequenceTest {
+
+  private static void checkView(UTF8StringCharSequence chars, UTF8String s) {
+    String expected = s.toString();
+    chars.reset(s);
+    assertEquals(expected.length(), chars.length());
+    for (int i = 0; i < expected.length(); i++) {
+      assertEquals(expected.charAt(i), chars.charAt(i), "index " + i + " of " + expected);
+    }
+    assertEquals(expected, chars.toString());
+    if (expected.length() > 1) {
+      assertEquals(expected.substring(1), chars.subSequence(1, expected.length()).toString());
+    }
+  }
+
+  @Test
+  public void testDecoding() {
+    UTF8StringCharSequence chars = new UTF8StringCharSequence();
+    assertEquals(0, chars.length());
+    checkView(chars, fromString(""));
+    checkView(chars, fromString("hello"));
+    checkView(chars, fromString("数据砖头"));
+    checkView(chars, fromString("aéb€c"));
+    // supplementary characters are split into surrogate pairs, like java.lang.String
+    checkView(chars, fromString("x😀y"));
+    // the char buffer is reused, so a shorter string must not see stale chars
+    checkView(chars, fromString("éééééé"));
+    checkView(chars, fromString("é"));
+    // a view over a slice of a larger buffer
+    checkView(chars, fromString("abcédef").substring(2, 5));
+  }
+
+  @Test
+  public void testMalformedInput() {
+    UTF8StringCharSequence chars = new UTF8StringCharSequence();
+    checkView(chars, fromBytes(new byte[] {(byte) 0x61, (byte) 0xC3}));
+    checkView(chars, fromBytes(new byte[] {(byte) 0xC0, (byte) 0x80}));
+    checkView(chars, fromBytes(new byte[] {(byte) 0xED, (byte) 0xA0, (byte) 0x80}));
+    checkView(chars, fromBytes(new byte[] {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}));
+    checkView(chars, fromBytes(new byte[] {(byte) 0x80, (byte) 0x61}));
+
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      byte[] bytes = new byte[random.nextInt(8)];
+      random.nextBytes(bytes);
+      checkView(chars, fromBytes(bytes));
+    }
+  }
+
+  @Test
+  public void testReusedMatcher() {
+    Pattern pattern = Pattern.compile("(\\p{L}+)-(\\d+)");
+    Matcher matcher = pattern.matcher("");
+    UTF8StringCharSequence chars = new UTF8StringCharSequence();
+    for (String s : new String[] {"abc-123", "数据-42 x", "none", "été-7"}) {
+      Matcher expected = pattern.matcher(s);
+      matcher.reset(chars.reset(fromString(s)));
+      boolean found = expected.find();
+      assertEquals(found, matcher.find());
+      if (found) {
+        assertEquals(expected.start(), matcher.start());
+        assertEquals(expected.group(1), matcher.group(1));
+        assertEquals(expected.group(2), matcher.group(2));
+      }
+    }
+  }
+}
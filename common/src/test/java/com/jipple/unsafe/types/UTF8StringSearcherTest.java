@@ -0,0 +1,74 @@
+package com.jipple.unsafe.types;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static com.jipple.unsafe.types.UTF8String.fromString;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UTF8StringSearcherTest {
+
+  private static String randomString(Random random, String alphabet, int length) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return sb.toString();
+  }
+
+  private static void checkSearch(UTF8String s, UTF8String needle) {
+    UTF8StringSearcher searcher = UTF8StringSearcher.of(needle);
+    String clue = "'" + needle + "' in '" + s + "'";
+    assertEquals(s.contains(needle), searcher.contains(s), clue);
+    if (needle.numBytes() == 0) {
+      return;
+    }
+    for (int start = 0; start <= s.numBytes(); start++) {
+      assertEquals(s.find(needle, start), searcher.find(s, start), clue + " from " + start);
+    }
+    for (int start = s.numBytes() - needle.numBytes(); start >= 0; start--) {
+      assertEquals(s.rfind(needle, start), searcher.rfind(s, start), clue + " from " + start);
+    }
+  }
+
+  @Test
+  public void testSearch() {
+    checkSearch(fromString("hello"), fromString(""));
+    checkSearch(fromString(""), fromString("hello world"));
+    checkSearch(fromString("hello world"), fromString("hello world"));
+    checkSearch(fromString("say hello world, hello world!"), fromString("hello world"));
+    checkSearch(fromString("数据砖头数据砖头"), fromString("据砖头数据"));
+    checkSearch(fromString("aaaaaaaaaaaaaaaaab"), fromString("aaaaaaab"));
+    checkSearch(fromString("baaaaaaaaaaaaaaaaa"), fromString("baaaaaaa"));
+  }
+
+  @Test
+  public void testRandomSearch() {
+    Random random = new Random(42);
+    for (int n = 0; n < 500; n++) {
+      // a small alphabet, so that the partial matches exercise the shifts
+      String alphabet = random.nextBoolean() ? "ab" : "abcé数";
+      String needle = randomString(random, alphabet, random.nextInt(12));
+      String s = randomString(random, alphabet, random.nextInt(60));
+      if (!needle.isEmpty() && random.nextBoolean()) {
+        int at = random.nextInt(s.length() + 1);
+        s = s.substring(0, at) + needle + s.substring(at);
+      }
+      checkSearch(fromString(s), fromString(needle));
+    }
+  }
+
+  @Test
+  public void testReplaceAndSubStringIndex() {
+    UTF8String s = fromString("a--separator--b--separator--c--separator--");
+    UTF8StringSearcher searcher = UTF8StringSearcher.of(fromString("--separator--"));
+    for (int count = -4; count <= 4; count++) {
+      assertEquals(s.subStringIndex(fromString("--separator--"), count),
+          s.subStringIndex(searcher, count));
+    }
+    assertEquals(fromString("a,b,c,"), s.replace(searcher, fromString(",")));
+    assertEquals(fromString("nothing here"),
+        fromString("nothing here").replace(searcher, fromString(",")));
+  }
+}
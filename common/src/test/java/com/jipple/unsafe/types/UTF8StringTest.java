@@ -209,6 +209,52 @@ public class UTF8StringTest {
     assertEquals(fromString("ߵ梷"), fromString("ߵ梷").substring(0, 2));
   }
 
+  @Test
+  public void charPositions() {
+    // each string is checked with the ASCII-ness unknown and known, i.e. cached by numChars()
+    Random random = new Random(42);
+    String[] pieces = {"a", "hello world ", "é", "数据", "😀"};
+    for (int n = 0; n < 200; n++) {
+      StringBuilder sb = new StringBuilder();
+      int count = random.nextInt(8);
+      boolean ascii = random.nextBoolean();
+      for (int i = 0; i < count; i++) {
+        sb.append(pieces[ascii ? random.nextInt(2) : random.nextInt(pieces.length)]);
+      }
+      String str = sb.toString();
+      int len = str.codePointCount(0, str.length());
+      for (boolean known : new boolean[] { false, true }) {
+        for (int i = -2; i <= len + 2; i++) {
+          UTF8String s = fromString(str);
+          if (known) {
+            assertEquals(len, s.numChars());
+            assertEquals(str.chars().allMatch(c -> c < 128), s.isFullAscii());
+          }
+          int start = Math.max(0, Math.min(i, len));
+          int until = Math.max(start, Math.min(len, i + 3));
+          String expected = str.substring(str.offsetByCodePoints(0, start),
+              str.offsetByCodePoints(0, until));
+          assertEquals(expected, s.substring(i, i + 3).toString(), str + " at " + i);
+          int bytePos = str.substring(0, str.offsetByCodePoints(0, start))
+              .getBytes(StandardCharsets.UTF_8).length;
+          assertEquals(i < 0 ? -1 : bytePos, s.charPosToByte(i), str + " at " + i);
+          assertEquals(start, s.bytePosToChar(bytePos), str + " at " + i);
+          if (i >= 0 && i < len) {
+            assertEquals(str.codePointAt(str.offsetByCodePoints(0, i)), s.getChar(i));
+          }
+        }
+      }
+    }
+    // substrings of a full ASCII string are known to be full ASCII
+    UTF8String s = fromString("hello world");
+    assertTrue(s.isFullAscii());
+    UTF8String sub = s.substring(6, 11);
+    assertEquals(fromString("world"), sub);
+    assertEquals(5, sub.numChars());
+    assertTrue(sub.isFullAscii());
+    assertEquals(fromString("dlrow olleh"), s.reverse());
+  }
+
   @Test
   public void trims() {
     assertEquals(fromString("1"), fromString("1").trim());
@@ -419,6 +465,43 @@ public class UTF8StringTest {
       fromString("").split(fromString(""), 0));
   }
 
+  @Test
+  public void splitLiteral() {
+    assertEquals(fromString(","), UTF8StringSearcher.literalOfRegex(","));
+    assertEquals(fromString("|"), UTF8StringSearcher.literalOfRegex("\\|"));
+    assertEquals(fromString("\t"), UTF8StringSearcher.literalOfRegex("\\t"));
+    assertEquals(fromString("::"), UTF8StringSearcher.literalOfRegex("::"));
+    assertEquals(fromString("数据"), UTF8StringSearcher.literalOfRegex("数据"));
+    assertNull(UTF8StringSearcher.literalOfRegex(""));
+    assertNull(UTF8StringSearcher.literalOfRegex("[1-9]+"));
+    assertNull(UTF8StringSearcher.literalOfRegex("a|b"));
+    assertNull(UTF8StringSearcher.literalOfRegex("\\s"));
+    assertNull(UTF8StringSearcher.literalOfRegex("\\"));
+
+    // the byte search splits like the regex split of the decoded string
+    Random random = new Random(42);
+    String[] delimiters = {",", "\\|", "\\t", "::", "据"};
+    String alphabet = "ab,|\t:数据";
+    for (int n = 0; n < 500; n++) {
+      StringBuilder sb = new StringBuilder();
+      int length = random.nextInt(12);
+      for (int i = 0; i < length; i++) {
+        sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      String str = sb.toString();
+      String delimiter = delimiters[random.nextInt(delimiters.length)];
+      for (int limit = -1; limit <= 4; limit++) {
+        String[] expected = str.split(delimiter, limit == 0 ? -1 : limit);
+        UTF8String[] actual = fromString(str).split(fromString(delimiter), limit);
+        assertEquals(Arrays.asList(expected), Arrays.stream(actual).map(UTF8String::toString).toList(),
+          "'" + str + "' split by '" + delimiter + "' with limit " + limit);
+      }
+    }
+    assertArrayEquals(
+      new UTF8String[]{fromString("a"), fromString("b.c")},
+      fromString("a.b.c").splitSQL(fromString("."), 2));
+  }
+
   @Test
   public void replace() {
     assertEquals(